@@ -18,6 +18,7 @@ package io.zeebe.model.bpmn.impl.instance;
 import io.zeebe.model.bpmn.BpmnConstants;
 import io.zeebe.model.bpmn.instance.ExclusiveGateway;
 import io.zeebe.model.bpmn.instance.SequenceFlow;
+import io.zeebe.msgpack.el.JsonConditionGroup;
 import java.util.ArrayList;
 import java.util.List;
 import javax.xml.bind.annotation.*;
@@ -26,6 +27,7 @@ public class ExclusiveGatewayImpl extends FlowNodeImpl implements ExclusiveGatew
   private SequenceFlowImpl defaultFlow;
 
   private List<SequenceFlow> sequenceFlowsWithConditions = new ArrayList<>();
+  private JsonConditionGroup outgoingConditions;
 
   @XmlIDREF
   @XmlAttribute(name = BpmnConstants.BPMN_ATTRIBUTE_DEFAULT)
@@ -49,6 +51,16 @@ public class ExclusiveGatewayImpl extends FlowNodeImpl implements ExclusiveGatew
     return sequenceFlowsWithConditions;
   }
 
+  @XmlTransient
+  public void setOutgoingConditions(JsonConditionGroup outgoingConditions) {
+    this.outgoingConditions = outgoingConditions;
+  }
+
+  @Override
+  public JsonConditionGroup getOutgoingConditions() {
+    return outgoingConditions;
+  }
+
   @Override
   public String toString() {
     final StringBuilder builder = new StringBuilder();
@@ -18,6 +18,8 @@ package io.zeebe.model.bpmn.impl.transformation.nodes;
 import io.zeebe.model.bpmn.impl.instance.ExclusiveGatewayImpl;
 import io.zeebe.model.bpmn.impl.instance.SequenceFlowImpl;
 import io.zeebe.model.bpmn.instance.SequenceFlow;
+import io.zeebe.msgpack.el.CompiledJsonCondition;
+import io.zeebe.msgpack.el.JsonConditionFactory;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -34,6 +36,18 @@ public class ExclusiveGatewayTransformer {
               .collect(Collectors.toList());
 
       exclusiveGateway.setOutgoingSequenceFlowsWithConditions(sequenceFlowsWithConditions);
+
+      final List<CompiledJsonCondition> conditions =
+          sequenceFlowsWithConditions
+              .stream()
+              .map(SequenceFlow::getCondition)
+              .collect(Collectors.toList());
+
+      // invalid conditions are reported by the sequence flow transformer
+      if (conditions.stream().allMatch(CompiledJsonCondition::isValid)) {
+        exclusiveGateway.setOutgoingConditions(
+            JsonConditionFactory.createConditionGroup(conditions));
+      }
     }
   }
 }
@@ -15,11 +15,18 @@
  */
 package io.zeebe.model.bpmn.instance;
 
+import io.zeebe.msgpack.el.JsonConditionGroup;
 import java.util.List;
 
 public interface ExclusiveGateway extends FlowNode {
 
   List<SequenceFlow> getOutgoingSequenceFlowsWithConditions();
 
+  /**
+   * @return the conditions of the outgoing sequence flows with conditions, in the same order, or
+   *     <code>null</code> if a condition is not valid
+   */
+  JsonConditionGroup getOutgoingConditions();
+
   SequenceFlow getDefaultFlow();
 }
@@ -21,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.zeebe.model.bpmn.impl.error.InvalidModelException;
 import io.zeebe.model.bpmn.instance.*;
+import io.zeebe.msgpack.el.JsonConditionGroup;
 import java.io.File;
 import java.io.InputStream;
 import java.net.URL;
@@ -287,6 +288,11 @@ public class BpmnTransformTest {
     assertThat(outgoingSequenceFlowsWithConditions)
         .extracting(s -> s.getCondition().getExpression())
         .containsExactly("$.foo < 5", "$.foo >= 5 && $.foo < 10");
+
+    final JsonConditionGroup outgoingConditions = exclusiveGateway.getOutgoingConditions();
+    assertThat(outgoingConditions).isNotNull();
+    assertThat(outgoingConditions.size()).isEqualTo(2);
+    assertThat(outgoingConditions.getPaths()).hasSize(1);
   }
 
   @Test
@@ -22,6 +22,7 @@ import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.spi.SnapshotStorage;
 import io.zeebe.raft.state.RaftState;
 import io.zeebe.servicecontainer.*;
+import java.io.File;
 
 /** Service representing a partition. */
 public class Partition implements Service<Partition> {
@@ -33,13 +34,24 @@ public class Partition implements Service<Partition> {
 
   private final RaftState state;
 
+  private final File stateDirectory;
+
   private LogStream logStream;
 
   private SnapshotStorage snapshotStorage;
 
   public Partition(PartitionInfo partitionInfo, RaftState state) {
+    this(partitionInfo, state, null);
+  }
+
+  /**
+   * @param stateDirectory the directory of the state of the stream processors, or null if the
+   *     state should be kept in memory only
+   */
+  public Partition(PartitionInfo partitionInfo, RaftState state, File stateDirectory) {
     this.info = partitionInfo;
     this.state = state;
+    this.stateDirectory = stateDirectory;
   }
 
   @Override
@@ -61,6 +73,11 @@ public class Partition implements Service<Partition> {
     return state;
   }
 
+  /** @return the directory of the state of the stream processors, or null if there is none */
+  public File getStateDirectory() {
+    return stateDirectory;
+  }
+
   public LogStream getLogStream() {
     return logStream;
   }
@@ -28,7 +28,10 @@ import io.zeebe.broker.clustering.base.topology.NodeInfo;
 import io.zeebe.broker.clustering.base.topology.PartitionInfo;
 import io.zeebe.broker.logstreams.SnapshotStorageService;
 import io.zeebe.broker.system.configuration.BrokerCfg;
+import io.zeebe.broker.system.configuration.DataCfg;
 import io.zeebe.logstreams.LogStreams;
+import io.zeebe.logstreams.impl.log.fs.FsLogFlushPolicy;
+import io.zeebe.logstreams.impl.log.fs.FsLogFlushPolicy.Mode;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.spi.SnapshotStorage;
 import io.zeebe.raft.Raft;
@@ -38,6 +41,8 @@ import io.zeebe.raft.state.RaftState;
 import io.zeebe.servicecontainer.*;
 import io.zeebe.transport.ClientTransport;
 import io.zeebe.transport.SocketAddress;
+import io.zeebe.util.ByteValue;
+import io.zeebe.util.DurationUtil;
 import io.zeebe.util.buffer.BufferUtil;
 import io.zeebe.util.sched.channel.OneToOneRingBufferChannel;
 import io.zeebe.util.sched.future.ActorFuture;
@@ -114,6 +119,8 @@ public class PartitionInstallService implements Service<Void>, RaftStateListener
             .logDirectory(configuration.getLogDirectory().getAbsolutePath())
             .logSegmentSize((int) configuration.getLogSegmentSize())
             .logName(logName)
+            .logRetention(brokerCfg.getData().isLogRetention())
+            .flushPolicy(createFlushPolicy(brokerCfg.getData()))
             .snapshotStorage(LogStreams.createFsSnapshotStore(snapshotPath).build())
             .buildWith(partitionInstall);
 
@@ -204,6 +211,21 @@ public class PartitionInstallService implements Service<Void>, RaftStateListener
     }
   }
 
+  private static FsLogFlushPolicy createFlushPolicy(DataCfg dataCfg) {
+    final Mode mode = Mode.valueOf(dataCfg.getFlushPolicy().toUpperCase());
+
+    switch (mode) {
+      case APPEND:
+        return FsLogFlushPolicy.onAppend();
+      case GROUP:
+        return FsLogFlushPolicy.group(
+            new ByteValue(dataCfg.getFlushBytes()).toBytes(),
+            DurationUtil.parse(dataCfg.getFlushInterval()));
+      default:
+        return FsLogFlushPolicy.NONE;
+    }
+  }
+
   private void installLeaderPartition(Raft raft) {
     final ServiceName<Partition> partitionServiceName = leaderPartitionServiceName(raft.getName());
 
@@ -218,7 +240,8 @@ public class PartitionInstallService implements Service<Void>, RaftStateListener
             raftMemberSize,
             replicationFactor);
 
-        final Partition partition = new Partition(partitionInfo, RaftState.LEADER);
+        final Partition partition =
+            new Partition(partitionInfo, RaftState.LEADER, configuration.getStateDirectory());
 
         startContext
             .createService(partitionServiceName, partition)
@@ -241,7 +264,8 @@ public class PartitionInstallService implements Service<Void>, RaftStateListener
   }
 
   private void installFollowerPartition(Raft raft) {
-    final Partition partition = new Partition(partitionInfo, RaftState.FOLLOWER);
+    final Partition partition =
+        new Partition(partitionInfo, RaftState.FOLLOWER, configuration.getStateDirectory());
     final ServiceName<Partition> partitionServiceName =
         followerPartitionServiceName(raft.getName());
 
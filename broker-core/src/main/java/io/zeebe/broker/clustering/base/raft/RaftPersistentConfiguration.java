@@ -65,11 +65,16 @@ public class RaftPersistentConfiguration implements RaftPersistentStorage {
 
   private final File logDirectory;
   private final File snapshotsDirectory;
+  private final File stateDirectory;
 
   public RaftPersistentConfiguration(
-      final File metaFile, File partitionLogDir, File partitionSnapshotsDir) {
+      final File metaFile,
+      File partitionLogDir,
+      File partitionSnapshotsDir,
+      File partitionStateDir) {
     this.logDirectory = partitionLogDir;
     this.snapshotsDirectory = partitionSnapshotsDir;
+    this.stateDirectory = partitionStateDir;
     file = metaFile;
     tmpFile = new File(file.getAbsolutePath() + ".tmp");
     path = Paths.get(file.getAbsolutePath());
@@ -241,4 +246,9 @@ public class RaftPersistentConfiguration implements RaftPersistentStorage {
   public File getSnapshotsDirectory() {
     return snapshotsDirectory;
   }
+
+  /** @return the directory of the state (e.g. the maps) of the stream processors */
+  public File getStateDirectory() {
+    return stateDirectory;
+  }
 }
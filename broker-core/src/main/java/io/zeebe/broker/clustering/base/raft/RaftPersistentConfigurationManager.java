@@ -40,6 +40,7 @@ public class RaftPersistentConfigurationManager extends Actor {
   private static final String PARTITION_METAFILE_NAME = "partition.json";
   private static final String PARTITION_LOG_DIR = "segments";
   private static final String PARTITION_SNAPSHOTS_DIR = "snapshots";
+  private static final String PARTITION_STATE_DIR = "state";
 
   private final List<RaftPersistentConfiguration> configurations = new ArrayList<>();
   private final DataCfg dataConfiguration;
@@ -72,8 +73,10 @@ public class RaftPersistentConfigurationManager extends Actor {
       if (configFile.exists()) {
         final File logDirectory = new File(partitionDirectory, PARTITION_LOG_DIR);
         final File snapshotsDirectory = new File(partitionDirectory, PARTITION_SNAPSHOTS_DIR);
+        final File stateDirectory = new File(partitionDirectory, PARTITION_STATE_DIR);
         configurations.add(
-            new RaftPersistentConfiguration(configFile, logDirectory, snapshotsDirectory));
+            new RaftPersistentConfiguration(
+                configFile, logDirectory, snapshotsDirectory, stateDirectory));
         partitionCountPerDataDirectory[offset]++;
       }
     }
@@ -114,8 +117,12 @@ public class RaftPersistentConfigurationManager extends Actor {
               final File snapshotDirectory = new File(partitionDirectory, PARTITION_SNAPSHOTS_DIR);
               snapshotDirectory.mkdir();
 
+              final File stateDirectory = new File(partitionDirectory, PARTITION_STATE_DIR);
+              stateDirectory.mkdir();
+
               final RaftPersistentConfiguration storage =
-                  new RaftPersistentConfiguration(metafile, logDirectory, snapshotDirectory);
+                  new RaftPersistentConfiguration(
+                      metafile, logDirectory, snapshotDirectory, stateDirectory);
 
               storage
                   .setTopicName(topicName)
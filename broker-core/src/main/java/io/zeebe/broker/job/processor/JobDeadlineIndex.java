@@ -0,0 +1,194 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.job.processor;
+
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+import org.agrona.UnsafeAccess;
+import sun.misc.Unsafe;
+
+/**
+ * Off-heap binary min-heap of (deadline, job key) entries, ordered by deadline. Allows to find the
+ * expired jobs without iterating over all activated jobs.
+ *
+ * <p>The index is not snapshotted. It contains derived state only and can be rebuilt from the
+ * expiration map. Entries are not removed when a job is completed, the caller has to verify a
+ * polled entry against the expiration map.
+ */
+@SuppressWarnings("restriction")
+public class JobDeadlineIndex implements AutoCloseable {
+  private static final Unsafe UNSAFE = UnsafeAccess.UNSAFE;
+
+  private static final int ENTRY_LENGTH = SIZE_OF_LONG + SIZE_OF_LONG;
+  private static final int DEADLINE_OFFSET = 0;
+  private static final int KEY_OFFSET = SIZE_OF_LONG;
+
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private final int initialCapacity;
+
+  private long address;
+  private int capacity;
+  private int size;
+
+  public JobDeadlineIndex() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public JobDeadlineIndex(int initialCapacity) {
+    if (initialCapacity < 1) {
+      throw new IllegalArgumentException("initial capacity must be greater than 0");
+    }
+
+    this.initialCapacity = initialCapacity;
+    allocate();
+  }
+
+  public void add(long deadline, long key) {
+    if (address == 0) {
+      // reopened after close
+      allocate();
+    }
+
+    if (size == capacity) {
+      grow();
+    }
+
+    int index = size;
+    size += 1;
+
+    // sift up
+    while (index > 0) {
+      final int parent = (index - 1) >>> 1;
+      final long parentDeadline = getDeadline(parent);
+
+      if (parentDeadline <= deadline) {
+        break;
+      }
+
+      setEntry(index, parentDeadline, getKey(parent));
+      index = parent;
+    }
+
+    setEntry(index, deadline, key);
+  }
+
+  /** @return the deadline of the entry with the lowest deadline, or -1 if the index is empty */
+  public long peekDeadline() {
+    return size > 0 ? getDeadline(0) : -1L;
+  }
+
+  /** @return the job key of the entry with the lowest deadline, or -1 if the index is empty */
+  public long peekKey() {
+    return size > 0 ? getKey(0) : -1L;
+  }
+
+  /** Removes the entry with the lowest deadline. */
+  public void poll() {
+    if (size == 0) {
+      return;
+    }
+
+    size -= 1;
+
+    if (size == 0) {
+      return;
+    }
+
+    final long deadline = getDeadline(size);
+    final long key = getKey(size);
+
+    // sift down
+    int index = 0;
+    final int half = size >>> 1;
+
+    while (index < half) {
+      int child = (index << 1) + 1;
+      long childDeadline = getDeadline(child);
+
+      final int right = child + 1;
+      if (right < size) {
+        final long rightDeadline = getDeadline(right);
+        if (rightDeadline < childDeadline) {
+          child = right;
+          childDeadline = rightDeadline;
+        }
+      }
+
+      if (deadline <= childDeadline) {
+        break;
+      }
+
+      setEntry(index, childDeadline, getKey(child));
+      index = child;
+    }
+
+    setEntry(index, deadline, key);
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  @Override
+  public void close() {
+    if (address != 0) {
+      UNSAFE.freeMemory(address);
+      address = 0;
+      capacity = initialCapacity;
+      size = 0;
+    }
+  }
+
+  private void allocate() {
+    capacity = initialCapacity;
+    address = UNSAFE.allocateMemory(entryOffset(capacity));
+  }
+
+  private void grow() {
+    final int newCapacity = Math.multiplyExact(capacity, 2);
+    address = UNSAFE.reallocateMemory(address, entryOffset(newCapacity));
+    capacity = newCapacity;
+  }
+
+  private long getDeadline(int index) {
+    return UNSAFE.getLong(address + entryOffset(index) + DEADLINE_OFFSET);
+  }
+
+  private long getKey(int index) {
+    return UNSAFE.getLong(address + entryOffset(index) + KEY_OFFSET);
+  }
+
+  private void setEntry(int index, long deadline, long key) {
+    final long entryAddress = address + entryOffset(index);
+    UNSAFE.putLong(entryAddress + DEADLINE_OFFSET, deadline);
+    UNSAFE.putLong(entryAddress + KEY_OFFSET, key);
+  }
+
+  private static long entryOffset(int index) {
+    return (long) index * ENTRY_LENGTH;
+  }
+}
@@ -43,6 +43,9 @@ public class JobTimeOutStreamProcessor implements StreamProcessorLifecycleAware
 
   protected Long2BytesZbMap expirationMap = new Long2BytesZbMap(MAP_VALUE_MAX_LENGTH);
 
+  /** orders the activated jobs by deadline; rebuilt from the expiration map on open */
+  protected JobDeadlineIndex deadlineIndex = new JobDeadlineIndex();
+
   private UnsafeBuffer mapAccessBuffer = new UnsafeBuffer(new byte[MAP_VALUE_MAX_LENGTH]);
 
   private ScheduledTimer timer;
@@ -51,6 +54,8 @@ public class JobTimeOutStreamProcessor implements StreamProcessorLifecycleAware
 
   @Override
   public void onOpen(TypedStreamProcessor streamProcessor) {
+    rebuildDeadlineIndex();
+
     timer =
         streamProcessor
             .getActor()
@@ -68,22 +73,32 @@ public class JobTimeOutStreamProcessor implements StreamProcessorLifecycleAware
 
     // TODO: check all locations where we need to close readers
     this.reader.close();
+
+    deadlineIndex.close();
   }
 
-  private void timeOutJobs() {
-    final Iterator<Long2BytesZbMapEntry> iterator = expirationMap.iterator();
+  private void rebuildDeadlineIndex() {
+    deadlineIndex.clear();
 
+    final Iterator<Long2BytesZbMapEntry> iterator = expirationMap.iterator();
     while (iterator.hasNext()) {
       final Long2BytesZbMapEntry entry = iterator.next();
+      final long deadline = entry.getValue().getLong(SIZE_OF_LONG);
 
-      final DirectBuffer value = entry.getValue();
+      deadlineIndex.add(deadline, entry.getKey());
+    }
+  }
 
-      final long eventPosition = value.getLong(0);
-      final long deadline = value.getLong(SIZE_OF_LONG);
+  private void timeOutJobs() {
+    while (!deadlineIndex.isEmpty() && isExpired(deadlineIndex.peekDeadline())) {
+      final long key = deadlineIndex.peekKey();
+      final long deadline = deadlineIndex.peekDeadline();
 
-      if (isExpired(deadline)) {
-        // TODO: would be nicer to have a consumable channel for timed-out timers
-        //   that we can stop consuming/yield on backpressure
+      final DirectBuffer value = expirationMap.get(key);
+
+      // the index may contain entries of jobs which are completed or activated again
+      if (value != null && value.getLong(SIZE_OF_LONG) == deadline) {
+        final long eventPosition = value.getLong(0);
 
         final TypedRecord<JobRecord> event = reader.readValue(eventPosition, JobRecord.class);
         final long position =
@@ -91,9 +106,12 @@ public class JobTimeOutStreamProcessor implements StreamProcessorLifecycleAware
         final boolean success = position >= 0;
 
         if (!success) {
+          // keep the entry and retry on the next interval
           return;
         }
       }
+
+      deadlineIndex.poll();
     }
   }
 
@@ -112,6 +130,7 @@ public class JobTimeOutStreamProcessor implements StreamProcessorLifecycleAware
             mapAccessBuffer.putLong(SIZE_OF_LONG, deadline);
 
             expirationMap.put(event.getKey(), mapAccessBuffer);
+            deadlineIndex.add(deadline, event.getKey());
           }
         };
 
@@ -26,8 +26,10 @@ import io.zeebe.broker.event.processor.TopicSubscriptionService;
 import io.zeebe.broker.logstreams.processor.StreamProcessorServiceFactory;
 import io.zeebe.broker.system.Component;
 import io.zeebe.broker.system.SystemContext;
+import io.zeebe.broker.system.configuration.DataCfg;
 import io.zeebe.broker.transport.TransportServiceNames;
 import io.zeebe.servicecontainer.ServiceContainer;
+import io.zeebe.util.ByteValue;
 import io.zeebe.util.DurationUtil;
 import java.time.Duration;
 
@@ -54,10 +56,23 @@ public class LogStreamsComponent implements Component {
             topicSubscriptionService.getSystemPartitionGroupReference())
         .install();
 
-    final Duration snapshotPeriod =
-        DurationUtil.parse(context.getBrokerConfiguration().getData().getSnapshotPeriod());
+    final DataCfg dataCfg = context.getBrokerConfiguration().getData();
+    final Duration snapshotPeriod = DurationUtil.parse(dataCfg.getSnapshotPeriod());
+    final Duration jobDuration = DurationUtil.parse(dataCfg.getProcessingJobDuration());
+
+    int maxConcurrentRecoveries = dataCfg.getMaxConcurrentRecoveries();
+    if (maxConcurrentRecoveries <= 0) {
+      maxConcurrentRecoveries = context.getBrokerConfiguration().getThreads().getCpuThreadCount();
+    }
     final StreamProcessorServiceFactory streamProcessorFactory =
-        new StreamProcessorServiceFactory(serviceContainer, snapshotPeriod);
+        new StreamProcessorServiceFactory(
+            serviceContainer,
+            snapshotPeriod,
+            dataCfg.getMaxDeltaSnapshots(),
+            dataCfg.getProcessingEventsPerJob(),
+            jobDuration,
+            maxConcurrentRecoveries,
+            new ByteValue(dataCfg.getSnapshotMemory()).toBytes());
     serviceContainer
         .createService(STREAM_PROCESSOR_SERVICE_FACTORY, streamProcessorFactory)
         .install();
@@ -23,6 +23,8 @@ import io.zeebe.logstreams.impl.service.StreamProcessorService;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.logstreams.processor.EventFilter;
+import io.zeebe.logstreams.processor.RecoveryCoordinator;
+import io.zeebe.logstreams.processor.SnapshotMemoryBudget;
 import io.zeebe.logstreams.processor.StreamProcessor;
 import io.zeebe.logstreams.spi.SnapshotStorage;
 import io.zeebe.protocol.Protocol;
@@ -38,11 +40,30 @@ import java.util.List;
 public class StreamProcessorServiceFactory implements Service<StreamProcessorServiceFactory> {
   private final ServiceContainer serviceContainer;
   private final Duration snapshotPeriod;
+  private final int maxDeltaSnapshots;
+  private final int eventsPerJob;
+  private final Duration jobDuration;
+  private final RecoveryCoordinator recoveryCoordinator;
+  private final SnapshotMemoryBudget snapshotMemoryBudget;
   private ActorScheduler actorScheduler;
 
-  public StreamProcessorServiceFactory(ServiceContainer serviceContainer, Duration snapshotPeriod) {
+  public StreamProcessorServiceFactory(
+      ServiceContainer serviceContainer,
+      Duration snapshotPeriod,
+      int maxDeltaSnapshots,
+      int eventsPerJob,
+      Duration jobDuration,
+      int maxConcurrentRecoveries,
+      long snapshotMemory) {
     this.serviceContainer = serviceContainer;
     this.snapshotPeriod = snapshotPeriod;
+    this.maxDeltaSnapshots = maxDeltaSnapshots;
+    this.eventsPerJob = eventsPerJob;
+    this.jobDuration = jobDuration;
+    // shared by all stream processors of the broker, to bound the recoveries on startup
+    this.recoveryCoordinator = new RecoveryCoordinator(maxConcurrentRecoveries);
+    // shared as well, so that the memory of the snapshot copies doesn't grow with the partitions
+    this.snapshotMemoryBudget = new SnapshotMemoryBudget(snapshotMemory);
   }
 
   @Override
@@ -131,6 +152,11 @@ public class StreamProcessorServiceFactory implements Service<StreamProcessorSer
           .serviceContainer(serviceContainer)
           .snapshotStorage(snapshotStorage)
           .snapshotPeriod(snapshotPeriod)
+          .maxDeltaSnapshots(maxDeltaSnapshots)
+          .maxEventsPerJob(eventsPerJob)
+          .maxJobDuration(jobDuration)
+          .recoveryCoordinator(recoveryCoordinator)
+          .snapshotMemoryBudget(snapshotMemoryBudget)
           .logStream(logStream)
           .eventFilter(eventFilter)
           .readOnly(readOnly)
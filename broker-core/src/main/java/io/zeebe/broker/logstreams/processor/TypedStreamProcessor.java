@@ -71,7 +71,13 @@ public class TypedStreamProcessor implements StreamProcessor {
 
     this.eventCache = new EnumMap<>(ValueType.class);
 
-    eventRegistry.forEach((t, c) -> eventCache.put(t, ReflectUtil.newInstance(c)));
+    eventRegistry.forEach(
+        (t, c) -> {
+          final UnpackedObject value = ReflectUtil.newInstance(c);
+          // the properties are decoded on access, most processors only read a few of them
+          value.setLazyDecoding(true);
+          eventCache.put(t, value);
+        });
     this.eventRegistry = eventRegistry;
     this.environment = environment;
   }
@@ -17,12 +17,16 @@
  */
 package io.zeebe.broker.system;
 
+import static io.zeebe.broker.clustering.base.ClusterBaseLayerServiceNames.LEADER_PARTITION_GROUP_NAME;
 import static io.zeebe.broker.clustering.base.ClusterBaseLayerServiceNames.LEADER_PARTITION_SYSTEM_GROUP_NAME;
+import static io.zeebe.broker.clustering.base.ClusterBaseLayerServiceNames.TOPOLOGY_MANAGER_SERVICE;
 import static io.zeebe.broker.logstreams.LogStreamServiceNames.STREAM_PROCESSOR_SERVICE_FACTORY;
 import static io.zeebe.broker.system.SystemServiceNames.*;
 import static io.zeebe.broker.transport.TransportServiceNames.*;
 
+import io.zeebe.broker.system.configuration.MetricsCfg;
 import io.zeebe.broker.system.metrics.MetricsFileWriterService;
+import io.zeebe.broker.system.metrics.MetricsHttpServerService;
 import io.zeebe.broker.system.workflow.repository.api.management.DeploymentManagerRequestHandler;
 import io.zeebe.broker.system.workflow.repository.service.DeploymentManager;
 import io.zeebe.broker.transport.TransportServiceNames;
@@ -33,9 +37,19 @@ public class SystemComponent implements Component {
   public void init(SystemContext context) {
     final ServiceContainer serviceContainer = context.getServiceContainer();
 
-    final MetricsFileWriterService metricsFileWriterService =
-        new MetricsFileWriterService(context.getBrokerConfiguration().getMetrics());
-    serviceContainer.createService(METRICS_FILE_WRITER, metricsFileWriterService).install();
+    final MetricsCfg metricsCfg = context.getBrokerConfiguration().getMetrics();
+
+    if (metricsCfg.isEnableHttpServer()) {
+      final MetricsHttpServerService metricsHttpServerService =
+          new MetricsHttpServerService(metricsCfg);
+      serviceContainer.createService(METRICS_HTTP_SERVER, metricsHttpServerService).install();
+    }
+
+    if (metricsCfg.isEnableFileWriter()) {
+      final MetricsFileWriterService metricsFileWriterService =
+          new MetricsFileWriterService(metricsCfg);
+      serviceContainer.createService(METRICS_FILE_WRITER, metricsFileWriterService).install();
+    }
 
     final DeploymentManagerRequestHandler requestHandlerService =
         new DeploymentManagerRequestHandler();
@@ -44,6 +58,8 @@ public class SystemComponent implements Component {
         .dependency(
             bufferingServerTransport(MANAGEMENT_API_SERVER_NAME),
             requestHandlerService.getManagementApiServerTransportInjector())
+        .groupReference(
+            LEADER_PARTITION_GROUP_NAME, requestHandlerService.getLeaderPartitionsGroupReference())
         .install();
 
     final DeploymentManager deploymentManagerService = new DeploymentManager();
@@ -61,6 +77,10 @@ public class SystemComponent implements Component {
         .dependency(
             TransportServiceNames.CONTROL_MESSAGE_HANDLER_MANAGER,
             deploymentManagerService.getControlMessageHandlerManagerServiceInjector())
+        .dependency(
+            clientTransport(MANAGEMENT_API_CLIENT_NAME),
+            deploymentManagerService.getManagementApiClientInjector())
+        .dependency(TOPOLOGY_MANAGER_SERVICE, deploymentManagerService.getTopologyManagerInjector())
         .groupReference(
             LEADER_PARTITION_SYSTEM_GROUP_NAME,
             deploymentManagerService.getPartitionsGroupReference())
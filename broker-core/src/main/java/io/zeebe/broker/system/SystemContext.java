@@ -23,6 +23,7 @@ import io.zeebe.broker.system.configuration.*;
 import io.zeebe.servicecontainer.ServiceContainer;
 import io.zeebe.servicecontainer.impl.ServiceContainerImpl;
 import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.ActorIdleStrategy;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
@@ -121,15 +122,29 @@ public class SystemContext implements AutoCloseable {
 
     final int cpuThreads = cfg.getCpuThreadCount();
     final int ioThreads = cfg.getIoThreadCount();
+    final int[] cpuAffinity = cfg.getCpuAffinity();
+    final ActorIdleStrategy cpuIdleStrategy =
+        ActorIdleStrategy.valueOf(cfg.getCpuIdleStrategy().toUpperCase());
+    final ActorIdleStrategy ioIdleStrategy =
+        ActorIdleStrategy.valueOf(cfg.getIoIdleStrategy().toUpperCase());
 
     Loggers.SYSTEM_LOGGER.info(
-        "Scheduler configuration: Threads{cpu-bound: {}, io-bound: {}}.", cpuThreads, ioThreads);
+        "Scheduler configuration: Threads{cpu-bound: {}, io-bound: {}, cpu-affinity: {}, "
+            + "cpu-idle-strategy: {}, io-idle-strategy: {}}.",
+        cpuThreads,
+        ioThreads,
+        Arrays.toString(cpuAffinity),
+        cpuIdleStrategy,
+        ioIdleStrategy);
 
     return ActorScheduler.newActorScheduler()
         .setActorClock(clock)
         .setMetricsManager(metricsManager)
         .setCpuBoundActorThreadCount(cpuThreads)
         .setIoBoundActorThreadCount(ioThreads)
+        .setCpuBoundThreadAffinity(cpuAffinity)
+        .setCpuBoundIdleStrategy(cpuIdleStrategy)
+        .setIoBoundIdleStrategy(ioIdleStrategy)
         .setSchedulerName(brokerId)
         .build();
   }
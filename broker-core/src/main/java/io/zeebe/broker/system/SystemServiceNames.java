@@ -18,6 +18,7 @@
 package io.zeebe.broker.system;
 
 import io.zeebe.broker.system.metrics.MetricsFileWriter;
+import io.zeebe.broker.system.metrics.MetricsHttpServer;
 import io.zeebe.broker.system.workflow.repository.api.management.DeploymentManagerRequestHandler;
 import io.zeebe.broker.system.workflow.repository.service.*;
 import io.zeebe.servicecontainer.ServiceName;
@@ -26,6 +27,9 @@ public class SystemServiceNames {
   public static final ServiceName<MetricsFileWriter> METRICS_FILE_WRITER =
       ServiceName.newServiceName("broker.metricsFileWriter", MetricsFileWriter.class);
 
+  public static final ServiceName<MetricsHttpServer> METRICS_HTTP_SERVER =
+      ServiceName.newServiceName("broker.metricsHttpServer", MetricsHttpServer.class);
+
   public static final ServiceName<DeploymentManager> DEPLOYMENT_MANAGER_SERVICE =
       ServiceName.newServiceName("broker.system.deployment.manager", DeploymentManager.class);
 
@@ -26,6 +26,24 @@ public class DataCfg implements ConfigurationEntry {
 
   private String snapshotReplicationPeriod = "5m";
 
+  private int maxDeltaSnapshots = 3;
+
+  private boolean logRetention = false;
+
+  private int processingEventsPerJob = 1;
+
+  private String processingJobDuration = "5ms";
+
+  private int maxConcurrentRecoveries = 0;
+
+  private String snapshotMemory = "256M";
+
+  private String flushPolicy = "none";
+
+  private String flushBytes = "4M";
+
+  private String flushInterval = "10ms";
+
   @Override
   public void init(BrokerCfg globalConfig, String brokerBase) {
     for (int i = 0; i < directories.length; i++) {
@@ -64,4 +82,76 @@ public class DataCfg implements ConfigurationEntry {
   public void setSnapshotReplicationPeriod(String snapshotReplicationPeriod) {
     this.snapshotReplicationPeriod = snapshotReplicationPeriod;
   }
+
+  public boolean isLogRetention() {
+    return logRetention;
+  }
+
+  public void setLogRetention(boolean logRetention) {
+    this.logRetention = logRetention;
+  }
+
+  public int getMaxDeltaSnapshots() {
+    return maxDeltaSnapshots;
+  }
+
+  public void setMaxDeltaSnapshots(int maxDeltaSnapshots) {
+    this.maxDeltaSnapshots = maxDeltaSnapshots;
+  }
+
+  public int getProcessingEventsPerJob() {
+    return processingEventsPerJob;
+  }
+
+  public void setProcessingEventsPerJob(int processingEventsPerJob) {
+    this.processingEventsPerJob = processingEventsPerJob;
+  }
+
+  public String getProcessingJobDuration() {
+    return processingJobDuration;
+  }
+
+  public void setProcessingJobDuration(String processingJobDuration) {
+    this.processingJobDuration = processingJobDuration;
+  }
+
+  public int getMaxConcurrentRecoveries() {
+    return maxConcurrentRecoveries;
+  }
+
+  public void setMaxConcurrentRecoveries(int maxConcurrentRecoveries) {
+    this.maxConcurrentRecoveries = maxConcurrentRecoveries;
+  }
+
+  public String getSnapshotMemory() {
+    return snapshotMemory;
+  }
+
+  public void setSnapshotMemory(String snapshotMemory) {
+    this.snapshotMemory = snapshotMemory;
+  }
+
+  public String getFlushPolicy() {
+    return flushPolicy;
+  }
+
+  public void setFlushPolicy(String flushPolicy) {
+    this.flushPolicy = flushPolicy;
+  }
+
+  public String getFlushBytes() {
+    return flushBytes;
+  }
+
+  public void setFlushBytes(String flushBytes) {
+    this.flushBytes = flushBytes;
+  }
+
+  public String getFlushInterval() {
+    return flushInterval;
+  }
+
+  public void setFlushInterval(String flushInterval) {
+    this.flushInterval = flushInterval;
+  }
 }
@@ -23,10 +23,19 @@ import java.time.Duration;
 public class MetricsCfg implements ConfigurationEntry {
   private String reportingInterval = "5s";
   private String file = "metrics/zeebe.prom";
+  private boolean enableFileWriter = false;
+
+  private boolean enableHttpServer = true;
+  private String host;
+  private int port = 9600;
 
   @Override
   public void init(BrokerCfg brokerCfg, String brokerBase) {
     file = ConfigurationUtil.toAbsolutePath(file, brokerBase);
+
+    if (host == null) {
+      host = brokerCfg.getNetwork().getHost();
+    }
   }
 
   public Duration getReportingIntervalDuration() {
@@ -48,4 +57,36 @@ public class MetricsCfg implements ConfigurationEntry {
   public void setFile(String metricsFile) {
     this.file = metricsFile;
   }
+
+  public boolean isEnableFileWriter() {
+    return enableFileWriter;
+  }
+
+  public void setEnableFileWriter(boolean enableFileWriter) {
+    this.enableFileWriter = enableFileWriter;
+  }
+
+  public boolean isEnableHttpServer() {
+    return enableHttpServer;
+  }
+
+  public void setEnableHttpServer(boolean enableHttpServer) {
+    this.enableHttpServer = enableHttpServer;
+  }
+
+  public String getHost() {
+    return host;
+  }
+
+  public void setHost(String host) {
+    this.host = host;
+  }
+
+  public int getPort() {
+    return port;
+  }
+
+  public void setPort(int port) {
+    this.port = port;
+  }
 }
@@ -20,6 +20,9 @@ package io.zeebe.broker.system.configuration;
 public class ThreadsCfg implements ConfigurationEntry {
   private int cpuThreadCount = 2;
   private int ioThreadCount = 2;
+  private int[] cpuAffinity = new int[0];
+  private String cpuIdleStrategy = "backoff";
+  private String ioIdleStrategy = "backoff";
 
   public int getCpuThreadCount() {
     return cpuThreadCount;
@@ -36,4 +39,28 @@ public class ThreadsCfg implements ConfigurationEntry {
   public void setIoThreadCount(int ioThreads) {
     this.ioThreadCount = ioThreads;
   }
+
+  public int[] getCpuAffinity() {
+    return cpuAffinity;
+  }
+
+  public void setCpuAffinity(int[] cpuAffinity) {
+    this.cpuAffinity = cpuAffinity;
+  }
+
+  public String getCpuIdleStrategy() {
+    return cpuIdleStrategy;
+  }
+
+  public void setCpuIdleStrategy(String cpuIdleStrategy) {
+    this.cpuIdleStrategy = cpuIdleStrategy;
+  }
+
+  public String getIoIdleStrategy() {
+    return ioIdleStrategy;
+  }
+
+  public void setIoIdleStrategy(String ioIdleStrategy) {
+    this.ioIdleStrategy = ioIdleStrategy;
+  }
 }
@@ -0,0 +1,136 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.metrics;
+
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.clock.ActorClock;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import org.agrona.ExpandableDirectByteBuffer;
+
+/**
+ * A single request / response exchange of the {@link MetricsHttpServer}. The connection is closed
+ * after the response is written.
+ *
+ * <p>The metrics are dumped into a direct buffer right behind space which is reserved for the
+ * response header. The header is written into the reserved space once the content length is
+ * known, so the response is sent to the channel without copying the dumped metrics.
+ */
+class MetricsHttpConnection {
+  private static final int MAX_REQUEST_LENGTH = 4 * 1024;
+  private static final int RESERVED_HEADER_LENGTH = 128;
+
+  private static final String METRICS_PATH = "/metrics";
+  private static final String CONTENT_TYPE = "text/plain; version=0.0.4";
+  private static final String HEADER_END = "\r\n\r\n";
+
+  private final SelectionKey key;
+  private final SocketChannel channel;
+  private final MetricsManager metricsManager;
+
+  private final ByteBuffer requestBuffer = ByteBuffer.allocate(MAX_REQUEST_LENGTH);
+  private final ExpandableDirectByteBuffer responseBuffer = new ExpandableDirectByteBuffer();
+  private ByteBuffer response;
+
+  MetricsHttpConnection(SelectionKey key, MetricsManager metricsManager) {
+    this.key = key;
+    this.channel = (SocketChannel) key.channel();
+    this.metricsManager = metricsManager;
+  }
+
+  void onReadable() throws IOException {
+    if (channel.read(requestBuffer) < 0) {
+      close();
+      return;
+    }
+
+    final String request =
+        new String(
+            requestBuffer.array(), 0, requestBuffer.position(), StandardCharsets.ISO_8859_1);
+
+    if (request.contains(HEADER_END)) {
+      prepareResponse(request);
+    } else if (!requestBuffer.hasRemaining()) {
+      prepareResponse(431, "Request Header Fields Too Large", 0);
+    }
+  }
+
+  void onWritable() throws IOException {
+    channel.write(response);
+
+    if (!response.hasRemaining()) {
+      close();
+    }
+  }
+
+  private void prepareResponse(String request) {
+    final int requestLineEnd = request.indexOf("\r\n");
+    final String[] requestLine = request.substring(0, requestLineEnd).split(" ");
+
+    if (requestLine.length < 2 || !"GET".equals(requestLine[0])) {
+      prepareResponse(405, "Method Not Allowed", 0);
+    } else if (!isMetricsPath(requestLine[1])) {
+      prepareResponse(404, "Not Found", 0);
+    } else {
+      final long now = ActorClock.currentTimeMillis();
+      final int limit = metricsManager.dump(responseBuffer, RESERVED_HEADER_LENGTH, now);
+
+      prepareResponse(200, "OK", limit - RESERVED_HEADER_LENGTH);
+    }
+  }
+
+  private void prepareResponse(int statusCode, String reason, int contentLength) {
+    final String header =
+        "HTTP/1.1 "
+            + statusCode
+            + " "
+            + reason
+            + "\r\nContent-Type: "
+            + CONTENT_TYPE
+            + "\r\nContent-Length: "
+            + contentLength
+            + "\r\nConnection: close"
+            + HEADER_END;
+
+    final byte[] headerBytes = header.getBytes(StandardCharsets.ISO_8859_1);
+    final int headerOffset = RESERVED_HEADER_LENGTH - headerBytes.length;
+    responseBuffer.putBytes(headerOffset, headerBytes);
+
+    // the byte buffer may have been replaced when the buffer was expanded by the dump
+    response = responseBuffer.byteBuffer().duplicate();
+    response.limit(RESERVED_HEADER_LENGTH + contentLength);
+    response.position(headerOffset);
+
+    key.interestOps(SelectionKey.OP_WRITE);
+  }
+
+  private static boolean isMetricsPath(String uri) {
+    final int queryStart = uri.indexOf('?');
+    final String path = queryStart >= 0 ? uri.substring(0, queryStart) : uri;
+
+    return METRICS_PATH.equals(path);
+  }
+
+  private void close() throws IOException {
+    key.cancel();
+    channel.close();
+  }
+}
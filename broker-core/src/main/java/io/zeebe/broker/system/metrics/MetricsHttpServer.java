@@ -0,0 +1,180 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.metrics;
+
+import io.zeebe.broker.Loggers;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorPriority;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import org.slf4j.Logger;
+
+/**
+ * Minimal non-blocking HTTP server which serves the metrics in the Prometheus text format on
+ * <code>GET /metrics</code>. The metrics are dumped on demand, when a request is received.
+ */
+public class MetricsHttpServer extends Actor {
+  private static final Logger LOG = Loggers.SYSTEM_LOGGER;
+
+  private final InetSocketAddress address;
+  private final MetricsManager metricsManager;
+
+  private Selector selector;
+  private ServerSocketChannel serverChannel;
+
+  public MetricsHttpServer(InetSocketAddress address, MetricsManager metricsManager) {
+    this.address = address;
+    this.metricsManager = metricsManager;
+  }
+
+  @Override
+  public String getName() {
+    return "metricsHttpServer";
+  }
+
+  @Override
+  protected void onActorStarting() {
+    try {
+      selector = Selector.open();
+
+      serverChannel = ServerSocketChannel.open();
+      serverChannel.configureBlocking(false);
+      serverChannel.bind(address);
+      serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to open metrics http server on " + address, e);
+    }
+
+    LOG.debug("Serving metrics on http://{}/metrics", getLocalAddress());
+
+    actor.setPriority(ActorPriority.LOW);
+  }
+
+  @Override
+  protected void onActorStarted() {
+    actor.pollBlocking(this::select, this::processSelectedKeys);
+  }
+
+  private void select() {
+    if (selector.isOpen()) {
+      try {
+        selector.select();
+      } catch (IOException | ClosedSelectorException e) {
+        LOG.debug("Failed to select metrics http channels", e);
+      }
+    }
+  }
+
+  private void processSelectedKeys() {
+    if (!selector.isOpen()) {
+      return;
+    }
+
+    final Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+    while (iterator.hasNext()) {
+      final SelectionKey key = iterator.next();
+      iterator.remove();
+
+      if (key.isValid()) {
+        try {
+          processKey(key);
+        } catch (IOException e) {
+          LOG.debug("Failed to serve metrics request", e);
+          closeKey(key);
+        }
+      }
+    }
+  }
+
+  private void processKey(SelectionKey key) throws IOException {
+    if (key.isAcceptable()) {
+      accept();
+    } else {
+      final MetricsHttpConnection connection = (MetricsHttpConnection) key.attachment();
+
+      if (key.isReadable()) {
+        connection.onReadable();
+      }
+
+      if (key.isValid() && key.isWritable()) {
+        connection.onWritable();
+      }
+    }
+  }
+
+  private void accept() throws IOException {
+    final SocketChannel channel = serverChannel.accept();
+
+    if (channel != null) {
+      channel.configureBlocking(false);
+
+      final SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+      key.attach(new MetricsHttpConnection(key, metricsManager));
+    }
+  }
+
+  private void closeKey(SelectionKey key) {
+    key.cancel();
+
+    try {
+      key.channel().close();
+    } catch (IOException e) {
+      LOG.debug("Failed to close metrics http channel", e);
+    }
+  }
+
+  @Override
+  protected void onActorClosing() {
+    if (selector != null) {
+      try {
+        for (SelectionKey key : selector.keys()) {
+          closeKey(key);
+        }
+      } catch (ClosedSelectorException e) {
+        // already closed
+      }
+
+      try {
+        selector.close();
+      } catch (IOException e) {
+        LOG.debug("Failed to close metrics http selector", e);
+      }
+    }
+  }
+
+  /** @return the address the server is bound to, or null if the server is not started */
+  public InetSocketAddress getLocalAddress() {
+    try {
+      return serverChannel != null ? (InetSocketAddress) serverChannel.getLocalAddress() : null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  public ActorFuture<Void> close() {
+    return actor.close();
+  }
+}
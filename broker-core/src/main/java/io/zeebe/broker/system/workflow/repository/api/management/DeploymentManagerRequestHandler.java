@@ -17,12 +17,22 @@
  */
 package io.zeebe.broker.system.workflow.repository.api.management;
 
+import io.zeebe.broker.clustering.base.partitions.Partition;
 import io.zeebe.clustering.management.FetchWorkflowRequestDecoder;
 import io.zeebe.clustering.management.MessageHeaderDecoder;
+import io.zeebe.clustering.management.PushDeploymentRequestDecoder;
+import io.zeebe.logstreams.log.LogStreamWriter;
+import io.zeebe.logstreams.log.LogStreamWriterImpl;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.RecordMetadata;
+import io.zeebe.protocol.intent.DeploymentIntent;
 import io.zeebe.servicecontainer.*;
 import io.zeebe.transport.*;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import org.agrona.DirectBuffer;
 
@@ -38,9 +48,21 @@ public class DeploymentManagerRequestHandler extends Actor
   private final AtomicReference<FetchWorkflowRequestHandler> fetchWorkflowHandlerRef =
       new AtomicReference<>();
 
+  private final Map<Integer, Partition> leaderPartitions = new ConcurrentHashMap<>();
+  private final ServiceGroupReference<Partition> leaderPartitionsGroupReference =
+      ServiceGroupReference.<Partition>create()
+          .onAdd((name, partition) -> leaderPartitions.put(partitionId(partition), partition))
+          .onRemove((name, partition) -> leaderPartitions.remove(partitionId(partition)))
+          .build();
+
   private final ServerResponse response = new ServerResponse();
   private final NotLeaderResponse notLeaderResponse = new NotLeaderResponse();
 
+  private final PushDeploymentRequest pushDeploymentRequest = new PushDeploymentRequest();
+  private final PushDeploymentResponse pushDeploymentResponse = new PushDeploymentResponse();
+  private final LogStreamWriter logStreamWriter = new LogStreamWriterImpl();
+  private final RecordMetadata recordMetadata = new RecordMetadata();
+
   private BufferingServerTransport serverTransport;
 
   @Override
@@ -107,6 +129,10 @@ public class DeploymentManagerRequestHandler extends Actor
           {
             return onFetchWorkflow(buffer, offset, length, output, remoteAddress, requestId);
           }
+        case PushDeploymentRequestDecoder.TEMPLATE_ID:
+          {
+            return onPushDeployment(buffer, offset, length, output, remoteAddress, requestId);
+          }
         default:
           {
             // ignore
@@ -143,6 +169,64 @@ public class DeploymentManagerRequestHandler extends Actor
     }
   }
 
+  /**
+   * Writes a deployment, which is pushed from the system partition, as event to the log of the
+   * partition. The workflow stream processor of the partition adds the deployed workflows to its
+   * local workflow repository, so that it doesn't need to fetch them on instance creation.
+   */
+  private boolean onPushDeployment(
+      DirectBuffer buffer,
+      int offset,
+      int length,
+      ServerOutput output,
+      RemoteAddress remoteAddress,
+      long requestId) {
+    pushDeploymentRequest.wrap(buffer, offset, length);
+
+    final int partitionId = pushDeploymentRequest.getPartitionId();
+    final long deploymentKey = pushDeploymentRequest.getDeploymentKey();
+    final Partition partition = leaderPartitions.get(partitionId);
+
+    response.reset().requestId(requestId).remoteStreamId(remoteAddress.getStreamId());
+
+    if (partition == null) {
+      response.writer(notLeaderResponse);
+      return output.sendResponse(response);
+    }
+
+    recordMetadata
+        .reset()
+        .recordType(RecordType.EVENT)
+        .valueType(ValueType.DEPLOYMENT)
+        .intent(DeploymentIntent.CREATED);
+
+    logStreamWriter.wrap(partition.getLogStream());
+
+    final long position =
+        logStreamWriter
+            .key(deploymentKey)
+            .metadataWriter(recordMetadata)
+            .value(pushDeploymentRequest.getDeployment())
+            .tryWrite();
+
+    if (position < 0) {
+      // retry the request when the log stream accepts new events again
+      return false;
+    }
+
+    pushDeploymentResponse.reset().setPartitionId(partitionId).setDeploymentKey(deploymentKey);
+    response.writer(pushDeploymentResponse);
+
+    // the event is written already - if the response gets lost, then the system partition pushes
+    // the deployment again and the workflow stream processor ignores the duplicate
+    output.sendResponse(response);
+    return true;
+  }
+
+  private static int partitionId(Partition partition) {
+    return partition.getInfo().getPartitionId();
+  }
+
   @Override
   public DeploymentManagerRequestHandler get() {
     return this;
@@ -152,6 +236,10 @@ public class DeploymentManagerRequestHandler extends Actor
     return managementApiServerTransportInjector;
   }
 
+  public ServiceGroupReference<Partition> getLeaderPartitionsGroupReference() {
+    return leaderPartitionsGroupReference;
+  }
+
   public void setFetchWorkflowRequestHandler(
       FetchWorkflowRequestHandler fetchWorkflowRequestHandler) {
     fetchWorkflowHandlerRef.set(fetchWorkflowRequestHandler);
@@ -0,0 +1,112 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.workflow.repository.api.management;
+
+import static io.zeebe.clustering.management.PushDeploymentRequestEncoder.deploymentHeaderLength;
+
+import io.zeebe.broker.util.SbeBufferWriterReader;
+import io.zeebe.clustering.management.PushDeploymentRequestDecoder;
+import io.zeebe.clustering.management.PushDeploymentRequestEncoder;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/** Pushes a created deployment from the system partition to a partition of the deployed topic. */
+public class PushDeploymentRequest
+    extends SbeBufferWriterReader<PushDeploymentRequestEncoder, PushDeploymentRequestDecoder> {
+  private final PushDeploymentRequestDecoder bodyDecoder = new PushDeploymentRequestDecoder();
+  private final PushDeploymentRequestEncoder bodyEncoder = new PushDeploymentRequestEncoder();
+
+  private int partitionId = PushDeploymentRequestEncoder.partitionIdNullValue();
+  private long deploymentKey = PushDeploymentRequestEncoder.deploymentKeyNullValue();
+  private final DirectBuffer deployment = new UnsafeBuffer(0, 0);
+
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  public PushDeploymentRequest setPartitionId(final int partitionId) {
+    this.partitionId = partitionId;
+    return this;
+  }
+
+  public long getDeploymentKey() {
+    return deploymentKey;
+  }
+
+  public PushDeploymentRequest setDeploymentKey(final long deploymentKey) {
+    this.deploymentKey = deploymentKey;
+    return this;
+  }
+
+  /** @return the serialized deployment record */
+  public DirectBuffer getDeployment() {
+    return deployment;
+  }
+
+  public PushDeploymentRequest setDeployment(final DirectBuffer deployment) {
+    this.deployment.wrap(deployment);
+    return this;
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    partitionId = PushDeploymentRequestEncoder.partitionIdNullValue();
+    deploymentKey = PushDeploymentRequestEncoder.deploymentKeyNullValue();
+    deployment.wrap(0, 0);
+  }
+
+  @Override
+  protected PushDeploymentRequestEncoder getBodyEncoder() {
+    return bodyEncoder;
+  }
+
+  @Override
+  protected PushDeploymentRequestDecoder getBodyDecoder() {
+    return bodyDecoder;
+  }
+
+  @Override
+  public int getLength() {
+    return super.getLength() + deploymentHeaderLength() + deployment.capacity();
+  }
+
+  @Override
+  public void wrap(final DirectBuffer buffer, final int offset, final int length) {
+    super.wrap(buffer, offset, length);
+
+    partitionId = bodyDecoder.partitionId();
+    deploymentKey = bodyDecoder.deploymentKey();
+
+    final int deploymentLength = bodyDecoder.deploymentLength();
+    if (deploymentLength > 0) {
+      deployment.wrap(buffer, bodyDecoder.limit() + deploymentHeaderLength(), deploymentLength);
+    }
+  }
+
+  @Override
+  public void write(final MutableDirectBuffer buffer, final int offset) {
+    super.write(buffer, offset);
+
+    bodyEncoder
+        .partitionId(partitionId)
+        .deploymentKey(deploymentKey)
+        .putDeployment(deployment, 0, deployment.capacity());
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.workflow.repository.api.management;
+
+import io.zeebe.broker.util.SbeBufferWriterReader;
+import io.zeebe.clustering.management.PushDeploymentResponseDecoder;
+import io.zeebe.clustering.management.PushDeploymentResponseEncoder;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/** Acknowledges that a pushed deployment is written to the log of the partition. */
+public class PushDeploymentResponse
+    extends SbeBufferWriterReader<PushDeploymentResponseEncoder, PushDeploymentResponseDecoder> {
+  private final PushDeploymentResponseDecoder bodyDecoder = new PushDeploymentResponseDecoder();
+  private final PushDeploymentResponseEncoder bodyEncoder = new PushDeploymentResponseEncoder();
+
+  private int partitionId = PushDeploymentResponseEncoder.partitionIdNullValue();
+  private long deploymentKey = PushDeploymentResponseEncoder.deploymentKeyNullValue();
+
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  public PushDeploymentResponse setPartitionId(final int partitionId) {
+    this.partitionId = partitionId;
+    return this;
+  }
+
+  public long getDeploymentKey() {
+    return deploymentKey;
+  }
+
+  public PushDeploymentResponse setDeploymentKey(final long deploymentKey) {
+    this.deploymentKey = deploymentKey;
+    return this;
+  }
+
+  public boolean tryWrap(final DirectBuffer buffer, final int offset, final int length) {
+    headerDecoder.wrap(buffer, offset);
+
+    return headerDecoder.schemaId() == bodyDecoder.sbeSchemaId()
+        && headerDecoder.templateId() == bodyDecoder.sbeTemplateId();
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    partitionId = PushDeploymentResponseEncoder.partitionIdNullValue();
+    deploymentKey = PushDeploymentResponseEncoder.deploymentKeyNullValue();
+  }
+
+  @Override
+  protected PushDeploymentResponseEncoder getBodyEncoder() {
+    return bodyEncoder;
+  }
+
+  @Override
+  protected PushDeploymentResponseDecoder getBodyDecoder() {
+    return bodyDecoder;
+  }
+
+  @Override
+  public void wrap(final DirectBuffer buffer, final int offset, final int length) {
+    super.wrap(buffer, offset, length);
+
+    partitionId = bodyDecoder.partitionId();
+    deploymentKey = bodyDecoder.deploymentKey();
+  }
+
+  @Override
+  public void write(final MutableDirectBuffer buffer, final int offset) {
+    super.write(buffer, offset);
+
+    bodyEncoder.partitionId(partitionId).deploymentKey(deploymentKey);
+  }
+}
@@ -22,19 +22,59 @@ import io.zeebe.broker.system.workflow.repository.data.DeployedWorkflow;
 import io.zeebe.broker.system.workflow.repository.data.DeploymentRecord;
 import io.zeebe.broker.system.workflow.repository.processor.state.WorkflowRepositoryIndex;
 import io.zeebe.broker.system.workflow.repository.processor.state.WorkflowRepositoryIndex.WorkflowMetadata;
+import io.zeebe.broker.system.workflow.repository.service.DeploymentDistributor;
 import io.zeebe.msgpack.value.ValueArray;
+import io.zeebe.protocol.intent.DeploymentIntent;
 import io.zeebe.util.buffer.BufferUtil;
 
 public class DeploymentCreatedEventProcessor implements TypedRecordProcessor<DeploymentRecord> {
   private WorkflowRepositoryIndex repositoryIndex;
+  private DeploymentDistributor deploymentDistributor;
 
-  public DeploymentCreatedEventProcessor(WorkflowRepositoryIndex repositoryIndex) {
+  private TypedStreamReader reader;
+
+  private long lastPushedPosition = -1L;
+
+  public DeploymentCreatedEventProcessor(
+      WorkflowRepositoryIndex repositoryIndex, DeploymentDistributor deploymentDistributor) {
     this.repositoryIndex = repositoryIndex;
+    this.deploymentDistributor = deploymentDistributor;
+  }
+
+  @Override
+  public void onOpen(TypedStreamProcessor streamProcessor) {
+    reader = streamProcessor.getEnvironment().buildStreamReader();
+  }
+
+  /**
+   * Repeats the pushes of the deployments which are not yet {@link DeploymentIntent#DISTRIBUTED},
+   * e.g. because the previous leader of the system partition failed over before all partitions
+   * acknowledged them. These events are only reprocessed and so not pushed on processing.
+   */
+  @Override
+  public void onRecovered(TypedStreamProcessor streamProcessor) {
+    for (long position : repositoryIndex.getPendingDeploymentPositions()) {
+      final TypedRecord<DeploymentRecord> event =
+          reader.readValue(position, DeploymentRecord.class);
+
+      deploymentDistributor.pushDeployment(event.getKey(), event.getValue());
+    }
+  }
+
+  @Override
+  public void onClose() {
+    reader.close();
   }
 
   @Override
   public boolean executeSideEffects(
       TypedRecord<DeploymentRecord> event, TypedResponseWriter responseWriter) {
+    // side effects are repeated if the response can't be written
+    if (event.getPosition() > lastPushedPosition) {
+      deploymentDistributor.pushDeployment(event.getKey(), event.getValue());
+      lastPushedPosition = event.getPosition();
+    }
+
     return responseWriter.writeRecordUnchanged(event);
   }
 
@@ -46,6 +86,8 @@ public class DeploymentCreatedEventProcessor implements TypedRecordProcessor<Dep
 
     final String topicName = BufferUtil.bufferAsString(deploymentEvent.getTopicName());
 
+    repositoryIndex.addPendingDeployment(event.getKey(), event.getPosition());
+
     for (final DeployedWorkflow deployedWorkflow : deployedWorkflows) {
       final WorkflowMetadata workflowMetadata =
           new WorkflowMetadata()
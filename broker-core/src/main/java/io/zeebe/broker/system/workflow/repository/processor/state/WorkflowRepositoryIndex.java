@@ -35,6 +35,9 @@ public class WorkflowRepositoryIndex extends JsonSnapshotSupport<WorkflowReposit
 
     private Map<String, WorkflowsByTopic> topics = new HashMap<>();
 
+    /** deployment key -> position of the created event, until all partitions received it */
+    private Map<Long, Long> pendingDeployments = new HashMap<>();
+
     public Map<Long, WorkflowMetadata> getWorkflows() {
       return workflows;
     }
@@ -58,6 +61,14 @@ public class WorkflowRepositoryIndex extends JsonSnapshotSupport<WorkflowReposit
     public void setLastGeneratedKey(long lastKey) {
       this.lastGeneratedKey = lastKey;
     }
+
+    public Map<Long, Long> getPendingDeployments() {
+      return pendingDeployments;
+    }
+
+    public void setPendingDeployments(Map<Long, Long> pendingDeployments) {
+      this.pendingDeployments = pendingDeployments;
+    }
   }
 
   public static class WorkflowsByTopic {
@@ -231,6 +242,19 @@ public class WorkflowRepositoryIndex extends JsonSnapshotSupport<WorkflowReposit
     }
   }
 
+  public void addPendingDeployment(long deploymentKey, long eventPosition) {
+    getData().getPendingDeployments().put(deploymentKey, eventPosition);
+  }
+
+  public void removePendingDeployment(long deploymentKey) {
+    getData().getPendingDeployments().remove(deploymentKey);
+  }
+
+  /** @return the positions of the created events of the deployments which are not distributed */
+  public Collection<Long> getPendingDeploymentPositions() {
+    return getData().getPendingDeployments().values();
+  }
+
   public WorkflowMetadata getWorkflowByKey(long key) {
     return getData().getWorkflows().get(key);
   }
@@ -0,0 +1,217 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.workflow.repository.service;
+
+import io.zeebe.broker.Loggers;
+import io.zeebe.broker.clustering.base.topology.*;
+import io.zeebe.broker.logstreams.processor.TypedStreamProcessor;
+import io.zeebe.broker.logstreams.processor.TypedStreamWriter;
+import io.zeebe.broker.system.workflow.repository.api.management.PushDeploymentRequest;
+import io.zeebe.broker.system.workflow.repository.api.management.PushDeploymentResponse;
+import io.zeebe.broker.system.workflow.repository.data.DeploymentRecord;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.intent.DeploymentIntent;
+import io.zeebe.transport.*;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
+
+/**
+ * Pushes the created deployments of the system partition to all partitions of the deployed topic,
+ * so that the partitions can create workflow instances without fetching the workflow first.
+ *
+ * <p>A push is repeated until the leader of the partition acknowledges it. When all partitions
+ * acknowledged the push, the deployment is marked as {@link DeploymentIntent#DISTRIBUTED} on the
+ * log of the system partition. The deployment stream processor keeps the deployments which are not
+ * distributed in its state, so that a new leader of the system partition pushes them again after a
+ * failover. The workflow stream processor of a partition ignores a deployment which it received
+ * before.
+ */
+public class DeploymentDistributor implements TopologyPartitionListener {
+  private static final Logger LOG = Loggers.SYSTEM_LOGGER;
+
+  private static final Duration PUSH_REQUEST_TIMEOUT = Duration.ofSeconds(15);
+  private static final Duration PUSH_RETRY_DELAY = Duration.ofSeconds(1);
+
+  private final PushDeploymentRequest pushRequest = new PushDeploymentRequest();
+  private final PushDeploymentResponse pushResponse = new PushDeploymentResponse();
+
+  private final Map<Integer, RemoteAddress> partitionLeaders = new ConcurrentHashMap<>();
+
+  private final ClientTransport managementApiClient;
+  private final TopologyManager topologyManager;
+
+  private ActorControl actor;
+  private TypedStreamWriter writer;
+
+  public DeploymentDistributor(
+      ClientTransport managementApiClient, TopologyManager topologyManager) {
+    this.managementApiClient = managementApiClient;
+    this.topologyManager = topologyManager;
+  }
+
+  public void open(TypedStreamProcessor streamProcessor) {
+    this.actor = streamProcessor.getActor();
+    this.writer = streamProcessor.getEnvironment().buildStreamWriter();
+    topologyManager.addTopologyPartitionListener(this);
+  }
+
+  public void close() {
+    topologyManager.removeTopologyPartitionListener(this);
+    partitionLeaders.clear();
+  }
+
+  public void pushDeployment(long deploymentKey, DeploymentRecord deployment) {
+    final DirectBuffer topicName = BufferUtil.cloneBuffer(deployment.getTopicName());
+    final DeploymentRecord distributedDeployment =
+        new DeploymentRecord().setTopicName(BufferUtil.bufferAsString(topicName));
+
+    final UnsafeBuffer serializedDeployment = new UnsafeBuffer(new byte[deployment.getLength()]);
+    deployment.write(serializedDeployment, 0);
+
+    final ActorFuture<List<Integer>> partitionIdsFuture =
+        topologyManager.query(topology -> getPartitionIds(topology, topicName));
+
+    actor.runOnCompletion(
+        partitionIdsFuture,
+        (partitionIds, failure) -> {
+          if (failure != null) {
+            LOG.warn("Failed to resolve partitions to push deployment {}", deploymentKey, failure);
+          } else {
+            final PendingPush pendingPush =
+                new PendingPush(deploymentKey, distributedDeployment, partitionIds.size());
+
+            if (partitionIds.isEmpty()) {
+              writeDistributed(pendingPush);
+            }
+
+            for (int i = 0; i < partitionIds.size(); i++) {
+              pushDeployment(pendingPush, partitionIds.get(i), serializedDeployment);
+            }
+          }
+        });
+  }
+
+  private void pushDeployment(PendingPush pendingPush, int partitionId, DirectBuffer deployment) {
+    final long deploymentKey = pendingPush.deploymentKey;
+
+    pushRequest
+        .setPartitionId(partitionId)
+        .setDeploymentKey(deploymentKey)
+        .setDeployment(deployment);
+
+    final ActorFuture<ClientResponse> responseFuture =
+        managementApiClient
+            .getOutput()
+            .sendRequestWithRetry(
+                () -> partitionLeaders.get(partitionId),
+                this::isNotLeaderResponse,
+                pushRequest,
+                PUSH_REQUEST_TIMEOUT);
+
+    if (responseFuture == null) {
+      // no memory available to send the request
+      retryPushDeployment(pendingPush, partitionId, deployment);
+    } else {
+      actor.runOnCompletion(
+          responseFuture,
+          (response, failure) -> {
+            if (failure != null) {
+              LOG.debug(
+                  "Failed to push deployment {} to partition {}, retry",
+                  deploymentKey,
+                  partitionId,
+                  failure);
+
+              retryPushDeployment(pendingPush, partitionId, deployment);
+            } else if (--pendingPush.remainingPartitions == 0) {
+              writeDistributed(pendingPush);
+            }
+          });
+    }
+  }
+
+  private void retryPushDeployment(
+      PendingPush pendingPush, int partitionId, DirectBuffer deployment) {
+    actor.runDelayed(
+        PUSH_RETRY_DELAY, () -> pushDeployment(pendingPush, partitionId, deployment));
+  }
+
+  private void writeDistributed(PendingPush pendingPush) {
+    final long position =
+        writer.writeFollowUpEvent(
+            pendingPush.deploymentKey, DeploymentIntent.DISTRIBUTED, pendingPush.deployment);
+
+    if (position < 0) {
+      actor.runDelayed(PUSH_RETRY_DELAY, () -> writeDistributed(pendingPush));
+    }
+  }
+
+  private boolean isNotLeaderResponse(DirectBuffer response) {
+    return !pushResponse.tryWrap(response, 0, response.capacity());
+  }
+
+  private static List<Integer> getPartitionIds(ReadableTopology topology, DirectBuffer topicName) {
+    final List<Integer> partitionIds = new ArrayList<>();
+
+    for (PartitionInfo partition : topology.getPartitions()) {
+      if (partition.getPartitionId() != Protocol.SYSTEM_PARTITION
+          && BufferUtil.equals(topicName, partition.getTopicNameBuffer())) {
+        partitionIds.add(partition.getPartitionId());
+      }
+    }
+
+    return partitionIds;
+  }
+
+  private static class PendingPush {
+    private final long deploymentKey;
+    private final DeploymentRecord deployment;
+    private int remainingPartitions;
+
+    PendingPush(long deploymentKey, DeploymentRecord deployment, int partitions) {
+      this.deploymentKey = deploymentKey;
+      this.deployment = deployment;
+      this.remainingPartitions = partitions;
+    }
+  }
+
+  @Override
+  public void onPartitionUpdated(PartitionInfo partitionInfo, NodeInfo member) {
+    final int partitionId = partitionInfo.getPartitionId();
+    final SocketAddress managementApiAddress = member.getManagementApiAddress();
+
+    if (member.getLeaders().contains(partitionInfo)) {
+      partitionLeaders.put(
+          partitionId, managementApiClient.registerRemoteAddress(managementApiAddress));
+    } else {
+      final RemoteAddress currentLeader = partitionLeaders.get(partitionId);
+      if (currentLeader != null && currentLeader.getAddress().equals(managementApiAddress)) {
+        partitionLeaders.remove(partitionId);
+      }
+    }
+  }
+}
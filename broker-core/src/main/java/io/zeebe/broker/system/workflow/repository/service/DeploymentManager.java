@@ -18,6 +18,7 @@
 package io.zeebe.broker.system.workflow.repository.service;
 
 import io.zeebe.broker.clustering.base.partitions.Partition;
+import io.zeebe.broker.clustering.base.topology.TopologyManager;
 import io.zeebe.broker.logstreams.processor.*;
 import io.zeebe.broker.system.SystemServiceNames;
 import io.zeebe.broker.system.workflow.repository.api.client.GetWorkflowControlMessageHandler;
@@ -33,6 +34,7 @@ import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.intent.DeploymentIntent;
 import io.zeebe.protocol.intent.TopicIntent;
 import io.zeebe.servicecontainer.*;
+import io.zeebe.transport.ClientTransport;
 import io.zeebe.transport.ServerTransport;
 
 public class DeploymentManager implements Service<DeploymentManager> {
@@ -48,8 +50,12 @@ public class DeploymentManager implements Service<DeploymentManager> {
       new Injector<>();
   private final Injector<ControlMessageHandlerManager> controlMessageHandlerManagerServiceInjector =
       new Injector<>();
+  private final Injector<ClientTransport> managementApiClientInjector = new Injector<>();
+  private final Injector<TopologyManager> topologyManagerInjector = new Injector<>();
 
   private ServerTransport clientApiTransport;
+  private ClientTransport managementApiClient;
+  private TopologyManager topologyManager;
   private StreamProcessorServiceFactory streamProcessorServiceFactory;
 
   private DeploymentManagerRequestHandler requestHandlerService;
@@ -65,6 +71,8 @@ public class DeploymentManager implements Service<DeploymentManager> {
     this.clientApiTransport = clientApiTransportInjector.getValue();
     this.streamProcessorServiceFactory = streamProcessorServiceFactoryInjector.getValue();
     this.requestHandlerService = requestHandlerServiceInjector.getValue();
+    this.managementApiClient = managementApiClientInjector.getValue();
+    this.topologyManager = topologyManagerInjector.getValue();
 
     getWorkflowMessageHandler =
         new GetWorkflowControlMessageHandler(clientApiTransport.getOutput());
@@ -83,6 +91,8 @@ public class DeploymentManager implements Service<DeploymentManager> {
         new TypedStreamEnvironment(partition.getLogStream(), clientApiTransport.getOutput());
 
     final WorkflowRepositoryIndex repositoryIndex = new WorkflowRepositoryIndex();
+    final DeploymentDistributor deploymentDistributor =
+        new DeploymentDistributor(managementApiClient, topologyManager);
 
     final TypedStreamProcessor streamProcessor =
         streamEnvironment
@@ -94,7 +104,11 @@ public class DeploymentManager implements Service<DeploymentManager> {
             .onEvent(
                 ValueType.DEPLOYMENT,
                 DeploymentIntent.CREATED,
-                new DeploymentCreatedEventProcessor(repositoryIndex))
+                new DeploymentCreatedEventProcessor(repositoryIndex, deploymentDistributor))
+            .onEvent(
+                ValueType.DEPLOYMENT,
+                DeploymentIntent.DISTRIBUTED,
+                new DeploymentDistributedEventProcessor(repositoryIndex))
             .onRejection(
                 ValueType.DEPLOYMENT,
                 DeploymentIntent.CREATE,
@@ -108,6 +122,11 @@ public class DeploymentManager implements Service<DeploymentManager> {
                 new StreamProcessorLifecycleAware() {
                   private BufferedLogStreamReader reader;
 
+                  @Override
+                  public void onOpen(TypedStreamProcessor streamProcessor) {
+                    deploymentDistributor.open(streamProcessor);
+                  }
+
                   // Only expose the fetch workflow and workflow repository APIs after reprocessing
                   // to avoid that we
                   // cannot (yet) return a workflow that we were previously able to return
@@ -146,6 +165,8 @@ public class DeploymentManager implements Service<DeploymentManager> {
                     getWorkflowMessageHandler.setWorkflowRepositoryService(null);
                     listWorkflowsControlMessageHandler.setWorkflowRepositoryService(null);
 
+                    deploymentDistributor.close();
+
                     reader.close();
                   }
                 })
@@ -183,4 +204,12 @@ public class DeploymentManager implements Service<DeploymentManager> {
   public Injector<ControlMessageHandlerManager> getControlMessageHandlerManagerServiceInjector() {
     return controlMessageHandlerManagerServiceInjector;
   }
+
+  public Injector<ClientTransport> getManagementApiClientInjector() {
+    return managementApiClientInjector;
+  }
+
+  public Injector<TopologyManager> getTopologyManagerInjector() {
+    return topologyManagerInjector;
+  }
 }
@@ -27,6 +27,7 @@ import io.zeebe.broker.transport.controlmessage.ControlMessageRequestHeaderDescr
 import io.zeebe.broker.workflow.data.WorkflowInstanceRecord;
 import io.zeebe.dispatcher.ClaimedFragment;
 import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.logstreams.impl.CommandLatencyTracer;
 import io.zeebe.logstreams.log.LogStreamWriter;
 import io.zeebe.logstreams.log.LogStreamWriterImpl;
 import io.zeebe.msgpack.UnpackedObject;
@@ -37,7 +38,10 @@ import io.zeebe.transport.RemoteAddress;
 import io.zeebe.transport.ServerMessageHandler;
 import io.zeebe.transport.ServerOutput;
 import io.zeebe.transport.ServerRequestHandler;
+import io.zeebe.util.metrics.Histogram;
+import io.zeebe.util.metrics.MetricsManager;
 import java.util.EnumMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
@@ -65,8 +69,13 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
 
   protected final EnumMap<ValueType, UnpackedObject> recordsByType = new EnumMap<>(ValueType.class);
 
-  public ClientApiMessageHandler(final Dispatcher controlMessageDispatcher) {
+  protected final Histogram commandHandlingTime;
+
+  public ClientApiMessageHandler(
+      final Dispatcher controlMessageDispatcher, final MetricsManager metricsManager) {
     this.controlMessageDispatcher = controlMessageDispatcher;
+    this.commandHandlingTime =
+        metricsManager.newHistogram("clientapi_command_handling_time_micros").create();
 
     initEventTypeMap();
   }
@@ -87,7 +96,8 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
       final RecordMetadata eventMetadata,
       final DirectBuffer buffer,
       final int messageOffset,
-      final int messageLength) {
+      final int messageLength,
+      final long receivedTime) {
     executeCommandRequestDecoder.wrap(
         buffer,
         messageOffset + messageHeaderDecoder.encodedLength(),
@@ -154,7 +164,13 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
             .sourceRecordPosition(sourceRecordPosition)
             .tryWrite();
 
-    return eventPosition >= 0;
+    if (eventPosition >= 0) {
+      final CommandLatencyTracer tracer = partition.getLogStream().getCommandLatencyTracer();
+      tracer.onCommandWritten(eventPosition, receivedTime);
+      return true;
+    } else {
+      return false;
+    }
   }
 
   private String concatErrorMessages(Throwable t) {
@@ -248,9 +264,11 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
     final boolean isHandled;
     switch (templateId) {
       case ExecuteCommandRequestDecoder.TEMPLATE_ID:
+        final long startTime = System.nanoTime();
         isHandled =
             handleExecuteCommandRequest(
-                output, remoteAddress, requestId, eventMetadata, buffer, offset, length);
+                output, remoteAddress, requestId, eventMetadata, buffer, offset, length, startTime);
+        commandHandlingTime.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
         break;
 
       case ControlMessageRequestDecoder.TEMPLATE_ID:
@@ -281,6 +299,10 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
     return true;
   }
 
+  public void close() {
+    commandHandlingTime.close();
+  }
+
   private void drainCommandQueue() {
     while (!cmdQueue.isEmpty()) {
       final Runnable runnable = cmdQueue.poll();
@@ -34,12 +34,14 @@ public class ClientApiMessageHandlerService implements Service<ClientApiMessageH
   @Override
   public void start(ServiceStartContext startContext) {
     final Dispatcher controlMessageBuffer = controlMessageBufferInjector.getValue();
-    service = new ClientApiMessageHandler(controlMessageBuffer);
+    service =
+        new ClientApiMessageHandler(
+            controlMessageBuffer, startContext.getScheduler().getMetricsManager());
   }
 
   @Override
   public void stop(ServiceStopContext arg0) {
-    // nothing to do
+    service.close();
   }
 
   @Override
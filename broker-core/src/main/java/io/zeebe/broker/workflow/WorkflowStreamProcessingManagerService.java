@@ -33,11 +33,13 @@ import io.zeebe.servicecontainer.ServiceName;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.transport.ClientTransport;
 import io.zeebe.transport.ServerTransport;
+import io.zeebe.util.ByteValue;
 
 /** Tracks leader partitions and installs the workflow instance stream processors */
 public class WorkflowStreamProcessingManagerService
     implements Service<WorkflowStreamProcessingManagerService> {
-  public static final int PAYLOAD_CACHE_SIZE = 64;
+  /** the maximal size of the cached workflow instance payload per partition in bytes */
+  public static final long PAYLOAD_CACHE_CAPACITY = ByteValue.ofMegabytes(8).toBytes();
 
   protected static final String NAME = "workflow.queue.manager";
 
@@ -70,7 +72,10 @@ public class WorkflowStreamProcessingManagerService
 
     final WorkflowInstanceStreamProcessor streamProcessor =
         new WorkflowInstanceStreamProcessor(
-            managementApiClientInjector.getValue(), topologyManager, PAYLOAD_CACHE_SIZE);
+            managementApiClientInjector.getValue(),
+            topologyManager,
+            PAYLOAD_CACHE_CAPACITY,
+            partition.getStateDirectory());
     final TypedStreamEnvironment env =
         new TypedStreamEnvironment(partition.getLogStream(), transport.getOutput());
 
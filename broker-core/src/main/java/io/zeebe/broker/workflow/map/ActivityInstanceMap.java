@@ -22,7 +22,9 @@ import static org.agrona.BitUtil.SIZE_OF_INT;
 import static org.agrona.BitUtil.SIZE_OF_LONG;
 
 import io.zeebe.map.Long2BytesZbMap;
+import io.zeebe.map.ZbMap;
 import io.zeebe.model.bpmn.impl.ZeebeConstraints;
+import java.io.File;
 import java.nio.ByteOrder;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -32,6 +34,10 @@ import org.agrona.concurrent.UnsafeBuffer;
  * <li>job instance key
  * <li>activity id length
  * <li>activity id (max 255 chars)
+ *
+ * <p>The values are stored with variable length, i.e. an entry takes only the length of its
+ * activity id instead of the max length. Entries which are restored from a snapshot of the padded
+ * layout keep their padding until they are written again.
  */
 public class ActivityInstanceMap implements AutoCloseable {
   private static final int SIZE_OF_ACTIVITY_ID = ZeebeConstraints.ID_MAX_LENGTH * SIZE_OF_CHAR;
@@ -44,6 +50,7 @@ public class ActivityInstanceMap implements AutoCloseable {
   private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
 
   private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[INDEX_VALUE_SIZE]);
+  private final UnsafeBuffer writeBuffer = new UnsafeBuffer(0, 0);
   private final UnsafeBuffer activityIdBuffer = new UnsafeBuffer(new byte[SIZE_OF_ACTIVITY_ID]);
 
   private final Long2BytesZbMap map;
@@ -52,7 +59,18 @@ public class ActivityInstanceMap implements AutoCloseable {
   private boolean isRead = false;
 
   public ActivityInstanceMap() {
-    this.map = new Long2BytesZbMap(INDEX_VALUE_SIZE);
+    this(null);
+  }
+
+  /** @param directory the directory the map is mapped into, or null to keep it in memory */
+  public ActivityInstanceMap(File directory) {
+    this.map =
+        new Long2BytesZbMap(
+            ZbMap.DEFAULT_TABLE_SIZE,
+            ZbMap.DEFAULT_BLOCK_COUNT,
+            INDEX_VALUE_SIZE,
+            true,
+            directory);
   }
 
   public Long2BytesZbMap getMap() {
@@ -102,7 +120,10 @@ public class ActivityInstanceMap implements AutoCloseable {
 
   public void write() {
     ensureRead();
-    map.put(key, buffer);
+
+    final int activityIdLength = buffer.getInt(ACTIVITY_ID_LENGTH_OFFSET, BYTE_ORDER);
+    writeBuffer.wrap(buffer, 0, ACTIVITY_ID_OFFSET + activityIdLength);
+    map.put(key, writeBuffer);
   }
 
   public ActivityInstanceMap setActivityId(DirectBuffer activityId) {
@@ -28,11 +28,20 @@ public class DeployedWorkflow {
 
   private long fetched;
 
+  /** true, if the workflow is pushed to the partition and doesn't need to be refreshed */
+  private final boolean replicated;
+
   public DeployedWorkflow(Workflow workflow, long key, int version, long fetched) {
+    this(workflow, key, version, fetched, false);
+  }
+
+  public DeployedWorkflow(
+      Workflow workflow, long key, int version, long fetched, boolean replicated) {
     this.workflow = workflow;
     this.key = key;
     this.version = version;
     this.fetched = fetched;
+    this.replicated = replicated;
   }
 
   public Workflow getWorkflow() {
@@ -54,4 +63,8 @@ public class DeployedWorkflow {
   public void setFetched(long fetched) {
     this.fetched = fetched;
   }
+
+  public boolean isReplicated() {
+    return replicated;
+  }
 }
@@ -0,0 +1,135 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.map;
+
+import io.zeebe.broker.logstreams.processor.JsonSnapshotSupport;
+import io.zeebe.broker.system.workflow.repository.data.DeployedWorkflow;
+import io.zeebe.broker.system.workflow.repository.data.DeploymentRecord;
+import io.zeebe.broker.system.workflow.repository.data.DeploymentResource;
+import io.zeebe.broker.workflow.map.LocalWorkflowRepository.LocalWorkflowRepositoryData;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.*;
+
+/**
+ * The workflows which are pushed from the system partition to this partition. Contains the BPMN
+ * XML of the workflows, so that the executable workflow models can be restored from a snapshot
+ * without fetching them from the system partition.
+ */
+public class LocalWorkflowRepository extends JsonSnapshotSupport<LocalWorkflowRepositoryData> {
+  public LocalWorkflowRepository() {
+    super(LocalWorkflowRepositoryData.class);
+  }
+
+  public static class LocalWorkflowRepositoryData {
+    private Map<Long, ReplicatedWorkflow> workflows = new HashMap<>();
+
+    public Map<Long, ReplicatedWorkflow> getWorkflows() {
+      return workflows;
+    }
+
+    public void setWorkflows(Map<Long, ReplicatedWorkflow> workflows) {
+      this.workflows = workflows;
+    }
+  }
+
+  public static class ReplicatedWorkflow {
+    private long key;
+    private int version;
+    private String bpmnProcessId;
+    private String bpmnXml;
+
+    public long getKey() {
+      return key;
+    }
+
+    public ReplicatedWorkflow setKey(long key) {
+      this.key = key;
+      return this;
+    }
+
+    public int getVersion() {
+      return version;
+    }
+
+    public ReplicatedWorkflow setVersion(int version) {
+      this.version = version;
+      return this;
+    }
+
+    public String getBpmnProcessId() {
+      return bpmnProcessId;
+    }
+
+    public ReplicatedWorkflow setBpmnProcessId(String bpmnProcessId) {
+      this.bpmnProcessId = bpmnProcessId;
+      return this;
+    }
+
+    public String getBpmnXml() {
+      return bpmnXml;
+    }
+
+    public ReplicatedWorkflow setBpmnXml(String bpmnXml) {
+      this.bpmnXml = bpmnXml;
+      return this;
+    }
+  }
+
+  public Collection<ReplicatedWorkflow> getWorkflows() {
+    return getData().getWorkflows().values();
+  }
+
+  /**
+   * Adds the workflows of the deployment. A deployment can be pushed more than once, the workflows
+   * which are already contained are ignored.
+   *
+   * @return the added workflows
+   */
+  public List<ReplicatedWorkflow> addDeployment(DeploymentRecord deployment) {
+    final Map<Long, ReplicatedWorkflow> workflows = getData().getWorkflows();
+
+    final Map<String, String> resourcesByName = new HashMap<>();
+    for (DeploymentResource resource : deployment.resources()) {
+      resourcesByName.put(
+          BufferUtil.bufferAsString(resource.getResourceName()),
+          BufferUtil.bufferAsString(resource.getResource()));
+    }
+
+    final List<ReplicatedWorkflow> addedWorkflows = new ArrayList<>();
+
+    for (DeployedWorkflow deployedWorkflow : deployment.deployedWorkflows()) {
+      final long key = deployedWorkflow.getKey();
+
+      if (!workflows.containsKey(key)) {
+        final String resourceName = BufferUtil.bufferAsString(deployedWorkflow.getResourceName());
+
+        final ReplicatedWorkflow workflow =
+            new ReplicatedWorkflow()
+                .setKey(key)
+                .setVersion(deployedWorkflow.getVersion())
+                .setBpmnProcessId(BufferUtil.bufferAsString(deployedWorkflow.getBpmnProcessId()))
+                .setBpmnXml(resourcesByName.get(resourceName));
+
+        workflows.put(key, workflow);
+        addedWorkflows.add(workflow);
+      }
+    }
+
+    return addedWorkflows;
+  }
+}
@@ -22,8 +22,14 @@ import io.zeebe.broker.logstreams.processor.TypedRecord;
 import io.zeebe.broker.logstreams.processor.TypedStreamProcessor;
 import io.zeebe.broker.logstreams.processor.TypedStreamReader;
 import io.zeebe.broker.workflow.data.WorkflowInstanceRecord;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.processor.StreamProcessorContext;
 import io.zeebe.map.Long2LongZbMap;
-import io.zeebe.util.cache.ExpandableBufferCache;
+import io.zeebe.map.ZbMap;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.cache.LruBufferCache;
+import io.zeebe.util.cache.LruBufferCacheMetrics;
+import java.io.File;
 import org.agrona.DirectBuffer;
 
 /**
@@ -36,22 +42,48 @@ import org.agrona.DirectBuffer;
 public class PayloadCache implements AutoCloseable, StreamProcessorLifecycleAware {
   private final Long2LongZbMap map;
 
-  private final ExpandableBufferCache cache;
+  private final LruBufferCache cache;
   private TypedStreamReader logStreamReader;
+  private LruBufferCacheMetrics metrics;
 
-  public PayloadCache(int cacheSize) {
-    this.map = new Long2LongZbMap();
-    this.cache = new ExpandableBufferCache(cacheSize, 1024, this::lookupPayload);
+  /** @param cacheCapacity the maximal size of the cached payload in bytes */
+  public PayloadCache(long cacheCapacity) {
+    this(cacheCapacity, null);
+  }
+
+  /**
+   * @param cacheCapacity the maximal size of the cached payload in bytes
+   * @param directory the directory the map is mapped into, or null to keep it in memory
+   */
+  public PayloadCache(long cacheCapacity, File directory) {
+    this.map = new Long2LongZbMap(ZbMap.DEFAULT_TABLE_SIZE, ZbMap.DEFAULT_BLOCK_COUNT, directory);
+    this.cache = new LruBufferCache(cacheCapacity, this::lookupPayload);
   }
 
   @Override
   public void onOpen(TypedStreamProcessor streamProcessor) {
     this.logStreamReader = streamProcessor.getEnvironment().buildStreamReader();
+
+    final StreamProcessorContext context = streamProcessor.getStreamProcessorContext();
+    final LogStream logStream = context.getLogStream();
+
+    this.metrics =
+        new LruBufferCacheMetrics(
+            context.getActorScheduler().getMetricsManager(),
+            "payload",
+            BufferUtil.bufferAsString(logStream.getTopicName()),
+            String.valueOf(logStream.getPartitionId()));
+    cache.setMetrics(metrics);
   }
 
   @Override
   public void onClose() {
     this.logStreamReader.close();
+
+    cache.setMetrics(null);
+    metrics.close();
+
+    close();
   }
 
   private DirectBuffer lookupPayload(long position) {
@@ -88,5 +120,6 @@ public class PayloadCache implements AutoCloseable, StreamProcessorLifecycleAwar
   @Override
   public void close() {
     map.close();
+    cache.close();
   }
 }
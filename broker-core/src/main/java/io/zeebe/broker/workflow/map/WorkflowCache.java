@@ -20,6 +20,7 @@ package io.zeebe.broker.workflow.map;
 import io.zeebe.broker.clustering.base.topology.*;
 import io.zeebe.broker.system.workflow.repository.api.management.FetchWorkflowRequest;
 import io.zeebe.broker.system.workflow.repository.api.management.FetchWorkflowResponse;
+import io.zeebe.broker.workflow.map.LocalWorkflowRepository.ReplicatedWorkflow;
 import io.zeebe.clustering.management.FetchWorkflowResponseDecoder;
 import io.zeebe.model.bpmn.BpmnModelApi;
 import io.zeebe.model.bpmn.instance.Workflow;
@@ -122,40 +123,75 @@ public class WorkflowCache implements TopologyPartitionListener {
         final DirectBuffer bpmnXml = fetchRespose.getBpmnXml();
         final int version = fetchRespose.getVersion();
 
-        final WorkflowDefinition workflowDefinition = bpmn.readFromXmlBuffer(bpmnXml);
-        final Collection<Workflow> workflows = workflowDefinition.getWorkflows();
-
-        final Workflow workflow =
-            workflows
-                .stream()
-                .filter((w) -> BufferUtil.equals(bpmnProcessId, w.getBpmnProcessId()))
-                .findFirst()
-                .get();
+        final Workflow workflow = readWorkflow(bpmnXml, bpmnProcessId);
 
         deployedWorkflow = new DeployedWorkflow(workflow, key, version, now);
+        putWorkflow(deployedWorkflow);
+      }
+    }
 
-        workflowsByKey.put(key, deployedWorkflow);
+    return deployedWorkflow;
+  }
 
-        Int2ObjectHashMap<DeployedWorkflow> versionMap =
-            workflowsByProcessIdAndVersion.get(bpmnProcessId);
+  /**
+   * Adds a workflow which is pushed to the partition. The executable model is created once when
+   * the workflow is added. A replicated workflow is never refreshed, since the partition gets every
+   * new version of it pushed.
+   */
+  public DeployedWorkflow addReplicatedWorkflow(ReplicatedWorkflow replicatedWorkflow) {
+    final long key = replicatedWorkflow.getKey();
 
-        if (versionMap == null) {
-          versionMap = new Int2ObjectHashMap<>();
-          workflowsByProcessIdAndVersion.put(bpmnProcessId, versionMap);
-        }
+    final DeployedWorkflow existing = workflowsByKey.get(key);
+    if (existing != null && existing.isReplicated()) {
+      return existing;
+    }
 
-        versionMap.put(version, deployedWorkflow);
+    final Workflow workflow =
+        readWorkflow(
+            BufferUtil.wrapString(replicatedWorkflow.getBpmnXml()),
+            BufferUtil.wrapString(replicatedWorkflow.getBpmnProcessId()));
 
-        final DeployedWorkflow latestVersion = latestWorkflowsByProcessId.get(bpmnProcessId);
-        if (latestVersion == null || latestVersion.getVersion() < version) {
-          latestWorkflowsByProcessId.put(bpmnProcessId, deployedWorkflow);
-        }
-      }
-    }
+    final DeployedWorkflow deployedWorkflow =
+        new DeployedWorkflow(
+            workflow, key, replicatedWorkflow.getVersion(), ActorClock.currentTimeMillis(), true);
+    putWorkflow(deployedWorkflow);
 
     return deployedWorkflow;
   }
 
+  private Workflow readWorkflow(DirectBuffer bpmnXml, DirectBuffer bpmnProcessId) {
+    final WorkflowDefinition workflowDefinition = bpmn.readFromXmlBuffer(bpmnXml);
+    final Collection<Workflow> workflows = workflowDefinition.getWorkflows();
+
+    return workflows
+        .stream()
+        .filter((w) -> BufferUtil.equals(bpmnProcessId, w.getBpmnProcessId()))
+        .findFirst()
+        .get();
+  }
+
+  private void putWorkflow(DeployedWorkflow deployedWorkflow) {
+    final DirectBuffer bpmnProcessId = deployedWorkflow.getWorkflow().getBpmnProcessId();
+    final int version = deployedWorkflow.getVersion();
+
+    workflowsByKey.put(deployedWorkflow.getKey(), deployedWorkflow);
+
+    Int2ObjectHashMap<DeployedWorkflow> versionMap =
+        workflowsByProcessIdAndVersion.get(bpmnProcessId);
+
+    if (versionMap == null) {
+      versionMap = new Int2ObjectHashMap<>();
+      workflowsByProcessIdAndVersion.put(bpmnProcessId, versionMap);
+    }
+
+    versionMap.put(version, deployedWorkflow);
+
+    final DeployedWorkflow latestVersion = latestWorkflowsByProcessId.get(bpmnProcessId);
+    if (latestVersion == null || latestVersion.getVersion() <= version) {
+      latestWorkflowsByProcessId.put(bpmnProcessId, deployedWorkflow);
+    }
+  }
+
   private RemoteAddress systemTopicLeader() {
     return systemTopicLeaderAddress;
   }
@@ -166,7 +202,7 @@ public class WorkflowCache implements TopologyPartitionListener {
     if (latest != null) {
       final long now = ActorClock.currentTimeMillis();
 
-      if (now - latest.getFetched() > LATEST_VERSION_REFRESH_INTERVAL) {
+      if (!latest.isReplicated() && now - latest.getFetched() > LATEST_VERSION_REFRESH_INTERVAL) {
         // refresh latest version
         return null;
       }
@@ -21,7 +21,9 @@ import static org.agrona.BitUtil.SIZE_OF_INT;
 import static org.agrona.BitUtil.SIZE_OF_LONG;
 
 import io.zeebe.map.Long2BytesZbMap;
+import io.zeebe.map.ZbMap;
 import io.zeebe.map.iterator.Long2BytesZbMapEntry;
+import java.io.File;
 import java.nio.ByteOrder;
 import java.util.Iterator;
 import org.agrona.DirectBuffer;
@@ -51,7 +53,18 @@ public class WorkflowInstanceIndex implements AutoCloseable {
   private final Long2BytesZbMap map;
 
   public WorkflowInstanceIndex() {
-    this.map = new Long2BytesZbMap(INDEX_VALUE_SIZE);
+    this(null);
+  }
+
+  /** @param directory the directory the map is mapped into, or null to keep it in memory */
+  public WorkflowInstanceIndex(File directory) {
+    this.map =
+        new Long2BytesZbMap(
+            ZbMap.DEFAULT_TABLE_SIZE,
+            ZbMap.DEFAULT_BLOCK_COUNT,
+            INDEX_VALUE_SIZE,
+            false,
+            directory);
   }
 
   public Long2BytesZbMap getMap() {
@@ -25,15 +25,16 @@ import io.zeebe.broker.incident.data.IncidentRecord;
 import io.zeebe.broker.job.data.JobHeaders;
 import io.zeebe.broker.job.data.JobRecord;
 import io.zeebe.broker.logstreams.processor.*;
+import io.zeebe.broker.system.workflow.repository.data.DeploymentRecord;
 import io.zeebe.broker.workflow.data.WorkflowInstanceRecord;
 import io.zeebe.broker.workflow.map.*;
+import io.zeebe.broker.workflow.map.LocalWorkflowRepository.ReplicatedWorkflow;
 import io.zeebe.broker.workflow.map.WorkflowInstanceIndex.WorkflowInstance;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.processor.EventLifecycleContext;
 import io.zeebe.logstreams.processor.StreamProcessorContext;
 import io.zeebe.model.bpmn.BpmnAspect;
 import io.zeebe.model.bpmn.instance.*;
-import io.zeebe.msgpack.el.CompiledJsonCondition;
 import io.zeebe.msgpack.el.JsonConditionException;
 import io.zeebe.msgpack.el.JsonConditionInterpreter;
 import io.zeebe.msgpack.mapping.Mapping;
@@ -42,6 +43,7 @@ import io.zeebe.msgpack.mapping.MappingProcessor;
 import io.zeebe.protocol.clientapi.RejectionType;
 import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.impl.RecordMetadata;
+import io.zeebe.protocol.intent.DeploymentIntent;
 import io.zeebe.protocol.intent.IncidentIntent;
 import io.zeebe.protocol.intent.Intent;
 import io.zeebe.protocol.intent.JobIntent;
@@ -55,6 +57,7 @@ import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.util.EnumMap;
 import java.util.List;
+import java.io.File;
 import java.util.Map;
 import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
@@ -68,8 +71,9 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessorLifecycle
   private Metric workflowInstanceEventCanceled;
   private Metric workflowInstanceEventCompleted;
 
-  private final WorkflowInstanceIndex workflowInstanceIndex = new WorkflowInstanceIndex();
-  private final ActivityInstanceMap activityInstanceMap = new ActivityInstanceMap();
+  private final WorkflowInstanceIndex workflowInstanceIndex;
+  private final ActivityInstanceMap activityInstanceMap;
+  private final LocalWorkflowRepository workflowRepository = new LocalWorkflowRepository();
   private final PayloadCache payloadCache;
 
   private final MappingProcessor payloadMappingProcessor = new MappingProcessor(4096);
@@ -81,11 +85,28 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessorLifecycle
 
   private ActorControl actor;
 
+  /**
+   * @param stateDirectory the directory the maps of the processor are mapped into, or null if the
+   *     maps should be kept in memory
+   */
   public WorkflowInstanceStreamProcessor(
-      ClientTransport managementApiClient, TopologyManager topologyManager, int payloadCacheSize) {
+      ClientTransport managementApiClient,
+      TopologyManager topologyManager,
+      long payloadCacheCapacity,
+      File stateDirectory) {
     this.managementApiClient = managementApiClient;
-    this.payloadCache = new PayloadCache(payloadCacheSize);
     this.topologyManager = topologyManager;
+
+    this.workflowInstanceIndex =
+        new WorkflowInstanceIndex(mapDirectory(stateDirectory, "workflow-instance-index"));
+    this.activityInstanceMap =
+        new ActivityInstanceMap(mapDirectory(stateDirectory, "activity-instance-map"));
+    this.payloadCache =
+        new PayloadCache(payloadCacheCapacity, mapDirectory(stateDirectory, "payload-cache"));
+  }
+
+  private static File mapDirectory(File stateDirectory, String mapName) {
+    return stateDirectory != null ? new File(stateDirectory, mapName) : null;
   }
 
   public TypedStreamProcessor createStreamProcessor(TypedStreamEnvironment environment) {
@@ -165,9 +186,12 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessorLifecycle
                 (e) -> workflowInstanceEventCompleted.incrementOrdered())
         .onEvent(ValueType.JOB, JobIntent.CREATED, new JobCreatedProcessor())
         .onEvent(ValueType.JOB, JobIntent.COMPLETED, new JobCompletedEventProcessor())
+        .onEvent(
+            ValueType.DEPLOYMENT, DeploymentIntent.CREATED, new DeploymentCreatedEventProcessor())
         .withStateResource(workflowInstanceIndex.getMap())
         .withStateResource(activityInstanceMap.getMap())
         .withStateResource(payloadCache.getMap())
+        .withStateResource(workflowRepository)
         .withListener(payloadCache)
         .withListener(this)
         .build();
@@ -181,6 +205,11 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessorLifecycle
     this.workflowCache =
         new WorkflowCache(managementApiClient, topologyManager, logStream.getTopicName());
 
+    // the repository is recovered from the snapshot already
+    for (ReplicatedWorkflow workflow : workflowRepository.getWorkflows()) {
+      workflowCache.addReplicatedWorkflow(workflow);
+    }
+
     final StreamProcessorContext context = streamProcessor.getStreamProcessorContext();
     final MetricsManager metricsManager = context.getActorScheduler().getMetricsManager();
     final String topicName =
@@ -221,6 +250,9 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessorLifecycle
     workflowInstanceEventCreate.close();
     workflowInstanceEventCanceled.close();
     workflowInstanceEventCompleted.close();
+
+    workflowInstanceIndex.close();
+    activityInstanceMap.close();
   }
 
   private boolean isActive(long workflowInstanceKey) {
@@ -378,6 +410,20 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessorLifecycle
     }
   }
 
+  /** Handles the deployments which are pushed from the system partition. */
+  private final class DeploymentCreatedEventProcessor
+      implements TypedRecordProcessor<DeploymentRecord> {
+    @Override
+    public void updateState(TypedRecord<DeploymentRecord> event) {
+      final List<ReplicatedWorkflow> addedWorkflows =
+          workflowRepository.addDeployment(event.getValue());
+
+      for (int i = 0; i < addedWorkflows.size(); i++) {
+        workflowCache.addReplicatedWorkflow(addedWorkflows.get(i));
+      }
+    }
+  }
+
   private final class WorkflowInstanceCreatedEventProcessor
       implements TypedRecordProcessor<WorkflowInstanceRecord> {
     @Override
@@ -469,18 +515,17 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessorLifecycle
         ExclusiveGateway exclusiveGateway, DirectBuffer payload) {
       final List<SequenceFlow> sequenceFlows =
           exclusiveGateway.getOutgoingSequenceFlowsWithConditions();
-      for (int s = 0; s < sequenceFlows.size(); s++) {
-        final SequenceFlow sequenceFlow = sequenceFlows.get(s);
 
-        final CompiledJsonCondition compiledCondition = sequenceFlow.getCondition();
-        final boolean isFulFilled =
-            conditionInterpreter.eval(compiledCondition.getCondition(), payload);
+      // extracts the JSON paths of all conditions in one pass over the payload
+      final int fulfilledCondition =
+          conditionInterpreter.evalFirstFulfilled(
+              exclusiveGateway.getOutgoingConditions(), payload);
 
-        if (isFulFilled) {
-          return sequenceFlow;
-        }
+      if (fulfilledCondition >= 0) {
+        return sequenceFlows.get(fulfilledCondition);
+      } else {
+        return exclusiveGateway.getDefaultFlow();
       }
-      return exclusiveGateway.getDefaultFlow();
     }
 
     @Override
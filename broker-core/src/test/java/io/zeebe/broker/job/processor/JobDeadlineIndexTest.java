@@ -0,0 +1,113 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.job.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Test;
+
+public class JobDeadlineIndexTest {
+  private final JobDeadlineIndex index = new JobDeadlineIndex(4);
+
+  @After
+  public void tearDown() {
+    index.close();
+  }
+
+  @Test
+  public void shouldBeEmpty() {
+    assertThat(index.isEmpty()).isTrue();
+    assertThat(index.peekDeadline()).isEqualTo(-1L);
+    assertThat(index.peekKey()).isEqualTo(-1L);
+  }
+
+  @Test
+  public void shouldPollInOrderOfDeadline() {
+    // given
+    index.add(30, 1);
+    index.add(10, 2);
+    index.add(20, 3);
+
+    // when
+    final List<Long> keys = new ArrayList<>();
+    while (!index.isEmpty()) {
+      keys.add(index.peekKey());
+      index.poll();
+    }
+
+    // then
+    assertThat(keys).containsExactly(2L, 3L, 1L);
+  }
+
+  @Test
+  public void shouldGrowBeyondInitialCapacity() {
+    // given
+    final Random random = new Random();
+    final int count = 1_000;
+
+    for (int i = 0; i < count; i++) {
+      index.add(random.nextInt(10_000), i);
+    }
+
+    // then
+    assertThat(index.size()).isEqualTo(count);
+
+    long lastDeadline = Long.MIN_VALUE;
+    while (!index.isEmpty()) {
+      final long deadline = index.peekDeadline();
+      assertThat(deadline).isGreaterThanOrEqualTo(lastDeadline);
+
+      lastDeadline = deadline;
+      index.poll();
+    }
+  }
+
+  @Test
+  public void shouldGrowAfterClose() {
+    // given
+    index.add(10, 1);
+    index.close();
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      index.add(100 - i, i);
+    }
+
+    // then
+    assertThat(index.size()).isEqualTo(10);
+    assertThat(index.peekDeadline()).isEqualTo(91L);
+    assertThat(index.peekKey()).isEqualTo(9L);
+  }
+
+  @Test
+  public void shouldClear() {
+    // given
+    index.add(10, 1);
+    index.add(20, 2);
+
+    // when
+    index.clear();
+
+    // then
+    assertThat(index.isEmpty()).isTrue();
+  }
+}
@@ -79,4 +79,74 @@ public class JobTimeOutStreamProcessorTest {
 
     assertThat(expirationEvents).extracting("key").containsExactlyInAnyOrder(1L, 2L);
   }
+
+  @Test
+  public void shouldNotTimeOutCompletedJob() {
+    // given
+    final ControlledActorClock clock = rule.getClock();
+    clock.pinCurrentTime();
+
+    final long now = clock.getCurrentTimeInMillis();
+    final JobRecord job = job().setDeadline(now + 100);
+    rule.writeEvent(1, JobIntent.ACTIVATED, job);
+    rule.writeEvent(2, JobIntent.ACTIVATED, job().setDeadline(now + 200));
+    final long position = rule.writeEvent(1, JobIntent.COMPLETED, job);
+
+    final StreamProcessorControl streamProcessorControl =
+        rule.initStreamProcessor(e -> new JobTimeOutStreamProcessor().createStreamProcessor(e));
+    streamProcessorControl.blockAfterEvent(e -> e.getPosition() == position);
+    streamProcessorControl.start();
+
+    waitUntil(streamProcessorControl::isBlocked);
+
+    // when
+    clock.addTime(JobQueueManagerService.TIME_OUT_INTERVAL.plus(Duration.ofSeconds(1)));
+
+    // then
+    final List<TypedRecord<JobRecord>> expirationEvents =
+        doRepeatedly(
+                () ->
+                    rule.events()
+                        .onlyJobRecords()
+                        .withIntent(JobIntent.TIME_OUT)
+                        .collect(Collectors.toList()))
+            .until(l -> !l.isEmpty());
+
+    // job 1 has the lower deadline and would have been timed out first
+    assertThat(expirationEvents).extracting("key").containsExactly(2L);
+  }
+
+  @Test
+  public void shouldTimeOutJobsInOrderOfDeadline() {
+    // given
+    final ControlledActorClock clock = rule.getClock();
+    clock.pinCurrentTime();
+
+    final long now = clock.getCurrentTimeInMillis();
+    rule.writeEvent(1, JobIntent.ACTIVATED, job().setDeadline(now + 300));
+    rule.writeEvent(2, JobIntent.ACTIVATED, job().setDeadline(now + 100));
+    final long position = rule.writeEvent(3, JobIntent.ACTIVATED, job().setDeadline(now + 200));
+
+    final StreamProcessorControl streamProcessorControl =
+        rule.initStreamProcessor(e -> new JobTimeOutStreamProcessor().createStreamProcessor(e));
+    streamProcessorControl.blockAfterEvent(e -> e.getPosition() == position);
+    streamProcessorControl.start();
+
+    waitUntil(streamProcessorControl::isBlocked);
+
+    // when
+    clock.addTime(JobQueueManagerService.TIME_OUT_INTERVAL.plus(Duration.ofSeconds(1)));
+
+    // then
+    final List<TypedRecord<JobRecord>> expirationEvents =
+        doRepeatedly(
+                () ->
+                    rule.events()
+                        .onlyJobRecords()
+                        .withIntent(JobIntent.TIME_OUT)
+                        .collect(Collectors.toList()))
+            .until(l -> l.size() == 3);
+
+    assertThat(expirationEvents).extracting("key").containsExactly(2L, 3L, 1L);
+  }
 }
@@ -0,0 +1,109 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.StreamUtil;
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class MetricsHttpServerTest {
+  @Rule public ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule();
+
+  private MetricsManager metricsManager;
+  private MetricsHttpServer server;
+
+  @Before
+  public void setUp() {
+    metricsManager = actorSchedulerRule.get().getMetricsManager();
+
+    server = new MetricsHttpServer(new InetSocketAddress("localhost", 0), metricsManager);
+    actorSchedulerRule.submitActor(server).join();
+  }
+
+  @After
+  public void tearDown() {
+    server.close().join();
+  }
+
+  @Test
+  public void shouldServeMetrics() throws Exception {
+    // given
+    final Metric metric = metricsManager.newMetric("test_metric").create();
+    metric.setOrdered(42);
+
+    // when
+    final HttpURLConnection connection = openConnection("/metrics");
+
+    // then
+    assertThat(connection.getResponseCode()).isEqualTo(200);
+    assertThat(connection.getContentType()).startsWith("text/plain");
+    assertThat(readBody(connection)).contains("test_metric{} 42 ");
+
+    metric.close();
+  }
+
+  @Test
+  public void shouldDumpMetricsOnEachRequest() throws Exception {
+    // given
+    final Metric metric = metricsManager.newMetric("test_metric").create();
+    readBody(openConnection("/metrics"));
+
+    // when
+    metric.setOrdered(7);
+
+    // then
+    assertThat(readBody(openConnection("/metrics"))).contains("test_metric{} 7 ");
+
+    metric.close();
+  }
+
+  @Test
+  public void shouldRespondNotFoundOnOtherPath() throws Exception {
+    // when
+    final HttpURLConnection connection = openConnection("/other");
+
+    // then
+    assertThat(connection.getResponseCode()).isEqualTo(404);
+  }
+
+  private HttpURLConnection openConnection(String path) throws IOException {
+    final InetSocketAddress address = server.getLocalAddress();
+    final URL url = new URL("http", address.getHostString(), address.getPort(), path);
+
+    return (HttpURLConnection) url.openConnection();
+  }
+
+  private static String readBody(HttpURLConnection connection) throws IOException {
+    try (InputStream inputStream = connection.getInputStream()) {
+      return new String(StreamUtil.read(inputStream), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.workflow.repository.processor;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.zeebe.broker.logstreams.processor.TypedStreamEnvironment;
+import io.zeebe.broker.system.workflow.repository.data.DeploymentRecord;
+import io.zeebe.broker.system.workflow.repository.processor.state.WorkflowRepositoryIndex;
+import io.zeebe.broker.system.workflow.repository.service.DeploymentDistributor;
+import io.zeebe.broker.topic.StreamProcessorControl;
+import io.zeebe.broker.util.StreamProcessorRule;
+import io.zeebe.logstreams.processor.StreamProcessor;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.intent.DeploymentIntent;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class DeploymentCreatedEventProcessorTest {
+  private static final long TIMEOUT_MILLIS = 5_000L;
+
+  @Rule public StreamProcessorRule rule = new StreamProcessorRule();
+
+  @Mock public DeploymentDistributor deploymentDistributor;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+  }
+
+  @Test
+  public void shouldPushDeployment() {
+    // given
+    rule.runStreamProcessor(this::buildStreamProcessor);
+
+    // when
+    rule.writeEvent(1, DeploymentIntent.CREATED, deployment());
+
+    // then
+    verify(deploymentDistributor, timeout(TIMEOUT_MILLIS)).pushDeployment(eq(1L), any());
+  }
+
+  @Test
+  public void shouldPushPendingDeploymentAgainAfterFailover() {
+    // given
+    final long position = rule.writeEvent(1, DeploymentIntent.CREATED, deployment());
+
+    final StreamProcessorControl control = rule.initStreamProcessor(this::buildStreamProcessor);
+    control.blockAfterEvent(e -> e.getPosition() == position);
+    control.start();
+
+    waitUntil(control::isBlocked);
+
+    // when
+    control.restart();
+
+    // then
+    verify(deploymentDistributor, timeout(TIMEOUT_MILLIS).times(2))
+        .pushDeployment(eq(1L), any());
+  }
+
+  @Test
+  public void shouldNotPushDistributedDeploymentAgainAfterFailover() {
+    // given
+    rule.writeEvent(1, DeploymentIntent.CREATED, deployment());
+    final long position = rule.writeEvent(1, DeploymentIntent.DISTRIBUTED, deployment());
+
+    final StreamProcessorControl control = rule.initStreamProcessor(this::buildStreamProcessor);
+    control.blockAfterEvent(e -> e.getPosition() == position);
+    control.start();
+
+    waitUntil(control::isBlocked);
+
+    // when
+    control.restart();
+    rule.writeEvent(2, DeploymentIntent.CREATED, deployment());
+
+    // then
+    verify(deploymentDistributor, timeout(TIMEOUT_MILLIS)).pushDeployment(eq(2L), any());
+    verify(deploymentDistributor, times(1)).pushDeployment(eq(1L), any());
+  }
+
+  private DeploymentRecord deployment() {
+    return new DeploymentRecord().setTopicName("foo");
+  }
+
+  private StreamProcessor buildStreamProcessor(TypedStreamEnvironment environment) {
+    final WorkflowRepositoryIndex repositoryIndex = new WorkflowRepositoryIndex();
+
+    return environment
+        .newStreamProcessor()
+        .onEvent(
+            ValueType.DEPLOYMENT,
+            DeploymentIntent.CREATED,
+            new DeploymentCreatedEventProcessor(repositoryIndex, deploymentDistributor))
+        .onEvent(
+            ValueType.DEPLOYMENT,
+            DeploymentIntent.DISTRIBUTED,
+            new DeploymentDistributedEventProcessor(repositoryIndex))
+        .withStateResource(repositoryIndex)
+        .build();
+  }
+}
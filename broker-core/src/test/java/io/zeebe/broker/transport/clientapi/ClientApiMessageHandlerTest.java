@@ -137,7 +137,9 @@ public class ClientApiMessageHandlerTest {
 
     logStream.openAppender().join();
 
-    messageHandler = new ClientApiMessageHandler(mockControlMessageDispatcher);
+    messageHandler =
+        new ClientApiMessageHandler(
+            mockControlMessageDispatcher, agentRunnerService.get().getMetricsManager());
 
     final Partition partition =
         new Partition(
@@ -303,6 +303,53 @@ public class CreateDeploymentTest {
     assertThat(workflow2.get("version")).isEqualTo(1);
   }
 
+  @Test
+  public void shouldPushDeploymentToAllPartitions() {
+    // given
+    apiRule.createTopic("foo", 3);
+    final List<Integer> partitionIds = apiRule.getPartitionsFromTopology("foo");
+
+    // when
+    final ExecuteCommandResponse resp = apiRule.topic().deployWithResponse("foo", WORKFLOW);
+
+    // then
+    for (int partitionId : partitionIds) {
+      final SubscribedRecord pushedDeployment =
+          apiRule
+              .topic(partitionId)
+              .receiveEvents()
+              .filter(r -> r.valueType() == ValueType.DEPLOYMENT)
+              .filter(r -> r.intent() == DeploymentIntent.CREATED)
+              .findFirst()
+              .get();
+
+      assertThat(pushedDeployment.key()).isEqualTo(resp.key());
+      assertThat(pushedDeployment.value()).containsEntry("topicName", "foo");
+    }
+  }
+
+  @Test
+  public void shouldMarkDeploymentAsDistributedWhenPushedToAllPartitions() {
+    // given
+    apiRule.createTopic("foo", 3);
+
+    // when
+    final ExecuteCommandResponse resp = apiRule.topic().deployWithResponse("foo", WORKFLOW);
+
+    // then
+    final SubscribedRecord distributedDeployment =
+        apiRule
+            .topic(Protocol.SYSTEM_PARTITION)
+            .receiveEvents()
+            .filter(r -> r.valueType() == ValueType.DEPLOYMENT)
+            .filter(r -> r.intent() == DeploymentIntent.DISTRIBUTED)
+            .findFirst()
+            .get();
+
+    assertThat(distributedDeployment.key()).isEqualTo(resp.key());
+    assertThat(distributedDeployment.value()).containsEntry("topicName", "foo");
+  }
+
   private Map<String, Object> deploymentResource(final byte[] resource, String name) {
     final Map<String, Object> deploymentResource = new HashMap<>();
     deploymentResource.put("resource", resource);
@@ -16,5 +16,6 @@
 package io.zeebe.client.api.events;
 
 public enum DeploymentState {
-  CREATED
+  CREATED,
+  DISTRIBUTED
 }
@@ -15,8 +15,6 @@
  */
 package io.zeebe.client.impl.data;
 
-import static io.zeebe.util.StringUtil.getBytes;
-
 import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -24,13 +22,20 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.MappingJsonFactory;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.io.ExpandableDirectBufferOutputStream;
 import org.msgpack.jackson.dataformat.MessagePackFactory;
 
+/**
+ * Transcodes JSON to MessagePack and vice versa, token by token. The parser reads the source
+ * directly (string or byte array) and the generator writes into a buffer which is reused per
+ * thread. Only the result of a conversion to a byte array or string is allocated.
+ */
 public class MsgPackConverter {
   protected static final JsonEncoding JSON_ENCODING = JsonEncoding.UTF8;
   protected static final Charset JSON_CHARSET = StandardCharsets.UTF_8;
@@ -39,25 +44,34 @@ public class MsgPackConverter {
       new MessagePackFactory().setReuseResourceInGenerator(false).setReuseResourceInParser(false);
   protected final JsonFactory jsonFactory = new MappingJsonFactory();
 
+  protected final ThreadLocal<ConversionBuffers> conversionBuffers =
+      ThreadLocal.withInitial(ConversionBuffers::new);
+
   public byte[] convertToMsgPack(String json) {
-    final byte[] jsonBytes = getBytes(json, JSON_CHARSET);
-    final ByteArrayInputStream inputStream = new ByteArrayInputStream(jsonBytes);
-    return convertToMsgPack(inputStream);
+    try {
+      final JsonParser parser = jsonFactory.createParser(json);
+      return convertToBytes(parser, msgPackFactory);
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to convert JSON to MessagePack", e);
+    }
   }
 
   public byte[] convertToMsgPack(final InputStream inputStream) {
-    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-      convert(inputStream, outputStream, jsonFactory, msgPackFactory);
-
-      return outputStream.toByteArray();
+    try {
+      final JsonParser parser = jsonFactory.createParser(inputStream);
+      return convertToBytes(parser, msgPackFactory);
     } catch (Exception e) {
       throw new RuntimeException("Failed to convert JSON to MessagePack", e);
     }
   }
 
   public String convertToJson(byte[] msgPack) {
-    final byte[] jsonBytes = convertToJsonBytes(msgPack);
-    return new String(jsonBytes, JSON_CHARSET);
+    try {
+      final JsonParser parser = msgPackFactory.createParser(msgPack);
+      return convertToString(parser);
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to convert MessagePack to JSON", e);
+    }
   }
 
   public InputStream convertToJsonInputStream(byte[] msgPack) {
@@ -66,22 +80,32 @@ public class MsgPackConverter {
   }
 
   protected byte[] convertToJsonBytes(byte[] msgPack) {
-    final InputStream inputStream = new ByteArrayInputStream(msgPack);
-
-    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-      convert(inputStream, outputStream, msgPackFactory, jsonFactory);
-
-      final byte[] jsonBytes = outputStream.toByteArray();
-      return jsonBytes;
+    try {
+      final JsonParser parser = msgPackFactory.createParser(msgPack);
+      return convertToBytes(parser, jsonFactory);
     } catch (Exception e) {
       throw new RuntimeException("Failed to convert MessagePack to JSON", e);
     }
   }
 
-  protected void convert(
-      InputStream in, OutputStream out, JsonFactory inFormat, JsonFactory outFormat)
+  protected byte[] convertToBytes(JsonParser parser, JsonFactory outFormat) throws Exception {
+    final ConversionBuffers buffers = conversionBuffers.get();
+    final ExpandableDirectBufferOutputStream out = buffers.wrapOutput();
+    convert(parser, out, outFormat);
+
+    return Arrays.copyOf(buffers.buffer.byteArray(), out.position());
+  }
+
+  protected String convertToString(JsonParser parser) throws Exception {
+    final ConversionBuffers buffers = conversionBuffers.get();
+    final ExpandableDirectBufferOutputStream out = buffers.wrapOutput();
+    convert(parser, out, jsonFactory);
+
+    return new String(buffers.buffer.byteArray(), 0, out.position(), JSON_CHARSET);
+  }
+
+  protected void convert(JsonParser parser, OutputStream out, JsonFactory outFormat)
       throws Exception {
-    final JsonParser parser = inFormat.createParser(in);
     final JsonGenerator generator = outFormat.createGenerator(out, JSON_ENCODING);
     final JsonToken token = parser.nextToken();
     if (token != JsonToken.START_OBJECT
@@ -98,4 +122,16 @@ public class MsgPackConverter {
 
     generator.flush();
   }
+
+  /** The buffer and stream of a thread, which are reused for each conversion. */
+  protected static final class ConversionBuffers {
+    private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    private final ExpandableDirectBufferOutputStream output =
+        new ExpandableDirectBufferOutputStream();
+
+    ExpandableDirectBufferOutputStream wrapOutput() {
+      output.wrap(buffer, 0);
+      return output;
+    }
+  }
 }
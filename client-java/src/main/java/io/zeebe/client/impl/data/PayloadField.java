@@ -19,11 +19,16 @@ import io.zeebe.client.cmd.ClientException;
 import java.io.InputStream;
 import java.util.Map;
 
+/**
+ * Holds a payload as MessagePack. The JSON representation is decoded lazily on first access and
+ * cached until the payload is changed.
+ */
 public class PayloadField {
   private final ZeebeObjectMapperImpl objectMapper;
   private final MsgPackConverter msgPackConverter;
 
   private byte[] msgPack;
+  private String json;
 
   public PayloadField(ZeebeObjectMapperImpl objectMapper) {
     this.objectMapper = objectMapper;
@@ -34,6 +39,7 @@ public class PayloadField {
     this.objectMapper = other.objectMapper;
     this.msgPackConverter = other.msgPackConverter;
     this.msgPack = other.msgPack;
+    this.json = other.json;
   }
 
   public byte[] getMsgPack() {
@@ -41,15 +47,14 @@ public class PayloadField {
   }
 
   public void setMsgPack(byte[] msgPack) {
-    this.msgPack = msgPack;
+    setMsgPackInternal(msgPack);
   }
 
   public String getAsJsonString() {
-    if (msgPack != null) {
-      return msgPackConverter.convertToJson(msgPack);
-    } else {
-      return null;
+    if (json == null && msgPack != null) {
+      json = msgPackConverter.convertToJson(msgPack);
     }
+    return json;
   }
 
   public Map<String, Object> getAsMap() {
@@ -83,33 +88,38 @@ public class PayloadField {
 
   public void setJson(String json) {
     if (json != null) {
-      msgPack = msgPackConverter.convertToMsgPack(json);
+      setMsgPackInternal(msgPackConverter.convertToMsgPack(json));
     } else {
-      msgPack = null;
+      setMsgPackInternal(null);
     }
   }
 
   public void setJson(InputStream stream) {
     if (stream != null) {
-      msgPack = this.msgPackConverter.convertToMsgPack(stream);
+      setMsgPackInternal(msgPackConverter.convertToMsgPack(stream));
     } else {
-      msgPack = null;
+      setMsgPackInternal(null);
     }
   }
 
   public void setAsMap(Map<String, Object> payload) {
     if (payload != null) {
-      msgPack = objectMapper.toMsgpack(payload);
+      setMsgPackInternal(objectMapper.toMsgpack(payload));
     } else {
-      msgPack = null;
+      setMsgPackInternal(null);
     }
   }
 
   public void setAsObject(Object payload) {
     if (payload != null) {
-      msgPack = objectMapper.toMsgpack(payload);
+      setMsgPackInternal(objectMapper.toMsgpack(payload));
     } else {
-      msgPack = null;
+      setMsgPackInternal(null);
     }
   }
+
+  private void setMsgPackInternal(byte[] msgPack) {
+    this.msgPack = msgPack;
+    this.json = null;
+  }
 }
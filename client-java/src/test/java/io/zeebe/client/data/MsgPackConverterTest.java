@@ -85,6 +85,22 @@ public class MsgPackConverterTest {
     assertThat(new String(jsonBytes, StandardCharsets.UTF_8)).isEqualTo(JSON);
   }
 
+  @Test
+  public void shouldConvertRepeatedlyWithSameConverter() throws Exception {
+    // given
+    final String largeValue = new String(new char[10_000]).replace('\0', 'a');
+    final String largeJson = "{\"key\":\"" + largeValue + "\"}";
+    final byte[] largeMsgPack = converter.convertToMsgPack(largeJson);
+
+    // when
+    final byte[] msgPack = converter.convertToMsgPack(JSON);
+
+    // then
+    assertThat(msgPack).isEqualTo(MSG_PACK);
+    assertThat(converter.convertToJson(largeMsgPack)).isEqualTo(largeJson);
+    assertThat(converter.convertToJson(msgPack)).isEqualTo(JSON);
+  }
+
   @Test
   public void shouldThrowExceptionIfStringIsNotAJsonObject() throws Exception {
     // then
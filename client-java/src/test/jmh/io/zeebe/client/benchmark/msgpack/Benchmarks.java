@@ -27,6 +27,7 @@ public class Benchmarks {
         new OptionsBuilder()
             .include(".*" + POJOSerializationBenchmark.class.getSimpleName() + ".*")
             .include(".*" + POJODeserializationBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + PayloadConversionBenchmark.class.getSimpleName() + ".*")
             .forks(1)
             .build();
 
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.benchmark.msgpack;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+public class PayloadConversionBenchmark {
+
+  @Benchmark
+  @Threads(1)
+  public byte[] jsonToMsgPackViaStreams(PayloadConversionContext ctx) throws Exception {
+    return ctx.getStreamingConverter().convertToMsgPack(ctx.getJson());
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] jsonToMsgPack(PayloadConversionContext ctx) {
+    return ctx.getConverter().convertToMsgPack(ctx.getJson());
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String msgPackToJsonViaStreams(PayloadConversionContext ctx) throws Exception {
+    return ctx.getStreamingConverter().convertToJson(ctx.getMsgPack());
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String msgPackToJson(PayloadConversionContext ctx) {
+    return ctx.getConverter().convertToJson(ctx.getMsgPack());
+  }
+}
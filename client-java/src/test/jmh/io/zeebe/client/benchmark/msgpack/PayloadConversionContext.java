@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.benchmark.msgpack;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MappingJsonFactory;
+import io.zeebe.client.impl.data.MsgPackConverter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class PayloadConversionContext {
+  @Param(value = {"10", "100"})
+  protected int payloadProperties;
+
+  protected final MsgPackConverter converter = new MsgPackConverter();
+
+  protected final StreamingConverter streamingConverter = new StreamingConverter();
+
+  protected String json;
+  protected byte[] msgPack;
+
+  @Setup
+  public void setUp() {
+    final StringBuilder builder = new StringBuilder("{");
+    for (int i = 0; i < payloadProperties; i++) {
+      if (i > 0) {
+        builder.append(',');
+      }
+      builder.append("\"key").append(i).append("\":");
+
+      if (i % 2 == 0) {
+        builder.append("\"value").append(i).append('"');
+      } else {
+        builder.append(i);
+      }
+    }
+    builder.append('}');
+
+    json = builder.toString();
+    msgPack = converter.convertToMsgPack(json);
+  }
+
+  public MsgPackConverter getConverter() {
+    return converter;
+  }
+
+  public StreamingConverter getStreamingConverter() {
+    return streamingConverter;
+  }
+
+  public String getJson() {
+    return json;
+  }
+
+  public byte[] getMsgPack() {
+    return msgPack;
+  }
+
+  /**
+   * The conversion via byte array streams, as the client did before. Used as baseline to compare
+   * with the {@link MsgPackConverter}.
+   */
+  public static class StreamingConverter {
+    private final JsonFactory msgPackFactory =
+        new MessagePackFactory().setReuseResourceInGenerator(false).setReuseResourceInParser(false);
+    private final JsonFactory jsonFactory = new MappingJsonFactory();
+
+    public byte[] convertToMsgPack(String json) throws Exception {
+      final byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+      return convert(jsonBytes, jsonFactory, msgPackFactory);
+    }
+
+    public String convertToJson(byte[] msgPack) throws Exception {
+      final byte[] jsonBytes = convert(msgPack, msgPackFactory, jsonFactory);
+      return new String(jsonBytes, StandardCharsets.UTF_8);
+    }
+
+    private byte[] convert(byte[] in, JsonFactory inFormat, JsonFactory outFormat)
+        throws Exception {
+      final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+      final JsonParser parser = inFormat.createParser(new ByteArrayInputStream(in));
+      final JsonGenerator generator = outFormat.createGenerator(outputStream);
+
+      parser.nextToken();
+      generator.copyCurrentStructure(parser);
+      generator.flush();
+
+      return outputStream.toByteArray();
+    }
+  }
+}
@@ -15,26 +15,41 @@
  */
 package io.zeebe.msgpack.el;
 
+import io.zeebe.msgpack.jsonpath.JsonPathQuery;
+
 public final class CompiledJsonCondition {
   private final String expression;
   private final JsonCondition condition;
+  private final JsonConditionProgram program;
+  private final JsonPathQuery[] paths;
   private final boolean isValid;
   private final String errorMessage;
 
   private CompiledJsonCondition(
-      String expression, JsonCondition condition, boolean isValid, String errorMessage) {
+      String expression,
+      JsonCondition condition,
+      JsonConditionProgram program,
+      JsonPathQuery[] paths,
+      boolean isValid,
+      String errorMessage) {
     this.expression = expression;
     this.condition = condition;
+    this.program = program;
+    this.paths = paths;
     this.isValid = isValid;
     this.errorMessage = errorMessage;
   }
 
-  public static CompiledJsonCondition success(String expression, JsonCondition condition) {
-    return new CompiledJsonCondition(expression, condition, true, null);
+  public static CompiledJsonCondition success(
+      String expression,
+      JsonCondition condition,
+      JsonConditionProgram program,
+      JsonPathQuery[] paths) {
+    return new CompiledJsonCondition(expression, condition, program, paths, true, null);
   }
 
   public static CompiledJsonCondition fail(String expression, String errorMessage) {
-    return new CompiledJsonCondition(expression, null, false, errorMessage);
+    return new CompiledJsonCondition(expression, null, null, null, false, errorMessage);
   }
 
   public String getExpression() {
@@ -45,6 +60,16 @@ public final class CompiledJsonCondition {
     return condition;
   }
 
+  /** @return the flattened condition, which refers to the JSON paths by their slot */
+  public JsonConditionProgram getProgram() {
+    return program;
+  }
+
+  /** @return the JSON paths of the condition, indexed by their slot */
+  public JsonPathQuery[] getPaths() {
+    return paths;
+  }
+
   public boolean isValid() {
     return isValid;
   }
@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.el;
+
+import io.zeebe.msgpack.jsonpath.JsonPathQuery;
+import io.zeebe.msgpack.spec.MsgPackToken;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flattens conditions into {@link JsonConditionProgram}s. The JSON paths of all conditions which
+ * are compiled by the same compiler share one table of path slots, i.e. a path which is used by
+ * multiple conditions is extracted only once.
+ */
+class JsonConditionCompiler {
+  private final Map<String, Integer> pathSlots = new HashMap<>();
+  private final List<JsonPathQuery> paths = new ArrayList<>();
+
+  private final List<Comparison> comparisons = new ArrayList<>();
+  private final List<Integer> onTrue = new ArrayList<>();
+  private final List<Integer> onFalse = new ArrayList<>();
+  private final List<MsgPackToken> constants = new ArrayList<>();
+
+  public JsonConditionProgram compile(JsonCondition condition) {
+    comparisons.clear();
+    onTrue.clear();
+    onFalse.clear();
+    constants.clear();
+
+    final int entry = compile(condition, JsonConditionProgram.TRUE, JsonConditionProgram.FALSE);
+
+    final int count = comparisons.size();
+    final byte[] operatorArray = new byte[count];
+    final int[] xArray = new int[count];
+    final int[] yArray = new int[count];
+    final int[] onTrueArray = new int[count];
+    final int[] onFalseArray = new int[count];
+
+    for (int i = 0; i < count; i++) {
+      final Comparison comparison = comparisons.get(i);
+
+      operatorArray[i] = getOperator(comparison);
+      xArray[i] = getOperand(comparison.x());
+      yArray[i] = getOperand(comparison.y());
+      onTrueArray[i] = onTrue.get(i);
+      onFalseArray[i] = onFalse.get(i);
+    }
+
+    return new JsonConditionProgram(
+        entry,
+        operatorArray,
+        xArray,
+        yArray,
+        onTrueArray,
+        onFalseArray,
+        constants.toArray(new MsgPackToken[constants.size()]));
+  }
+
+  /** @return the JSON paths of all compiled conditions, indexed by their slot */
+  public JsonPathQuery[] getPaths() {
+    return paths.toArray(new JsonPathQuery[paths.size()]);
+  }
+
+  /**
+   * Emits the comparisons of the condition. The right-hand side is emitted first since the jump
+   * targets of the left-hand side point to it.
+   *
+   * @return the index of the first comparison of the condition
+   */
+  private int compile(JsonCondition condition, int trueTarget, int falseTarget) {
+    if (condition instanceof Comparison) {
+      comparisons.add((Comparison) condition);
+      onTrue.add(trueTarget);
+      onFalse.add(falseTarget);
+
+      return comparisons.size() - 1;
+    } else if (condition instanceof Conjunction) {
+      final Conjunction conjunction = (Conjunction) condition;
+
+      final int y = compile(conjunction.y(), trueTarget, falseTarget);
+      return compile(conjunction.x(), y, falseTarget);
+    } else if (condition instanceof Disjunction) {
+      final Disjunction disjunction = (Disjunction) condition;
+
+      final int y = compile(disjunction.y(), trueTarget, falseTarget);
+      return compile(disjunction.x(), trueTarget, y);
+    } else {
+      throw new RuntimeException(String.format("Illegal condition: %s", condition));
+    }
+  }
+
+  private int getOperand(JsonObject value) {
+    if (value instanceof JsonConstant) {
+      constants.add(((JsonConstant) value).token());
+
+      return JsonConditionProgram.constantOperand(constants.size() - 1);
+    } else if (value instanceof JsonPath) {
+      final JsonPath path = (JsonPath) value;
+
+      return pathSlots.computeIfAbsent(
+          path.value(),
+          expression -> {
+            paths.add(path.query());
+            return paths.size() - 1;
+          });
+    } else {
+      throw new RuntimeException(String.format("Illegal value: %s", value));
+    }
+  }
+
+  static byte getOperator(Comparison comparison) {
+    if (comparison instanceof Equal) {
+      return JsonConditionProgram.EQUAL;
+    } else if (comparison instanceof NotEqual) {
+      return JsonConditionProgram.NOT_EQUAL;
+    } else if (comparison instanceof LessThan) {
+      return JsonConditionProgram.LESS_THAN;
+    } else if (comparison instanceof LessOrEqual) {
+      return JsonConditionProgram.LESS_OR_EQUAL;
+    } else if (comparison instanceof GreaterThan) {
+      return JsonConditionProgram.GREATER_THAN;
+    } else if (comparison instanceof GreaterOrEqual) {
+      return JsonConditionProgram.GREATER_OR_EQUAL;
+    } else {
+      throw new RuntimeException(String.format("Illegal comparison: %s", comparison));
+    }
+  }
+}
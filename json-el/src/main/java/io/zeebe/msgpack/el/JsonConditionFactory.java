@@ -15,10 +15,7 @@
  */
 package io.zeebe.msgpack.el;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 import scala.util.parsing.combinator.Parsers.ParseResult;
 
 public class JsonConditionFactory {
@@ -36,10 +33,11 @@ public class JsonConditionFactory {
       final String errorMessage = JsonConditionValidator.validate(condition);
 
       if (errorMessage == null) {
-        // index is used by the interpreter for caching
-        indexJsonPathExpressions(condition);
+        final JsonConditionCompiler compiler = new JsonConditionCompiler();
+        final JsonConditionProgram program = compiler.compile(condition);
 
-        return CompiledJsonCondition.success(expression, condition);
+        return CompiledJsonCondition.success(
+            expression, condition, program, compiler.getPaths());
       } else {
         return CompiledJsonCondition.fail(expression, errorMessage);
       }
@@ -48,30 +46,28 @@ public class JsonConditionFactory {
     }
   }
 
-  private static void indexJsonPathExpressions(JsonCondition condition) {
-    final List<JsonPath> pathExpressions = new ArrayList<>();
+  /**
+   * Compiles the given conditions into one group, so that the JSON paths of all conditions are
+   * extracted in a single pass over the payload.
+   *
+   * @param conditions valid conditions
+   * @return the group, which contains the conditions in the given order
+   */
+  public static JsonConditionGroup createConditionGroup(List<CompiledJsonCondition> conditions) {
+    final JsonConditionCompiler compiler = new JsonConditionCompiler();
+    final JsonConditionProgram[] programs = new JsonConditionProgram[conditions.size()];
 
-    JsonConditionWalker.walk(
-        condition,
-        object -> {
-          if (object instanceof JsonPath) {
-            pathExpressions.add((JsonPath) object);
-          }
-        });
+    for (int i = 0; i < conditions.size(); i++) {
+      final CompiledJsonCondition condition = conditions.get(i);
 
-    final AtomicInteger nextId = new AtomicInteger(1);
+      if (!condition.isValid()) {
+        throw new IllegalArgumentException(
+            String.format("Condition '%s' is not valid", condition.getExpression()));
+      }
 
-    pathExpressions
-        .stream()
-        .collect(Collectors.groupingBy(JsonPath::value))
-        .values()
-        .stream()
-        .filter(l -> l.size() > 1)
-        .forEach(
-            l -> {
-              final int id = nextId.getAndIncrement();
+      programs[i] = compiler.compile(condition.getCondition());
+    }
 
-              l.forEach(p -> p.id(id));
-            });
+    return new JsonConditionGroup(programs, compiler.getPaths());
   }
 }
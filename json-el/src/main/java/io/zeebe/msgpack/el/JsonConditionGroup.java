@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.el;
+
+import io.zeebe.msgpack.jsonpath.JsonPathQuery;
+
+/**
+ * Conditions which are evaluated against the same payload, e.g. the conditions of the outgoing
+ * sequence flows of an exclusive gateway. The JSON paths of all conditions are extracted in a
+ * single pass over the payload.
+ */
+public final class JsonConditionGroup {
+  private final JsonConditionProgram[] programs;
+  private final JsonPathQuery[] paths;
+
+  JsonConditionGroup(JsonConditionProgram[] programs, JsonPathQuery[] paths) {
+    this.programs = programs;
+    this.paths = paths;
+  }
+
+  public int size() {
+    return programs.length;
+  }
+
+  public JsonConditionProgram getProgram(int index) {
+    return programs[index];
+  }
+
+  public JsonPathQuery[] getPaths() {
+    return paths;
+  }
+}
@@ -18,222 +18,205 @@ package io.zeebe.msgpack.el;
 import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
 
 import io.zeebe.msgpack.jsonpath.JsonPathQuery;
-import io.zeebe.msgpack.query.MsgPackQueryExecutor;
-import io.zeebe.msgpack.query.MsgPackTraverser;
-import io.zeebe.msgpack.spec.*;
+import io.zeebe.msgpack.query.MsgPackMultiQueryExecutor;
+import io.zeebe.msgpack.spec.MsgPackReader;
+import io.zeebe.msgpack.spec.MsgPackToken;
+import io.zeebe.msgpack.spec.MsgPackType;
 import io.zeebe.util.buffer.BufferUtil;
 import org.agrona.DirectBuffer;
 
 public class JsonConditionInterpreter {
-  private final MsgPackQueryExecutor visitor = new MsgPackQueryExecutor();
-  private final MsgPackTraverser traverser = new MsgPackTraverser();
-
   private final MsgPackReader msgPackReader1 = new MsgPackReader();
   private final MsgPackReader msgPackReader2 = new MsgPackReader();
 
-  private final JsonPathCache cache = new JsonPathCache();
+  private final MsgPackMultiQueryExecutor pathExecutor = new MsgPackMultiQueryExecutor();
+  private JsonPathQuery[] compiledPaths;
 
-  public boolean eval(final JsonCondition condition, final DirectBuffer json) {
-    cache.wrap(json);
+  /**
+   * Evaluates the flattened condition. All JSON paths of the condition are extracted in a single
+   * pass over the payload before.
+   */
+  public boolean eval(final CompiledJsonCondition condition, final DirectBuffer json) {
+    extractPaths(condition.getPaths(), json);
 
-    return evalCondition(condition, json);
+    return evalProgram(condition.getProgram(), json);
   }
 
-  private boolean evalCondition(final JsonCondition condition, final DirectBuffer json) {
-    boolean isFulFilled = false;
-
-    if (condition instanceof Comparison) {
-      isFulFilled = evalComparison((Comparison) condition, json);
-    } else if (condition instanceof Disjunction) {
-      final Disjunction disjunction = (Disjunction) condition;
+  /**
+   * Evaluates the conditions of the group in their order until one is fulfilled. The JSON paths of
+   * all conditions are extracted in a single pass over the payload before. A path without a
+   * result fails only if a comparison which is evaluated refers to it.
+   *
+   * @return the index of the first fulfilled condition, or -1 if no condition is fulfilled
+   */
+  public int evalFirstFulfilled(final JsonConditionGroup group, final DirectBuffer json) {
+    extractPaths(group.getPaths(), json);
+
+    for (int i = 0; i < group.size(); i++) {
+      if (evalProgram(group.getProgram(i), json)) {
+        return i;
+      }
+    }
+    return -1;
+  }
 
-      isFulFilled = evalCondition(disjunction.x(), json) || evalCondition(disjunction.y(), json);
-    } else if (condition instanceof Conjunction) {
-      final Conjunction conjunction = (Conjunction) condition;
+  private void extractPaths(JsonPathQuery[] paths, DirectBuffer json) {
+    // the paths are compiled again only if another condition is evaluated
+    if (paths != compiledPaths) {
+      pathExecutor.clear();
 
-      isFulFilled = evalCondition(conjunction.x(), json) && evalCondition(conjunction.y(), json);
-    } else {
-      throw new RuntimeException(String.format("Illegal condition: %s", condition));
+      for (JsonPathQuery path : paths) {
+        pathExecutor.addQuery(path);
+      }
+      compiledPaths = paths;
     }
 
-    return isFulFilled;
+    pathExecutor.execute(json, 0, json.capacity());
   }
 
-  private boolean evalComparison(Comparison comparison, DirectBuffer json) {
-    final MsgPackToken x = getToken(comparison.x(), json, msgPackReader1);
-    final MsgPackToken y = getToken(comparison.y(), json, msgPackReader2);
-
-    if (comparison instanceof Equal) {
-      return equals(x, y);
-    } else if (comparison instanceof NotEqual) {
-      return notEquals(x, y);
-    } else if (comparison instanceof LessThan) {
-      return lessThan(x, y);
-    } else if (comparison instanceof LessOrEqual) {
-      return lessThanOrEqual(x, y);
-    } else if (comparison instanceof GreaterThan) {
-      return greaterThan(x, y);
-    } else if (comparison instanceof GreaterOrEqual) {
-      return greaterThanOrEqual(x, y);
-    } else {
-      throw new RuntimeException(String.format("Illegal comparison: %s", comparison));
-    }
-  }
+  private boolean evalProgram(final JsonConditionProgram program, final DirectBuffer json) {
+    int comparison = program.getEntry();
 
-  private MsgPackToken getToken(JsonObject value, DirectBuffer json, MsgPackReader msgPackReader) {
-    if (value instanceof JsonConstant) {
-      final JsonConstant constant = (JsonConstant) value;
+    while (comparison >= 0) {
+      final MsgPackToken x = getOperand(program, program.getX(comparison), json, msgPackReader1);
+      final MsgPackToken y = getOperand(program, program.getY(comparison), json, msgPackReader2);
 
-      return constant.token();
-    } else if (value instanceof JsonPath) {
-      final JsonPath jsonPath = (JsonPath) value;
+      final boolean isFulfilled = compare(program.getOperator(comparison), x, y);
 
-      return getPathResult(jsonPath, json, msgPackReader);
-    } else {
-      throw new RuntimeException(String.format("Illegal value: %s", value));
+      comparison = program.next(comparison, isFulfilled);
     }
-  }
-
-  private MsgPackToken getPathResult(
-      final JsonPath path, DirectBuffer json, MsgPackReader msgPackReader) {
-    final int pathId = path.id();
-    // id > 0 if the path is used more than once in the condition
-    final boolean cachable = pathId > 0;
 
-    final DirectBuffer resultBuffer = cachable ? cache.get(pathId) : null;
+    return comparison == JsonConditionProgram.TRUE;
+  }
 
-    if (resultBuffer != null) {
-      msgPackReader.wrap(resultBuffer, 0, resultBuffer.capacity());
+  private MsgPackToken getOperand(
+      JsonConditionProgram program, int operand, DirectBuffer json, MsgPackReader msgPackReader) {
+    if (JsonConditionProgram.isConstant(operand)) {
+      return program.getConstant(operand);
     } else {
-      readQueryResult(path.query(), json);
-
-      final int offset = visitor.currentResultPosition();
-      final int length = visitor.currentResultLength();
+      final int numResults = pathExecutor.numResults(operand);
+
+      if (numResults == 0) {
+        throw new JsonConditionException(
+            String.format(
+                "JSON path '%s' has no result.",
+                bufferAsString(pathExecutor.getQuery(operand).getExpression())));
+      } else if (numResults > 1) {
+        // such a JSON path expression should not be valid
+        throw new JsonConditionException(
+            String.format(
+                "JSON path '%s' has more than one result.",
+                bufferAsString(pathExecutor.getQuery(operand).getExpression())));
+      }
 
-      msgPackReader.wrap(json, offset, length);
+      msgPackReader.wrap(
+          json, pathExecutor.resultPosition(operand), pathExecutor.resultLength(operand));
 
-      if (cachable) {
-        cache.put(pathId, offset, length);
-      }
+      return msgPackReader.readToken();
     }
-
-    return msgPackReader.readToken();
   }
 
-  private void readQueryResult(JsonPathQuery query, DirectBuffer json) {
-    visitor.init(query.getFilters(), query.getFilterInstances());
-    traverser.wrap(json, 0, json.capacity());
-
-    traverser.traverse(visitor);
-
-    if (visitor.numResults() == 0) {
-      throw new JsonConditionException(
-          String.format("JSON path '%s' has no result.", bufferAsString(query.getExpression())));
-    } else if (visitor.numResults() > 1) {
-      // such a JSON path expression should not be valid
-      throw new JsonConditionException(
-          String.format(
-              "JSON path '%s' has more than one result.", bufferAsString(query.getExpression())));
+  private boolean compare(byte operator, MsgPackToken x, MsgPackToken y) {
+    switch (operator) {
+      case JsonConditionProgram.EQUAL:
+        return equals(x, y);
+      case JsonConditionProgram.NOT_EQUAL:
+        return !equals(x, y);
+      default:
+        return compareNumbers(operator, x, y);
     }
-
-    visitor.moveToResult(0);
   }
 
   private boolean equals(MsgPackToken x, MsgPackToken y) {
-    if (x.getType() == MsgPackType.NIL) {
-      return y.getType() == MsgPackType.NIL;
-    } else if (y.getType() == MsgPackType.NIL) {
+    final MsgPackType xType = x.getType();
+    final MsgPackType yType = y.getType();
+
+    if (xType == MsgPackType.NIL) {
+      return yType == MsgPackType.NIL;
+    } else if (yType == MsgPackType.NIL) {
       return false;
+    } else if (xType == MsgPackType.INTEGER && yType == MsgPackType.INTEGER) {
+      return x.getIntegerValue() == y.getIntegerValue();
+    } else if (isNumber(xType) && isNumber(yType)) {
+      return asDouble(x) == asDouble(y);
     } else {
-      ensureSameType(x, y);
+      ensureSameType(xType, yType);
 
-      switch (x.getType()) {
+      switch (xType) {
         case STRING:
           return BufferUtil.equals(x.getValueBuffer(), y.getValueBuffer());
 
         case BOOLEAN:
           return x.getBooleanValue() == y.getBooleanValue();
 
-        case INTEGER:
-          return x.getIntegerValue() == y.getIntegerValue();
-
-        case FLOAT:
-          return x.getFloatValue() == y.getFloatValue();
-
         default:
           throw new JsonConditionException(
-              String.format("Cannot compare value of type: %s", x.getType()));
+              String.format("Cannot compare value of type: %s", xType));
       }
     }
   }
 
-  private boolean notEquals(MsgPackToken x, MsgPackToken y) {
-    return !equals(x, y);
-  }
-
-  private boolean lessThan(MsgPackToken x, MsgPackToken y) {
-    ensureSameType(x, y);
-    ensureNumber(x);
+  private boolean compareNumbers(byte operator, MsgPackToken x, MsgPackToken y) {
+    final MsgPackType xType = x.getType();
+    final MsgPackType yType = y.getType();
 
-    if (x.getType() == MsgPackType.INTEGER) {
-      return x.getIntegerValue() < y.getIntegerValue();
+    if (xType == MsgPackType.INTEGER && yType == MsgPackType.INTEGER) {
+      return compareLongs(operator, x.getIntegerValue(), y.getIntegerValue());
+    } else if (isNumber(xType) && isNumber(yType)) {
+      // compare an integer and a float as floats, without changing the tokens
+      return compareDoubles(operator, asDouble(x), asDouble(y));
     } else {
-      return x.getFloatValue() < y.getFloatValue();
+      ensureSameType(xType, yType);
+
+      throw new JsonConditionException(
+          String.format("Cannot compare values. Expected number but found: %s", xType));
     }
   }
 
-  private boolean lessThanOrEqual(MsgPackToken x, MsgPackToken y) {
-    ensureSameType(x, y);
-    ensureNumber(x);
-
-    if (x.getType() == MsgPackType.INTEGER) {
-      return x.getIntegerValue() <= y.getIntegerValue();
-    } else {
-      return x.getFloatValue() <= y.getFloatValue();
+  private static boolean compareLongs(byte operator, long x, long y) {
+    switch (operator) {
+      case JsonConditionProgram.LESS_THAN:
+        return x < y;
+      case JsonConditionProgram.LESS_OR_EQUAL:
+        return x <= y;
+      case JsonConditionProgram.GREATER_THAN:
+        return x > y;
+      case JsonConditionProgram.GREATER_OR_EQUAL:
+        return x >= y;
+      default:
+        throw new RuntimeException(String.format("Illegal operator: %s", operator));
     }
   }
 
-  private boolean greaterThan(MsgPackToken x, MsgPackToken y) {
-    ensureSameType(x, y);
-    ensureNumber(x);
-
-    if (x.getType() == MsgPackType.INTEGER) {
-      return x.getIntegerValue() > y.getIntegerValue();
-    } else {
-      return x.getFloatValue() > y.getFloatValue();
+  private static boolean compareDoubles(byte operator, double x, double y) {
+    switch (operator) {
+      case JsonConditionProgram.LESS_THAN:
+        return x < y;
+      case JsonConditionProgram.LESS_OR_EQUAL:
+        return x <= y;
+      case JsonConditionProgram.GREATER_THAN:
+        return x > y;
+      case JsonConditionProgram.GREATER_OR_EQUAL:
+        return x >= y;
+      default:
+        throw new RuntimeException(String.format("Illegal operator: %s", operator));
     }
   }
 
-  private boolean greaterThanOrEqual(MsgPackToken x, MsgPackToken y) {
-    ensureSameType(x, y);
-    ensureNumber(x);
-
-    if (x.getType() == MsgPackType.INTEGER) {
-      return x.getIntegerValue() >= y.getIntegerValue();
-    } else {
-      return x.getFloatValue() >= y.getFloatValue();
-    }
+  private static boolean isNumber(MsgPackType type) {
+    return type == MsgPackType.INTEGER || type == MsgPackType.FLOAT;
   }
 
-  private void ensureSameType(MsgPackToken x, MsgPackToken y) {
-    // transform number types for comparison
-    if (x.getType() == MsgPackType.INTEGER && y.getType() == MsgPackType.FLOAT) {
-      x.setType(MsgPackType.FLOAT);
-      x.setValue((double) x.getIntegerValue());
-    } else if (x.getType() == MsgPackType.FLOAT && y.getType() == MsgPackType.INTEGER) {
-      y.setType(MsgPackType.FLOAT);
-      y.setValue((double) y.getIntegerValue());
-    } else if (x.getType() != y.getType()) {
-      throw new JsonConditionException(
-          String.format(
-              "Cannot compare values of different types: %s and %s", x.getType(), y.getType()));
-    }
+  private static double asDouble(MsgPackToken token) {
+    return token.getType() == MsgPackType.INTEGER
+        ? (double) token.getIntegerValue()
+        : token.getFloatValue();
   }
 
-  private void ensureNumber(MsgPackToken x) {
-    if (x.getType() != MsgPackType.INTEGER && x.getType() != MsgPackType.FLOAT) {
+  private static void ensureSameType(MsgPackType x, MsgPackType y) {
+    if (x != y) {
       throw new JsonConditionException(
-          String.format("Cannot compare values. Expected number but found: %s", x.getType()));
+          String.format("Cannot compare values of different types: %s and %s", x, y));
     }
   }
 }
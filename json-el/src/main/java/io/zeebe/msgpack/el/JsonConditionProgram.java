@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.el;
+
+import io.zeebe.msgpack.spec.MsgPackToken;
+
+/**
+ * A condition flattened into a list of comparisons. Each comparison has a jump target for the case
+ * that it is fulfilled and one for the case that it is not. A target is either the index of the
+ * next comparison, {@link #TRUE} or {@link #FALSE}. Conjunctions and disjunctions are expressed by
+ * these targets, so the evaluation is a loop over the comparisons which short-circuits like the
+ * condition itself.
+ *
+ * <p>An operand of a comparison is either the slot of a JSON path (>= 0), whose result is
+ * extracted from the payload before the evaluation, or a constant (< 0, see {@link
+ * #constantIndex(int)}).
+ *
+ * <p>A program is immutable and can be shared by multiple interpreters.
+ */
+public final class JsonConditionProgram {
+  public static final byte EQUAL = 0;
+  public static final byte NOT_EQUAL = 1;
+  public static final byte LESS_THAN = 2;
+  public static final byte LESS_OR_EQUAL = 3;
+  public static final byte GREATER_THAN = 4;
+  public static final byte GREATER_OR_EQUAL = 5;
+
+  public static final int TRUE = -1;
+  public static final int FALSE = -2;
+
+  private final int entry;
+
+  private final byte[] operators;
+  private final int[] xOperands;
+  private final int[] yOperands;
+  private final int[] onTrue;
+  private final int[] onFalse;
+
+  private final MsgPackToken[] constants;
+
+  JsonConditionProgram(
+      int entry,
+      byte[] operators,
+      int[] xOperands,
+      int[] yOperands,
+      int[] onTrue,
+      int[] onFalse,
+      MsgPackToken[] constants) {
+    this.entry = entry;
+    this.operators = operators;
+    this.xOperands = xOperands;
+    this.yOperands = yOperands;
+    this.onTrue = onTrue;
+    this.onFalse = onFalse;
+    this.constants = constants;
+  }
+
+  /** @return the index of the first comparison to evaluate */
+  public int getEntry() {
+    return entry;
+  }
+
+  public int getComparisonCount() {
+    return operators.length;
+  }
+
+  public byte getOperator(int comparison) {
+    return operators[comparison];
+  }
+
+  public int getX(int comparison) {
+    return xOperands[comparison];
+  }
+
+  public int getY(int comparison) {
+    return yOperands[comparison];
+  }
+
+  /** @return the next comparison, {@link #TRUE} or {@link #FALSE} */
+  public int next(int comparison, boolean isFulfilled) {
+    return isFulfilled ? onTrue[comparison] : onFalse[comparison];
+  }
+
+  public static boolean isConstant(int operand) {
+    return operand < 0;
+  }
+
+  public static int constantOperand(int constantIndex) {
+    return -1 - constantIndex;
+  }
+
+  public static int constantIndex(int operand) {
+    return -1 - operand;
+  }
+
+  /** @return the token of the constant operand; must not be modified */
+  public MsgPackToken getConstant(int operand) {
+    return constants[constantIndex(operand)];
+  }
+}
@@ -34,10 +34,10 @@ public class JsonConditionTest {
     final CompiledJsonCondition condition = JsonConditionFactory.createCondition("$.foo == 'bar'");
     assertThat(condition.isValid()).isTrue();
 
-    boolean result = interpreter.eval(condition.getCondition(), asMsgPack("foo", "bar"));
+    boolean result = interpreter.eval(condition, asMsgPack("foo", "bar"));
     assertThat(result).isTrue();
 
-    result = interpreter.eval(condition.getCondition(), asMsgPack("foo", "baz"));
+    result = interpreter.eval(condition, asMsgPack("foo", "baz"));
     assertThat(result).isFalse();
   }
 
@@ -47,12 +47,10 @@ public class JsonConditionTest {
         JsonConditionFactory.createCondition("$.foo == $.bar || $.foo > 2 || $.bar <= 2");
     assertThat(condition.isValid()).isTrue();
 
-    boolean result =
-        interpreter.eval(condition.getCondition(), asMsgPack(c -> c.put("foo", 2).put("bar", 2)));
+    boolean result = interpreter.eval(condition, asMsgPack(c -> c.put("foo", 2).put("bar", 2)));
     assertThat(result).isTrue();
 
-    result =
-        interpreter.eval(condition.getCondition(), asMsgPack(c -> c.put("foo", 2).put("bar", 3)));
+    result = interpreter.eval(condition, asMsgPack(c -> c.put("foo", 2).put("bar", 3)));
     assertThat(result).isFalse();
   }
 
@@ -72,7 +70,7 @@ public class JsonConditionTest {
     thrown.expect(JsonConditionException.class);
     thrown.expectMessage("Cannot compare values of different types: STRING and INTEGER");
 
-    interpreter.eval(condition.getCondition(), asMsgPack("foo", "bar"));
+    interpreter.eval(condition, asMsgPack("foo", "bar"));
   }
 
   @Test
@@ -83,7 +81,7 @@ public class JsonConditionTest {
     thrown.expect(JsonConditionException.class);
     thrown.expectMessage("JSON path '$.foo' has no result");
 
-    interpreter.eval(condition.getCondition(), asMsgPack("bar", 4));
+    interpreter.eval(condition, asMsgPack("bar", 4));
   }
 
   @Test
@@ -94,7 +92,7 @@ public class JsonConditionTest {
     thrown.expect(JsonConditionException.class);
     thrown.expectMessage("Cannot compare values of different types: NIL and INTEGER");
 
-    interpreter.eval(condition.getCondition(), asMsgPack("foo", null));
+    interpreter.eval(condition, asMsgPack("foo", null));
   }
 
   @Test
@@ -109,7 +107,7 @@ public class JsonConditionTest {
     map.put("foo", new int[] {1, 2, 3});
     map.put("bar", new int[] {4, 5, 6});
 
-    interpreter.eval(condition.getCondition(), asMsgPack(map));
+    interpreter.eval(condition, asMsgPack(map));
   }
 
   @Test
@@ -124,7 +122,7 @@ public class JsonConditionTest {
     map.put("foo", Collections.singletonMap("a", 1));
     map.put("bar", Collections.singletonMap("b", 2));
 
-    interpreter.eval(condition.getCondition(), asMsgPack(map));
+    interpreter.eval(condition, asMsgPack(map));
   }
 
   @Test
@@ -135,6 +133,68 @@ public class JsonConditionTest {
     thrown.expect(JsonConditionException.class);
     thrown.expectMessage("Cannot compare values. Expected number but found: STRING");
 
-    interpreter.eval(condition.getCondition(), asMsgPack(c -> c.put("foo", "a").put("bar", "b")));
+    interpreter.eval(condition, asMsgPack(c -> c.put("foo", "a").put("bar", "b")));
+  }
+
+  @Test
+  public void shouldEvaluateFirstFulfilledConditionOfGroup() {
+    final JsonConditionGroup group =
+        createGroup("$.foo < 5", "$.foo >= 5 && $.bar == 'a'", "$.foo >= 5 && $.bar == 'b'");
+
+    assertThat(group.getPaths()).hasSize(2);
+
+    assertThat(interpreter.evalFirstFulfilled(group, asMsgPack(c -> c.put("foo", 3))))
+        .isEqualTo(0);
+    assertThat(
+            interpreter.evalFirstFulfilled(group, asMsgPack(c -> c.put("foo", 7).put("bar", "b"))))
+        .isEqualTo(2);
+    assertThat(
+            interpreter.evalFirstFulfilled(group, asMsgPack(c -> c.put("foo", 7).put("bar", "c"))))
+        .isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldFailIfJsonPathOfEvaluatedConditionOfGroupDoesntMatch() {
+    final JsonConditionGroup group = createGroup("$.foo < 5", "$.bar == 'a'");
+
+    thrown.expect(JsonConditionException.class);
+    thrown.expectMessage("JSON path '$.bar' has no result");
+
+    interpreter.evalFirstFulfilled(group, asMsgPack("foo", 7));
+  }
+
+  @Test
+  public void shouldNotEvaluateConditionsOfGroupAfterFulfilledCondition() {
+    final JsonConditionGroup group = createGroup("$.foo < 5", "$.bar == 'a'");
+
+    final int fulfilledCondition = interpreter.evalFirstFulfilled(group, asMsgPack("foo", 3));
+
+    assertThat(fulfilledCondition).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldNotChangeConstantOnComparisonWithFloat() {
+    final CompiledJsonCondition condition = JsonConditionFactory.createCondition("$.foo < 3");
+    assertThat(condition.isValid()).isTrue();
+
+    assertThat(interpreter.eval(condition, asMsgPack("foo", 2.5))).isTrue();
+
+    thrown.expect(JsonConditionException.class);
+    thrown.expectMessage("Cannot compare values of different types: STRING and INTEGER");
+
+    interpreter.eval(condition, asMsgPack("foo", "bar"));
+  }
+
+  private static JsonConditionGroup createGroup(String... expressions) {
+    final List<CompiledJsonCondition> conditions = new ArrayList<>();
+
+    for (String expression : expressions) {
+      final CompiledJsonCondition condition = JsonConditionFactory.createCondition(expression);
+      assertThat(condition.isValid()).isTrue();
+
+      conditions.add(condition);
+    }
+
+    return JsonConditionFactory.createConditionGroup(conditions);
   }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.el.benchmarks;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+
+import io.zeebe.msgpack.el.CompiledJsonCondition;
+import io.zeebe.msgpack.el.JsonConditionFactory;
+import io.zeebe.msgpack.el.JsonConditionGroup;
+import io.zeebe.msgpack.el.JsonConditionInterpreter;
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import java.util.Arrays;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Provides the conditions of an exclusive gateway with four outgoing sequence flows and a payload
+ * with the given count of variables. Only the condition of the last flow is fulfilled, so all
+ * conditions are evaluated.
+ */
+@State(Scope.Thread)
+public class GatewaySupplier {
+  @Param({"10", "100", "1000"})
+  int variables;
+
+  DirectBuffer payload;
+
+  List<CompiledJsonCondition> conditions;
+  JsonConditionGroup group;
+
+  JsonConditionInterpreter interpreter = new JsonConditionInterpreter();
+
+  @Setup(Level.Trial)
+  public void createGateway() {
+    payload = createPayload(variables);
+
+    conditions =
+        Arrays.asList(
+            JsonConditionFactory.createCondition("$.var1 < 0"),
+            JsonConditionFactory.createCondition("$.var1 >= 0 && $.var0 == 'rejected'"),
+            JsonConditionFactory.createCondition("$.var1 >= 0 && $.var2.id < 0"),
+            JsonConditionFactory.createCondition("$.var1 >= 0 && $.var2.name == 'accepted'"));
+
+    group = JsonConditionFactory.createConditionGroup(conditions);
+  }
+
+  private static DirectBuffer createPayload(int variables) {
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    final MsgPackWriter writer = new MsgPackWriter();
+    writer.wrap(buffer, 0);
+
+    writer.writeMapHeader(variables);
+
+    for (int i = 0; i < variables; i++) {
+      writer.writeString(wrapString("var" + i));
+
+      switch (i % 3) {
+        case 0:
+          writer.writeString(wrapString("value of variable " + i));
+          break;
+        case 1:
+          writer.writeInteger(i);
+          break;
+        default:
+          writer.writeMapHeader(2);
+          writer.writeString(wrapString("id"));
+          writer.writeInteger(i);
+          writer.writeString(wrapString("name"));
+          writer.writeString(wrapString(i == 2 ? "accepted" : "object " + i));
+          break;
+      }
+    }
+
+    return new UnsafeBuffer(buffer, 0, writer.getOffset());
+  }
+}
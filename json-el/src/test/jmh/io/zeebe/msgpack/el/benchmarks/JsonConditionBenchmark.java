@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.el.benchmarks;
+
+import io.zeebe.msgpack.el.CompiledJsonCondition;
+import io.zeebe.msgpack.el.JsonConditionInterpreter;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the evaluation of the conditions of an exclusive gateway: the compiled conditions with
+ * one pass over the payload per condition, and the condition group with one pass for all
+ * conditions.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class JsonConditionBenchmark {
+
+  @Benchmark
+  @Threads(1)
+  public int evalCompiledConditions(GatewaySupplier supplier) {
+    final JsonConditionInterpreter interpreter = supplier.interpreter;
+    final List<CompiledJsonCondition> conditions = supplier.conditions;
+
+    for (int i = 0; i < conditions.size(); i++) {
+      if (interpreter.eval(conditions.get(i), supplier.payload)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int evalConditionGroup(GatewaySupplier supplier) {
+    return supplier.interpreter.evalFirstFulfilled(supplier.group, supplier.payload);
+  }
+}
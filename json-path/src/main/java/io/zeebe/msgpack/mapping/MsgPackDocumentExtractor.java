@@ -15,14 +15,10 @@
  */
 package io.zeebe.msgpack.mapping;
 
-import static io.zeebe.msgpack.mapping.MsgPackTreeNodeIdConstructor.construct;
-
-import io.zeebe.msgpack.jsonpath.JsonPathQuery;
 import io.zeebe.msgpack.jsonpath.JsonPathToken;
 import io.zeebe.msgpack.jsonpath.JsonPathTokenVisitor;
 import io.zeebe.msgpack.jsonpath.JsonPathTokenizer;
-import io.zeebe.msgpack.query.MsgPackQueryExecutor;
-import io.zeebe.msgpack.query.MsgPackTraverser;
+import io.zeebe.msgpack.query.MsgPackMultiQueryExecutor;
 import org.agrona.DirectBuffer;
 
 /**
@@ -47,6 +43,8 @@ import org.agrona.DirectBuffer;
  * mapping and leafs, which corresponds to the leaf in the target json path mapping. These leafs
  * contains the values of the matched source json query, form the wrapped message pack document.
  *
+ * <p>The source queries of all mappings are resolved in a single traversal of the document.
+ *
  * <p>Example:
  *
  * <pre>
@@ -98,8 +96,9 @@ public final class MsgPackDocumentExtractor {
    */
   private final MsgPackTree extractDocumentTree = new MsgPackTree();
 
-  private final MsgPackTraverser traverser = new MsgPackTraverser();
-  private final MsgPackQueryExecutor queryExecutor = new MsgPackQueryExecutor();
+  private DirectBuffer extractDocument;
+
+  private final MsgPackMultiQueryExecutor queryExecutor = new MsgPackMultiQueryExecutor();
   private final JsonPathTokenizer tokenizer = new JsonPathTokenizer();
   private final TargetPathVisitor targetPathVisitor = new TargetPathVisitor();
 
@@ -113,18 +112,22 @@ public final class MsgPackDocumentExtractor {
   public void wrap(MsgPackTree existingDocumentTree, DirectBuffer extractDocument) {
     documentTreeReference = existingDocumentTree;
     documentTreeReference.setExtractDocument(extractDocument);
-    traverser.wrap(extractDocument, 0, extractDocument.capacity());
+    this.extractDocument = extractDocument;
   }
 
   public void wrap(DirectBuffer document) {
     documentTreeReference = extractDocumentTree;
     documentTreeReference.setExtractDocument(document);
-    traverser.wrap(document, 0, document.capacity());
+    extractDocument = document;
   }
 
   public MsgPackTree extract(Mapping... mappings) {
-    for (Mapping mapping : mappings) {
-      targetPathVisitor.reset(mapping);
+    executeSourceQueries(mappings);
+
+    for (int i = 0; i < mappings.length; i++) {
+      final Mapping mapping = mappings[i];
+
+      targetPathVisitor.reset(i);
       final DirectBuffer targetQueryString = mapping.getTargetQueryBuffer();
       tokenizer.tokenize(targetQueryString, 0, targetQueryString.capacity(), targetPathVisitor);
     }
@@ -142,19 +145,20 @@ public final class MsgPackDocumentExtractor {
    * current node is root which has no parent). A map parent node is added and the current node will
    * added to the map node.
    *
-   * <p>Returns the constructed new node id for the current node.
+   * <p>Returns the node id of the current node.
    *
-   * @param parentId the id of the parent
-   * @param nodeName the name of the current node
-   * @return the new node id consist of the parent id and the node name
+   * @param parentId the id of the parent, or {@link MsgPackTree#NO_NODE} for the root
+   * @param nodeName the buffer which contains the name of the current node
+   * @param nameOffset the offset of the name in the buffer
+   * @param nameLength the length of the name
+   * @return the id of the current node
    */
-  private String createParentRelation(String parentId, String nodeName) {
-    final String nodeId;
-
-    if (parentId.isEmpty()) {
-      nodeId = nodeName;
+  private int createParentRelation(
+      int parentId, DirectBuffer nodeName, int nameOffset, int nameLength) {
+    if (parentId == MsgPackTree.NO_NODE) {
+      return documentTreeReference.addRootNode();
     } else {
-      final boolean isIndex = isIndex(nodeName);
+      final boolean isIndex = isIndex(nodeName, nameOffset, nameLength);
 
       if (isIndex) {
         if (!documentTreeReference.isMapNode(parentId)) {
@@ -163,16 +167,13 @@ public final class MsgPackDocumentExtractor {
       } else {
         documentTreeReference.addMapNode(parentId);
       }
-      nodeId = construct(parentId, nodeName);
-      documentTreeReference.addChildToNode(nodeName, parentId);
+      return documentTreeReference.addChildNode(parentId, nodeName, nameOffset, nameLength);
     }
-    return nodeId;
   }
 
-  private boolean isIndex(String nodeName) {
-    final int len = nodeName.length();
-    for (int i = 0; i < len; i++) {
-      final char currentChar = nodeName.charAt(i);
+  private boolean isIndex(DirectBuffer nodeName, int nameOffset, int nameLength) {
+    for (int i = 0; i < nameLength; i++) {
+      final byte currentChar = nodeName.getByte(nameOffset + i);
       if (currentChar < '0' || currentChar > '9') {
         return false;
       }
@@ -181,51 +182,61 @@ public final class MsgPackDocumentExtractor {
   }
 
   /**
-   * Executes the given json path query. The matching result is available in the query executor
-   * object.
+   * Executes the source queries of all mappings in one traversal of the document. The query of a
+   * mapping has the same index as the mapping.
+   */
+  private void executeSourceQueries(Mapping[] mappings) {
+    queryExecutor.clear();
+
+    for (Mapping mapping : mappings) {
+      queryExecutor.addQuery(mapping.getSource());
+    }
+
+    if (mappings.length > 0) {
+      queryExecutor.execute(extractDocument, 0, extractDocument.capacity());
+    }
+  }
+
+  /**
+   * Verifies that the source query of the mapping has exactly one result. The result is available
+   * in the query executor object.
    *
-   * @param jsonPathQuery the query which should be executed
+   * @param queryIndex the index of the mapping
    */
-  private void executeLeafMapping(JsonPathQuery jsonPathQuery) {
-    queryExecutor.init(jsonPathQuery.getFilters(), jsonPathQuery.getFilterInstances());
-    traverser.traverse(queryExecutor);
-
-    if (queryExecutor.numResults() == 1) {
-      queryExecutor.moveToResult(0);
-    } else if (queryExecutor.numResults() == 0) {
-      final DirectBuffer expression = jsonPathQuery.getExpression();
+  private void ensureSingleResult(int queryIndex) {
+    final int numResults = queryExecutor.numResults(queryIndex);
+
+    if (numResults == 0) {
+      final DirectBuffer expression = queryExecutor.getQuery(queryIndex).getExpression();
       throw new MappingException(
           String.format(
               EXCEPTION_MSG_MAPPING_DOES_NOT_MATCH,
               expression.getStringWithoutLengthUtf8(0, expression.capacity())));
-    } else {
+    } else if (numResults > 1) {
       throw new IllegalStateException(EXCEPTION_MSG_MAPPING_HAS_MORE_THAN_ONE_MATCHING_SOURCE);
     }
-    traverser.reset();
   }
 
   private final class TargetPathVisitor implements JsonPathTokenVisitor {
-    private String nodeId;
-    private String parentId;
-    private Mapping mapping;
-
-    void reset(Mapping mapping) {
-      nodeId = "";
-      parentId = "";
-      this.mapping = mapping;
+    private int nodeId;
+    private int queryIndex;
+
+    void reset(int queryIndex) {
+      nodeId = MsgPackTree.NO_NODE;
+      this.queryIndex = queryIndex;
     }
 
     @Override
     public void visit(
         JsonPathToken type, DirectBuffer valueBuffer, int valueOffset, int valueLength) {
       if (type == JsonPathToken.LITERAL || type == JsonPathToken.ROOT_OBJECT) {
-        final String nodeName = valueBuffer.getStringWithoutLengthUtf8(valueOffset, valueLength);
-        nodeId = createParentRelation(parentId, nodeName);
-        parentId = nodeId;
+        nodeId = createParentRelation(nodeId, valueBuffer, valueOffset, valueLength);
       } else if (type == JsonPathToken.END_INPUT) {
-        executeLeafMapping(mapping.getSource());
+        ensureSingleResult(queryIndex);
         documentTreeReference.addLeafNode(
-            nodeId, queryExecutor.currentResultPosition(), queryExecutor.currentResultLength());
+            nodeId,
+            queryExecutor.resultPosition(queryIndex),
+            queryExecutor.resultLength(queryIndex));
       }
     }
   }
@@ -234,6 +245,6 @@ public final class MsgPackDocumentExtractor {
     if (documentTreeReference != null) {
       this.documentTreeReference.clear();
     }
-    this.traverser.reset();
+    this.extractDocument = null;
   }
 }
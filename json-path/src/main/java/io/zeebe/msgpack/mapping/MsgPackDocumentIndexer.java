@@ -15,15 +15,11 @@
  */
 package io.zeebe.msgpack.mapping;
 
-import static io.zeebe.msgpack.mapping.MsgPackTreeNodeIdConstructor.*;
-
 import io.zeebe.msgpack.query.MsgPackTokenVisitor;
 import io.zeebe.msgpack.query.MsgPackTraverser;
 import io.zeebe.msgpack.spec.MsgPackToken;
 import io.zeebe.msgpack.spec.MsgPackType;
-import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.Deque;
 import org.agrona.DirectBuffer;
 
 /**
@@ -59,73 +55,38 @@ import org.agrona.DirectBuffer;
  * }
  * </pre>
  *
- * <p>Then this correspond to the following message pack tree structure:
- *
- * <pre>NodeTypes:
- * {@code
- *
- * 1object1 : MAP_NODE
- * 2field1 : LEAF
- * 2array : ARRAY_NODE
- * 1field2: LEAF
- * }
- * </pre>
- *
- * <pre>NodeChildsMap:
- * {@code
- *
- * 1object1: field1, array
- * 2array : 2array1, 2array2, 2array3,
- * }
- * </pre>
- *
- * <pre>LeafMap:
- * {@code
- *
- * 2field1: mapping
- * 2array1: mapping
- * 2array2: mapping
- * 2array3: mapping
- * 1field2: mapping
- * }
- * </pre>
+ * <p>The node ids of the tree are assigned in document order. The indexer keeps a stack of the
+ * open maps and arrays, so it doesn't need to allocate once the stack has reached the nesting
+ * depth of the documents.
  */
 public final class MsgPackDocumentIndexer implements MsgPackTokenVisitor {
+  private static final int INITIAL_DEPTH = 16;
+
   /** The message pack tree which is constructed via the indexing of the message pack document. */
-  private MsgPackTree msgPackTree;
+  private final MsgPackTree msgPackTree = new MsgPackTree();
 
-  /** The last key for the node, since the node is divided in separate MsgPackTokens. */
-  private final byte lastKey[] = new byte[MappingProcessor.MAX_JSON_KEY_LEN];
+  /** The traverser which is used to index the message pack document. */
+  private final MsgPackTraverser traverser = new MsgPackTraverser();
 
-  /** The length of the last key. */
-  private int lastKeyLen;
+  /** The depth of the current node, i.e. the count of open maps and arrays. */
+  private int depth;
 
-  /** The type of the last processed node. */
-  private MsgPackType lastType;
+  /** The node ids of the open maps and arrays. */
+  private int[] parentNodes = new int[INITIAL_DEPTH];
 
-  /**
-   * Contains the current parents of the current node. A node become a parent if the node is of type
-   * MAP or ARRAY. This node will be added several times, corresponding to the size of the
-   * MsgPackToken#size of this node.
-   */
-  private final Deque<String> parentsStack = new ArrayDeque<>();
+  /** The count of values which are not visited yet, for each open map and array. */
+  private int[] remainingValues = new int[INITIAL_DEPTH];
 
-  /** Indicates if the current value belongs to an array. */
-  private final Deque<Boolean> arrayValueStack = new ArrayDeque<>();
+  /** The size of each open map and array, is used as array index of the next value. */
+  private int[] parentSizes = new int[INITIAL_DEPTH];
 
-  /** Contains the type of the last msg pack token. */
-  private final Deque<MsgPackType> lastTypeStack = new ArrayDeque<>();
+  private boolean[] isMapParent = new boolean[INITIAL_DEPTH];
 
-  /** The traverser which is used to index the message pack document. */
-  private final MsgPackTraverser traverser = new MsgPackTraverser();
-
-  public MsgPackDocumentIndexer() {
-    msgPackTree = new MsgPackTree();
-    lastKey[0] = '$';
-    lastKeyLen = 1;
-  }
+  /** The child node which is created on visiting a key, the next token is its value. */
+  private int keyNode = MsgPackTree.NO_NODE;
 
   public void wrap(DirectBuffer msgPackDocument) {
+    clear();
     msgPackTree.wrap(msgPackDocument);
     traverser.wrap(msgPackDocument, 0, msgPackDocument.capacity());
   }
@@ -138,184 +99,79 @@ public final class MsgPackDocumentIndexer implements MsgPackTokenVisitor {
   @Override
   public void visitElement(int position, MsgPackToken currentValue) {
     final MsgPackType currentValueType = currentValue.getType();
-    if (position != 0 || currentValueType != MsgPackType.NIL) {
-      lastType = getLastNodeType();
+    final int node;
 
-      if (lastType == MsgPackType.MAP) {
-        final DirectBuffer valueBuffer = currentValue.getValueBuffer();
-        lastKeyLen = valueBuffer.capacity();
-        valueBuffer.getBytes(0, lastKey, 0, lastKeyLen);
-        lastTypeStack.push(MsgPackType.EXTENSION);
-      } else {
-        if (currentValueType == MsgPackType.MAP || currentValueType == MsgPackType.ARRAY) {
-          final int childSize = currentValue.getSize();
-          addNewParent(childSize, currentValueType);
-        } else {
-          processValueNode(position, currentValue);
-        }
+    if (depth == 0) {
+      if (position == 0 && currentValueType == MsgPackType.NIL) {
+        // an empty document
+        return;
       }
-    }
-  }
 
-  private MsgPackType getLastNodeType() {
-    final MsgPackType lastType;
-    if (lastTypeStack.isEmpty()) {
-      lastType = MsgPackType.EXTENSION;
+      node = msgPackTree.addRootNode();
     } else {
-      lastType = lastTypeStack.pop();
-    }
-    return lastType;
-  }
-
-  /**
-   * Creates and returns the nodeId, which consist of the parentId and the node name.
-   *
-   * @param nodeName the name of the current node
-   * @return the id of the current node
-   */
-  private String createNodeId(String nodeName) {
-    if (!parentsStack.isEmpty()) {
-      final String parentId = parentsStack.peek();
-      return construct(parentId, nodeName);
-    }
-    return nodeName;
-  }
-
-  /**
-   * Adds a new parent of the given type with the given child size to the internal data structure.
-   *
-   * @param childCount the count of child's
-   * @param currentMsgPackType the message pack type of the current node
-   */
-  private void addNewParent(int childCount, MsgPackType currentMsgPackType) {
-    final String nodeName = getNodeName(lastKey, lastKeyLen);
-    String nodeId;
-    final boolean isArrayValue;
-    if (!arrayValueStack.isEmpty()) {
-      isArrayValue = arrayValueStack.pop();
-      nodeId = parentsStack.pop();
+      final int parent = depth - 1;
+      final int parentNode = parentNodes[parent];
+
+      if (isMapParent[parent]) {
+        if (keyNode == MsgPackTree.NO_NODE) {
+          final DirectBuffer key = currentValue.getValueBuffer();
+          keyNode = msgPackTree.addChildNode(parentNode, key, 0, key.capacity());
+          return;
+        }
 
-      if (lastType != MsgPackType.ARRAY) {
-        parentsStack.push(nodeId);
-        nodeId = construct(nodeId, nodeName);
+        node = keyNode;
+        keyNode = MsgPackTree.NO_NODE;
+      } else {
+        final int index = parentSizes[parent] - remainingValues[parent];
+        node = msgPackTree.addChildNode(parentNode, index);
       }
-    } else {
-      nodeId = createNodeId(nodeName);
-      isArrayValue = false;
-    }
-
-    addParentNodeToTree(currentMsgPackType == MsgPackType.ARRAY, nodeName, nodeId);
 
-    addParentForChildCountToStacks(childCount, currentMsgPackType, nodeId, isArrayValue);
-  }
-
-  private void addParentNodeToTree(boolean isArray, String nodeName, String nodeId) {
-    if (isArray) {
-      msgPackTree.addArrayNode(nodeId);
-    } else {
-      msgPackTree.addMapNode(nodeId);
+      remainingValues[parent] -= 1;
     }
 
-    if (!parentsStack.isEmpty() && lastType != MsgPackType.ARRAY) {
-      final String parentId = parentsStack.pop();
-      msgPackTree.addChildToNode(nodeName, parentId);
-    }
-  }
+    if (currentValueType == MsgPackType.MAP || currentValueType == MsgPackType.ARRAY) {
+      final boolean isMap = currentValueType == MsgPackType.MAP;
 
-  private void addParentForChildCountToStacks(
-      int childCount, MsgPackType currentMsgPackType, String nodeId, boolean isArrayValue) {
-    for (int i = 0; i < childCount; i++) {
-      if (currentMsgPackType == MsgPackType.ARRAY) {
-        msgPackTree.addChildToNode("" + i, nodeId);
-        parentsStack.push(construct(nodeId, "" + (childCount - 1 - i)));
-        arrayValueStack.push(true);
+      if (isMap) {
+        msgPackTree.addMapNode(node);
       } else {
-        parentsStack.push(nodeId);
-        if (isArrayValue) {
-          arrayValueStack.push(true);
-        }
+        msgPackTree.addArrayNode(node);
       }
-      lastTypeStack.push(currentMsgPackType);
-    }
-  }
-
-  /**
-   * The current node is a simple value and the currentValue reference to a token of another type
-   * except MAP and ARRAY.
-   *
-   * <p>This method process the value node and inserts the node properties into the tree data
-   * structure. It will add the nodeType ( type = leaf), pops a parent of the stack and add this
-   * node to his child list. Also the leaf mapping will be created and inserted.
-   *
-   * @param position the position of the token in the payload
-   * @param currentValue the message pack token which represents a simple value
-   */
-  private void processValueNode(long position, MsgPackToken currentValue) {
-    String parentId = parentsStack.pop();
-    final String nodeName;
-    final String nodeId;
 
-    if (!arrayValueStack.isEmpty()) {
-      if (lastType != MsgPackType.ARRAY) {
-        // object in array
-        nodeName = getNodeName(lastKey, lastKeyLen);
-        nodeId = construct(parentId, nodeName);
-      } else {
-        // plain array value
-        nodeId = parentId;
-        // node name is array value index
-        nodeName = getArrayValueIndex(parentId);
-        // parent id is without idx
-        parentId = getLastParentId(parentId);
+      final int childCount = currentValue.getSize();
+      if (childCount > 0) {
+        pushParent(node, childCount, isMap);
+        return;
       }
-
-      arrayValueStack.pop();
     } else {
-      nodeName = getNodeName(lastKey, lastKeyLen);
-      nodeId = construct(parentId, nodeName);
+      msgPackTree.addLeafNode(node, position, currentValue.getTotalLength());
     }
 
-    msgPackTree.addChildToNode(nodeName, parentId);
-    msgPackTree.addLeafNode(nodeId, position, currentValue.getTotalLength());
+    // close the maps and arrays which are completed by the current value
+    while (depth > 0 && remainingValues[depth - 1] == 0) {
+      depth -= 1;
+    }
   }
 
-  /**
-   * Extracts the index of the array value from the current node id.
-   *
-   * <p>Example: * given nodeId = "$[arrayId][0]" * returns "0" as string Even if the nodeId
-   * contains square brackets in the node name like "$[array[Id]][0]" will return the right index
-   * "0".
-   *
-   * @param nodeId the node id which contains the index
-   * @return the array value index
-   */
-  private static String getArrayValueIndex(String nodeId) {
-    final int lastIndex = nodeId.lastIndexOf(JSON_PATH_SEPARATOR);
-    final String nodeName =
-        nodeId.substring(
-            lastIndex + JSON_PATH_SEPARATOR.length(),
-            nodeId.length() - JSON_PATH_SEPARATOR_END.length());
-    return nodeName;
+  private void pushParent(int node, int childCount, boolean isMap) {
+    if (depth == parentNodes.length) {
+      final int newLength = depth * 2;
+      parentNodes = Arrays.copyOf(parentNodes, newLength);
+      remainingValues = Arrays.copyOf(remainingValues, newLength);
+      parentSizes = Arrays.copyOf(parentSizes, newLength);
+      isMapParent = Arrays.copyOf(isMapParent, newLength);
+    }
+
+    parentNodes[depth] = node;
+    remainingValues[depth] = childCount;
+    parentSizes[depth] = childCount;
+    isMapParent[depth] = isMap;
+    depth += 1;
   }
 
   /** Clears the preprocessor and resets to the initial state. */
   public void clear() {
-    lastKey[0] = '$';
-    lastKeyLen = 1;
-    parentsStack.clear();
-    arrayValueStack.clear();
-    lastTypeStack.clear();
-  }
-
-  /**
-   * Returns the node name.
-   *
-   * @param bytes the bytes which contains the name
-   * @param length the length of the name
-   * @return the name as string
-   */
-  private String getNodeName(byte[] bytes, int length) {
-    final byte nameBytes[] = Arrays.copyOf(bytes, length);
-    return new String(nameBytes);
+    depth = 0;
+    keyNode = MsgPackTree.NO_NODE;
   }
 }
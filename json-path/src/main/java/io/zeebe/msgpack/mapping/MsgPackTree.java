@@ -15,12 +15,15 @@
  */
 package io.zeebe.msgpack.mapping;
 
+import static io.zeebe.msgpack.mapping.MsgPackNodeType.ARRAY_NODE;
 import static io.zeebe.msgpack.mapping.MsgPackNodeType.EXISTING_LEAF_NODE;
 import static io.zeebe.msgpack.mapping.MsgPackNodeType.EXTRACTED_LEAF_NODE;
+import static io.zeebe.msgpack.mapping.MsgPackNodeType.MAP_NODE;
 
 import io.zeebe.msgpack.spec.MsgPackWriter;
-import java.util.*;
+import java.util.Arrays;
 import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
 /**
@@ -43,23 +46,64 @@ import org.agrona.concurrent.UnsafeBuffer;
  * The leafs have to be distinguished, is it a leaf from the underlying document or is it from the
  * extract document. For this distinction the {@link MsgPackNodeType#EXISTING_LEAF_NODE} and {@link
  * MsgPackNodeType#EXTRACTED_LEAF_NODE} are used.
+ *
+ * <p>A node is identified by an int id, the root node has the id {@link #ROOT_NODE}. The nodes are
+ * stored in flat arrays which are indexed by the node id, the names of the nodes are copied into a
+ * shared buffer. The children of a node are a linked list in insertion order, a child is found by
+ * its name with an open addressing hash table over (parent id, name hash). The arrays grow on
+ * demand and are reused after {@link #clear()}, so the tree doesn't allocate once it has reached
+ * the size of the processed documents.
  */
 public class MsgPackTree {
-  protected final Map<String, MsgPackNodeType> nodeTypeMap; // Bytes2LongHashIndex nodeTypeMap;
-  protected final Map<String, Set<String>> nodeChildsMap;
-  protected final Map<String, Long> leafMap; // Bytes2LongHashIndex leafMap;
+  public static final int ROOT_NODE = 0;
+  public static final int NO_NODE = -1;
+
+  /** the parent of a node which was replaced on merge */
+  private static final int DETACHED_NODE = -2;
+
+  private static final byte UNDEFINED_TYPE = -1;
+  private static final MsgPackNodeType[] NODE_TYPES = MsgPackNodeType.values();
+
+  private static final byte[] ROOT_NAME = Mapping.JSON_ROOT_PATH.getBytes();
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int MAX_INDEX_LENGTH = 10;
+
+  private int nodeCount;
+
+  private byte[] types = new byte[INITIAL_CAPACITY];
+  private int[] parents = new int[INITIAL_CAPACITY];
+  private int[] firstChildren = new int[INITIAL_CAPACITY];
+  private int[] lastChildren = new int[INITIAL_CAPACITY];
+  private int[] nextSiblings = new int[INITIAL_CAPACITY];
+  private int[] childCounts = new int[INITIAL_CAPACITY];
+
+  private int[] nameOffsets = new int[INITIAL_CAPACITY];
+  private int[] nameLengths = new int[INITIAL_CAPACITY];
+  private int[] nameHashes = new int[INITIAL_CAPACITY];
+
+  private int[] leafPositions = new int[INITIAL_CAPACITY];
+  private int[] leafLengths = new int[INITIAL_CAPACITY];
+
+  private final ExpandableArrayBuffer names = new ExpandableArrayBuffer(INITIAL_CAPACITY * 8);
+  private int namesLength;
+
+  /** node ids by (parent id, name hash); the length is a power of two */
+  private int[] childIndex = new int[INITIAL_CAPACITY * 2];
+
+  private int childIndexSize;
+
+  private final UnsafeBuffer nameView = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer indexName = new UnsafeBuffer(new byte[MAX_INDEX_LENGTH]);
 
   protected final DirectBuffer underlyingDocument = new UnsafeBuffer(0, 0);
   protected DirectBuffer extractDocument;
 
   public MsgPackTree() {
-    nodeTypeMap = new HashMap<>();
-    nodeChildsMap = new HashMap<>();
-    leafMap = new HashMap<>();
+    Arrays.fill(childIndex, NO_NODE);
   }
 
   public int size() {
-    return nodeTypeMap.size();
+    return nodeCount;
   }
 
   public void wrap(DirectBuffer underlyingDocument) {
@@ -69,96 +113,387 @@ public class MsgPackTree {
 
   public void clear() {
     extractDocument = null;
-    nodeChildsMap.clear();
-    nodeTypeMap.clear();
-    leafMap.clear();
+
+    nodeCount = 0;
+    namesLength = 0;
+
+    if (childIndexSize > 0) {
+      Arrays.fill(childIndex, NO_NODE);
+      childIndexSize = 0;
+    }
   }
 
-  public Set<String> getChilds(String nodeId) {
-    return nodeChildsMap.get(nodeId);
+  public void setExtractDocument(DirectBuffer documentBuffer) {
+    this.extractDocument = documentBuffer;
   }
 
-  public void addLeafNode(String nodeId, long position, int length) {
-    leafMap.put(nodeId, (position << 32) | length);
-    nodeTypeMap.put(nodeId, extractDocument == null ? EXISTING_LEAF_NODE : EXTRACTED_LEAF_NODE);
+  /** @return the id of the root node, which is created if the tree is empty */
+  public int addRootNode() {
+    if (nodeCount == 0) {
+      final UnsafeBuffer rootName = nameView;
+      rootName.wrap(ROOT_NAME);
+
+      newNode(NO_NODE, rootName, 0, ROOT_NAME.length, hash(rootName, 0, ROOT_NAME.length));
+    }
+    return ROOT_NODE;
   }
 
-  private void addParentNode(String nodeId, MsgPackNodeType nodeType) {
-    nodeTypeMap.put(nodeId, nodeType);
-    if (!nodeChildsMap.containsKey(nodeId)) {
-      nodeChildsMap.put(nodeId, new LinkedHashSet<>());
+  /**
+   * Returns the child of the given node with the given name. The child is created and appended to
+   * the children of the node, if it doesn't exist. The type of a new child is undefined until it is
+   * added as leaf, map or array node.
+   *
+   * @return the id of the child node
+   */
+  public int addChildNode(int parentId, DirectBuffer name, int offset, int length) {
+    final int hash = hash(name, offset, length);
+
+    int slot = childIndexSlot(parentId, hash);
+    int node = childIndex[slot];
+
+    while (node != NO_NODE) {
+      if (isChild(node, parentId, hash, name, offset, length)) {
+        return node;
+      }
+
+      slot = (slot + 1) & (childIndex.length - 1);
+      node = childIndex[slot];
     }
+
+    node = newNode(parentId, name, offset, length, hash);
+    appendChild(parentId, node);
+
+    childIndex[slot] = node;
+    childIndexSize += 1;
+    ensureChildIndexCapacity();
+
+    return node;
   }
 
-  public void addMapNode(String nodeId) {
-    if (isLeaf(nodeId)) {
-      leafMap.remove(nodeId);
+  /**
+   * Returns the child of the given node which has the given array index as name.
+   *
+   * @see #addChildNode(int, DirectBuffer, int, int)
+   */
+  public int addChildNode(int parentId, int index) {
+    final int length = writeIndexName(index);
+    return addChildNode(parentId, indexName, 0, length);
+  }
+
+  /** @return the child of the given node with the given name, or {@link #NO_NODE} */
+  public int getChildNode(int parentId, DirectBuffer name, int offset, int length) {
+    final int hash = hash(name, offset, length);
+
+    int slot = childIndexSlot(parentId, hash);
+    int node = childIndex[slot];
+
+    while (node != NO_NODE) {
+      if (isChild(node, parentId, hash, name, offset, length)) {
+        return node;
+      }
+
+      slot = (slot + 1) & (childIndex.length - 1);
+      node = childIndex[slot];
     }
-    addParentNode(nodeId, MsgPackNodeType.MAP_NODE);
+
+    return NO_NODE;
   }
 
-  public void addArrayNode(String nodeId) {
-    addParentNode(nodeId, MsgPackNodeType.ARRAY_NODE);
+  public int getChildCount(int nodeId) {
+    return childCounts[nodeId];
   }
 
-  public void addChildToNode(String childName, String parentId) {
-    nodeChildsMap.get(parentId).add(childName);
+  /** @return the first child of the node, or {@link #NO_NODE} if the node has no children */
+  public int getFirstChild(int nodeId) {
+    return firstChildren[nodeId];
   }
 
-  public boolean isLeaf(String nodeId) {
-    return leafMap.containsKey(nodeId);
+  /** @return the next child of the node's parent, or {@link #NO_NODE} if it is the last child */
+  public int getNextSibling(int nodeId) {
+    return nextSiblings[nodeId];
   }
 
-  public boolean isArrayNode(String nodeId) {
-    final MsgPackNodeType msgPackNodeType = nodeTypeMap.get(nodeId);
-    return msgPackNodeType != null && msgPackNodeType == MsgPackNodeType.ARRAY_NODE;
+  /** @return a view of the node's name, which is valid until the next call */
+  public DirectBuffer getNodeName(int nodeId) {
+    nameView.wrap(names, nameOffsets[nodeId], nameLengths[nodeId]);
+    return nameView;
   }
 
-  public boolean isMapNode(String nodeId) {
-    final MsgPackNodeType msgPackNodeType = nodeTypeMap.get(nodeId);
-    return msgPackNodeType != null && msgPackNodeType == MsgPackNodeType.MAP_NODE;
+  /** @return the type of the node, or null if the node has no type yet */
+  public MsgPackNodeType getNodeType(int nodeId) {
+    final byte type = types[nodeId];
+    return type == UNDEFINED_TYPE ? null : NODE_TYPES[type];
   }
 
-  public void setExtractDocument(DirectBuffer documentBuffer) {
-    this.extractDocument = documentBuffer;
+  public void addLeafNode(int nodeId, int position, int length) {
+    leafPositions[nodeId] = position;
+    leafLengths[nodeId] = length;
+    setType(nodeId, extractDocument == null ? EXISTING_LEAF_NODE : EXTRACTED_LEAF_NODE);
+  }
+
+  public void addMapNode(int nodeId) {
+    setType(nodeId, MAP_NODE);
+  }
+
+  public void addArrayNode(int nodeId) {
+    setType(nodeId, ARRAY_NODE);
+  }
+
+  public boolean isLeaf(int nodeId) {
+    final byte type = types[nodeId];
+    return type == EXISTING_LEAF_NODE.ordinal() || type == EXTRACTED_LEAF_NODE.ordinal();
+  }
+
+  public boolean isArrayNode(int nodeId) {
+    return types[nodeId] == ARRAY_NODE.ordinal();
+  }
+
+  public boolean isMapNode(int nodeId) {
+    return types[nodeId] == MAP_NODE.ordinal();
   }
 
-  public void writeLeafMapping(MsgPackWriter writer, String leafId) {
-    final long mapping = leafMap.get(leafId);
-    final MsgPackNodeType nodeType = nodeTypeMap.get(leafId);
-    final int position = (int) (mapping >> 32);
-    final int length = (int) mapping;
+  /** Writes the name of the node as msgpack string. */
+  public void writeNodeName(MsgPackWriter writer, int nodeId) {
+    writer.writeString(names, nameOffsets[nodeId], nameLengths[nodeId]);
+  }
+
+  public void writeLeafMapping(MsgPackWriter writer, int leafId) {
     DirectBuffer relatedBuffer = underlyingDocument;
-    if (nodeType == EXTRACTED_LEAF_NODE) {
+    if (types[leafId] == EXTRACTED_LEAF_NODE.ordinal()) {
       relatedBuffer = extractDocument;
     }
-    writer.writeRaw(relatedBuffer, position, length);
+    writer.writeRaw(relatedBuffer, leafPositions[leafId], leafLengths[leafId]);
   }
 
+  /**
+   * Merges the given tree into this tree. The children of the source root are added to the root of
+   * this tree. A child which exists in both trees is replaced by the child of the source tree,
+   * including all its descendants. The leafs of the source tree become extracted leafs.
+   */
   public void merge(MsgPackTree sourceTree) {
     extractDocument = sourceTree.underlyingDocument;
-    for (Map.Entry<String, MsgPackNodeType> leafMapEntry : sourceTree.nodeTypeMap.entrySet()) {
-      final String key = leafMapEntry.getKey();
-      MsgPackNodeType nodeType = leafMapEntry.getValue();
-      if (nodeType == EXISTING_LEAF_NODE) {
-        nodeType = EXTRACTED_LEAF_NODE;
+
+    if (sourceTree.nodeCount > 0) {
+      addRootNode();
+
+      if (sourceTree.isLeaf(ROOT_NODE)) {
+        copyLeaf(sourceTree, ROOT_NODE, ROOT_NODE);
+      } else {
+        types[ROOT_NODE] = sourceTree.types[ROOT_NODE];
+        copyChildren(sourceTree, ROOT_NODE, ROOT_NODE);
       }
-      nodeTypeMap.put(key, nodeType);
     }
-    leafMap.putAll(sourceTree.leafMap);
+  }
+
+  private void copyChildren(MsgPackTree sourceTree, int sourceParentId, int parentId) {
+    int sourceChild = sourceTree.firstChildren[sourceParentId];
 
-    for (Map.Entry<String, Set<String>> nodeChildsEntry : sourceTree.nodeChildsMap.entrySet()) {
-      final String key = nodeChildsEntry.getKey();
+    while (sourceChild != NO_NODE) {
+      final int child =
+          replaceChildNode(
+              parentId,
+              sourceTree.names,
+              sourceTree.nameOffsets[sourceChild],
+              sourceTree.nameLengths[sourceChild],
+              sourceTree.nameHashes[sourceChild]);
 
-      // if we change the following condition to if (nodeChildsMap.containsKey(key))
-      // we get a deep merge
-      if (key.equals(Mapping.JSON_ROOT_PATH)) {
-        nodeChildsMap
-            .computeIfAbsent(key, (k) -> new LinkedHashSet<>())
-            .addAll(nodeChildsEntry.getValue());
+      if (sourceTree.isLeaf(sourceChild)) {
+        copyLeaf(sourceTree, sourceChild, child);
       } else {
-        nodeChildsMap.put(key, nodeChildsEntry.getValue());
+        types[child] = sourceTree.types[sourceChild];
+        copyChildren(sourceTree, sourceChild, child);
+      }
+
+      sourceChild = sourceTree.nextSiblings[sourceChild];
+    }
+  }
+
+  private void copyLeaf(MsgPackTree sourceTree, int sourceNodeId, int nodeId) {
+    leafPositions[nodeId] = sourceTree.leafPositions[sourceNodeId];
+    leafLengths[nodeId] = sourceTree.leafLengths[sourceNodeId];
+
+    if (sourceTree.types[sourceNodeId] == EXISTING_LEAF_NODE.ordinal()) {
+      setType(nodeId, EXTRACTED_LEAF_NODE);
+    } else {
+      types[nodeId] = sourceTree.types[sourceNodeId];
+    }
+  }
+
+  /**
+   * Adds a new empty child with the given name. An existing child with the same name is replaced
+   * by the new child, at the same position of the children.
+   */
+  private int replaceChildNode(int parentId, DirectBuffer name, int offset, int length, int hash) {
+    int slot = childIndexSlot(parentId, hash);
+    int existingNode = childIndex[slot];
+
+    while (existingNode != NO_NODE) {
+      if (isChild(existingNode, parentId, hash, name, offset, length)) {
+        break;
+      }
+
+      slot = (slot + 1) & (childIndex.length - 1);
+      existingNode = childIndex[slot];
+    }
+
+    final int node = newNode(parentId, name, offset, length, hash);
+    childIndex[slot] = node;
+
+    if (existingNode == NO_NODE) {
+      appendChild(parentId, node);
+
+      childIndexSize += 1;
+      ensureChildIndexCapacity();
+    } else {
+      replaceChild(parentId, existingNode, node);
+    }
+
+    return node;
+  }
+
+  private int newNode(int parentId, DirectBuffer name, int offset, int length, int hash) {
+    final int node = nodeCount;
+    ensureNodeCapacity(node + 1);
+    nodeCount += 1;
+
+    types[node] = UNDEFINED_TYPE;
+    parents[node] = parentId;
+    firstChildren[node] = NO_NODE;
+    lastChildren[node] = NO_NODE;
+    nextSiblings[node] = NO_NODE;
+    childCounts[node] = 0;
+
+    names.putBytes(namesLength, name, offset, length);
+    nameOffsets[node] = namesLength;
+    nameLengths[node] = length;
+    nameHashes[node] = hash;
+    namesLength += length;
+
+    return node;
+  }
+
+  private void appendChild(int parentId, int node) {
+    final int lastChild = lastChildren[parentId];
+
+    if (lastChild == NO_NODE) {
+      firstChildren[parentId] = node;
+    } else {
+      nextSiblings[lastChild] = node;
+    }
+
+    lastChildren[parentId] = node;
+    childCounts[parentId] += 1;
+  }
+
+  private void replaceChild(int parentId, int oldNode, int newNode) {
+    nextSiblings[newNode] = nextSiblings[oldNode];
+
+    if (firstChildren[parentId] == oldNode) {
+      firstChildren[parentId] = newNode;
+    } else {
+      int previous = firstChildren[parentId];
+      while (nextSiblings[previous] != oldNode) {
+        previous = nextSiblings[previous];
       }
+      nextSiblings[previous] = newNode;
+    }
+
+    if (lastChildren[parentId] == oldNode) {
+      lastChildren[parentId] = newNode;
     }
+
+    parents[oldNode] = DETACHED_NODE;
+    nextSiblings[oldNode] = NO_NODE;
+  }
+
+  private void setType(int nodeId, MsgPackNodeType type) {
+    types[nodeId] = (byte) type.ordinal();
+  }
+
+  private boolean isChild(
+      int node, int parentId, int hash, DirectBuffer name, int offset, int length) {
+    if (parents[node] != parentId || nameHashes[node] != hash || nameLengths[node] != length) {
+      return false;
+    }
+
+    final int nameOffset = nameOffsets[node];
+    for (int i = 0; i < length; i++) {
+      if (names.getByte(nameOffset + i) != name.getByte(offset + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int childIndexSlot(int parentId, int hash) {
+    int h = hash ^ (parentId * 0x9E3779B9);
+    h ^= h >>> 16;
+    return h & (childIndex.length - 1);
+  }
+
+  private void ensureChildIndexCapacity() {
+    if (childIndexSize * 2 > childIndex.length) {
+      childIndex = new int[childIndex.length * 2];
+      Arrays.fill(childIndex, NO_NODE);
+      childIndexSize = 0;
+
+      for (int node = 0; node < nodeCount; node++) {
+        final int parentId = parents[node];
+
+        if (parentId >= 0) {
+          int slot = childIndexSlot(parentId, nameHashes[node]);
+          while (childIndex[slot] != NO_NODE) {
+            slot = (slot + 1) & (childIndex.length - 1);
+          }
+
+          childIndex[slot] = node;
+          childIndexSize += 1;
+        }
+      }
+    }
+  }
+
+  private void ensureNodeCapacity(int capacity) {
+    if (capacity > types.length) {
+      final int newLength = Math.max(capacity, types.length * 2);
+
+      types = Arrays.copyOf(types, newLength);
+      parents = Arrays.copyOf(parents, newLength);
+      firstChildren = Arrays.copyOf(firstChildren, newLength);
+      lastChildren = Arrays.copyOf(lastChildren, newLength);
+      nextSiblings = Arrays.copyOf(nextSiblings, newLength);
+      childCounts = Arrays.copyOf(childCounts, newLength);
+      nameOffsets = Arrays.copyOf(nameOffsets, newLength);
+      nameLengths = Arrays.copyOf(nameLengths, newLength);
+      nameHashes = Arrays.copyOf(nameHashes, newLength);
+      leafPositions = Arrays.copyOf(leafPositions, newLength);
+      leafLengths = Arrays.copyOf(leafLengths, newLength);
+    }
+  }
+
+  /** Writes the decimal representation of the index into {@link #indexName}. */
+  private int writeIndexName(int index) {
+    int length = 1;
+    for (int value = index / 10; value > 0; value /= 10) {
+      length += 1;
+    }
+
+    int value = index;
+    for (int i = length - 1; i >= 0; i--) {
+      indexName.putByte(i, (byte) ('0' + value % 10));
+      value /= 10;
+    }
+
+    return length;
+  }
+
+  private static int hash(DirectBuffer name, int offset, int length) {
+    int hash = 0x811C9DC5;
+
+    for (int i = 0; i < length; i++) {
+      hash = (hash ^ name.getByte(offset + i)) * 0x01000193;
+    }
+
+    return hash;
   }
 }
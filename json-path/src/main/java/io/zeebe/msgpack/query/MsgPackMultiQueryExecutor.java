@@ -0,0 +1,431 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.query;
+
+import io.zeebe.msgpack.filter.ArrayIndexFilter;
+import io.zeebe.msgpack.filter.MapValueWithKeyFilter;
+import io.zeebe.msgpack.filter.MsgPackFilter;
+import io.zeebe.msgpack.filter.RootCollectionFilter;
+import io.zeebe.msgpack.filter.WildcardFilter;
+import io.zeebe.msgpack.jsonpath.JsonPathQuery;
+import io.zeebe.msgpack.spec.MsgPackToken;
+import io.zeebe.msgpack.spec.MsgPackType;
+import io.zeebe.msgpack.util.ByteUtil;
+import java.util.Arrays;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Executes multiple json path queries in a single traversal of a message pack document.
+ *
+ * <p>The filters of the queries are compiled into one automaton. Each state represents a prefix
+ * of filters, i.e. queries which start with the same filters share the states of that prefix. A
+ * state accepts the queries which end with it. While traversing the document, the executor keeps
+ * the states which matched a container on a stack. The children of the container are matched
+ * against the transitions of these states only.
+ *
+ * <p>For each query, the executor keeps the number of results and the position and length of the
+ * first result. Once the automaton and the stacks have grown to the size of the queries and
+ * documents, neither compiling nor executing queries allocates memory.
+ */
+public class MsgPackMultiQueryExecutor implements MsgPackTokenVisitor {
+  protected static final int INITIAL_CAPACITY = 16;
+
+  protected static final int NO_STATE = -1;
+  protected static final int NO_QUERY = -1;
+  protected static final int START_STATE = 0;
+
+  protected static final byte KIND_START = 0;
+  protected static final byte KIND_ROOT_COLLECTION = 1;
+  protected static final byte KIND_MAP_VALUE = 2;
+  protected static final byte KIND_ARRAY_INDEX = 3;
+  protected static final byte KIND_WILDCARD = 4;
+
+  protected final MsgPackTraverser traverser = new MsgPackTraverser();
+
+  // automaton, indexed by state
+  protected int stateCount;
+  protected byte[] stateKinds = new byte[INITIAL_CAPACITY];
+  // the array index of an array index state, or the offset of the key of a map value state
+  protected int[] stateArguments = new int[INITIAL_CAPACITY];
+  protected int[] stateKeyLengths = new int[INITIAL_CAPACITY];
+  protected int[] stateFirstChild = new int[INITIAL_CAPACITY];
+  protected int[] stateNextSibling = new int[INITIAL_CAPACITY];
+  protected int[] stateFirstAcceptedQuery = new int[INITIAL_CAPACITY];
+  protected final ExpandableArrayBuffer keys = new ExpandableArrayBuffer();
+  protected int keysLength;
+
+  // queries and their results, indexed by query
+  protected int queryCount;
+  protected int[] nextAcceptedQuery = new int[INITIAL_CAPACITY];
+  protected JsonPathQuery[] queries = new JsonPathQuery[INITIAL_CAPACITY];
+  protected int[] resultCounts = new int[INITIAL_CAPACITY];
+  protected int[] resultPositions = new int[INITIAL_CAPACITY];
+  protected int[] resultLengths = new int[INITIAL_CAPACITY];
+
+  // traversal, indexed by depth
+  protected int depth;
+  protected int[] currentElements = new int[INITIAL_CAPACITY];
+  protected int[] elementCounts = new int[INITIAL_CAPACITY];
+  protected boolean[] isMap = new boolean[INITIAL_CAPACITY];
+  protected int[] containerPositions = new int[INITIAL_CAPACITY];
+  // the range of the state stack which holds the states that matched the container
+  protected int[] matchedStart = new int[INITIAL_CAPACITY];
+  protected int[] matchedEnd = new int[INITIAL_CAPACITY];
+  // the range of the state stack which holds the states that match the value of the last map key
+  protected int[] valueMatchesStart = new int[INITIAL_CAPACITY];
+  protected int[] valueMatchesEnd = new int[INITIAL_CAPACITY];
+
+  protected int[] stateStack = new int[INITIAL_CAPACITY];
+  protected int stateStackSize;
+
+  public MsgPackMultiQueryExecutor() {
+    clear();
+  }
+
+  /** Removes all queries. */
+  public void clear() {
+    queryCount = 0;
+    keysLength = 0;
+    stateCount = 0;
+
+    addState(KIND_START, 0, 0);
+  }
+
+  /**
+   * Compiles the filters of the query into the automaton.
+   *
+   * @return the index of the query, which identifies its results
+   */
+  public int addQuery(JsonPathQuery query) {
+    final int queryIndex = queryCount;
+    ensureQueryCapacity(queryIndex + 1);
+    queryCount += 1;
+
+    queries[queryIndex] = query;
+    resultCounts[queryIndex] = 0;
+
+    final MsgPackFilter[] filters = query.getFilters();
+    final MsgPackFilterContext filterInstances = query.getFilterInstances();
+
+    int state = START_STATE;
+
+    for (int i = 0; i < filterInstances.size(); i++) {
+      filterInstances.moveTo(i);
+
+      final MsgPackFilter filter = filters[filterInstances.filterId()];
+      final MutableDirectBuffer filterContext = filterInstances.dynamicContext();
+
+      state = addTransition(state, filter, filterContext);
+    }
+
+    nextAcceptedQuery[queryIndex] = stateFirstAcceptedQuery[state];
+    stateFirstAcceptedQuery[state] = queryIndex;
+
+    return queryIndex;
+  }
+
+  /**
+   * Executes all queries on the document.
+   *
+   * @return true if the document could be traversed successfully
+   */
+  public boolean execute(DirectBuffer document, int offset, int length) {
+    for (int i = 0; i < queryCount; i++) {
+      resultCounts[i] = 0;
+    }
+    depth = 0;
+    stateStackSize = 0;
+
+    traverser.wrap(document, offset, length);
+    return traverser.traverse(this);
+  }
+
+  public int queryCount() {
+    return queryCount;
+  }
+
+  public JsonPathQuery getQuery(int query) {
+    return queries[query];
+  }
+
+  public int numResults(int query) {
+    return resultCounts[query];
+  }
+
+  /** @return the position of the first result of the query */
+  public int resultPosition(int query) {
+    return resultPositions[query];
+  }
+
+  /** @return the length of the first result of the query */
+  public int resultLength(int query) {
+    return resultLengths[query];
+  }
+
+  @Override
+  public void visitElement(int position, MsgPackToken currentValue) {
+    final int matchesStart;
+    final int matchesEnd;
+
+    if (depth == 0) {
+      matchesStart = stateStackSize;
+      pushRootMatches(currentValue);
+      matchesEnd = stateStackSize;
+    } else {
+      final int parent = depth - 1;
+      final int element = currentElements[parent] + 1;
+      currentElements[parent] = element;
+
+      if (isMap[parent]) {
+        if (element % 2 == 0) {
+          // map keys have even positions - a key is not matched but selects the value states
+          valueMatchesStart[parent] = stateStackSize;
+          pushValueMatches(parent, currentValue);
+          valueMatchesEnd[parent] = stateStackSize;
+
+          matchesStart = stateStackSize;
+          matchesEnd = stateStackSize;
+        } else {
+          matchesStart = valueMatchesStart[parent];
+          matchesEnd = valueMatchesEnd[parent];
+        }
+      } else {
+        matchesStart = stateStackSize;
+        pushArrayElementMatches(parent, element);
+        matchesEnd = stateStackSize;
+      }
+    }
+
+    final MsgPackType valueType = currentValue.getType();
+    if (valueType == MsgPackType.ARRAY || valueType == MsgPackType.MAP) {
+      ensureDepthCapacity(depth + 1);
+
+      currentElements[depth] = -1;
+      elementCounts[depth] =
+          valueType == MsgPackType.MAP ? currentValue.getSize() * 2 : currentValue.getSize();
+      isMap[depth] = valueType == MsgPackType.MAP;
+      containerPositions[depth] = position;
+      matchedStart[depth] = matchesStart;
+      matchedEnd[depth] = matchesEnd;
+
+      depth += 1;
+    } else {
+      addResults(matchesStart, matchesEnd, position, currentValue.getTotalLength());
+
+      stateStackSize = matchesStart;
+    }
+
+    // close the containers which have no more elements
+    while (depth > 0 && currentElements[depth - 1] + 1 >= elementCounts[depth - 1]) {
+      depth -= 1;
+
+      final int containerPosition = containerPositions[depth];
+      addResults(
+          matchedStart[depth],
+          matchedEnd[depth],
+          containerPosition,
+          position + currentValue.getTotalLength() - containerPosition);
+
+      stateStackSize = matchedStart[depth];
+    }
+  }
+
+  protected void pushRootMatches(MsgPackToken value) {
+    for (int child = stateFirstChild[START_STATE];
+        child != NO_STATE;
+        child = stateNextSibling[child]) {
+      final byte kind = stateKinds[child];
+
+      if ((kind == KIND_ROOT_COLLECTION && !value.getType().isScalar())
+          || kind == KIND_WILDCARD) {
+        pushState(child);
+      }
+    }
+  }
+
+  protected void pushValueMatches(int container, MsgPackToken key) {
+    final boolean isStringKey = key.getType() == MsgPackType.STRING;
+    final DirectBuffer keyBuffer = key.getValueBuffer();
+
+    for (int i = matchedStart[container]; i < matchedEnd[container]; i++) {
+      for (int child = stateFirstChild[stateStack[i]];
+          child != NO_STATE;
+          child = stateNextSibling[child]) {
+        final byte kind = stateKinds[child];
+
+        if (kind == KIND_WILDCARD
+            || (kind == KIND_MAP_VALUE
+                && isStringKey
+                && ByteUtil.equal(
+                    keys,
+                    stateArguments[child],
+                    stateKeyLengths[child],
+                    keyBuffer,
+                    0,
+                    keyBuffer.capacity()))) {
+          pushState(child);
+        }
+      }
+    }
+  }
+
+  protected void pushArrayElementMatches(int container, int element) {
+    for (int i = matchedStart[container]; i < matchedEnd[container]; i++) {
+      for (int child = stateFirstChild[stateStack[i]];
+          child != NO_STATE;
+          child = stateNextSibling[child]) {
+        final byte kind = stateKinds[child];
+
+        if (kind == KIND_WILDCARD
+            || (kind == KIND_ARRAY_INDEX && stateArguments[child] == element)) {
+          pushState(child);
+        }
+      }
+    }
+  }
+
+  protected void addResults(int matchesStart, int matchesEnd, int position, int length) {
+    for (int i = matchesStart; i < matchesEnd; i++) {
+      for (int query = stateFirstAcceptedQuery[stateStack[i]];
+          query != NO_QUERY;
+          query = nextAcceptedQuery[query]) {
+        if (resultCounts[query] == 0) {
+          resultPositions[query] = position;
+          resultLengths[query] = length;
+        }
+        resultCounts[query] += 1;
+      }
+    }
+  }
+
+  protected void pushState(int state) {
+    if (stateStackSize == stateStack.length) {
+      stateStack = Arrays.copyOf(stateStack, stateStackSize * 2);
+    }
+    stateStack[stateStackSize] = state;
+    stateStackSize += 1;
+  }
+
+  protected int addTransition(int state, MsgPackFilter filter, DirectBuffer filterContext) {
+    final byte kind;
+    int argument = 0;
+    int keyLength = 0;
+
+    if (filter instanceof RootCollectionFilter) {
+      kind = KIND_ROOT_COLLECTION;
+    } else if (filter instanceof MapValueWithKeyFilter) {
+      kind = KIND_MAP_VALUE;
+      keyLength = filterContext.getInt(0);
+    } else if (filter instanceof ArrayIndexFilter) {
+      kind = KIND_ARRAY_INDEX;
+      argument = filterContext.getInt(0);
+    } else if (filter instanceof WildcardFilter) {
+      kind = KIND_WILDCARD;
+    } else {
+      throw new IllegalArgumentException("Unsupported filter: " + filter);
+    }
+
+    // reuse the transition of a query with the same prefix
+    for (int child = stateFirstChild[state]; child != NO_STATE; child = stateNextSibling[child]) {
+      if (stateKinds[child] == kind) {
+        if (kind == KIND_MAP_VALUE) {
+          if (ByteUtil.equal(
+              keys,
+              stateArguments[child],
+              stateKeyLengths[child],
+              filterContext,
+              BitUtil.SIZE_OF_INT,
+              keyLength)) {
+            return child;
+          }
+        } else if (stateArguments[child] == argument) {
+          return child;
+        }
+      }
+    }
+
+    if (kind == KIND_MAP_VALUE) {
+      argument = keysLength;
+      keys.putBytes(keysLength, filterContext, BitUtil.SIZE_OF_INT, keyLength);
+      keysLength += keyLength;
+    }
+
+    final int child = addState(kind, argument, keyLength);
+
+    stateNextSibling[child] = stateFirstChild[state];
+    stateFirstChild[state] = child;
+
+    return child;
+  }
+
+  protected int addState(byte kind, int argument, int keyLength) {
+    final int state = stateCount;
+    ensureStateCapacity(state + 1);
+    stateCount += 1;
+
+    stateKinds[state] = kind;
+    stateArguments[state] = argument;
+    stateKeyLengths[state] = keyLength;
+    stateFirstChild[state] = NO_STATE;
+    stateNextSibling[state] = NO_STATE;
+    stateFirstAcceptedQuery[state] = NO_QUERY;
+
+    return state;
+  }
+
+  protected void ensureStateCapacity(int capacity) {
+    if (stateKinds.length < capacity) {
+      final int newCapacity = Math.max(stateKinds.length * 2, capacity);
+
+      stateKinds = Arrays.copyOf(stateKinds, newCapacity);
+      stateArguments = Arrays.copyOf(stateArguments, newCapacity);
+      stateKeyLengths = Arrays.copyOf(stateKeyLengths, newCapacity);
+      stateFirstChild = Arrays.copyOf(stateFirstChild, newCapacity);
+      stateNextSibling = Arrays.copyOf(stateNextSibling, newCapacity);
+      stateFirstAcceptedQuery = Arrays.copyOf(stateFirstAcceptedQuery, newCapacity);
+    }
+  }
+
+  protected void ensureQueryCapacity(int capacity) {
+    if (queries.length < capacity) {
+      final int newCapacity = Math.max(queries.length * 2, capacity);
+
+      queries = Arrays.copyOf(queries, newCapacity);
+      nextAcceptedQuery = Arrays.copyOf(nextAcceptedQuery, newCapacity);
+      resultCounts = Arrays.copyOf(resultCounts, newCapacity);
+      resultPositions = Arrays.copyOf(resultPositions, newCapacity);
+      resultLengths = Arrays.copyOf(resultLengths, newCapacity);
+    }
+  }
+
+  protected void ensureDepthCapacity(int capacity) {
+    if (currentElements.length < capacity) {
+      final int newCapacity = Math.max(currentElements.length * 2, capacity);
+
+      currentElements = Arrays.copyOf(currentElements, newCapacity);
+      elementCounts = Arrays.copyOf(elementCounts, newCapacity);
+      isMap = Arrays.copyOf(isMap, newCapacity);
+      containerPositions = Arrays.copyOf(containerPositions, newCapacity);
+      matchedStart = Arrays.copyOf(matchedStart, newCapacity);
+      matchedEnd = Arrays.copyOf(matchedEnd, newCapacity);
+      valueMatchesStart = Arrays.copyOf(valueMatchesStart, newCapacity);
+      valueMatchesEnd = Arrays.copyOf(valueMatchesEnd, newCapacity);
+    }
+  }
+}
@@ -15,8 +15,8 @@
  */
 package io.zeebe.msgpack.mapping;
 
-import static io.zeebe.msgpack.mapping.MsgPackTreeNodeIdConstructor.JSON_PATH_SEPARATOR;
-import static io.zeebe.msgpack.mapping.MsgPackTreeNodeIdConstructor.JSON_PATH_SEPARATOR_END;
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.fasterxml.jackson.core.JsonParser;
@@ -25,14 +25,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.zeebe.msgpack.spec.MsgPackWriter;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.msgpack.jackson.dataformat.MessagePackFactory;
 
 public class MappingTestUtil {
+  public static final String JSON_PATH_SEPARATOR = "[";
+  public static final String JSON_PATH_SEPARATOR_END = "]";
+
   protected static final String NODE_JSON_OBJECT_KEY = "jsonObject";
   protected static final String NODE_TEST_ATTR_KEY = "testAttr";
   protected static final String NODE_STRING_KEY = "string";
@@ -97,35 +102,65 @@ public class MappingTestUtil {
 
   public static void assertThatIsArrayNode(
       MsgPackTree msgPackTree, String nodeId, String... childs) {
-    assertThat(msgPackTree.isArrayNode(nodeId)).isTrue();
+    assertThat(msgPackTree.isArrayNode(findNode(msgPackTree, nodeId))).isTrue();
     assertChildNodes(msgPackTree, nodeId, childs.length, childs);
   }
 
   public static void assertThatIsMapNode(MsgPackTree msgPackTree, String nodeId, String... childs) {
-    assertThat(msgPackTree.isMapNode(nodeId)).isTrue();
+    assertThat(msgPackTree.isMapNode(findNode(msgPackTree, nodeId))).isTrue();
     assertChildNodes(msgPackTree, nodeId, childs.length, childs);
   }
 
   private static void assertChildNodes(
       MsgPackTree msgPackTree, String nodeId, int childCount, String[] childs) {
-    final Set<String> arrayValues = msgPackTree.getChilds(nodeId);
-    assertThat(arrayValues.size()).isEqualTo(childCount);
-    for (String child : childs) {
-      assertThat(arrayValues.contains(child)).isTrue();
+    final int node = findNode(msgPackTree, nodeId);
+
+    final List<String> childNames = new ArrayList<>();
+    int child = msgPackTree.getFirstChild(node);
+    while (child != MsgPackTree.NO_NODE) {
+      childNames.add(bufferAsString(msgPackTree.getNodeName(child)));
+      child = msgPackTree.getNextSibling(child);
     }
+
+    assertThat(msgPackTree.getChildCount(node)).isEqualTo(childCount);
+    assertThat(childNames).containsOnly(childs);
   }
 
   public static void assertThatIsLeafNode(
       MsgPackTree msgPackTree, String leafId, byte[] expectedBytes) {
-    assertThat(msgPackTree.isLeaf(leafId)).isTrue();
+    final int leaf = findNode(msgPackTree, leafId);
+    assertThat(msgPackTree.isLeaf(leaf)).isTrue();
 
     WRITER.wrap(WRITE_BUFFER, 0);
-    msgPackTree.writeLeafMapping(WRITER, leafId);
+    msgPackTree.writeLeafMapping(WRITER, leaf);
 
     assertThat(WRITER.getOffset()).isEqualTo(expectedBytes.length);
     assertThat(WRITE_BUFFER.byteArray()).startsWith(expectedBytes);
   }
 
+  /**
+   * Returns the node with the given id, which consists of the root name and the names of the
+   * descendants in square brackets, e.g. <code>$[array][0]</code>.
+   */
+  public static int findNode(MsgPackTree msgPackTree, String nodeId) {
+    assertThat(msgPackTree.size()).isGreaterThan(0);
+
+    int node = MsgPackTree.ROOT_NODE;
+    int start = nodeId.indexOf(JSON_PATH_SEPARATOR);
+
+    while (start >= 0) {
+      final int end = nodeId.indexOf(JSON_PATH_SEPARATOR_END, start);
+      final DirectBuffer name = wrapString(nodeId.substring(start + 1, end));
+
+      node = msgPackTree.getChildNode(node, name, 0, name.capacity());
+      assertThat(node).describedAs("node %s", nodeId).isNotEqualTo(MsgPackTree.NO_NODE);
+
+      start = nodeId.indexOf(JSON_PATH_SEPARATOR, end);
+    }
+
+    return node;
+  }
+
   public static String constructNodeId(String... nodeNames) {
     final StringBuilder builder = new StringBuilder();
     if (nodeNames.length >= 1) {
@@ -109,7 +109,7 @@ public class MsgPackDocumentExtractorTest {
     final MsgPackTree extractTree = extractor.extract(mapping);
 
     // then tree root is leaf
-    assertThat(extractTree.isLeaf("$")).isTrue();
+    assertThat(extractTree.isLeaf(MsgPackTree.ROOT_NODE)).isTrue();
 
     // and value is expected as
     final Map<String, Object> json = new HashMap<>();
@@ -16,6 +16,8 @@
 package io.zeebe.msgpack.mapping;
 
 import static io.zeebe.msgpack.mapping.MappingTestUtil.*;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
 
 import io.zeebe.msgpack.jsonpath.JsonPathQuery;
 import io.zeebe.msgpack.jsonpath.JsonPathQueryCompiler;
@@ -38,7 +40,7 @@ public class MsgPackTreeTest {
     msgPackTree.wrap(documentBuffer);
 
     // when
-    msgPackTree.addLeafNode("$", 0, MSG_PACK_BYTES.length);
+    msgPackTree.addLeafNode(msgPackTree.addRootNode(), 0, MSG_PACK_BYTES.length);
 
     // then
     assertThatIsLeafNode(msgPackTree, "$", MSG_PACK_BYTES);
@@ -49,7 +51,9 @@ public class MsgPackTreeTest {
     // given
     final DirectBuffer documentBuffer = new UnsafeBuffer(MSG_PACK_BYTES);
     msgPackTree.wrap(documentBuffer);
-    msgPackTree.addLeafNode("$underlying", 0, MSG_PACK_BYTES.length);
+    final int root = msgPackTree.addRootNode();
+    msgPackTree.addMapNode(root);
+    msgPackTree.addLeafNode(addChild(root, "underlying"), 0, MSG_PACK_BYTES.length);
 
     // when
     final Map<String, Object> jsonMap = new HashMap<>();
@@ -72,12 +76,96 @@ public class MsgPackTreeTest {
     queryExecutor.moveToResult(0);
 
     msgPackTree.addLeafNode(
-        "$extract", queryExecutor.currentResultPosition(), queryExecutor.currentResultLength());
+        addChild(root, "extract"),
+        queryExecutor.currentResultPosition(),
+        queryExecutor.currentResultLength());
 
     // then
-    assertThatIsLeafNode(msgPackTree, "$underlying", MSG_PACK_BYTES);
+    assertThatIsLeafNode(msgPackTree, "$[underlying]", MSG_PACK_BYTES);
 
     // and
-    assertThatIsLeafNode(msgPackTree, "$extract", MSGPACK_MAPPER.writeValueAsBytes(innerMap));
+    assertThatIsLeafNode(msgPackTree, "$[extract]", MSGPACK_MAPPER.writeValueAsBytes(innerMap));
+  }
+
+  @Test
+  public void shouldFindChildNodes() {
+    // given
+    final int root = msgPackTree.addRootNode();
+    msgPackTree.addMapNode(root);
+
+    // when
+    final int[] childs = new int[1_000];
+    for (int i = 0; i < childs.length; i++) {
+      childs[i] = addChild(root, "child" + i);
+    }
+
+    // then
+    assertThat(msgPackTree.getChildCount(root)).isEqualTo(childs.length);
+
+    int child = msgPackTree.getFirstChild(root);
+    for (int i = 0; i < childs.length; i++) {
+      assertThat(child).isEqualTo(childs[i]);
+      assertThat(addChild(root, "child" + i)).isEqualTo(childs[i]);
+      assertThat(findNode(msgPackTree, constructNodeId("$", "child" + i))).isEqualTo(childs[i]);
+
+      child = msgPackTree.getNextSibling(child);
+    }
+    assertThat(child).isEqualTo(MsgPackTree.NO_NODE);
+  }
+
+  @Test
+  public void shouldDistinguishChildNodesOfDifferentParents() {
+    // given
+    final int root = msgPackTree.addRootNode();
+    msgPackTree.addMapNode(root);
+
+    final int foo = addChild(root, "foo");
+    final int bar = addChild(root, "bar");
+    msgPackTree.addMapNode(foo);
+    msgPackTree.addArrayNode(bar);
+
+    // when
+    final int fooChild = addChild(foo, "0");
+    final int barChild = msgPackTree.addChildNode(bar, 0);
+
+    // then
+    assertThat(fooChild).isNotEqualTo(barChild);
+    assertThatIsMapNode(msgPackTree, "$", "foo", "bar");
+    assertThatIsMapNode(msgPackTree, "$[foo]", "0");
+    assertThatIsArrayNode(msgPackTree, "$[bar]", "0");
+  }
+
+  @Test
+  public void shouldReplaceChildNodesOnMerge() throws Exception {
+    // given
+    final MsgPackDocumentIndexer targetIndexer = new MsgPackDocumentIndexer();
+    targetIndexer.wrap(
+        new UnsafeBuffer(
+            MSGPACK_MAPPER.writeValueAsBytes(
+                JSON_MAPPER.readTree("{'a':1, 'b':{'c':2, 'd':3}, 'e':4}"))));
+    final MsgPackTree targetTree = targetIndexer.index();
+
+    final MsgPackDocumentIndexer sourceIndexer = new MsgPackDocumentIndexer();
+    sourceIndexer.wrap(
+        new UnsafeBuffer(
+            MSGPACK_MAPPER.writeValueAsBytes(JSON_MAPPER.readTree("{'b':{'c':5}, 'f':6}"))));
+    final MsgPackTree sourceTree = sourceIndexer.index();
+
+    // when
+    targetTree.merge(sourceTree);
+
+    // then
+    assertThatIsMapNode(targetTree, "$", "a", "b", "e", "f");
+    assertThatIsMapNode(targetTree, "$[b]", "c");
+
+    assertThatIsLeafNode(targetTree, "$[a]", MSGPACK_MAPPER.writeValueAsBytes(1));
+    assertThatIsLeafNode(targetTree, "$[b][c]", MSGPACK_MAPPER.writeValueAsBytes(5));
+    assertThatIsLeafNode(targetTree, "$[e]", MSGPACK_MAPPER.writeValueAsBytes(4));
+    assertThatIsLeafNode(targetTree, "$[f]", MSGPACK_MAPPER.writeValueAsBytes(6));
+  }
+
+  private int addChild(int parentId, String name) {
+    final DirectBuffer nameBuffer = wrapString(name);
+    return msgPackTree.addChildNode(parentId, nameBuffer, 0, nameBuffer.capacity());
   }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.msgpack.jsonpath.JsonPathQuery;
+import io.zeebe.msgpack.jsonpath.JsonPathQueryCompiler;
+import io.zeebe.msgpack.util.MsgPackUtil;
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+
+public class MsgPackMultiQueryExecutorTest {
+
+  private static final DirectBuffer DOCUMENT =
+      MsgPackUtil.encodeMsgPack(
+          (p) -> {
+            p.packMapHeader(3);
+            p.packString("foo");
+            p.packString("bar");
+            p.packString("baz");
+            p.packMapHeader(2);
+            p.packString("a");
+            p.packArrayHeader(3);
+            p.packInt(1);
+            p.packInt(2);
+            p.packMapHeader(1);
+            p.packString("b");
+            p.packBoolean(true);
+            p.packString("c");
+            p.packMapHeader(0);
+            p.packString("qux");
+            p.packArrayHeader(0);
+          });
+
+  private final MsgPackMultiQueryExecutor executor = new MsgPackMultiQueryExecutor();
+
+  @Test
+  public void shouldExecuteQueriesLikeSingleQueryExecutor() {
+    // given
+    final String[] expressions = {
+      "$",
+      "$.foo",
+      "$.baz",
+      "$.baz.a",
+      "$.baz.a[1]",
+      "$.baz.a[2].b",
+      "$.baz.c",
+      "$.baz.a[*]",
+      "$.*",
+      "$.qux",
+      "$.qux[0]",
+      "$.missing",
+      "$.foo.bar",
+      "$.baz.a[3]"
+    };
+
+    for (String expression : expressions) {
+      executor.addQuery(compile(expression));
+    }
+
+    // when
+    final boolean success = executor.execute(DOCUMENT, 0, DOCUMENT.capacity());
+
+    // then
+    assertThat(success).isTrue();
+
+    for (int i = 0; i < expressions.length; i++) {
+      final MsgPackQueryExecutor singleQueryExecutor = executeSingleQuery(compile(expressions[i]));
+
+      assertThat(executor.numResults(i))
+          .describedAs("number of results of %s", expressions[i])
+          .isEqualTo(singleQueryExecutor.numResults());
+
+      if (singleQueryExecutor.numResults() > 0) {
+        singleQueryExecutor.moveToResult(0);
+
+        assertThat(executor.resultPosition(i))
+            .describedAs("result position of %s", expressions[i])
+            .isEqualTo(singleQueryExecutor.currentResultPosition());
+        assertThat(executor.resultLength(i))
+            .describedAs("result length of %s", expressions[i])
+            .isEqualTo(singleQueryExecutor.currentResultLength());
+      }
+    }
+  }
+
+  @Test
+  public void shouldShareStatesOfCommonPrefix() {
+    // when
+    executor.addQuery(compile("$.baz.a[1]"));
+    executor.addQuery(compile("$.baz.a[2]"));
+    executor.addQuery(compile("$.baz.c"));
+
+    // then
+    // start, $, baz, a, [1], [2], c
+    assertThat(executor.stateCount).isEqualTo(7);
+  }
+
+  @Test
+  public void shouldResolveDuplicateQueries() {
+    // given
+    final int query1 = executor.addQuery(compile("$.foo"));
+    final int query2 = executor.addQuery(compile("$.foo"));
+
+    // when
+    executor.execute(DOCUMENT, 0, DOCUMENT.capacity());
+
+    // then
+    assertThat(executor.numResults(query1)).isEqualTo(1);
+    assertThat(executor.numResults(query2)).isEqualTo(1);
+    assertThat(executor.resultPosition(query1)).isEqualTo(executor.resultPosition(query2));
+    assertThat(executor.resultLength(query1)).isEqualTo(executor.resultLength(query2));
+  }
+
+  @Test
+  public void shouldNotMatchChildOfScalarValue() {
+    // given
+    final DirectBuffer document =
+        MsgPackUtil.encodeMsgPack(
+            (p) -> {
+              p.packMapHeader(2);
+              p.packString("a");
+              p.packInt(1);
+              p.packString("b");
+              p.packInt(2);
+            });
+
+    final int query = executor.addQuery(compile("$.a.b"));
+
+    // when
+    executor.execute(document, 0, document.capacity());
+
+    // then
+    assertThat(executor.numResults(query)).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldResetResultsOnExecution() {
+    // given
+    final DirectBuffer otherDocument =
+        MsgPackUtil.encodeMsgPack(
+            (p) -> {
+              p.packMapHeader(1);
+              p.packString("other");
+              p.packInt(1);
+            });
+
+    final int query = executor.addQuery(compile("$.foo"));
+    executor.execute(DOCUMENT, 0, DOCUMENT.capacity());
+
+    // when
+    executor.execute(otherDocument, 0, otherDocument.capacity());
+
+    // then
+    assertThat(executor.numResults(query)).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldRemoveQueriesOnClear() {
+    // given
+    executor.addQuery(compile("$.foo"));
+    executor.addQuery(compile("$.baz.a"));
+
+    // when
+    executor.clear();
+    final int query = executor.addQuery(compile("$.baz.c"));
+    executor.execute(DOCUMENT, 0, DOCUMENT.capacity());
+
+    // then
+    assertThat(query).isEqualTo(0);
+    assertThat(executor.queryCount()).isEqualTo(1);
+    assertThat(executor.numResults(query)).isEqualTo(1);
+  }
+
+  private static JsonPathQuery compile(String expression) {
+    return new JsonPathQueryCompiler().compile(expression);
+  }
+
+  private static MsgPackQueryExecutor executeSingleQuery(JsonPathQuery query) {
+    final MsgPackQueryExecutor queryExecutor = new MsgPackQueryExecutor();
+    queryExecutor.init(query.getFilters(), query.getFilterInstances());
+
+    final MsgPackTraverser traverser = new MsgPackTraverser();
+    traverser.wrap(DOCUMENT, 0, DOCUMENT.capacity());
+    traverser.traverse(queryExecutor);
+
+    return queryExecutor;
+  }
+}
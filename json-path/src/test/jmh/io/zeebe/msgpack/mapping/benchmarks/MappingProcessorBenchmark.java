@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.mapping.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the input and output mappings of the mapping processor. Run it with the gc profiler to
+ * see the allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class MappingProcessorBenchmark {
+
+  @Benchmark
+  @Threads(1)
+  public int extractWithMappings(PayloadSupplier supplier) {
+    return supplier.processor.extract(supplier.sourcePayload, supplier.inputMappings);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int extractWithoutMappings(PayloadSupplier supplier) {
+    return supplier.processor.extract(supplier.sourcePayload);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int mergeWithMappings(PayloadSupplier supplier) {
+    return supplier.processor.merge(
+        supplier.sourcePayload, supplier.targetPayload, supplier.outputMappings);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int mergeWithoutMappings(PayloadSupplier supplier) {
+    return supplier.processor.merge(supplier.sourcePayload, supplier.targetPayload);
+  }
+}
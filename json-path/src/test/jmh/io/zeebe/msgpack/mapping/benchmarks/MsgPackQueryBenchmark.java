@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.mapping.benchmarks;
+
+import io.zeebe.msgpack.jsonpath.JsonPathQuery;
+import io.zeebe.msgpack.mapping.Mapping;
+import io.zeebe.msgpack.query.MsgPackMultiQueryExecutor;
+import io.zeebe.msgpack.query.MsgPackQueryExecutor;
+import io.zeebe.msgpack.query.MsgPackTraverser;
+import org.agrona.DirectBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the resolution of the source queries of the input mappings with one traversal per
+ * query and with one traversal for all queries.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+public class MsgPackQueryBenchmark {
+  private final MsgPackQueryExecutor queryExecutor = new MsgPackQueryExecutor();
+  private final MsgPackTraverser traverser = new MsgPackTraverser();
+
+  private final MsgPackMultiQueryExecutor multiQueryExecutor = new MsgPackMultiQueryExecutor();
+
+  @Benchmark
+  @Threads(1)
+  public int executeQueriesOneByOne(PayloadSupplier supplier) {
+    final DirectBuffer payload = supplier.sourcePayload;
+    int results = 0;
+
+    for (Mapping mapping : supplier.inputMappings) {
+      final JsonPathQuery query = mapping.getSource();
+      queryExecutor.init(query.getFilters(), query.getFilterInstances());
+
+      traverser.wrap(payload, 0, payload.capacity());
+      traverser.traverse(queryExecutor);
+
+      results += queryExecutor.numResults();
+    }
+    return results;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int executeQueriesInOneTraversal(PayloadSupplier supplier) {
+    final DirectBuffer payload = supplier.sourcePayload;
+
+    multiQueryExecutor.clear();
+    for (Mapping mapping : supplier.inputMappings) {
+      multiQueryExecutor.addQuery(mapping.getSource());
+    }
+
+    multiQueryExecutor.execute(payload, 0, payload.capacity());
+
+    int results = 0;
+    for (int i = 0; i < multiQueryExecutor.queryCount(); i++) {
+      results += multiQueryExecutor.numResults(i);
+    }
+    return results;
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.mapping.benchmarks;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+
+import io.zeebe.msgpack.jsonpath.JsonPathQueryCompiler;
+import io.zeebe.msgpack.mapping.Mapping;
+import io.zeebe.msgpack.mapping.MappingProcessor;
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Provides payloads with the given count of variables. A variable is either a string, a number or
+ * an object with a nested array, like the payloads of workflow instances.
+ */
+@State(Scope.Thread)
+public class PayloadSupplier {
+  @Param({"10", "100", "1000"})
+  int variables;
+
+  DirectBuffer sourcePayload;
+  DirectBuffer targetPayload;
+
+  Mapping[] inputMappings;
+  Mapping[] outputMappings;
+
+  MappingProcessor processor = new MappingProcessor(1024);
+
+  @Setup(Level.Trial)
+  public void createPayloads() {
+    sourcePayload = createPayload(variables, "source");
+    targetPayload = createPayload(variables / 2, "target");
+
+    inputMappings =
+        new Mapping[] {
+          createMapping("$.var1", "$.input"),
+          createMapping("$.var2.name", "$.nested.name"),
+          createMapping("$.var2.tags[1]", "$.nested.tag")
+        };
+
+    outputMappings =
+        new Mapping[] {
+          createMapping("$.var4", "$.var1"), createMapping("$.var5.tags", "$.result.tags")
+        };
+  }
+
+  private static DirectBuffer createPayload(int variables, String prefix) {
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    final MsgPackWriter writer = new MsgPackWriter();
+    writer.wrap(buffer, 0);
+
+    writer.writeMapHeader(variables);
+
+    for (int i = 0; i < variables; i++) {
+      writer.writeString(wrapString("var" + i));
+
+      switch (i % 3) {
+        case 0:
+          writer.writeString(wrapString(prefix + " value of variable " + i));
+          break;
+        case 1:
+          writer.writeInteger(i);
+          break;
+        default:
+          writer.writeMapHeader(3);
+          writer.writeString(wrapString("id"));
+          writer.writeInteger(i);
+          writer.writeString(wrapString("name"));
+          writer.writeString(wrapString(prefix + " object " + i));
+          writer.writeString(wrapString("tags"));
+          writer.writeArrayHeader(3);
+          writer.writeString(wrapString("a"));
+          writer.writeString(wrapString("b"));
+          writer.writeString(wrapString("c"));
+          break;
+      }
+    }
+
+    return new UnsafeBuffer(buffer, 0, writer.getOffset());
+  }
+
+  private static Mapping createMapping(String source, String target) {
+    return new Mapping(new JsonPathQueryCompiler().compile(source), wrapString(target));
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl;
+
+import io.zeebe.util.metrics.Histogram;
+import io.zeebe.util.metrics.MetricsManager;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Traces the latency of client commands through the stages of a partition: the command is
+ * received, appended to the log storage, committed, picked up by a stream processor and processed
+ * (i.e. the side effects like the response are executed). The time between the stages is recorded
+ * in a histogram per stage.
+ *
+ * <p>Only one command is traced at a time, a new command is sampled when the previous one is
+ * processed. The stages are reported by different actors, each of them checks the traced position
+ * with a volatile read only. A traced command which doesn't reach the last stage, e.g. because
+ * it is not processed by any stream processor, is replaced after {@link #SAMPLE_TIMEOUT_NANOS}.
+ */
+public class CommandLatencyTracer {
+  public static final long SAMPLE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+  private static final int IDLE = -2;
+  private static final int SAMPLING = -1;
+
+  private static final int RECEIVED = 0;
+  private static final int APPENDED = 1;
+  private static final int COMMITTED = 2;
+  private static final int PROCESSING = 3;
+  private static final int PROCESSED = 4;
+
+  /** names of the latencies between a stage and its successor */
+  private static final String[] STAGE_LATENCY_NAMES = {
+    "append", "commit", "processing_wait", "processing"
+  };
+
+  private final AtomicInteger stage = new AtomicInteger(IDLE);
+  private final long[] stageTimes = new long[PROCESSED + 1];
+  private volatile long position = -1;
+
+  private final Histogram[] stageLatencies = new Histogram[STAGE_LATENCY_NAMES.length];
+  private final Histogram totalLatency;
+
+  public CommandLatencyTracer(MetricsManager metricsManager, String topicName, int partitionId) {
+    final String partition = String.valueOf(partitionId);
+
+    for (int i = 0; i < STAGE_LATENCY_NAMES.length; i++) {
+      stageLatencies[i] =
+          createHistogram(metricsManager, topicName, partition, STAGE_LATENCY_NAMES[i]);
+    }
+
+    totalLatency = createHistogram(metricsManager, topicName, partition, "total");
+  }
+
+  private static Histogram createHistogram(
+      MetricsManager metricsManager, String topicName, String partition, String stage) {
+    return metricsManager
+        .newHistogram("command_latency_micros")
+        .label("topic", topicName)
+        .label("partition", partition)
+        .label("stage", stage)
+        .create();
+  }
+
+  /**
+   * Starts to trace the command which is written at the given position, if no other command is
+   * traced.
+   *
+   * @param receivedTime the {@link System#nanoTime()} when the command was received
+   */
+  public void onCommandWritten(long commandPosition, long receivedTime) {
+    final int currentStage = stage.get();
+
+    final boolean canSample =
+        currentStage == IDLE
+            || (currentStage >= RECEIVED
+                && currentStage < PROCESSED
+                && receivedTime - stageTimes[RECEIVED] > SAMPLE_TIMEOUT_NANOS);
+
+    if (canSample && stage.compareAndSet(currentStage, SAMPLING)) {
+      stageTimes[RECEIVED] = receivedTime;
+      position = commandPosition;
+
+      stage.set(RECEIVED);
+    }
+  }
+
+  /** @param appenderPosition the position up to which the log storage appender appended */
+  public void onAppended(long appenderPosition) {
+    if (stage.get() == RECEIVED && position < appenderPosition) {
+      completeStage(RECEIVED);
+    }
+  }
+
+  public void onCommitted(long commitPosition) {
+    if (stage.get() == APPENDED && position <= commitPosition) {
+      completeStage(APPENDED);
+    }
+  }
+
+  public void onProcessingStarted(long eventPosition) {
+    if (stage.get() == COMMITTED && position == eventPosition) {
+      completeStage(COMMITTED);
+    }
+  }
+
+  public void onProcessed(long eventPosition) {
+    if (stage.get() == PROCESSING && position == eventPosition) {
+      completeStage(PROCESSING);
+    }
+  }
+
+  private void completeStage(int completedStage) {
+    final int nextStage = completedStage + 1;
+    stageTimes[nextStage] = System.nanoTime();
+
+    if (stage.compareAndSet(completedStage, nextStage) && nextStage == PROCESSED) {
+      recordLatencies();
+
+      stage.set(IDLE);
+    }
+  }
+
+  private void recordLatencies() {
+    for (int i = 0; i < stageLatencies.length; i++) {
+      stageLatencies[i].record(toMicros(stageTimes[i + 1] - stageTimes[i]));
+    }
+
+    totalLatency.record(toMicros(stageTimes[PROCESSED] - stageTimes[RECEIVED]));
+  }
+
+  private static long toMicros(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+
+  public void close() {
+    for (Histogram stageLatency : stageLatencies) {
+      stageLatency.close();
+    }
+
+    totalLatency.close();
+  }
+}
@@ -15,12 +15,16 @@
  */
 package io.zeebe.logstreams.impl;
 
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageOffset;
 import static io.zeebe.logstreams.impl.LogEntryDescriptor.*;
 import static io.zeebe.logstreams.spi.LogStorage.OP_RESULT_INSUFFICIENT_BUFFER_CAPACITY;
 
 import io.zeebe.logstreams.spi.ReadResultProcessor;
 import java.nio.ByteBuffer;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.Long2LongHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
 
 /** @author Christopher Zell <christopher.zell@camunda.com> */
@@ -28,10 +32,34 @@ public class CompleteEventsInBlockProcessor implements ReadResultProcessor {
   private final MutableDirectBuffer directBuffer = new UnsafeBuffer(0, 0);
   private long lastReadEventPosition = -1;
 
+  /** producer id -> highest source event position of the complete events read since the reset */
+  private final Long2LongHashMap sourceEventPositions = new Long2LongHashMap(-1L);
+  private final boolean isTrackingSourceEventPositions;
+
+  public CompleteEventsInBlockProcessor() {
+    this(false);
+  }
+
+  /**
+   * @param trackSourceEventPositions if true, the highest source event position of each producer
+   *     is collected from the read events
+   */
+  public CompleteEventsInBlockProcessor(boolean trackSourceEventPositions) {
+    this.isTrackingSourceEventPositions = trackSourceEventPositions;
+  }
+
   long getLastReadEventPosition() {
     return lastReadEventPosition;
   }
 
+  Long2LongHashMap getSourceEventPositions() {
+    return sourceEventPositions;
+  }
+
+  void resetSourceEventPositions() {
+    sourceEventPositions.clear();
+  }
+
   @Override
   public int process(ByteBuffer byteBuffer, int readResult) {
     if (byteBuffer.capacity() < HEADER_BLOCK_LENGTH) {
@@ -67,7 +95,12 @@ public class CompleteEventsInBlockProcessor implements ReadResultProcessor {
       final int fragmentLength = getFragmentLength(directBuffer, position);
 
       if (fragmentLength <= remainingBytes) {
+        verifyChecksum(position);
+
         lastReadEventPosition = LogEntryDescriptor.getPosition(directBuffer, position);
+        if (isTrackingSourceEventPositions) {
+          trackSourceEventPosition(messageOffset(position));
+        }
         remainingBytes -= fragmentLength;
         position += fragmentLength;
       } else {
@@ -86,4 +119,26 @@ public class CompleteEventsInBlockProcessor implements ReadResultProcessor {
 
     return readResult;
   }
+
+  private void trackSourceEventPosition(int offset) {
+    final int producerId = getProducerId(directBuffer, offset);
+    final long sourceEventPosition = getSourceEventPosition(directBuffer, offset);
+
+    if (producerId >= 0
+        && sourceEventPosition >= 0
+        && sourceEventPosition > sourceEventPositions.get(producerId)) {
+      sourceEventPositions.put(producerId, sourceEventPosition);
+    }
+  }
+
+  private void verifyChecksum(int offset) {
+    final int messageLength = messageLength(directBuffer.getInt(lengthOffset(offset)));
+
+    if (!isChecksumValid(directBuffer, messageOffset(offset), messageLength)) {
+      throw new IllegalStateException(
+          String.format(
+              "Invalid checksum of log entry at position %d",
+              LogEntryDescriptor.getPosition(directBuffer, offset)));
+    }
+  }
 }
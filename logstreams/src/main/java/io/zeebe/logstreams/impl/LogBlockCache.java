@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl;
+
+import io.zeebe.util.allocation.AllocatedBuffer;
+import io.zeebe.util.allocation.BufferAllocators;
+import java.nio.ByteBuffer;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Caches recently read blocks of committed events of a log stream, so that the stream processors
+ * of a partition which follow the head of the log read each block only once from the log storage.
+ *
+ * <p>The cache is direct-mapped: a block is stored in the slot which is determined by its address
+ * and replaces the previously cached block of this slot. Only complete and committed events are
+ * cached since they can't be truncated anymore.
+ *
+ * <p>The cache is shared by the readers of the log stream which may run on different threads, so
+ * the access of a slot is synchronized.
+ */
+public class LogBlockCache implements AutoCloseable {
+  public static final int DEFAULT_BLOCK_COUNT = 16;
+  public static final int DEFAULT_BLOCK_CAPACITY = 32 * 1024;
+
+  private final Slot[] slots;
+  private final int blockCapacity;
+
+  public LogBlockCache() {
+    this(DEFAULT_BLOCK_COUNT, DEFAULT_BLOCK_CAPACITY);
+  }
+
+  public LogBlockCache(int blockCount, int blockCapacity) {
+    if (blockCount < 1) {
+      throw new IllegalArgumentException("block count must be greater than 0");
+    }
+
+    this.blockCapacity = blockCapacity;
+    this.slots = new Slot[blockCount];
+
+    for (int i = 0; i < blockCount; i++) {
+      slots[i] = new Slot(blockCapacity);
+    }
+  }
+
+  public int getBlockCapacity() {
+    return blockCapacity;
+  }
+
+  /**
+   * Copies the cached events of the block with the given address into the read buffer, starting at
+   * its current position. The position of the read buffer is advanced.
+   *
+   * @return the address of the next block, or -1 if the block is not cached or the read buffer
+   *     has not enough remaining capacity
+   */
+  public long read(long address, ByteBuffer readBuffer) {
+    final Slot slot = slotOf(address);
+
+    synchronized (slot) {
+      if (slot.address == address
+          && slot.length > 0
+          && slot.length <= readBuffer.remaining()
+          && !slot.isClosed()) {
+        slot.buffer.getBytes(0, readBuffer, slot.length);
+        return slot.nextAddress;
+      } else {
+        return -1;
+      }
+    }
+  }
+
+  /**
+   * Caches the given events of the block with the given address. The events must be complete and
+   * committed.
+   *
+   * @param address the address which was requested to read the block
+   * @param events the buffer which contains the events
+   * @param offset the offset of the first event in the buffer
+   * @param length the length of the events, which must not exceed the block capacity
+   * @param nextAddress the address after the events
+   */
+  public void put(long address, DirectBuffer events, int offset, int length, long nextAddress) {
+    if (length <= 0 || length > blockCapacity) {
+      return;
+    }
+
+    final Slot slot = slotOf(address);
+
+    synchronized (slot) {
+      if (!slot.isClosed()) {
+        slot.buffer.putBytes(0, events, offset, length);
+        slot.address = address;
+        slot.length = length;
+        slot.nextAddress = nextAddress;
+      }
+    }
+  }
+
+  public void clear() {
+    for (Slot slot : slots) {
+      synchronized (slot) {
+        slot.reset();
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    for (Slot slot : slots) {
+      synchronized (slot) {
+        slot.close();
+      }
+    }
+  }
+
+  private Slot slotOf(long address) {
+    // mix the segment id and the offset of the address
+    final long hash = address ^ (address >>> 32);
+    final int index = (int) ((hash & Long.MAX_VALUE) % slots.length);
+    return slots[index];
+  }
+
+  private static final class Slot {
+    private final AllocatedBuffer allocatedBuffer;
+    private final UnsafeBuffer buffer;
+
+    private long address;
+    private long nextAddress;
+    private int length;
+
+    Slot(int capacity) {
+      allocatedBuffer = BufferAllocators.allocateDirect(capacity);
+      buffer = new UnsafeBuffer(allocatedBuffer.getRawBuffer());
+      reset();
+    }
+
+    void reset() {
+      address = -1;
+      nextAddress = -1;
+      length = 0;
+    }
+
+    boolean isClosed() {
+      return allocatedBuffer.isClosed();
+    }
+
+    void close() {
+      reset();
+      allocatedBuffer.close();
+    }
+  }
+}
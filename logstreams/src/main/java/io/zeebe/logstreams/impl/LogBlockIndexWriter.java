@@ -32,6 +32,8 @@ import io.zeebe.util.sched.channel.ActorConditions;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.Map;
+import org.agrona.collections.Long2LongHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.Position;
 import org.slf4j.Logger;
@@ -69,7 +71,7 @@ public class LogBlockIndexWriter extends Actor {
   private final float deviation;
 
   private final CompleteEventsInBlockProcessor completeEventsProcessor =
-      new CompleteEventsInBlockProcessor();
+      new CompleteEventsInBlockProcessor(true);
 
   private long nextAddress = INVALID_ADDRESS;
 
@@ -93,6 +95,8 @@ public class LogBlockIndexWriter extends Actor {
   private final Duration snapshotInterval;
   private long snapshotEventPosition = -1;
 
+  private final LogRetention logRetention;
+
   private Metric snapshotsCreated;
 
   public LogBlockIndexWriter(
@@ -114,6 +118,18 @@ public class LogBlockIndexWriter extends Actor {
     this.snapshotInterval = builder.getSnapshotPeriod();
     this.bufferSize = builder.getReadBlockSize();
 
+    if (builder.isLogRetention()) {
+      this.logRetention =
+          new LogRetention(
+              logStorage,
+              blockIndex,
+              snapshotStorage,
+              commitPosition,
+              builder.getRetentionGuards());
+    } else {
+      this.logRetention = null;
+    }
+
     this.allocatedBuffer = BufferAllocators.allocateDirect(bufferSize);
     this.ioBuffer = allocatedBuffer.getRawBuffer();
     this.buffer.wrap(ioBuffer);
@@ -145,11 +161,19 @@ public class LogBlockIndexWriter extends Actor {
         final long snapshotPosition = lastSnapshot.getPosition();
 
         final long snapshotBlockAddress = blockIndex.lookupBlockAddress(snapshotPosition);
-        if (snapshotBlockAddress >= logStorage.getFirstBlockAddress()) {
+        if (hasBlocksBeyondEndOfLog()) {
+          // the log was truncated on open (e.g. at a torn entry) after the snapshot was written
+          LOG.warn("Block index snapshot refers to blocks beyond the end of the log. Rebuild it.");
+        } else if (snapshotBlockAddress >= logStorage.getFirstBlockAddress()) {
           nextAddress = snapshotBlockAddress;
           lastBlockAddress = snapshotBlockAddress;
           lastBlockEventPosition = snapshotPosition;
           snapshotEventPosition = snapshotPosition;
+
+          if (blockIndex.getSourceIndexPosition() < 0) {
+            // the snapshot was written without source index, it misses the events before
+            blockIndex.markSourceIndexIncomplete();
+          }
         } else {
           LOG.warn("Can't find address of snapshot position. Rebuild block index.");
         }
@@ -167,6 +191,11 @@ public class LogBlockIndexWriter extends Actor {
     }
   }
 
+  private boolean hasBlocksBeyondEndOfLog() {
+    final int size = blockIndex.size();
+    return size > 0 && blockIndex.getAddress(size - 1) >= logStorage.getEndAddress();
+  }
+
   @Override
   protected void onActorStarted() {
     this.onCommitCondition = actor.onCondition("log-index-on-commit", runCurrentWork);
@@ -213,6 +242,8 @@ public class LogBlockIndexWriter extends Actor {
 
       nextAddress = lastBlockAddress;
       resetCurrentBlock();
+      // the events are read again
+      completeEventsProcessor.resetSourceEventPositions();
     }
   }
 
@@ -247,6 +278,7 @@ public class LogBlockIndexWriter extends Actor {
         lastBlockEventPosition = currentBlockEventPosition;
       }
 
+      updateSourceIndex();
       resetCurrentBlock();
 
       currentRunnable = readLogStorage;
@@ -258,6 +290,18 @@ public class LogBlockIndexWriter extends Actor {
     runCurrentWork();
   }
 
+  /** Adds the source event positions of the read events, which are committed now. */
+  private void updateSourceIndex() {
+    final Long2LongHashMap sourceEventPositions = completeEventsProcessor.getSourceEventPositions();
+
+    for (Map.Entry<Long, Long> entry : sourceEventPositions.entrySet()) {
+      blockIndex.updateLastSourceEventPosition(entry.getKey().intValue(), entry.getValue());
+    }
+    blockIndex.setSourceIndexPosition(completeEventsProcessor.getLastReadEventPosition());
+
+    completeEventsProcessor.resetSourceEventPositions();
+  }
+
   private boolean isCurrentBlockCommitted() {
     return commitPosition.getVolatile() >= completeEventsProcessor.getLastReadEventPosition();
   }
@@ -295,6 +339,10 @@ public class LogBlockIndexWriter extends Actor {
         LOG.trace("Created snapshot of block index {}.", name);
 
         snapshotsCreated.incrementOrdered();
+
+        if (logRetention != null) {
+          applyLogRetention();
+        }
       }
     } catch (Exception e) {
       LOG.warn("Failed to create snapshot of block index {}", name, e);
@@ -305,6 +353,16 @@ public class LogBlockIndexWriter extends Actor {
     }
   }
 
+  private void applyLogRetention() {
+    // the block index snapshot is included in the retention position,
+    // so the log is never deleted beyond the current index position
+    try {
+      logRetention.apply();
+    } catch (Exception e) {
+      LOG.warn("Failed to apply log retention of {}", name, e);
+    }
+  }
+
   public ActorFuture<Void> closeAsync() {
     return actor.close();
   }
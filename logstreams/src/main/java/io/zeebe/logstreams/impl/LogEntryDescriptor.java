@@ -18,6 +18,7 @@ package io.zeebe.logstreams.impl;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.*;
 import static org.agrona.BitUtil.*;
 
+import io.zeebe.util.Crc32c;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 
@@ -28,7 +29,9 @@ import org.agrona.MutableDirectBuffer;
  *   0                   1                   2                   3
  *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
  *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
- *  |            VERSION             |              R               |
+ *  |            VERSION             |            FLAGS             |
+ *  +---------------------------------------------------------------+
+ *  |                            CHECKSUM                           |
  *  +---------------------------------------------------------------+
  *  |                            POSITION                           |
  *  |                                                               |
@@ -53,11 +56,21 @@ import org.agrona.MutableDirectBuffer;
  *  |                           ...VALUE...                         |
  *  +---------------------------------------------------------------+
  * </pre>
+ *
+ * <p>The checksum is optional. If the checksum flag is set then it contains the CRC-32C of the
+ * entry, excluding the checksum field itself. The checksum field shifts all following fields, so
+ * entries written before it was added can't be read with this layout. Log segments are therefore
+ * versioned (see {@link io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor#CURRENT_VERSION})
+ * and segments of the previous format are rejected when the log storage is opened.
  */
 public class LogEntryDescriptor {
 
   public static final int VERSION_OFFSET;
 
+  public static final int FLAGS_OFFSET;
+
+  public static final int CHECKSUM_OFFSET;
+
   public static final int POSITION_OFFSET;
 
   public static final int RAFT_TERM_OFFSET;
@@ -82,9 +95,12 @@ public class LogEntryDescriptor {
     VERSION_OFFSET = offset;
     offset += SIZE_OF_SHORT;
 
-    // reserved offset
+    FLAGS_OFFSET = offset;
     offset += SIZE_OF_SHORT;
 
+    CHECKSUM_OFFSET = offset;
+    offset += SIZE_OF_INT;
+
     POSITION_OFFSET = offset;
     offset += SIZE_OF_LONG;
 
@@ -114,6 +130,8 @@ public class LogEntryDescriptor {
     METADATA_OFFSET = offset;
   }
 
+  public static final short FLAG_CHECKSUM = 1;
+
   public static int getFragmentLength(final DirectBuffer buffer, final int offset) {
     return alignedLength(buffer.getInt(lengthOffset(offset)));
   }
@@ -122,6 +140,63 @@ public class LogEntryDescriptor {
     return HEADER_BLOCK_LENGTH + metadataLength;
   }
 
+  public static int flagsOffset(final int offset) {
+    return FLAGS_OFFSET + offset;
+  }
+
+  public static short getFlags(final DirectBuffer buffer, final int offset) {
+    return buffer.getShort(flagsOffset(offset));
+  }
+
+  public static void setFlags(
+      final MutableDirectBuffer buffer, final int offset, final short flags) {
+    buffer.putShort(flagsOffset(offset), flags);
+  }
+
+  public static int checksumOffset(final int offset) {
+    return CHECKSUM_OFFSET + offset;
+  }
+
+  public static int getChecksum(final DirectBuffer buffer, final int offset) {
+    return buffer.getInt(checksumOffset(offset));
+  }
+
+  public static boolean hasChecksum(final DirectBuffer buffer, final int offset) {
+    return (getFlags(buffer, offset) & FLAG_CHECKSUM) != 0;
+  }
+
+  /**
+   * Sets the checksum flag and writes the checksum of the entry.
+   *
+   * @param offset the offset of the entry (i.e. the message offset of the frame)
+   * @param length the length of the entry (i.e. the message length of the frame)
+   */
+  public static void writeChecksum(
+      final MutableDirectBuffer buffer, final int offset, final int length) {
+    setFlags(buffer, offset, (short) (getFlags(buffer, offset) | FLAG_CHECKSUM));
+    buffer.putInt(checksumOffset(offset), computeChecksum(buffer, offset, length));
+  }
+
+  /**
+   * @param offset the offset of the entry (i.e. the message offset of the frame)
+   * @param length the length of the entry (i.e. the message length of the frame)
+   * @return true, if the entry has no checksum or the checksum matches the entry
+   */
+  public static boolean isChecksumValid(
+      final DirectBuffer buffer, final int offset, final int length) {
+    return !hasChecksum(buffer, offset)
+        || getChecksum(buffer, offset) == computeChecksum(buffer, offset, length);
+  }
+
+  private static int computeChecksum(
+      final DirectBuffer buffer, final int offset, final int length) {
+    final int checksumOffset = checksumOffset(offset);
+    final int remainingOffset = checksumOffset + SIZE_OF_INT;
+
+    final int checksum = Crc32c.compute(buffer, offset, checksumOffset - offset);
+    return Crc32c.update(checksum, buffer, remainingOffset, offset + length - remainingOffset);
+  }
+
   public static int positionOffset(final int offset) {
     return POSITION_OFFSET + offset;
   }
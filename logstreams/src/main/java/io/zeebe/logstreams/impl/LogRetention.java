@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl;
+
+import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
+import io.zeebe.logstreams.spi.LogStorage;
+import io.zeebe.logstreams.spi.SnapshotMetadata;
+import io.zeebe.logstreams.spi.SnapshotStorage;
+import java.util.List;
+import java.util.function.LongSupplier;
+import org.agrona.concurrent.status.Position;
+
+/**
+ * Deletes the part of the log which is not needed anymore. The log is needed from the lowest
+ * position of
+ *
+ * <ul>
+ *   <li>the snapshots of the log (i.e. of the block index and of the stream processors)
+ *   <li>the commit position
+ *   <li>the registered retention guards (e.g. the stream processors or the replication to the
+ *       followers)
+ * </ul>
+ *
+ * If no snapshot exists or a guard returns a negative position then nothing is deleted. The log
+ * stream registers such a guard while it has no appender, so that the log is only deleted on the
+ * leader of the partition.
+ */
+public class LogRetention {
+  private final LogStorage logStorage;
+  private final LogBlockIndex blockIndex;
+  private final SnapshotStorage snapshotStorage;
+  private final Position commitPosition;
+  private final List<LongSupplier> retentionGuards;
+
+  public LogRetention(
+      LogStorage logStorage,
+      LogBlockIndex blockIndex,
+      SnapshotStorage snapshotStorage,
+      Position commitPosition,
+      List<LongSupplier> retentionGuards) {
+    this.logStorage = logStorage;
+    this.blockIndex = blockIndex;
+    this.snapshotStorage = snapshotStorage;
+    this.commitPosition = commitPosition;
+    this.retentionGuards = retentionGuards;
+  }
+
+  /** @return the lowest position which is still needed, or a negative value if all is needed */
+  public long getRetentionPosition() {
+    final List<SnapshotMetadata> snapshots = snapshotStorage.listSnapshots();
+    if (snapshots.isEmpty()) {
+      return -1L;
+    }
+
+    long position = commitPosition.getVolatile();
+
+    for (int i = 0; i < snapshots.size(); i++) {
+      position = Math.min(position, snapshots.get(i).getPosition());
+    }
+
+    for (LongSupplier guard : retentionGuards) {
+      position = Math.min(position, guard.getAsLong());
+    }
+
+    return position;
+  }
+
+  /**
+   * Deletes the log before the block which contains the retention position.
+   *
+   * @return the address of the first block which is still available, or a negative value if the
+   *     log is not deleted
+   */
+  public long apply() {
+    final long position = getRetentionPosition();
+
+    if (position > 0) {
+      final long blockAddress = blockIndex.lookupBlockAddress(position);
+      if (blockAddress > 0) {
+        return logStorage.delete(blockAddress);
+      }
+    }
+
+    return -1L;
+  }
+}
@@ -15,13 +15,18 @@
  */
 package io.zeebe.logstreams.impl;
 
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.*;
+
 import io.zeebe.dispatcher.BlockPeek;
 import io.zeebe.dispatcher.Subscription;
+import io.zeebe.logstreams.impl.log.fs.FsLogFlushPolicy;
 import io.zeebe.logstreams.spi.LogStorage;
+import io.zeebe.util.metrics.Histogram;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.channel.ActorConditions;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.agrona.MutableDirectBuffer;
 import org.slf4j.Logger;
@@ -42,17 +47,35 @@ public class LogStorageAppender extends Actor {
   private Runnable peekedBlockHandler = this::appendBlock;
   private int maxAppendBlockSize;
 
+  private volatile long appendedBytes;
+  private final LogStorageFlusher flusher;
+  private final Histogram appendLatency;
+  private final CommandLatencyTracer commandLatencyTracer;
+
   public LogStorageAppender(
       String name,
       LogStorage logStorage,
       Subscription writeBufferSubscription,
       int maxBlockSize,
-      ActorConditions logStorageAppendConditions) {
+      ActorConditions logStorageAppendConditions,
+      FsLogFlushPolicy flushPolicy,
+      Histogram appendLatency,
+      CommandLatencyTracer commandLatencyTracer) {
     this.name = name;
     this.logStorage = logStorage;
     this.writeBufferSubscription = writeBufferSubscription;
     this.maxAppendBlockSize = maxBlockSize;
     this.logStorageAppendConditions = logStorageAppendConditions;
+    this.appendLatency = appendLatency;
+    this.commandLatencyTracer = commandLatencyTracer;
+
+    if (flushPolicy.isDurableAppend()) {
+      this.flusher =
+          new LogStorageFlusher(
+              name + ".flusher", logStorage, this, flushPolicy, logStorageAppendConditions);
+    } else {
+      this.flusher = null;
+    }
   }
 
   @Override
@@ -65,6 +88,14 @@ public class LogStorageAppender extends Actor {
     actor.consume(writeBufferSubscription, this::peekBlock);
   }
 
+  @Override
+  protected void onActorClosing() {
+    if (flusher != null) {
+      // the flusher flushes the remaining blocks before it is closed
+      actor.runOnCompletionBlockingCurrentPhase(flusher.close(), (v, t) -> {});
+    }
+  }
+
   private void peekBlock() {
     if (writeBufferSubscription.peekBlock(blockPeek, maxAppendBlockSize, true) > 0) {
       peekedBlockHandler.run();
@@ -77,9 +108,18 @@ public class LogStorageAppender extends Actor {
     final ByteBuffer rawBuffer = blockPeek.getRawBuffer();
     final MutableDirectBuffer buffer = blockPeek.getBuffer();
 
+    writeChecksums(buffer);
+
+    final long startTime = System.nanoTime();
     final long address = logStorage.append(rawBuffer);
+    appendLatency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+
     if (address >= 0) {
       blockPeek.markCompleted();
+      // after the position is moved, so that the flushed bytes never include a block which is not
+      // covered by the appender position
+      appendedBytes += blockPeek.getBlockLength();
+      commandLatencyTracer.onAppended(getCurrentAppenderPosition());
       logStorageAppendConditions.signalConsumers();
     } else {
       isFailed.set(true);
@@ -96,6 +136,20 @@ public class LogStorageAppender extends Actor {
     }
   }
 
+  /** Writes the checksums of the entries, right before they are appended to the log storage. */
+  private void writeChecksums(MutableDirectBuffer buffer) {
+    final int limit = blockPeek.getBlockLength();
+
+    int offset = 0;
+    while (offset < limit) {
+      final int framedLength = buffer.getInt(lengthOffset(offset));
+
+      LogEntryDescriptor.writeChecksum(buffer, messageOffset(offset), messageLength(framedLength));
+
+      offset += alignedLength(framedLength);
+    }
+  }
+
   private void discardBlock() {
     blockPeek.markFailed();
     // continue with next block
@@ -113,4 +167,21 @@ public class LogStorageAppender extends Actor {
   public long getCurrentAppenderPosition() {
     return writeBufferSubscription.getPosition();
   }
+
+  /**
+   * @return the position up to which the appended blocks are durable according to the flush
+   *     policy, i.e. the current appender position if the policy doesn't require a flush
+   */
+  public long getDurableAppenderPosition() {
+    return flusher != null ? flusher.getDurablePosition() : getCurrentAppenderPosition();
+  }
+
+  public long getAppendedBytes() {
+    return appendedBytes;
+  }
+
+  /** @return the actor which flushes the appended blocks, or null if appends are not flushed */
+  public LogStorageFlusher getFlusher() {
+    return flusher;
+  }
 }
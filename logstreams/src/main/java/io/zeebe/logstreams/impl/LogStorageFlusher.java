@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl;
+
+import io.zeebe.logstreams.impl.log.fs.FsLogFlushPolicy;
+import io.zeebe.logstreams.impl.log.fs.FsLogFlushPolicy.Mode;
+import io.zeebe.logstreams.spi.LogStorage;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorCondition;
+import io.zeebe.util.sched.channel.ActorConditions;
+import io.zeebe.util.sched.future.ActorFuture;
+import org.slf4j.Logger;
+
+/**
+ * Flushes the blocks which are appended by the {@link LogStorageAppender} according to the flush
+ * policy, so that the appender doesn't wait for the disk. Blocks which are appended while a flush
+ * is running are flushed together by the next one.
+ */
+public class LogStorageFlusher extends Actor {
+  public static final Logger LOG = Loggers.LOGSTREAMS_LOGGER;
+
+  private final String name;
+  private final LogStorage logStorage;
+  private final LogStorageAppender appender;
+  private final FsLogFlushPolicy flushPolicy;
+  private final ActorConditions logStorageAppendConditions;
+
+  private ActorCondition onAppendCondition;
+
+  private long flushedBytes;
+  private volatile long durablePosition;
+
+  public LogStorageFlusher(
+      String name,
+      LogStorage logStorage,
+      LogStorageAppender appender,
+      FsLogFlushPolicy flushPolicy,
+      ActorConditions logStorageAppendConditions) {
+    this.name = name;
+    this.logStorage = logStorage;
+    this.appender = appender;
+    this.flushPolicy = flushPolicy;
+    this.logStorageAppendConditions = logStorageAppendConditions;
+
+    // the appender didn't append a block yet
+    this.durablePosition = appender.getCurrentAppenderPosition();
+    this.flushedBytes = appender.getAppendedBytes();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  protected void onActorStarting() {
+    onAppendCondition = actor.onCondition(name + "-on-append", this::onAppend);
+    logStorageAppendConditions.registerConsumer(onAppendCondition);
+
+    if (flushPolicy.getMode() == Mode.GROUP) {
+      actor.runAtFixedRate(flushPolicy.getInterval(), this::onInterval);
+    }
+  }
+
+  @Override
+  protected void onActorClosing() {
+    logStorageAppendConditions.removeConsumer(onAppendCondition);
+
+    if (hasUnflushedBlocks()) {
+      flush();
+    }
+  }
+
+  private void onAppend() {
+    if (hasUnflushedBlocks()
+        && (flushPolicy.getMode() == Mode.APPEND
+            || getUnflushedBytes() >= flushPolicy.getBytes())) {
+      flush();
+    }
+  }
+
+  private void onInterval() {
+    if (hasUnflushedBlocks()) {
+      flush();
+    }
+  }
+
+  private void flush() {
+    // read the bytes before the position: the appender counts the bytes of a block after it moved
+    // the position, so the position covers at least the counted bytes
+    final long appendedBytes = appender.getAppendedBytes();
+    final long appendedPosition = appender.getCurrentAppenderPosition();
+
+    try {
+      logStorage.flush();
+    } catch (Exception e) {
+      LOG.error("Failed to flush log storage. Retry on next append.", e);
+      return;
+    }
+
+    flushedBytes = appendedBytes;
+    durablePosition = appendedPosition;
+
+    // notify the consumers which wait for the durable position
+    logStorageAppendConditions.signalConsumers();
+  }
+
+  private boolean hasUnflushedBlocks() {
+    return durablePosition < appender.getCurrentAppenderPosition();
+  }
+
+  private long getUnflushedBytes() {
+    return appender.getAppendedBytes() - flushedBytes;
+  }
+
+  /** @return the appender position up to which the appended blocks are flushed */
+  public long getDurablePosition() {
+    return durablePosition;
+  }
+
+  public ActorFuture<Void> close() {
+    return actor.close();
+  }
+}
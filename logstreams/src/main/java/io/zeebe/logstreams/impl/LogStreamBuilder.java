@@ -20,6 +20,7 @@ import static io.zeebe.util.EnsureUtil.ensureFalse;
 import static io.zeebe.util.EnsureUtil.ensureGreaterThanOrEqual;
 
 import io.zeebe.logstreams.fs.FsSnapshotStorageBuilder;
+import io.zeebe.logstreams.impl.log.fs.FsLogFlushPolicy;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorage;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorageConfiguration;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
@@ -33,8 +34,11 @@ import io.zeebe.util.sched.channel.ActorConditions;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.io.File;
 import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.status.AtomicLongPosition;
 
@@ -51,6 +55,8 @@ public class LogStreamBuilder {
   protected boolean logStreamControllerDisabled;
   protected int initialLogSegmentId = 0;
   protected boolean deleteOnClose;
+  protected boolean scanLogOnOpen = true;
+  protected FsLogFlushPolicy flushPolicy = FsLogFlushPolicy.NONE;
 
   protected int maxAppendBlockSize = 1024 * 1024;
   protected int writeBufferSize = 1024 * 1024 * 8;
@@ -65,6 +71,11 @@ public class LogStreamBuilder {
   protected final AtomicLongPosition commitPosition = new AtomicLongPosition();
   protected final ActorConditions onCommitPositionUpdatedConditions = new ActorConditions();
 
+  protected int readCacheBlockCount = LogBlockCache.DEFAULT_BLOCK_COUNT;
+
+  protected boolean logRetention;
+  protected final List<LongSupplier> retentionGuards = new CopyOnWriteArrayList<>();
+
   protected Function<FsLogStorage, FsLogStorage> logStorageStubber = Function.identity();
 
   public LogStreamBuilder(final DirectBuffer topicName, final int partitionId) {
@@ -117,6 +128,24 @@ public class LogStreamBuilder {
     return this;
   }
 
+  /**
+   * @param scanLogOnOpen if <code>true</code>, the checksums of all log entries are verified when
+   *     the log is opened and the log is truncated at the first invalid entry
+   */
+  public LogStreamBuilder scanLogOnOpen(boolean scanLogOnOpen) {
+    this.scanLogOnOpen = scanLogOnOpen;
+    return this;
+  }
+
+  /**
+   * @param flushPolicy controls when appended blocks are flushed. If the policy requires durable
+   *     appends then a leader commits a block only after it is flushed locally.
+   */
+  public LogStreamBuilder flushPolicy(FsLogFlushPolicy flushPolicy) {
+    this.flushPolicy = flushPolicy;
+    return this;
+  }
+
   public LogStreamBuilder indexBlockSize(int indexBlockSize) {
     this.indexBlockSize = indexBlockSize;
     return this;
@@ -142,6 +171,24 @@ public class LogStreamBuilder {
     return this;
   }
 
+  /**
+   * @param readCacheBlockCount the number of blocks of committed events which are cached for the
+   *     readers of the log stream, or 0 to disable the cache
+   */
+  public LogStreamBuilder readCacheBlockCount(int readCacheBlockCount) {
+    this.readCacheBlockCount = readCacheBlockCount;
+    return this;
+  }
+
+  /**
+   * @param logRetention if <code>true</code>, log segments which are not needed anymore are deleted
+   *     after the block index snapshot is written
+   */
+  public LogStreamBuilder logRetention(boolean logRetention) {
+    this.logRetention = logRetention;
+    return this;
+  }
+
   public LogStreamBuilder logStorageStubber(
       Function<FsLogStorage, FsLogStorage> logStorageStubber) {
     this.logStorageStubber = logStorageStubber;
@@ -207,6 +254,22 @@ public class LogStreamBuilder {
     return onCommitPositionUpdatedConditions;
   }
 
+  public int getReadCacheBlockCount() {
+    return readCacheBlockCount;
+  }
+
+  public boolean isLogRetention() {
+    return logRetention;
+  }
+
+  public FsLogFlushPolicy getFlushPolicy() {
+    return flushPolicy;
+  }
+
+  public List<LongSupplier> getRetentionGuards() {
+    return retentionGuards;
+  }
+
   public ServiceName<LogStream> buildWith(CompositeServiceBuilder composite) {
     validate();
 
@@ -234,7 +297,11 @@ public class LogStreamBuilder {
 
     final FsLogStorageConfiguration storageConfig =
         new FsLogStorageConfiguration(
-            logSegmentSize, getLogDirectory(), initialLogSegmentId, deleteOnClose);
+            logSegmentSize,
+            getLogDirectory(),
+            initialLogSegmentId,
+            deleteOnClose,
+            scanLogOnOpen);
 
     final FsLogStorageService logStorageService =
         new FsLogStorageService(
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.fs;
+
+import io.zeebe.util.EnsureUtil;
+import java.time.Duration;
+
+/** Controls when the appended blocks of the log storage are flushed to disk. */
+public class FsLogFlushPolicy {
+  public enum Mode {
+    /** The blocks are flushed when the block index is written, appends are not durable. */
+    NONE,
+    /** The blocks are flushed after each append. Appends which arrive meanwhile are grouped. */
+    APPEND,
+    /** The blocks are flushed when the given amount of bytes is appended or the interval ends. */
+    GROUP
+  }
+
+  public static final FsLogFlushPolicy NONE = new FsLogFlushPolicy(Mode.NONE, 0, Duration.ZERO);
+
+  private final Mode mode;
+  private final long bytes;
+  private final Duration interval;
+
+  private FsLogFlushPolicy(Mode mode, long bytes, Duration interval) {
+    this.mode = mode;
+    this.bytes = bytes;
+    this.interval = interval;
+  }
+
+  public static FsLogFlushPolicy onAppend() {
+    return new FsLogFlushPolicy(Mode.APPEND, 0, Duration.ZERO);
+  }
+
+  /**
+   * @param bytes the amount of appended bytes which triggers a flush
+   * @param interval the maximum time between the append of a block and its flush
+   */
+  public static FsLogFlushPolicy group(long bytes, Duration interval) {
+    EnsureUtil.ensureGreaterThan("bytes", bytes, 0);
+    EnsureUtil.ensureGreaterThan("interval", interval.toMillis(), 0);
+
+    return new FsLogFlushPolicy(Mode.GROUP, bytes, interval);
+  }
+
+  public Mode getMode() {
+    return mode;
+  }
+
+  public long getBytes() {
+    return bytes;
+  }
+
+  public Duration getInterval() {
+    return interval;
+  }
+
+  /** @return true, if an appended block must be flushed before it can be committed */
+  public boolean isDurableAppend() {
+    return mode != Mode.NONE;
+  }
+
+  @Override
+  public String toString() {
+    return "FsLogFlushPolicy{mode=" + mode + ", bytes=" + bytes + ", interval=" + interval + "}";
+  }
+}
@@ -118,6 +118,14 @@ public class FsLogSegment {
     metadataSection.putInt(SEGMENT_ID_OFFSET, segmentId);
   }
 
+  public int getVersion() {
+    return metadataSection.getInt(VERSION_OFFSET);
+  }
+
+  protected void setVersion(int version) {
+    metadataSection.putInt(VERSION_OFFSET, version);
+  }
+
   public int getSize() {
     return metadataSection.getInt(SEGMENT_SIZE_OFFSET);
   }
@@ -161,6 +169,7 @@ public class FsLogSegment {
         openSegment(true);
 
         setSegmentId(segmentId);
+        setVersion(CURRENT_VERSION);
         setCapacity(segmentSize);
         setSizeVolatile(METADATA_LENGTH);
 
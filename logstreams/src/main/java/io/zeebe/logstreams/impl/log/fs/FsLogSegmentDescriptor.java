@@ -37,7 +37,7 @@ import static org.agrona.IoUtil.*;
  *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
  *  |                          Segment Id                           |
  *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
- *  |            Version           |          [unused]              |
+ *  |                            Version                            |
  *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
  *  |                        Segment Capacity                       |
  *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
@@ -61,6 +61,13 @@ public class FsLogSegmentDescriptor {
 
   public static final int METADATA_LENGTH;
 
+  /**
+   * The version of the segment format. Version 1 contains log entries with a checksum field (see
+   * {@link io.zeebe.logstreams.impl.LogEntryDescriptor}). Segments of version 0 were written with
+   * the previous log entry layout and can't be read anymore.
+   */
+  public static final int CURRENT_VERSION = 1;
+
   static {
     int offset = 0;
 
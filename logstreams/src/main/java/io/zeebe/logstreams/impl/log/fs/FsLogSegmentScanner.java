@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.fs;
+
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.*;
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.METADATA_LENGTH;
+
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
+import java.nio.ByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Validates the entries of a log segment. An entry is invalid if its frame is incomplete or if its
+ * checksum doesn't match.
+ */
+public class FsLogSegmentScanner {
+  public static final int DEFAULT_BUFFER_CAPACITY = 4 * 1024 * 1024;
+
+  private static final int MIN_FRAMED_LENGTH =
+      HEADER_LENGTH + LogEntryDescriptor.HEADER_BLOCK_LENGTH;
+
+  private final int initialBufferCapacity;
+
+  public FsLogSegmentScanner() {
+    this(DEFAULT_BUFFER_CAPACITY);
+  }
+
+  public FsLogSegmentScanner(int initialBufferCapacity) {
+    this.initialBufferCapacity = initialBufferCapacity;
+  }
+
+  /**
+   * Reads the segment sequentially and verifies each entry. Can be invoked concurrently for
+   * different segments.
+   *
+   * @return the offset of the first invalid entry, or the size of the segment if all entries are
+   *     valid
+   */
+  public int scan(FsLogSegment segment) {
+    final int size = segment.getSize();
+
+    ByteBuffer byteBuffer = ByteBuffer.allocateDirect(initialBufferCapacity);
+    final UnsafeBuffer buffer = new UnsafeBuffer(byteBuffer);
+
+    int segmentOffset = METADATA_LENGTH;
+
+    while (segmentOffset < size) {
+      byteBuffer.clear();
+
+      final int readBytes = segment.readBytes(byteBuffer, segmentOffset);
+      if (readBytes <= 0) {
+        return segmentOffset;
+      }
+
+      int offset = 0;
+      int nextFragmentLength = 0;
+
+      while (offset + HEADER_LENGTH <= readBytes) {
+        final int framedLength = buffer.getInt(lengthOffset(offset));
+        final int fragmentLength = alignedLength(framedLength);
+
+        if (framedLength < MIN_FRAMED_LENGTH || segmentOffset + offset + fragmentLength > size) {
+          // torn or corrupted frame
+          return segmentOffset + offset;
+        }
+
+        if (offset + fragmentLength > readBytes) {
+          nextFragmentLength = fragmentLength;
+          break;
+        }
+
+        final int messageLength = messageLength(framedLength);
+        if (!LogEntryDescriptor.isChecksumValid(buffer, messageOffset(offset), messageLength)) {
+          return segmentOffset + offset;
+        }
+
+        offset += fragmentLength;
+      }
+
+      if (offset == 0) {
+        if (nextFragmentLength == 0) {
+          // the remaining bytes are not enough for a frame header
+          return segmentOffset;
+        } else if (nextFragmentLength > byteBuffer.capacity()) {
+          // the entry doesn't fit into the buffer
+          byteBuffer = ByteBuffer.allocateDirect(nextFragmentLength);
+          buffer.wrap(byteBuffer);
+        }
+      }
+
+      segmentOffset += offset;
+    }
+
+    return segmentOffset;
+  }
+}
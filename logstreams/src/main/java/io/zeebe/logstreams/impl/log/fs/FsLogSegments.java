@@ -15,6 +15,9 @@
  */
 package io.zeebe.logstreams.impl.log.fs;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class FsLogSegments {
   protected int initalSegmentId = -1;
 
@@ -22,14 +25,17 @@ public class FsLogSegments {
 
   protected volatile int segmentCount = 0;
 
+  protected int removedSegmentCount = 0;
+
   public void init(int initalSegmentId, FsLogSegment[] initialSegments) {
     this.segments = initialSegments;
     this.initalSegmentId = initalSegmentId;
+    this.removedSegmentCount = 0;
     this.segmentCount = initialSegments.length; // volatile store
   }
 
   /** invoked by the conductor after a new segment has been allocated */
-  public void addSegment(FsLogSegment segment) {
+  public synchronized void addSegment(FsLogSegment segment) {
     final FsLogSegment[] newSegments = new FsLogSegment[segments.length + 1];
 
     System.arraycopy(segments, 0, newSegments, 0, segments.length);
@@ -39,6 +45,34 @@ public class FsLogSegments {
     this.segmentCount = newSegments.length; // volatile store
   }
 
+  /**
+   * Removes all segments with an id lower than the given one. The removed segments are not closed.
+   * Their slots are kept empty so that the ids of the remaining segments don't change for
+   * concurrent readers.
+   *
+   * @return the removed segments
+   */
+  public synchronized List<FsLogSegment> removeSegmentsBefore(int segmentId) {
+    final List<FsLogSegment> removedSegments = new ArrayList<>();
+
+    final FsLogSegment[] newSegments = new FsLogSegment[segments.length];
+    for (int i = 0; i < segments.length; i++) {
+      final FsLogSegment segment = segments[i];
+
+      if (segment != null && i + initalSegmentId < segmentId) {
+        removedSegments.add(segment);
+      } else {
+        newSegments[i] = segment;
+      }
+    }
+
+    this.segments = newSegments;
+    this.removedSegmentCount += removedSegments.size();
+    this.segmentCount = newSegments.length; // volatile store
+
+    return removedSegments;
+  }
+
   public FsLogSegment getSegment(int segmentId) {
     final int segmentCount = this.segmentCount; // volatile load
 
@@ -54,24 +88,33 @@ public class FsLogSegments {
   }
 
   public FsLogSegment getFirst() {
-    if (segmentCount > 0) {
-      return segments[0];
-    } else {
-      return null;
+    final int segmentCount = this.segmentCount; // volatile load
+
+    final FsLogSegment[] segments = this.segments;
+
+    for (int i = 0; i < segmentCount; i++) {
+      if (segments[i] != null) {
+        return segments[i];
+      }
     }
+
+    return null;
   }
 
   public void closeAll() {
     final FsLogSegment[] segments = this.segments;
     for (FsLogSegment readableLogSegment : segments) {
-      readableLogSegment.closeSegment();
+      if (readableLogSegment != null) {
+        readableLogSegment.closeSegment();
+      }
     }
 
     this.segments = new FsLogSegment[0];
+    this.removedSegmentCount = 0;
     this.segmentCount = 0;
   }
 
   public int getSegmentCount() {
-    return segmentCount;
+    return segmentCount - removedSegmentCount;
   }
 }
@@ -17,6 +17,7 @@ package io.zeebe.logstreams.impl.log.fs;
 
 import static io.zeebe.dispatcher.impl.PositionUtil.*;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegment.*;
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.CURRENT_VERSION;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.METADATA_LENGTH;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.SEGMENT_SIZE_OFFSET;
 import static io.zeebe.util.FileUtil.moveFile;
@@ -58,12 +59,20 @@ public class FsLogStorage implements LogStorage {
 
   protected FsLogSegment currentSegment;
 
-  protected int dirtySegmentId = -1;
+  /** the first segment which is not flushed yet, written by the appender and the flushing actor */
+  protected volatile int dirtySegmentId = -1;
+
+  /**
+   * Segments which are removed from the readable segments but not closed yet, since concurrent
+   * readers may still access them. They are closed and deleted on the next deletion.
+   */
+  protected final List<FsLogSegment> deletedSegments = new ArrayList<>();
 
   protected volatile int state = STATE_CREATED;
 
   private Metric totalBytesMetric;
   private Metric segmentCountMetric;
+  private FsLogFlushMetrics flushMetrics;
 
   private String topicName;
   private int partitionId;
@@ -118,7 +127,7 @@ public class FsLogStorage implements LogStorage {
     return opresult;
   }
 
-  protected void onSegmentFilled() {
+  protected synchronized void onSegmentFilled() {
     final FsLogSegment filledSegment = currentSegment;
 
     final int nextSegmentId = 1 + filledSegment.getSegmentId();
@@ -136,7 +145,7 @@ public class FsLogStorage implements LogStorage {
   }
 
   @Override
-  public void truncate(long address) {
+  public synchronized void truncate(long address) {
     ensureOpenedStorage();
 
     final int segmentId = partitionId(address);
@@ -167,6 +176,38 @@ public class FsLogStorage implements LogStorage {
     initLogSegments(logDir);
   }
 
+  @Override
+  public synchronized long delete(long address) {
+    ensureOpenedStorage();
+
+    closeDeletedSegments();
+
+    if (address >= 0) {
+      // never delete the segment which is currently written
+      final int segmentId = Math.min(partitionId(address), currentSegment.getSegmentId());
+
+      final List<FsLogSegment> removedSegments = logSegments.removeSegmentsBefore(segmentId);
+      for (FsLogSegment segment : removedSegments) {
+        LOG.info("Delete log segment {}", segment.getFileName());
+
+        totalBytesMetric.getAndAddOrdered(-segment.getSize());
+        deletedSegments.add(segment);
+      }
+
+      segmentCountMetric.setOrdered(logSegments.getSegmentCount());
+    }
+
+    return getFirstBlockAddress();
+  }
+
+  protected void closeDeletedSegments() {
+    for (FsLogSegment segment : deletedSegments) {
+      segment.closeSegment();
+      segment.delete();
+    }
+    deletedSegments.clear();
+  }
+
   protected void addressCheck(int segmentId, int segmentOffset) {
     final FsLogSegment segment = logSegments.getSegment(segmentId);
     if (segment == null || segmentOffset < METADATA_LENGTH || segmentOffset >= segment.getSize()) {
@@ -262,6 +303,7 @@ public class FsLogStorage implements LogStorage {
             .label("topic", topicName)
             .label("partition", String.valueOf(partitionId))
             .create();
+    flushMetrics = new FsLogFlushMetrics(metricsManager, topicName, partitionId);
 
     final String path = config.getPath();
     final File logDir = new File(path);
@@ -275,6 +317,10 @@ public class FsLogStorage implements LogStorage {
     checkConsistency();
 
     state = STATE_OPENED;
+
+    if (config.isScanOnOpen()) {
+      scanLogSegments();
+    }
   }
 
   protected void initLogSegments(File logDir) {
@@ -287,6 +333,12 @@ public class FsLogStorage implements LogStorage {
         (file) -> {
           final FsLogSegment segment = new FsLogSegment(file.getAbsolutePath());
           if (segment.openSegment(false)) {
+            if (segment.getVersion() != CURRENT_VERSION) {
+              throw new RuntimeException(
+                  String.format(
+                      "Cannot init log segment %s: unsupported version %d, expected %d",
+                      file, segment.getVersion(), CURRENT_VERSION));
+            }
             readableLogSegments.add(segment);
           } else {
             throw new RuntimeException("Cannot init log segment " + file);
@@ -329,8 +381,11 @@ public class FsLogStorage implements LogStorage {
     final FsLogSegment[] segmentsArray =
         readableLogSegments.toArray(new FsLogSegment[readableLogSegments.size()]);
 
+    // the first segments may be deleted already by the log retention
+    final int firstSegmentId = segmentsArray[0].getSegmentId();
+
     final FsLogSegments logSegments = new FsLogSegments();
-    logSegments.init(config.initialSegmentId, segmentsArray);
+    logSegments.init(firstSegmentId, segmentsArray);
     segmentCountMetric.setOrdered(logSegments.getSegmentCount());
 
     this.logSegments = logSegments;
@@ -351,6 +406,38 @@ public class FsLogStorage implements LogStorage {
     }
   }
 
+  /**
+   * Verifies the entries of all segments in parallel and truncates the log at the first invalid
+   * entry.
+   */
+  protected void scanLogSegments() {
+    final int firstSegmentId = logSegments.getFirst().getSegmentId();
+    final int lastSegmentId = currentSegment.getSegmentId();
+
+    final List<FsLogSegment> segments = new ArrayList<>();
+    for (int id = firstSegmentId; id <= lastSegmentId; id++) {
+      segments.add(logSegments.getSegment(id));
+    }
+
+    final FsLogSegmentScanner scanner = new FsLogSegmentScanner();
+    final int[] validSizes = segments.parallelStream().mapToInt(scanner::scan).toArray();
+
+    for (int i = 0; i < validSizes.length; i++) {
+      final FsLogSegment segment = segments.get(i);
+      final int validSize = validSizes[i];
+
+      if (validSize < segment.getSize()) {
+        LOG.warn(
+            "Found invalid log entry in segment {} at offset {}. Truncate the log.",
+            segment.getFileName(),
+            validSize);
+
+        truncate(position(segment.getSegmentId(), validSize));
+        return;
+      }
+    }
+  }
+
   protected void deleteBackupFilesIfExist(File logDir) {
     final List<File> backupFiles =
         Arrays.asList(logDir.listFiles(config::matchesBackupFileNamePattern));
@@ -412,10 +499,12 @@ public class FsLogStorage implements LogStorage {
   public void close() {
     segmentCountMetric.close();
     totalBytesMetric.close();
+    flushMetrics.close();
 
     ensureOpenedStorage();
 
     logSegments.closeAll();
+    closeDeletedSegments();
 
     if (config.isDeleteOnClose()) {
       final String logPath = config.getPath();
@@ -431,16 +520,31 @@ public class FsLogStorage implements LogStorage {
     state = STATE_CLOSED;
   }
 
+  /**
+   * Flushes the segments which are written since the last flush. The log storage flusher and the
+   * block index writer may flush concurrently, so flushes are serialized.
+   */
   @Override
-  public void flush() throws Exception {
+  public synchronized void flush() throws Exception {
     ensureOpenedStorage();
 
-    if (dirtySegmentId >= 0) {
-      for (int id = dirtySegmentId; id <= currentSegment.getSegmentId(); id++) {
-        logSegments.getSegment(id).flush();
-      }
+    final int firstDirtySegmentId = dirtySegmentId;
 
+    if (firstDirtySegmentId >= 0) {
+      // reset before flushing, so that a concurrent append marks its segment as dirty again
       dirtySegmentId = -1;
+
+      final long start = System.nanoTime();
+
+      for (int id = firstDirtySegmentId; id <= currentSegment.getSegmentId(); id++) {
+        final FsLogSegment segment = logSegments.getSegment(id);
+        // the segment may be deleted in the meantime
+        if (segment != null) {
+          segment.flush();
+        }
+      }
+
+      flushMetrics.recordFlush(System.nanoTime() - start);
     }
   }
 
@@ -466,6 +570,13 @@ public class FsLogStorage implements LogStorage {
     }
   }
 
+  @Override
+  public long getEndAddress() {
+    ensureOpenedStorage();
+
+    return position(currentSegment.getSegmentId(), currentSegment.getSizeVolatile());
+  }
+
   protected void ensureOpenedStorage() {
     if (state == STATE_CREATED) {
       throw new IllegalStateException("log storage is not open");
@@ -39,13 +39,29 @@ public class FsLogStorageConfiguration {
   protected final String path;
   protected final int initialSegmentId;
   protected final boolean deleteOnClose;
+  protected final boolean scanOnOpen;
 
   public FsLogStorageConfiguration(
       int segmentSize, String path, int initialSegmentId, boolean deleteOnClose) {
+    this(segmentSize, path, initialSegmentId, deleteOnClose, false);
+  }
+
+  /**
+   * @param scanOnOpen if true, the entries of all segments are verified when the storage is opened
+   *     and the log is truncated at the first invalid entry. Requires that the storage contains log
+   *     entries only.
+   */
+  public FsLogStorageConfiguration(
+      int segmentSize,
+      String path,
+      int initialSegmentId,
+      boolean deleteOnClose,
+      boolean scanOnOpen) {
     this.segmentSize = segmentSize;
     this.path = path;
     this.initialSegmentId = initialSegmentId;
     this.deleteOnClose = deleteOnClose;
+    this.scanOnOpen = scanOnOpen;
   }
 
   public String getFragmentFileNameTemplate() {
@@ -92,6 +108,10 @@ public class FsLogStorageConfiguration {
     return deleteOnClose;
   }
 
+  public boolean isScanOnOpen() {
+    return scanOnOpen;
+  }
+
   public int getInitialSegmentId() {
     return initialSegmentId;
   }
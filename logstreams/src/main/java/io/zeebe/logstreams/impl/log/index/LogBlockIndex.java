@@ -35,16 +35,24 @@ import org.agrona.concurrent.AtomicBuffer;
  * <p>In order to read an event, the position must be translated into the "physical address" of the
  * block in which it resides in storage. Then, the block can be scanned for the event position
  * requested.
+ *
+ * <p>In addition, the index tracks the highest source event position of the events which each
+ * producer wrote to the log (source index). A stream processor needs it on recovery to find the
+ * last event it has to reprocess, without reading the whole log.
  */
 public class LogBlockIndex implements SnapshotSupport {
   protected final AtomicBuffer indexBuffer;
 
   protected final int capacity;
 
+  protected final int sourceIndexOffset;
+
   protected long lastVirtualPosition = -1;
 
   public LogBlockIndex(int capacity, Function<Integer, AtomicBuffer> bufferAllocator) {
-    final int requiredBufferCapacity = dataOffset() + (capacity * entryLength());
+    this.sourceIndexOffset = sourceIndexOffset(capacity);
+
+    final int requiredBufferCapacity = sourceIndexOffset + sourceIndexLength();
 
     this.indexBuffer = bufferAllocator.apply(requiredBufferCapacity);
     this.capacity = capacity;
@@ -210,6 +218,94 @@ public class LogBlockIndex implements SnapshotSupport {
     return indexBuffer.getLong(entryAddressOffset(entryOffset));
   }
 
+  /**
+   * Raises the highest source event position of the producer to the given position, if it is
+   * higher. Invoked by the block index writer for committed events only.
+   *
+   * @return false, if the source index has no space left for the producer. In this case, the
+   *     source index position is not moved anymore.
+   */
+  public boolean updateLastSourceEventPosition(int producerId, long sourceEventPosition) {
+    final int size = indexBuffer.getInt(sourceIndexSizeOffset(sourceIndexOffset));
+
+    for (int i = 0; i < size; i++) {
+      final int entryOffset = sourceEntryOffset(sourceIndexOffset, i);
+
+      if (indexBuffer.getInt(sourceEntryProducerIdOffset(entryOffset)) == producerId) {
+        final int positionOffset = sourceEntrySourcePositionOffset(entryOffset);
+        if (indexBuffer.getLong(positionOffset) < sourceEventPosition) {
+          indexBuffer.putLongOrdered(positionOffset, sourceEventPosition);
+        }
+        return true;
+      }
+    }
+
+    if (size >= SOURCE_INDEX_CAPACITY) {
+      // the events of the producer are not tracked
+      markSourceIndexIncomplete();
+      return false;
+    }
+
+    final int entryOffset = sourceEntryOffset(sourceIndexOffset, size);
+    indexBuffer.putInt(sourceEntryProducerIdOffset(entryOffset), producerId);
+    indexBuffer.putLong(sourceEntrySourcePositionOffset(entryOffset), sourceEventPosition);
+
+    indexBuffer.putIntOrdered(sourceIndexSizeOffset(sourceIndexOffset), size + 1);
+    return true;
+  }
+
+  /**
+   * Stops moving the source index position, e.g. because the source index misses the events of a
+   * producer. The source index is still valid up to its current position.
+   */
+  public void markSourceIndexIncomplete() {
+    indexBuffer.putIntVolatile(sourceIndexIncompleteOffset(sourceIndexOffset), 1);
+  }
+
+  /**
+   * Marks that the source index contains the source event positions of all events up to the given
+   * position. Must be invoked after the source event positions of these events are updated.
+   */
+  public void setSourceIndexPosition(long position) {
+    final int incompleteOffset = sourceIndexIncompleteOffset(sourceIndexOffset);
+    final int positionOffset = sourceIndexPositionOffset(sourceIndexOffset);
+
+    if (indexBuffer.getIntVolatile(incompleteOffset) == 0
+        && indexBuffer.getLong(positionOffset) < position) {
+      indexBuffer.putLongOrdered(positionOffset, position);
+    }
+  }
+
+  /**
+   * @return the position up to which the source index contains the source event positions of all
+   *     events, or -1 if it doesn't contain any events
+   */
+  public long getSourceIndexPosition() {
+    return indexBuffer.getLongVolatile(sourceIndexPositionOffset(sourceIndexOffset));
+  }
+
+  /**
+   * Returns the highest source event position of the events which the producer wrote to the log.
+   * The result includes all events up to the {@link #getSourceIndexPosition() source index
+   * position}, and may include later events. The source index position must be read before.
+   *
+   * @param producerId the id of the producer
+   * @return the highest source event position of the producer, or -1 if the producer didn't write
+   *     any event with a source event position
+   */
+  public long lookupLastSourceEventPosition(int producerId) {
+    final int size = indexBuffer.getIntVolatile(sourceIndexSizeOffset(sourceIndexOffset));
+
+    for (int i = 0; i < size; i++) {
+      final int entryOffset = sourceEntryOffset(sourceIndexOffset, i);
+
+      if (indexBuffer.getInt(sourceEntryProducerIdOffset(entryOffset)) == producerId) {
+        return indexBuffer.getLongVolatile(sourceEntrySourcePositionOffset(entryOffset));
+      }
+    }
+    return -1L;
+  }
+
   private static void boundsCheck(int idx, int size) {
     if (idx < 0 || idx >= size) {
       throw new IllegalArgumentException(
@@ -239,5 +335,8 @@ public class LogBlockIndex implements SnapshotSupport {
     indexBuffer.putIntVolatile(indexSizeOffset(), 0);
 
     indexBuffer.setMemory(dataOffset(), capacity * entryLength(), (byte) 0);
+
+    indexBuffer.setMemory(sourceIndexOffset, sourceIndexLength(), (byte) 0);
+    indexBuffer.putLongVolatile(sourceIndexPositionOffset(sourceIndexOffset), -1L);
   }
 }
@@ -30,6 +30,23 @@ public class LogBlockIndexDescriptor {
 
   public static final int INDEX_SIZE_OFFSET;
 
+  /** the number of producers for which the highest source event position is tracked */
+  public static final int SOURCE_INDEX_CAPACITY = 64;
+
+  public static final int SOURCE_INDEX_POSITION_OFFSET;
+
+  public static final int SOURCE_INDEX_SIZE_OFFSET;
+
+  public static final int SOURCE_INDEX_INCOMPLETE_OFFSET;
+
+  public static final int SOURCE_INDEX_DATA_OFFSET;
+
+  public static final int SOURCE_ENTRY_PRODUCER_ID_OFFSET;
+
+  public static final int SOURCE_ENTRY_SOURCE_POSITION_OFFSET;
+
+  public static final int SOURCE_ENTRY_LENGTH;
+
   static {
     int offset = 0;
 
@@ -50,6 +67,30 @@ public class LogBlockIndexDescriptor {
     offset += 2 * CACHE_LINE_LENGTH;
 
     DATA_OFFSET = offset;
+
+    // the source index is located behind the block entries, relative to the end of them
+    offset = 0;
+
+    SOURCE_INDEX_POSITION_OFFSET = offset;
+    offset += SIZE_OF_LONG;
+
+    SOURCE_INDEX_SIZE_OFFSET = offset;
+    offset += SIZE_OF_INT;
+
+    SOURCE_INDEX_INCOMPLETE_OFFSET = offset;
+    offset += SIZE_OF_INT;
+
+    SOURCE_INDEX_DATA_OFFSET = offset;
+
+    offset = 0;
+
+    SOURCE_ENTRY_PRODUCER_ID_OFFSET = offset;
+    offset += SIZE_OF_LONG;
+
+    SOURCE_ENTRY_SOURCE_POSITION_OFFSET = offset;
+    offset += SIZE_OF_LONG;
+
+    SOURCE_ENTRY_LENGTH = offset;
   }
 
   public static int entryLength() {
@@ -75,4 +116,36 @@ public class LogBlockIndexDescriptor {
   public static int dataOffset() {
     return DATA_OFFSET;
   }
+
+  public static int sourceIndexOffset(int capacity) {
+    return entryOffset(capacity);
+  }
+
+  public static int sourceIndexLength() {
+    return SOURCE_INDEX_DATA_OFFSET + (SOURCE_INDEX_CAPACITY * SOURCE_ENTRY_LENGTH);
+  }
+
+  public static int sourceIndexPositionOffset(int sourceIndexOffset) {
+    return sourceIndexOffset + SOURCE_INDEX_POSITION_OFFSET;
+  }
+
+  public static int sourceIndexSizeOffset(int sourceIndexOffset) {
+    return sourceIndexOffset + SOURCE_INDEX_SIZE_OFFSET;
+  }
+
+  public static int sourceIndexIncompleteOffset(int sourceIndexOffset) {
+    return sourceIndexOffset + SOURCE_INDEX_INCOMPLETE_OFFSET;
+  }
+
+  public static int sourceEntryOffset(int sourceIndexOffset, int entryIdx) {
+    return sourceIndexOffset + SOURCE_INDEX_DATA_OFFSET + (entryIdx * SOURCE_ENTRY_LENGTH);
+  }
+
+  public static int sourceEntryProducerIdOffset(int offset) {
+    return offset + SOURCE_ENTRY_PRODUCER_ID_OFFSET;
+  }
+
+  public static int sourceEntrySourcePositionOffset(int offset) {
+    return offset + SOURCE_ENTRY_SOURCE_POSITION_OFFSET;
+  }
 }
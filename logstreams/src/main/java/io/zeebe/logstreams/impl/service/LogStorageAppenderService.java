@@ -16,9 +16,14 @@
 package io.zeebe.logstreams.impl.service;
 
 import io.zeebe.dispatcher.Subscription;
+import io.zeebe.logstreams.impl.CommandLatencyTracer;
 import io.zeebe.logstreams.impl.LogStorageAppender;
+import io.zeebe.logstreams.impl.LogStorageFlusher;
+import io.zeebe.logstreams.impl.log.fs.FsLogFlushPolicy;
 import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.servicecontainer.*;
+import io.zeebe.util.metrics.Histogram;
+import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.SchedulingHints;
 import io.zeebe.util.sched.channel.ActorConditions;
 
@@ -27,20 +32,43 @@ public class LogStorageAppenderService implements Service<LogStorageAppender> {
   private final Injector<Subscription> appenderSubscriptionInjector = new Injector<>();
 
   private final int maxAppendBlockSize;
+  private final FsLogFlushPolicy flushPolicy;
+  private final String topicName;
+  private final int partitionId;
+  private final CommandLatencyTracer commandLatencyTracer;
 
   private LogStorageAppender service;
+  private Histogram appendLatency;
   private ActorConditions onLogStorageAppendedConditions;
 
   public LogStorageAppenderService(
-      ActorConditions onLogStorageAppendedConditions, int maxAppendBlockSize) {
+      ActorConditions onLogStorageAppendedConditions,
+      int maxAppendBlockSize,
+      FsLogFlushPolicy flushPolicy,
+      String topicName,
+      int partitionId,
+      CommandLatencyTracer commandLatencyTracer) {
     this.onLogStorageAppendedConditions = onLogStorageAppendedConditions;
     this.maxAppendBlockSize = maxAppendBlockSize;
+    this.flushPolicy = flushPolicy;
+    this.topicName = topicName;
+    this.partitionId = partitionId;
+    this.commandLatencyTracer = commandLatencyTracer;
   }
 
   @Override
   public void start(ServiceStartContext startContext) {
     final LogStorage logStorage = logStorageInjector.getValue();
     final Subscription subscription = appenderSubscriptionInjector.getValue();
+    final ActorScheduler scheduler = startContext.getScheduler();
+
+    appendLatency =
+        scheduler
+            .getMetricsManager()
+            .newHistogram("logstream_append_latency_micros")
+            .label("topic", topicName)
+            .label("partition", String.valueOf(partitionId))
+            .create();
 
     service =
         new LogStorageAppender(
@@ -48,15 +76,28 @@ public class LogStorageAppenderService implements Service<LogStorageAppender> {
             logStorage,
             subscription,
             maxAppendBlockSize,
-            onLogStorageAppendedConditions);
+            onLogStorageAppendedConditions,
+            flushPolicy,
+            appendLatency,
+            commandLatencyTracer);
+
+    final LogStorageFlusher flusher = service.getFlusher();
+    if (flusher != null) {
+      // the flusher is closed by the appender; it has no affinity so that it does not block the
+      // appender's thread while it flushes
+      scheduler.submitActor(flusher, true, SchedulingHints.ioBound((short) 0));
+    }
 
-    startContext.async(
-        startContext.getScheduler().submitActor(service, true, SchedulingHints.ioBound((short) 0)));
+    // spread the appenders of the partitions over the io threads
+    final int schedulingHints =
+        SchedulingHints.setAffinity(partitionId, SchedulingHints.ioBound((short) 0));
+    startContext.async(scheduler.submitActor(service, true, schedulingHints));
   }
 
   @Override
   public void stop(ServiceStopContext stopContext) {
     stopContext.async(service.close());
+    appendLatency.close();
   }
 
   @Override
@@ -18,9 +18,11 @@ package io.zeebe.logstreams.impl.service;
 import static io.zeebe.logstreams.impl.service.LogStreamServiceNames.*;
 import static io.zeebe.logstreams.log.LogStreamUtil.INVALID_ADDRESS;
 import static io.zeebe.logstreams.log.LogStreamUtil.getAddressForPosition;
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
 
 import io.zeebe.dispatcher.*;
 import io.zeebe.logstreams.impl.*;
+import io.zeebe.logstreams.impl.log.fs.FsLogFlushPolicy;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.spi.LogStorage;
@@ -29,6 +31,8 @@ import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.channel.ActorConditions;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.util.List;
+import java.util.function.LongSupplier;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.status.Position;
 
@@ -52,6 +56,14 @@ public class LogStreamService implements LogStream, Service<LogStream> {
   private final int maxAppendBlockSize;
 
   private final Position commitPosition;
+  private final List<LongSupplier> retentionGuards;
+  /**
+   * retains the whole log while the log stream has no appender, i.e. is not the leader - a
+   * follower doesn't know the positions which the stream processors need when it becomes leader
+   */
+  private final LongSupplier noAppenderRetentionGuard = () -> -1L;
+  private final int readCacheBlockCount;
+  private final FsLogFlushPolicy flushPolicy;
   private volatile int term = 0;
 
   private ServiceStartContext serviceContext;
@@ -59,6 +71,8 @@ public class LogStreamService implements LogStream, Service<LogStream> {
   private LogStorage logStorage;
   private LogBlockIndex logBlockIndex;
   private LogBlockIndexWriter logBlockIndexWriter;
+  private LogBlockCache logBlockCache;
+  private CommandLatencyTracer commandLatencyTracer;
 
   private ActorFuture<Dispatcher> writeBufferFuture;
   private ActorFuture<LogStorageAppender> appenderFuture;
@@ -74,6 +88,11 @@ public class LogStreamService implements LogStream, Service<LogStream> {
     this.commitPosition = builder.getCommitPosition();
     this.writeBufferSize = ByteValue.ofBytes(builder.getWriteBufferSize());
     this.maxAppendBlockSize = builder.getMaxAppendBlockSize();
+    this.retentionGuards = builder.getRetentionGuards();
+    this.readCacheBlockCount = builder.getReadCacheBlockCount();
+    this.flushPolicy = builder.getFlushPolicy();
+
+    retentionGuards.add(noAppenderRetentionGuard);
   }
 
   @Override
@@ -84,6 +103,16 @@ public class LogStreamService implements LogStream, Service<LogStream> {
     logStorage = logStorageInjector.getValue();
     logBlockIndex = logBlockIndexInjector.getValue();
     logBlockIndexWriter = logBockIndexWriterInjector.getValue();
+
+    if (readCacheBlockCount > 0) {
+      logBlockCache = new LogBlockCache(readCacheBlockCount, LogBlockCache.DEFAULT_BLOCK_CAPACITY);
+    }
+
+    commandLatencyTracer =
+        new CommandLatencyTracer(
+            startContext.getScheduler().getMetricsManager(),
+            bufferAsString(topicName),
+            partitionId);
   }
 
   @Override
@@ -121,7 +150,13 @@ public class LogStreamService implements LogStream, Service<LogStream> {
         .install();
 
     final LogStorageAppenderService appenderService =
-        new LogStorageAppenderService(onLogStorageAppendedConditions, maxAppendBlockSize);
+        new LogStorageAppenderService(
+            onLogStorageAppendedConditions,
+            maxAppendBlockSize,
+            flushPolicy,
+            bufferAsString(topicName),
+            partitionId,
+            commandLatencyTracer);
     appenderFuture =
         installOperation
             .createService(logStorageAppenderServiceName, appenderService)
@@ -132,6 +167,8 @@ public class LogStreamService implements LogStream, Service<LogStream> {
                 appenderService.getLogStorageInjector())
             .install();
 
+    retentionGuards.remove(noAppenderRetentionGuard);
+
     return installOperation.installAndReturn(logStorageAppenderServiceName);
   }
 
@@ -142,12 +179,21 @@ public class LogStreamService implements LogStream, Service<LogStream> {
     appender = null;
     writeBuffer = null;
 
+    if (!retentionGuards.contains(noAppenderRetentionGuard)) {
+      retentionGuards.add(noAppenderRetentionGuard);
+    }
+
     return serviceContext.removeService(logStorageAppenderRootService(logName));
   }
 
   @Override
   public void stop(ServiceStopContext stopContext) {
-    // nothing to do
+    if (logBlockCache != null) {
+      // readers which are not closed yet fall back to the log storage
+      logBlockCache.close();
+    }
+
+    commandLatencyTracer.close();
   }
 
   @Override
@@ -190,6 +236,11 @@ public class LogStreamService implements LogStream, Service<LogStream> {
     return logBlockIndex;
   }
 
+  @Override
+  public LogBlockCache getLogBlockCache() {
+    return logBlockCache;
+  }
+
   @Override
   public LogBlockIndexWriter getLogBlockIndexWriter() {
     return logBlockIndexWriter;
@@ -211,6 +262,11 @@ public class LogStreamService implements LogStream, Service<LogStream> {
     return appender;
   }
 
+  @Override
+  public CommandLatencyTracer getCommandLatencyTracer() {
+    return commandLatencyTracer;
+  }
+
   @Override
   public long getCommitPosition() {
     return commitPosition.get();
@@ -234,6 +290,7 @@ public class LogStreamService implements LogStream, Service<LogStream> {
   @Override
   public void setCommitPosition(long commitPosition) {
     this.commitPosition.setOrdered(commitPosition);
+    commandLatencyTracer.onCommitted(commitPosition);
 
     onCommitPositionUpdatedConditions.signalConsumers();
   }
@@ -258,6 +315,16 @@ public class LogStreamService implements LogStream, Service<LogStream> {
     onLogStorageAppendedConditions.removeConsumer(condition);
   }
 
+  @Override
+  public void registerRetentionGuard(LongSupplier guard) {
+    retentionGuards.add(guard);
+  }
+
+  @Override
+  public void removeRetentionGuard(LongSupplier guard) {
+    retentionGuards.remove(guard);
+  }
+
   @Override
   public int getTerm() {
     return term;
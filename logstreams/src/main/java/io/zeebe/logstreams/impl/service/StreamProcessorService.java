@@ -35,7 +35,8 @@ public class StreamProcessorService implements Service<StreamProcessorService> {
 
   @Override
   public void start(ServiceStartContext startContext) {
-    startContext.async(controller.openAsync());
+    // interruptible, so that the stream processor can be closed while waiting for the recovery
+    startContext.async(controller.openAsync(), true);
   }
 
   @Override
@@ -39,10 +39,25 @@ public class FsSnapshotStorage implements SnapshotStorage {
 
   @Override
   public FsReadableSnapshot getLastSnapshot(final String name) {
+    final File snapshotFile = getLastSnapshotFile(name);
+    FsReadableSnapshot snapshot = null;
+
+    if (snapshotFile != null) {
+      final long logPosition = position(snapshotFile, name);
+      final String checksumFileName = cfg.checksumFileName(name, logPosition);
+      final File checksumFile = new File(checksumFileName);
+
+      snapshot = new FsReadableSnapshot(cfg, snapshotFile, checksumFile, logPosition);
+    }
+
+    return snapshot;
+  }
+
+  private File getLastSnapshotFile(final String name) {
     final File rootFile = new File(cfg.getRootPath());
     final List<File> snapshotFiles =
         Arrays.asList(rootFile.listFiles(file -> cfg.matchesSnapshotFileNamePattern(file, name)));
-    FsReadableSnapshot snapshot = null;
+    File snapshotFile = null;
 
     if (!snapshotFiles.isEmpty()) {
       final List<File> committedSortedSnapshotFiles =
@@ -53,16 +68,56 @@ public class FsSnapshotStorage implements SnapshotStorage {
               .collect(Collectors.toList());
 
       if (!committedSortedSnapshotFiles.isEmpty()) {
-        final File snapshotFile = committedSortedSnapshotFiles.get(0);
-        final long logPosition = position(snapshotFile, name);
-        final String checksumFileName = cfg.checksumFileName(name, logPosition);
-        final File checksumFile = new File(checksumFileName);
-
-        snapshot = new FsReadableSnapshot(cfg, snapshotFile, checksumFile, logPosition);
+        snapshotFile = committedSortedSnapshotFiles.get(0);
       }
     }
 
-    return snapshot;
+    return snapshotFile;
+  }
+
+  @Override
+  public FsReadableSnapshot getLastDeltaSnapshot(final String name) {
+    final File snapshotFile = getLastSnapshotFile(name);
+    final File deltaSnapshotFile = getLastDeltaSnapshotFile(name);
+    FsReadableSnapshot deltaSnapshot = null;
+
+    // a delta which is older than the snapshot belongs to a previous snapshot
+    if (snapshotFile != null
+        && deltaSnapshotFile != null
+        && deltaPosition(deltaSnapshotFile, name) > position(snapshotFile, name)) {
+      deltaSnapshot = openDeltaSnapshot(deltaSnapshotFile, name);
+    }
+
+    return deltaSnapshot;
+  }
+
+  private FsReadableSnapshot getLastDeltaSnapshotIfExists(final String name) {
+    final File deltaSnapshotFile = getLastDeltaSnapshotFile(name);
+    return deltaSnapshotFile != null ? openDeltaSnapshot(deltaSnapshotFile, name) : null;
+  }
+
+  private File getLastDeltaSnapshotFile(final String name) {
+    final File rootFile = new File(cfg.getRootPath());
+    final File[] deltaSnapshotFiles =
+        rootFile.listFiles(file -> cfg.matchesDeltaSnapshotFileNamePattern(file, name));
+    File deltaSnapshotFile = null;
+
+    if (deltaSnapshotFiles != null) {
+      deltaSnapshotFile =
+          Arrays.stream(deltaSnapshotFiles)
+              .filter((f) -> getDeltaChecksumFile(f, name).exists())
+              .max(Comparator.comparingLong((f) -> deltaPosition(f, name)))
+              .orElse(null);
+    }
+
+    return deltaSnapshotFile;
+  }
+
+  private FsReadableSnapshot openDeltaSnapshot(final File deltaSnapshotFile, final String name) {
+    final long logPosition = deltaPosition(deltaSnapshotFile, name);
+    final File checksumFile = getDeltaChecksumFile(deltaSnapshotFile, name);
+
+    return new FsReadableSnapshot(cfg, deltaSnapshotFile, checksumFile, logPosition);
   }
 
   @Override
@@ -80,12 +135,22 @@ public class FsSnapshotStorage implements SnapshotStorage {
 
       deletionSuccessful = true;
     }
+
+    final File[] deltaSnapshotFiles =
+        rootFile.listFiles(file -> cfg.matchesDeltaSnapshotFileNamePattern(file, name));
+    if (deltaSnapshotFiles != null) {
+      for (File deltaSnapshotFile : deltaSnapshotFiles) {
+        getDeltaChecksumFile(deltaSnapshotFile, name).delete();
+        deltaSnapshotFile.delete();
+      }
+    }
     return deletionSuccessful;
   }
 
   @Override
   public FsSnapshotWriter createSnapshot(String name, long logPosition) throws Exception {
     final FsReadableSnapshot lastSnapshot = getLastSnapshot(name);
+    final FsReadableSnapshot lastDeltaSnapshot = getLastDeltaSnapshotIfExists(name);
 
     final String snapshotFileName = cfg.snapshotFileName(name, logPosition);
     final String checksumFileName = cfg.checksumFileName(name, logPosition);
@@ -106,7 +171,45 @@ public class FsSnapshotStorage implements SnapshotStorage {
       throw e;
     }
 
-    return new FsSnapshotWriter(cfg, snapshotFile, checksumFile, lastSnapshot);
+    return new FsSnapshotWriter(cfg, snapshotFile, checksumFile, lastSnapshot, lastDeltaSnapshot);
+  }
+
+  @Override
+  public FsSnapshotWriter createDeltaSnapshot(String name, long logPosition) throws Exception {
+    final File lastSnapshotFile = getLastSnapshotFile(name);
+
+    if (lastSnapshotFile == null) {
+      throw new IllegalStateException(
+          String.format("Cannot write delta snapshot %s, no snapshot exists.", name));
+    }
+
+    if (position(lastSnapshotFile, name) >= logPosition) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Cannot write delta snapshot %s, position %d is not after the snapshot.",
+              name, logPosition));
+    }
+
+    final File snapshotFile = new File(cfg.deltaSnapshotFileName(name, logPosition));
+    final File checksumFile = new File(cfg.deltaChecksumFileName(name, logPosition));
+
+    if (snapshotFile.exists()) {
+      throw new RuntimeException(
+          String.format(
+              "Cannot write delta snapshot %s, file already exists.",
+              snapshotFile.getAbsolutePath()));
+    }
+
+    final FsReadableSnapshot lastDeltaSnapshot = getLastDeltaSnapshotIfExists(name);
+
+    try {
+      snapshotFile.createNewFile();
+    } catch (IOException e) {
+      snapshotFile.delete();
+      throw e;
+    }
+
+    return new FsSnapshotWriter(cfg, snapshotFile, checksumFile, lastDeltaSnapshot);
   }
 
   @Override
@@ -147,13 +250,14 @@ public class FsSnapshotStorage implements SnapshotStorage {
     }
 
     final FsReadableSnapshot lastSnapshot = getLastSnapshot(name);
+    final FsReadableSnapshot lastDeltaSnapshot = getLastDeltaSnapshotIfExists(name);
     final File destinationFile = new File(snapshotName);
     final File checksumFile = new File(cfg.checksumFileName(name, logPosition));
     final File temporaryFile = File.createTempFile(snapshotName, null, new File(cfg.getRootPath()));
     temporaryFile.deleteOnExit();
 
     return new FsTemporarySnapshotWriter(
-        cfg, temporaryFile, checksumFile, destinationFile, lastSnapshot);
+        cfg, temporaryFile, checksumFile, destinationFile, lastSnapshot, lastDeltaSnapshot);
   }
 
   @Override
@@ -166,6 +270,15 @@ public class FsSnapshotStorage implements SnapshotStorage {
     return cfg.getPositionOfSnapshotFile(file, snapshotName);
   }
 
+  protected long deltaPosition(File file, String snapshotName) {
+    return cfg.getPositionOfDeltaSnapshotFile(file, snapshotName);
+  }
+
+  private File getDeltaChecksumFile(final File deltaSnapshotFile, final String snapshotName) {
+    final long logPosition = deltaPosition(deltaSnapshotFile, snapshotName);
+    return new File(cfg.deltaChecksumFileName(snapshotName, logPosition));
+  }
+
   private File getChecksumFile(final File snapshotFile, final String snapshotName) {
     final long logPosition = position(snapshotFile, snapshotName);
     final String checksumFileName = cfg.checksumFileName(snapshotName, logPosition);
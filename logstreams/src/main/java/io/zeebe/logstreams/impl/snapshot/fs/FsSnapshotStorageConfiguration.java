@@ -30,6 +30,14 @@ public class FsSnapshotStorageConfiguration {
   protected static final String CHECKSUM_FILE_NAME_TEMPLATE =
       "%s" + File.separatorChar + "%s-%d." + CHECKSUM_ALGORITHM.toLowerCase();
 
+  protected static final String DELTA_SNAPSHOT_FILE_NAME_TEMPLATE = "%s-%d.delta";
+  protected static final String DELTA_SNAPSHOT_FILE_PATH_TEMPLATE =
+      "%s" + File.separatorChar + DELTA_SNAPSHOT_FILE_NAME_TEMPLATE;
+  protected static final String DELTA_SNAPSHOT_FILE_NAME_PATTERN = "%s-(\\d+)\\.delta";
+
+  protected static final String DELTA_CHECKSUM_FILE_NAME_TEMPLATE =
+      "%s" + File.separatorChar + "%s-%d.delta." + CHECKSUM_ALGORITHM.toLowerCase();
+
   protected static final String CHECKSUM_CONTENT_SEPARATOR = "  ";
   protected static final String CHECKSUM_CONTENT_TEMPLATE =
       "%s" + CHECKSUM_CONTENT_SEPARATOR + "%s" + System.lineSeparator();
@@ -56,6 +64,32 @@ public class FsSnapshotStorageConfiguration {
     return String.format(CHECKSUM_FILE_NAME_TEMPLATE, rootPath, name, logPosition);
   }
 
+  public String deltaSnapshotFileName(String name, long logPosition) {
+    return String.format(DELTA_SNAPSHOT_FILE_PATH_TEMPLATE, rootPath, name, logPosition);
+  }
+
+  public String deltaChecksumFileName(String name, long logPosition) {
+    return String.format(DELTA_CHECKSUM_FILE_NAME_TEMPLATE, rootPath, name, logPosition);
+  }
+
+  public boolean matchesDeltaSnapshotFileNamePattern(File file, String name) {
+    final String pattern = String.format(DELTA_SNAPSHOT_FILE_NAME_PATTERN, name);
+    return file.getName().matches(pattern);
+  }
+
+  public long getPositionOfDeltaSnapshotFile(File file, String name) {
+    final String fileName = file.getName();
+
+    final String pattern = String.format(DELTA_SNAPSHOT_FILE_NAME_PATTERN, name);
+    final Matcher matcher = Pattern.compile(pattern).matcher(fileName);
+    if (matcher.find()) {
+      return Long.parseLong(matcher.group(1));
+    } else {
+      throw new IllegalArgumentException(
+          "Cannot resolve position of delta snapshot file: " + fileName);
+    }
+  }
+
   public boolean matchesSnapshotFileNamePattern(File file, String name) {
     final String pattern = String.format(SNAPSHOT_FILE_NAME_PATTERN, name);
     return file.getName().matches(pattern);
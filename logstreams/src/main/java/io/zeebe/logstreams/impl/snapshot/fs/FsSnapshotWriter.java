@@ -37,6 +37,7 @@ public class FsSnapshotWriter implements SnapshotWriter {
   protected final File dataFile;
   protected final File checksumFile;
   protected final FsReadableSnapshot lastSnapshot;
+  protected final FsReadableSnapshot lastDeltaSnapshot;
 
   protected DigestOutputStream dataOutputStream;
 
@@ -45,10 +46,25 @@ public class FsSnapshotWriter implements SnapshotWriter {
       File snapshotFile,
       File checksumFile,
       FsReadableSnapshot lastSnapshot) {
+    this(config, snapshotFile, checksumFile, lastSnapshot, null);
+  }
+
+  /**
+   * @param lastSnapshot the snapshot which is replaced by this one, deleted on commit
+   * @param lastDeltaSnapshot the delta snapshot which is based on the replaced snapshot, deleted on
+   *     commit
+   */
+  public FsSnapshotWriter(
+      FsSnapshotStorageConfiguration config,
+      File snapshotFile,
+      File checksumFile,
+      FsReadableSnapshot lastSnapshot,
+      FsReadableSnapshot lastDeltaSnapshot) {
     this.config = config;
     this.dataFile = snapshotFile;
     this.checksumFile = checksumFile;
     this.lastSnapshot = lastSnapshot;
+    this.lastDeltaSnapshot = lastDeltaSnapshot;
 
     initOutputStreams(config, snapshotFile);
   }
@@ -154,5 +170,10 @@ public class FsSnapshotWriter implements SnapshotWriter {
       LOG.info("Delete last snapshot file {}.", lastSnapshot.getDataFile());
       lastSnapshot.delete();
     }
+
+    if (lastDeltaSnapshot != null) {
+      LOG.info("Delete last delta snapshot file {}.", lastDeltaSnapshot.getDataFile());
+      lastDeltaSnapshot.delete();
+    }
   }
 }
@@ -34,7 +34,17 @@ public class FsTemporarySnapshotWriter extends FsSnapshotWriter {
       final File checksumFile,
       final File snapshotFile,
       final FsReadableSnapshot lastSnapshot) {
-    super(config, temporaryFile, checksumFile, lastSnapshot);
+    this(config, temporaryFile, checksumFile, snapshotFile, lastSnapshot, null);
+  }
+
+  public FsTemporarySnapshotWriter(
+      final FsSnapshotStorageConfiguration config,
+      final File temporaryFile,
+      final File checksumFile,
+      final File snapshotFile,
+      final FsReadableSnapshot lastSnapshot,
+      final FsReadableSnapshot lastDeltaSnapshot) {
+    super(config, temporaryFile, checksumFile, lastSnapshot, lastDeltaSnapshot);
     this.snapshotFile = snapshotFile;
   }
 
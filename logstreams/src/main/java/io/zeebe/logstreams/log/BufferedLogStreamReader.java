@@ -16,6 +16,7 @@
 package io.zeebe.logstreams.log;
 
 import io.zeebe.logstreams.impl.CompleteEventsInBlockProcessor;
+import io.zeebe.logstreams.impl.LogBlockCache;
 import io.zeebe.logstreams.impl.LogEntryDescriptor;
 import io.zeebe.logstreams.impl.LoggedEventImpl;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
@@ -46,6 +47,7 @@ public class BufferedLogStreamReader implements LogStreamReader {
   private LogStream logStream;
   private LogStorage logStorage;
   private LogBlockIndex logBlockIndex;
+  private LogBlockCache logBlockCache;
 
   // state
   private IteratorState state;
@@ -88,7 +90,7 @@ public class BufferedLogStreamReader implements LogStreamReader {
   @Override
   public void wrap(final LogStream log, final long position) {
     logStream = log;
-    wrap(log.getLogStorage(), log.getLogBlockIndex(), position);
+    wrap(log.getLogStorage(), log.getLogBlockIndex(), log.getLogBlockCache(), position);
   }
 
   public void wrap(final LogStorage logStorage, final LogBlockIndex logBlockIndex) {
@@ -97,8 +99,17 @@ public class BufferedLogStreamReader implements LogStreamReader {
 
   public void wrap(
       final LogStorage logStorage, final LogBlockIndex logBlockIndex, final long position) {
+    wrap(logStorage, logBlockIndex, null, position);
+  }
+
+  private void wrap(
+      final LogStorage logStorage,
+      final LogBlockIndex logBlockIndex,
+      final LogBlockCache logBlockCache,
+      final long position) {
     this.logStorage = logStorage;
     this.logBlockIndex = logBlockIndex;
+    this.logBlockCache = logBlockCache;
 
     if (isClosed()) {
       allocateBuffer(DEFAULT_INITIAL_BUFFER_CAPACITY);
@@ -176,6 +187,7 @@ public class BufferedLogStreamReader implements LogStreamReader {
       logStream = null;
       logStorage = null;
       logBlockIndex = null;
+      logBlockCache = null;
 
       state = IteratorState.WRAP_NOT_CALLED;
     }
@@ -293,6 +305,16 @@ public class BufferedLogStreamReader implements LogStreamReader {
       compactBuffer();
     }
 
+    if (logBlockCache != null) {
+      final long nextAddress = logBlockCache.read(blockAddress, byteBuffer);
+
+      if (nextAddress >= 0) {
+        this.nextLogStorageReadAddress = nextAddress;
+        return true;
+      }
+    }
+
+    final int readOffset = byteBuffer.position();
     final long result = logStorage.read(byteBuffer, blockAddress, completeEventsInBlockProcessor);
 
     if (result == LogStorage.OP_RESULT_INSUFFICIENT_BUFFER_CAPACITY) {
@@ -310,10 +332,43 @@ public class BufferedLogStreamReader implements LogStreamReader {
       return false;
     } else {
       this.nextLogStorageReadAddress = result;
+
+      if (logBlockCache != null) {
+        cacheCommittedEvents(blockAddress, readOffset, result);
+      }
+
       return true;
     }
   }
 
+  /** Shares the read events with the other readers of the log stream, if they are committed. */
+  private void cacheCommittedEvents(
+      final long blockAddress, final int readOffset, final long nextAddress) {
+    final int readEnd = byteBuffer.position();
+    final int maxLength = logBlockCache.getBlockCapacity();
+    final long commitPosition = getCommitPosition();
+
+    int offset = readOffset;
+    while (offset < readEnd) {
+      final int fragmentLength = LogEntryDescriptor.getFragmentLength(directBuffer, offset);
+
+      if (offset + fragmentLength - readOffset > maxLength
+          || LogEntryDescriptor.getPosition(directBuffer, offset) > commitPosition) {
+        break;
+      }
+
+      offset += fragmentLength;
+    }
+
+    final int length = offset - readOffset;
+    if (length > 0) {
+      // the events may be read from the next segment, so calculate the address of the first one
+      final long eventsAddress = nextAddress - (readEnd - readOffset);
+
+      logBlockCache.put(blockAddress, directBuffer, readOffset, length, eventsAddress + length);
+    }
+  }
+
   private boolean searchPositionInBuffer(final long position) {
     while (isNextUncommittedEventAvailable() && nextEvent.getPosition() < position) {
       readNextEvent();
@@ -336,6 +391,9 @@ public class BufferedLogStreamReader implements LogStreamReader {
     if (address < 0) {
       // position not found in index fallback to first block
       address = logStorage.getFirstBlockAddress();
+    } else {
+      // the block may be deleted by the log retention fallback to first block
+      address = Math.max(address, logStorage.getFirstBlockAddress());
     }
 
     return address;
@@ -16,12 +16,15 @@
 package io.zeebe.logstreams.log;
 
 import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.logstreams.impl.CommandLatencyTracer;
+import io.zeebe.logstreams.impl.LogBlockCache;
 import io.zeebe.logstreams.impl.LogBlockIndexWriter;
 import io.zeebe.logstreams.impl.LogStorageAppender;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
 import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.util.function.LongSupplier;
 import org.agrona.DirectBuffer;
 
 /**
@@ -91,6 +94,13 @@ public interface LogStream extends AutoCloseable {
    */
   LogBlockIndex getLogBlockIndex();
 
+  /**
+   * Returns the cache of committed blocks which is shared by the readers of the log stream.
+   *
+   * @return the log block cache, or null if the cache is disabled
+   */
+  LogBlockCache getLogBlockCache();
+
   /**
    * Returns the writeBuffer, which is used by the LogStreamController to stream the content into
    * the log storage.
@@ -107,6 +117,14 @@ public interface LogStream extends AutoCloseable {
    */
   LogStorageAppender getLogStorageAppender();
 
+  /**
+   * Returns the tracer which samples the latency of the commands through the stages of the log
+   * stream.
+   *
+   * @return the command latency tracer
+   */
+  CommandLatencyTracer getCommandLatencyTracer();
+
   /**
    * Returns the log block index controller, which creates periodically the block index for the log
    * storage.
@@ -146,4 +164,13 @@ public interface LogStream extends AutoCloseable {
   void registerOnAppendCondition(ActorCondition condition);
 
   void removeOnAppendCondition(ActorCondition condition);
+
+  /**
+   * Registers a guard which protects the log from being deleted by the log retention. The guard
+   * returns the lowest position which is still needed, or a negative value if the whole log is
+   * needed. The guard is invoked concurrently by the log retention.
+   */
+  void registerRetentionGuard(LongSupplier guard);
+
+  void removeRetentionGuard(LongSupplier guard);
 }
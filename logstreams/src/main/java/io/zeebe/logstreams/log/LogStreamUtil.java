@@ -90,6 +90,8 @@ public class LogStreamUtil {
       final int indexSize = blockIndex.size();
       if (indexSize > 0) {
         nextReadAddress = blockIndex.lookupBlockAddress(position);
+        // the block may be deleted by the log retention
+        nextReadAddress = Math.max(nextReadAddress, logStorage.getFirstBlockAddress());
       } else {
         // fallback: get first block address
         nextReadAddress = logStorage.getFirstBlockAddress();
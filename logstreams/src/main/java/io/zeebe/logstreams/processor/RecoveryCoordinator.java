@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.processor;
+
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Limits the number of stream processors which recover at the same time, i.e. which restore their
+ * state from a snapshot and reprocess the log. On broker startup, all partitions recover
+ * concurrently. Bounding the parallelism keeps the threads responsive and lets the first partitions
+ * finish early, instead of all partitions competing for the same threads and disk.
+ *
+ * <p>The coordinator is shared between the stream processors of a broker and is thread-safe.
+ */
+public class RecoveryCoordinator {
+  private final int maxConcurrentRecoveries;
+
+  private final Queue<CompletableActorFuture<Void>> pendingRecoveries = new ArrayDeque<>();
+  private int activeRecoveries;
+
+  /** @param maxConcurrentRecoveries the maximum number of stream processors recovering at once */
+  public RecoveryCoordinator(int maxConcurrentRecoveries) {
+    if (maxConcurrentRecoveries < 1) {
+      throw new IllegalArgumentException("Max concurrent recoveries must be greater than 0.");
+    }
+    this.maxConcurrentRecoveries = maxConcurrentRecoveries;
+  }
+
+  /**
+   * Requests to start a recovery. The caller must invoke {@link #release()} once the recovery is
+   * finished or failed.
+   *
+   * @return a future which is completed when the recovery can start
+   */
+  public synchronized ActorFuture<Void> acquire() {
+    if (activeRecoveries < maxConcurrentRecoveries) {
+      activeRecoveries += 1;
+      return CompletableActorFuture.completed(null);
+    } else {
+      final CompletableActorFuture<Void> future = new CompletableActorFuture<>();
+      pendingRecoveries.add(future);
+      return future;
+    }
+  }
+
+  /** Finishes a recovery and lets the next pending one start. */
+  public void release() {
+    final CompletableActorFuture<Void> nextRecovery;
+
+    synchronized (this) {
+      nextRecovery = pendingRecoveries.poll();
+      if (nextRecovery == null) {
+        activeRecoveries = Math.max(0, activeRecoveries - 1);
+      }
+    }
+
+    // the permit is handed over, complete outside of the lock since it may resume an actor
+    if (nextRecovery != null) {
+      nextRecovery.complete(null);
+    }
+  }
+
+  /**
+   * Withdraws a pending request which was made by {@link #acquire()}, e.g. because the stream
+   * processor is closed while waiting. The future of the request is completed exceptionally.
+   *
+   * @return true if the request was pending, false if the recovery could already start - then the
+   *     caller must still invoke {@link #release()}
+   */
+  public boolean cancel(ActorFuture<Void> recovery) {
+    final boolean isPending;
+
+    synchronized (this) {
+      isPending = pendingRecoveries.remove(recovery);
+    }
+
+    if (isPending) {
+      recovery.completeExceptionally(new CancellationException("Recovery was cancelled"));
+    }
+
+    return isPending;
+  }
+
+  public int getMaxConcurrentRecoveries() {
+    return maxConcurrentRecoveries;
+  }
+
+  public synchronized int getActiveRecoveries() {
+    return activeRecoveries;
+  }
+
+  public synchronized int getPendingRecoveries() {
+    return pendingRecoveries.size();
+  }
+}
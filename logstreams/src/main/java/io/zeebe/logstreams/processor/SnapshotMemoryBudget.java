@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.processor;
+
+/**
+ * Limits the memory which stream processors use for the in-memory copies of their state, while
+ * their snapshots are written in the background. A stream processor whose copy doesn't fit into
+ * the remaining budget writes its snapshot directly instead, i.e. it pauses the processing until
+ * the snapshot is written.
+ *
+ * <p>The budget is shared between the stream processors of a broker and is thread-safe.
+ */
+public class SnapshotMemoryBudget {
+  private final long maxBytes;
+
+  private long reservedBytes;
+
+  /** @param maxBytes the maximum number of bytes which are reserved at once */
+  public SnapshotMemoryBudget(long maxBytes) {
+    if (maxBytes < 0) {
+      throw new IllegalArgumentException("Max bytes must not be negative.");
+    }
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Reserves the memory for a copy of the state. The caller must invoke {@link #release(long)} with
+   * the same number of bytes once the copy is discarded.
+   *
+   * @return true if the bytes are reserved, false if they exceed the remaining budget
+   */
+  public synchronized boolean tryReserve(long bytes) {
+    if (bytes < 0) {
+      throw new IllegalArgumentException("Bytes must not be negative.");
+    }
+
+    if (bytes <= maxBytes - reservedBytes) {
+      reservedBytes += bytes;
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  /** Returns reserved memory to the budget. */
+  public synchronized void release(long bytes) {
+    reservedBytes = Math.max(0, reservedBytes - bytes);
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  public synchronized long getReservedBytes() {
+    return reservedBytes;
+  }
+}
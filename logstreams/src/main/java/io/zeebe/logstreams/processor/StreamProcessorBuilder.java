@@ -36,6 +36,7 @@ public class StreamProcessorBuilder {
   protected ActorScheduler actorScheduler;
 
   protected Duration snapshotPeriod;
+  protected int maxDeltaSnapshots;
   protected SnapshotStorage snapshotStorage;
 
   protected LogStreamReader logStreamReader;
@@ -45,6 +46,12 @@ public class StreamProcessorBuilder {
 
   protected boolean readOnly;
 
+  protected int maxEventsPerJob = 1;
+  protected Duration maxJobDuration;
+
+  protected RecoveryCoordinator recoveryCoordinator;
+  protected SnapshotMemoryBudget snapshotMemoryBudget;
+
   protected ServiceContainer serviceContainer;
   private List<ServiceName<?>> additionalDependencies;
 
@@ -75,6 +82,15 @@ public class StreamProcessorBuilder {
     return this;
   }
 
+  /**
+   * @param maxDeltaSnapshots the number of delta snapshots which are written between two full
+   *     snapshots. A value of 0 (default) writes full snapshots only.
+   */
+  public StreamProcessorBuilder maxDeltaSnapshots(int maxDeltaSnapshots) {
+    this.maxDeltaSnapshots = maxDeltaSnapshots;
+    return this;
+  }
+
   public StreamProcessorBuilder snapshotStorage(SnapshotStorage snapshotStorage) {
     this.snapshotStorage = snapshotStorage;
     return this;
@@ -91,6 +107,43 @@ public class StreamProcessorBuilder {
     return this;
   }
 
+  /**
+   * @param maxEventsPerJob the maximum number of events which are processed within one actor job,
+   *     one after another. A value of 1 (default) processes every event in its own job.
+   */
+  public StreamProcessorBuilder maxEventsPerJob(int maxEventsPerJob) {
+    this.maxEventsPerJob = maxEventsPerJob;
+    return this;
+  }
+
+  /**
+   * @param maxJobDuration the time after which the actor job ends, even if it has not processed the
+   *     max events per job yet
+   */
+  public StreamProcessorBuilder maxJobDuration(Duration maxJobDuration) {
+    this.maxJobDuration = maxJobDuration;
+    return this;
+  }
+
+  /**
+   * @param recoveryCoordinator limits the number of stream processors which recover concurrently.
+   *     May be null (default) to recover without waiting for other stream processors.
+   */
+  public StreamProcessorBuilder recoveryCoordinator(RecoveryCoordinator recoveryCoordinator) {
+    this.recoveryCoordinator = recoveryCoordinator;
+    return this;
+  }
+
+  /**
+   * @param snapshotMemoryBudget limits the memory of the state copies which are taken to write
+   *     snapshots in the background. May be null (default) to use a budget of {@link
+   *     StreamProcessorController#MAX_FORKED_SNAPSHOT_LENGTH} for this stream processor only.
+   */
+  public StreamProcessorBuilder snapshotMemoryBudget(SnapshotMemoryBudget snapshotMemoryBudget) {
+    this.snapshotMemoryBudget = snapshotMemoryBudget;
+    return this;
+  }
+
   public StreamProcessorBuilder serviceContainer(ServiceContainer serviceContainer) {
     this.serviceContainer = serviceContainer;
     return this;
@@ -129,6 +182,14 @@ public class StreamProcessorBuilder {
     Objects.requireNonNull(actorScheduler, "No task scheduler provided.");
     Objects.requireNonNull(snapshotStorage, "No snapshot storage provided.");
     Objects.requireNonNull(serviceContainer, "No service container provided.");
+
+    if (maxEventsPerJob < 1) {
+      throw new IllegalArgumentException("Max events per job must be greater than 0.");
+    }
+
+    if (maxDeltaSnapshots < 0) {
+      throw new IllegalArgumentException("Max delta snapshots must not be negative.");
+    }
   }
 
   private StreamProcessorContext createContext() {
@@ -150,6 +211,21 @@ public class StreamProcessorBuilder {
       snapshotPeriod = Duration.ofMinutes(1);
     }
     ctx.setSnapshotPeriod(snapshotPeriod);
+    ctx.setMaxDeltaSnapshots(maxDeltaSnapshots);
+
+    if (maxJobDuration == null) {
+      maxJobDuration = Duration.ofMillis(5);
+    }
+    ctx.setMaxEventsPerJob(maxEventsPerJob);
+    ctx.setMaxJobDuration(maxJobDuration);
+
+    ctx.setRecoveryCoordinator(recoveryCoordinator);
+
+    if (snapshotMemoryBudget == null) {
+      snapshotMemoryBudget =
+          new SnapshotMemoryBudget(StreamProcessorController.MAX_FORKED_SNAPSHOT_LENGTH);
+    }
+    ctx.setSnapshotMemoryBudget(snapshotMemoryBudget);
 
     logStreamReader = new BufferedLogStreamReader();
     ctx.setLogStreamReader(logStreamReader);
@@ -41,6 +41,14 @@ public class StreamProcessorContext {
 
   protected EventFilter eventFilter;
 
+  protected int maxDeltaSnapshots;
+
+  protected int maxEventsPerJob;
+  protected Duration maxJobDuration;
+
+  protected RecoveryCoordinator recoveryCoordinator;
+  protected SnapshotMemoryBudget snapshotMemoryBudget;
+
   private Runnable suspendRunnable;
   private Runnable resumeRunnable;
 
@@ -132,6 +140,46 @@ public class StreamProcessorContext {
     return isReadOnlyProcessor;
   }
 
+  public int getMaxDeltaSnapshots() {
+    return maxDeltaSnapshots;
+  }
+
+  public void setMaxDeltaSnapshots(int maxDeltaSnapshots) {
+    this.maxDeltaSnapshots = maxDeltaSnapshots;
+  }
+
+  public int getMaxEventsPerJob() {
+    return maxEventsPerJob;
+  }
+
+  public void setMaxEventsPerJob(int maxEventsPerJob) {
+    this.maxEventsPerJob = maxEventsPerJob;
+  }
+
+  public Duration getMaxJobDuration() {
+    return maxJobDuration;
+  }
+
+  public void setMaxJobDuration(Duration maxJobDuration) {
+    this.maxJobDuration = maxJobDuration;
+  }
+
+  public RecoveryCoordinator getRecoveryCoordinator() {
+    return recoveryCoordinator;
+  }
+
+  public void setRecoveryCoordinator(RecoveryCoordinator recoveryCoordinator) {
+    this.recoveryCoordinator = recoveryCoordinator;
+  }
+
+  public SnapshotMemoryBudget getSnapshotMemoryBudget() {
+    return snapshotMemoryBudget;
+  }
+
+  public void setSnapshotMemoryBudget(SnapshotMemoryBudget snapshotMemoryBudget) {
+    this.snapshotMemoryBudget = snapshotMemoryBudget;
+  }
+
   public ActorControl getActorControl() {
     return actorControl;
   }
@@ -15,13 +15,17 @@
  */
 package io.zeebe.logstreams.processor;
 
+import io.zeebe.logstreams.impl.CommandLatencyTracer;
 import io.zeebe.logstreams.impl.Loggers;
+import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LogStreamWriter;
 import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.logstreams.snapshot.SnapshotBuffer;
 import io.zeebe.logstreams.spi.ReadableSnapshot;
 import io.zeebe.logstreams.spi.SnapshotStorage;
+import io.zeebe.logstreams.spi.SnapshotSupport;
 import io.zeebe.logstreams.spi.SnapshotWriter;
 import io.zeebe.util.LangUtil;
 import io.zeebe.util.metrics.MetricsManager;
@@ -30,7 +34,9 @@ import io.zeebe.util.sched.ActorTask.ActorLifecyclePhase;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
 import org.slf4j.Logger;
 
 public class StreamProcessorController extends Actor {
@@ -53,6 +59,7 @@ public class StreamProcessorController extends Actor {
 
   private final SnapshotStorage snapshotStorage;
   private final Duration snapshotPeriod;
+  private final int maxDeltaSnapshots;
 
   private final ActorScheduler actorScheduler;
   private final AtomicBoolean isOpened = new AtomicBoolean(false);
@@ -61,11 +68,31 @@ public class StreamProcessorController extends Actor {
   private final EventFilter eventFilter;
   private final boolean isReadOnlyProcessor;
 
+  private final int maxEventsPerJob;
+  private final long maxJobDurationNanos;
+
   private final EventLifecycleContext eventLifecycleContext = new EventLifecycleContext();
 
   private final Runnable readNextEvent = this::readNextEvent;
 
-  private long snapshotPosition = -1L;
+  private final LongSupplier retentionGuard = this::getFullSnapshotPosition;
+
+  private volatile long snapshotPosition = -1L;
+  /** the position of the last full snapshot, which the following delta snapshots are based on */
+  private volatile long fullSnapshotPosition = -1L;
+  private int deltaSnapshotCount;
+  private boolean isFullSnapshotRequired = true;
+
+  /**
+   * The default budget for the in-memory copy of the state, if no budget is shared between the
+   * stream processors. The copy pauses the processing for a time proportional to the state, a state
+   * which doesn't fit is written directly to the snapshot storage instead.
+   */
+  public static final long MAX_FORKED_SNAPSHOT_LENGTH = 256L * 1024 * 1024;
+
+  private final SnapshotBuffer snapshotBuffer = new SnapshotBuffer();
+  private final SnapshotMemoryBudget snapshotMemoryBudget;
+  private boolean isSnapshotInProgress;
   private long lastSourceEventPosition = -1L;
   private long eventPosition = -1L;
   private long lastSuccessfulProcessedEventPosition = -1L;
@@ -78,6 +105,18 @@ public class StreamProcessorController extends Actor {
   private boolean suspended = false;
 
   private StreamProcessorMetrics metrics;
+  private boolean isMetricsClosed;
+  private CommandLatencyTracer commandLatencyTracer;
+
+  private final RecoveryCoordinator recoveryCoordinator;
+  /** the requested permit, while the starting phase waits for it - can be withdrawn on close */
+  private volatile ActorFuture<Void> startingRecoveryPermit;
+  /** the requested permit, while the reprocessing waits for it after an async result */
+  private ActorFuture<Void> pendingRecoveryPermit;
+  private boolean hasRecoveryPermit;
+  private boolean isStreamProcessorOpened;
+  private long recoveryStartTime;
+  private long reprocessedEventCount;
 
   public StreamProcessorController(StreamProcessorContext context) {
     this.streamProcessorContext = context;
@@ -92,8 +131,13 @@ public class StreamProcessorController extends Actor {
     this.logStreamWriter = context.getLogStreamWriter();
     this.snapshotStorage = context.getSnapshotStorage();
     this.snapshotPeriod = context.getSnapshotPeriod();
+    this.maxDeltaSnapshots = context.getMaxDeltaSnapshots();
     this.eventFilter = context.getEventFilter();
     this.isReadOnlyProcessor = context.isReadOnlyProcessor();
+    this.maxEventsPerJob = context.getMaxEventsPerJob();
+    this.maxJobDurationNanos = context.getMaxJobDuration().toNanos();
+    this.recoveryCoordinator = context.getRecoveryCoordinator();
+    this.snapshotMemoryBudget = context.getSnapshotMemoryBudget();
   }
 
   @Override
@@ -103,7 +147,12 @@ public class StreamProcessorController extends Actor {
 
   public ActorFuture<Void> openAsync() {
     if (isOpened.compareAndSet(false, true)) {
-      return actorScheduler.submitActor(this, true);
+      // run the processors of a partition on the same thread as its other actors
+      final int partitionId = streamProcessorContext.getLogStream().getPartitionId();
+      final int schedulingHints =
+          SchedulingHints.setAffinity(partitionId, SchedulingHints.cpuBound(ActorPriority.REGULAR));
+
+      return actorScheduler.submitActor(this, true, schedulingHints);
     } else {
       return CompletableActorFuture.completed(null);
     }
@@ -122,16 +171,79 @@ public class StreamProcessorController extends Actor {
     final String processorName = getName();
 
     metrics = new StreamProcessorMetrics(metricsManager, processorName, topicName, partitionId);
+    isMetricsClosed = false;
+    commandLatencyTracer = logStream.getCommandLatencyTracer();
 
     logStreamReader.wrap(logStream);
     logStreamWriter.wrap(logStream);
 
+    // the log is needed from the last full snapshot on, since only full snapshots are replicated
+    logStream.registerRetentionGuard(retentionGuard);
+
+    if (recoveryCoordinator != null) {
+      // the actor stays in the starting phase until the coordinator lets the recovery start, or
+      // until the request is withdrawn because the stream processor is closed
+      startingRecoveryPermit = recoveryCoordinator.acquire();
+
+      actor.runOnCompletionBlockingCurrentPhase(
+          startingRecoveryPermit,
+          (v, t) -> {
+            startingRecoveryPermit = null;
+
+            if (t == null) {
+              // released on closing if the stream processor is closed meanwhile
+              hasRecoveryPermit = true;
+
+              if (isOpened()) {
+                recover();
+              }
+            }
+          });
+    } else {
+      recover();
+    }
+  }
+
+  /**
+   * Requests the permit again after it was released while the reprocessing waited for an async
+   * result. The request is withdrawn on closing.
+   */
+  private void reacquireRecoveryPermit(Runnable onPermitAcquired) {
+    if (recoveryCoordinator == null) {
+      onPermitAcquired.run();
+    } else {
+      final ActorFuture<Void> permit = recoveryCoordinator.acquire();
+      pendingRecoveryPermit = permit;
+
+      actor.runOnCompletion(
+          permit,
+          (v, t) -> {
+            if (pendingRecoveryPermit == permit) {
+              pendingRecoveryPermit = null;
+              hasRecoveryPermit = true;
+
+              if (isOpened()) {
+                onPermitAcquired.run();
+              }
+            }
+          });
+    }
+  }
+
+  private void recover() {
+    recoveryStartTime = System.nanoTime();
+
     try {
       snapshotPosition = recoverFromSnapshot();
       lastSourceEventPosition = seekToLastSourceEvent();
 
+      metrics.recordRecoveryTarget(lastSourceEventPosition, getRecoveryDurationMillis());
+
       streamProcessor.onOpen(streamProcessorContext);
+      isStreamProcessorOpened = true;
     } catch (Exception e) {
+      // the actor fails without closing if the starting phase fails
+      releaseRecoveryPermit();
       onFailure();
       LangUtil.rethrowUnchecked(e);
     }
@@ -139,9 +251,14 @@ public class StreamProcessorController extends Actor {
 
   @Override
   protected void onActorStarted() {
+    if (!isStreamProcessorOpened) {
+      // closed while waiting for the recovery permit
+      return;
+    }
+
     try {
       if (lastSourceEventPosition > snapshotPosition) {
-        reprocessNextEvent();
+        reprocessNextEvents();
       } else {
         onRecovered();
       }
@@ -154,14 +271,26 @@ public class StreamProcessorController extends Actor {
   private long recoverFromSnapshot() throws Exception {
     long snapshotPosition = -1L;
 
-    final ReadableSnapshot lastSnapshot =
-        snapshotStorage.getLastSnapshot(streamProcessorContext.getName());
+    final String name = streamProcessorContext.getName();
+    final ReadableSnapshot lastSnapshot = snapshotStorage.getLastSnapshot(name);
     if (lastSnapshot != null) {
       // recover last snapshot
       lastSnapshot.recoverFromSnapshot(streamProcessor.getStateResource());
 
-      // read the last event from snapshot
       snapshotPosition = lastSnapshot.getPosition();
+      fullSnapshotPosition = snapshotPosition;
+      isFullSnapshotRequired = false;
+
+      // apply the changes since the last snapshot
+      final ReadableSnapshot lastDeltaSnapshot = snapshotStorage.getLastDeltaSnapshot(name);
+      if (lastDeltaSnapshot != null) {
+        lastDeltaSnapshot.recoverFromDeltaSnapshot(streamProcessor.getStateResource());
+
+        snapshotPosition = lastDeltaSnapshot.getPosition();
+        deltaSnapshotCount = 1;
+      }
+
+      // read the last event from snapshot
       final boolean found = logStreamReader.seek(snapshotPosition);
 
       if (found && logStreamReader.hasNext()) {
@@ -181,6 +310,19 @@ public class StreamProcessorController extends Actor {
 
     if (!isReadOnlyProcessor && logStreamReader.hasNext()) {
       lastSourceEventPosition = snapshotPosition;
+
+      // the source index of the block index contains the positions of the older events
+      final LogBlockIndex blockIndex = streamProcessorContext.getLogStream().getLogBlockIndex();
+      final long sourceIndexPosition = blockIndex.getSourceIndexPosition();
+      if (sourceIndexPosition > snapshotPosition) {
+        final long indexedSourceEventPosition =
+            blockIndex.lookupLastSourceEventPosition(streamProcessorContext.getId());
+        lastSourceEventPosition = Math.max(lastSourceEventPosition, indexedSourceEventPosition);
+
+        // only read the events which are not indexed yet
+        logStreamReader.seek(sourceIndexPosition + 1);
+      }
+
       while (logStreamReader.hasNext()) {
         final LoggedEvent newEvent = logStreamReader.next();
 
@@ -199,9 +341,24 @@ public class StreamProcessorController extends Actor {
     return lastSourceEventPosition;
   }
 
-  private void reprocessNextEvent() {
+  /**
+   * Reprocesses the events within the current actor job until the max job duration is exceeded.
+   * Reprocessing doesn't execute side effects or write events, so an event can only be delayed by
+   * an async result. In this case, reprocessing continues when the result is available and the
+   * job ends.
+   */
+  private void reprocessNextEvents() {
+    final long jobDeadline = System.nanoTime() + maxJobDurationNanos;
+    int eventCount = 0;
+
     try {
-      if (logStreamReader.hasNext()) {
+      while (isOpened()) {
+        if (!logStreamReader.hasNext()) {
+          throw new IllegalStateException(
+              String.format(
+                  ERROR_MESSAGE_REPROCESSING_NO_SOURCE_EVENT, getName(), lastSourceEventPosition));
+        }
+
         currentEvent = logStreamReader.next();
         if (currentEvent.getPosition() > lastSourceEventPosition) {
           throw new IllegalStateException(
@@ -209,67 +366,121 @@ public class StreamProcessorController extends Actor {
                   ERROR_MESSAGE_REPROCESSING_NO_SOURCE_EVENT, getName(), lastSourceEventPosition));
         }
 
-        reprocessEvent(currentEvent);
-      } else {
-        throw new IllegalStateException(
-            String.format(
-                ERROR_MESSAGE_REPROCESSING_NO_SOURCE_EVENT, getName(), lastSourceEventPosition));
+        eventCount += 1;
+
+        if (!reprocessEvent(currentEvent)) {
+          // continues when the async result is available
+          break;
+        } else if (currentEvent.getPosition() == lastSourceEventPosition) {
+          recordReprocessedEvents(eventCount);
+          eventCount = 0;
+
+          onRecovered();
+          break;
+        } else if (System.nanoTime() >= jobDeadline) {
+          // give other actors the chance to run before the next job
+          actor.submit(this::reprocessNextEvents);
+          break;
+        }
       }
     } catch (RuntimeException e) {
       onFailure();
       throw e;
+    } finally {
+      if (eventCount > 0) {
+        recordReprocessedEvents(eventCount);
+      }
     }
   }
 
-  private void reprocessEvent(LoggedEvent currentEvent) {
-    if (eventFilter == null || eventFilter.applies(currentEvent)) {
-      try {
-        final EventProcessor eventProcessor = streamProcessor.onEvent(currentEvent);
-
-        if (eventProcessor != null) {
-          // don't execute side effects or write events
-          eventLifecycleContext.reset();
-          eventProcessor.processEvent(eventLifecycleContext);
-
-          if (eventLifecycleContext.hasFuture()) {
-            actor.runOnCompletion(
-                eventLifecycleContext.getFuture(),
-                (res, err) -> {
-                  if (err == null) {
-                    eventProcessor.updateState();
-                    onRecordReprocessed(currentEvent);
-                  } else {
-                    LOG.error("Exception during async reprocessing", err);
-                    onFailure();
-                  }
-                });
-          } else {
-            eventProcessor.updateState();
-            onRecordReprocessed(currentEvent);
-          }
+  /**
+   * @return true, if the event is completely reprocessed, false if it continues asynchronously
+   */
+  private boolean reprocessEvent(LoggedEvent currentEvent) {
+    if (eventFilter != null && !eventFilter.applies(currentEvent)) {
+      return true;
+    }
+
+    try {
+      final EventProcessor eventProcessor = streamProcessor.onEvent(currentEvent);
+
+      if (eventProcessor != null) {
+        // don't execute side effects or write events
+        eventLifecycleContext.reset();
+        eventProcessor.processEvent(eventLifecycleContext);
+
+        if (eventLifecycleContext.hasFuture()) {
+          // don't hold the permit while waiting, other processors can recover in the meantime
+          releaseRecoveryPermit();
+
+          actor.runOnCompletion(
+              eventLifecycleContext.getFuture(),
+              (res, err) -> {
+                if (err == null) {
+                  eventProcessor.updateState();
+                  reacquireRecoveryPermit(() -> onAsyncRecordReprocessed(currentEvent));
+                } else {
+                  LOG.error("Exception during async reprocessing", err);
+                  onFailure();
+                }
+              });
+          return false;
         } else {
-          onRecordReprocessed(currentEvent);
+          eventProcessor.updateState();
         }
-      } catch (Exception e) {
-        throw new RuntimeException(
-            String.format(ERROR_MESSAGE_REPROCESSING_FAILED, getName(), currentEvent), e);
       }
-    } else {
-      onRecordReprocessed(currentEvent);
+      return true;
+    } catch (Exception e) {
+      throw new RuntimeException(
+          String.format(ERROR_MESSAGE_REPROCESSING_FAILED, getName(), currentEvent), e);
     }
   }
 
-  private void onRecordReprocessed(LoggedEvent currentEvent) {
+  private void onAsyncRecordReprocessed(LoggedEvent currentEvent) {
     if (currentEvent.getPosition() == lastSourceEventPosition) {
       onRecovered();
     } else {
-      actor.submit(this::reprocessNextEvent);
+      reprocessNextEvents();
+    }
+  }
+
+  private void recordReprocessedEvents(int eventCount) {
+    reprocessedEventCount += eventCount;
+
+    metrics.recordRecoveryProgress(
+        eventCount, currentEvent.getPosition(), reprocessedEventCount, getRecoveryDurationMillis());
+  }
+
+  private long getRecoveryDurationMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - recoveryStartTime);
+  }
+
+  private void releaseRecoveryPermit() {
+    if (pendingRecoveryPermit != null) {
+      if (!recoveryCoordinator.cancel(pendingRecoveryPermit)) {
+        // the permit is granted already, but the callback doesn't run anymore
+        recoveryCoordinator.release();
+      }
+      pendingRecoveryPermit = null;
+    }
+
+    if (hasRecoveryPermit) {
+      hasRecoveryPermit = false;
+      recoveryCoordinator.release();
     }
   }
 
   private void onRecovered() {
     phase = Phase.PROCESSING;
 
+    releaseRecoveryPermit();
+
+    LOG.debug(
+        "Stream processor '{}' recovered in {} ms, reprocessed {} events",
+        getName(),
+        getRecoveryDurationMillis(),
+        reprocessedEventCount);
+
     onCommitPositionUpdatedCondition =
         actor.onCondition(getName() + "-on-commit-position-updated", readNextEvent);
     streamProcessorContext.logStream.registerOnCommitPositionUpdatedCondition(
@@ -283,7 +494,12 @@ public class StreamProcessorController extends Actor {
   }
 
   private void readNextEvent() {
-    if (isOpened() && !isSuspended() && logStreamReader.hasNext() && eventProcessor == null) {
+    if (maxEventsPerJob > 1) {
+      readNextEvents();
+    } else if (isOpened()
+        && !isSuspended()
+        && logStreamReader.hasNext()
+        && eventProcessor == null) {
       currentEvent = logStreamReader.next();
 
       if (eventFilter == null || eventFilter.applies(currentEvent)) {
@@ -297,12 +513,102 @@ public class StreamProcessorController extends Actor {
     }
   }
 
+  /**
+   * Processes up to {@link #maxEventsPerJob} events within the current actor job, as long as every
+   * step of an event completes immediately. The events are still processed one by one, i.e. the
+   * side effects, the written event and the state update of an event complete before the next
+   * event is read. This only saves the scheduling overhead of one actor job per event. If an event
+   * has to wait for an async result or backpressure, it continues on the regular pipeline and the
+   * job ends.
+   */
+  private void readNextEvents() {
+    final long jobDeadline = System.nanoTime() + maxJobDurationNanos;
+    int eventCount = 0;
+
+    while (isOpened() && !isSuspended() && logStreamReader.hasNext() && eventProcessor == null) {
+      currentEvent = logStreamReader.next();
+      eventCount += 1;
+
+      final boolean completed;
+      if (eventFilter == null || eventFilter.applies(currentEvent)) {
+        completed = processEventInJob(currentEvent);
+      } else {
+        metrics.incrementEventsSkippedCount();
+        completed = true;
+      }
+
+      if (!completed) {
+        break;
+      } else if (eventCount >= maxEventsPerJob || System.nanoTime() >= jobDeadline) {
+        // give other actors the chance to run before the next job
+        actor.submit(readNextEvent);
+        break;
+      }
+    }
+
+    if (eventCount > 0) {
+      metrics.recordProcessingJob(eventCount);
+    }
+  }
+
+  /**
+   * @return true, if the event is completely processed, false if it continues asynchronously or
+   *     processing failed
+   */
+  private boolean processEventInJob(LoggedEvent event) {
+    eventProcessor = streamProcessor.onEvent(event);
+
+    if (eventProcessor == null) {
+      metrics.incrementEventsSkippedCount();
+      return true;
+    }
+
+    try {
+      metrics.incrementEventsProcessedCount();
+      commandLatencyTracer.onProcessingStarted(event.getPosition());
+
+      eventLifecycleContext.reset();
+      eventProcessor.processEvent(eventLifecycleContext);
+
+      if (eventLifecycleContext.hasFuture()) {
+        actor.runOnCompletion(
+            eventLifecycleContext.getFuture(),
+            (res, err) -> {
+              if (err != null) {
+                LOG.error(ERROR_MESSAGE_PROCESSING_FAILED, getName(), err);
+                onFailure();
+              } else {
+                actor.runUntilDone(this::executeSideEffects);
+              }
+            });
+        return false;
+      } else if (!eventProcessor.executeSideEffects()) {
+        actor.runUntilDone(this::executeSideEffects);
+        return false;
+      }
+
+      commandLatencyTracer.onProcessed(event.getPosition());
+
+      if (!tryWriteEvent()) {
+        actor.runUntilDone(this::writeEvent);
+        return false;
+      } else {
+        return tryUpdateState();
+      }
+    } catch (Exception e) {
+      LOG.error(ERROR_MESSAGE_PROCESSING_FAILED, getName(), e);
+      onFailure();
+      return false;
+    }
+  }
+
   private void processEvent(LoggedEvent event) {
     eventProcessor = streamProcessor.onEvent(event);
 
     if (eventProcessor != null) {
       try {
         metrics.incrementEventsProcessedCount();
+        commandLatencyTracer.onProcessingStarted(event.getPosition());
 
         eventLifecycleContext.reset();
         eventProcessor.processEvent(eventLifecycleContext);
@@ -338,6 +644,7 @@ public class StreamProcessorController extends Actor {
       final boolean success = eventProcessor.executeSideEffects();
       if (success) {
         actor.done();
+        commandLatencyTracer.onProcessed(currentEvent.getPosition());
 
         actor.runUntilDone(this::writeEvent);
       } else if (isOpened()) {
@@ -356,17 +663,9 @@ public class StreamProcessorController extends Actor {
 
   private void writeEvent() {
     try {
-      logStreamWriter
-          .producerId(streamProcessorContext.getId())
-          .sourceRecordPosition(currentEvent.getPosition());
-
-      eventPosition = eventProcessor.writeEvent(logStreamWriter);
-
-      if (eventPosition >= 0) {
+      if (tryWriteEvent()) {
         actor.done();
 
-        metrics.incrementEventsWrittenCount();
-
         updateState();
       } else if (isOpened()) {
         // try again
@@ -382,7 +681,28 @@ public class StreamProcessorController extends Actor {
     }
   }
 
+  private boolean tryWriteEvent() {
+    logStreamWriter
+        .producerId(streamProcessorContext.getId())
+        .sourceRecordPosition(currentEvent.getPosition());
+
+    eventPosition = eventProcessor.writeEvent(logStreamWriter);
+
+    final boolean written = eventPosition >= 0;
+    if (written) {
+      metrics.incrementEventsWrittenCount();
+    }
+    return written;
+  }
+
   private void updateState() {
+    if (tryUpdateState()) {
+      // continue with next event
+      actor.submit(readNextEvent);
+    }
+  }
+
+  private boolean tryUpdateState() {
     try {
       eventProcessor.updateState();
 
@@ -393,63 +713,208 @@ public class StreamProcessorController extends Actor {
         lastWrittenEventPosition = eventPosition;
       }
 
-      // continue with next event
       eventProcessor = null;
-      actor.submit(readNextEvent);
+      return true;
     } catch (Exception e) {
       LOG.error(ERROR_MESSAGE_PROCESSING_FAILED, getName(), e);
       onFailure();
+      return false;
     }
   }
 
   private void createSnapshot() {
     if (actor.getLifecyclePhase() == ActorLifecyclePhase.STARTED) {
-      // run as io-bound actor while writing snapshot
-      actor.setSchedulingHints(SchedulingHints.ioBound((short) 0));
-      actor.submit(this::doCreateSnapshot);
-    } else {
-      doCreateSnapshot();
+      if (!isSnapshotInProgress && isSnapshotRequired()) {
+        forkSnapshot(lastSuccessfulProcessedEventPosition);
+      }
+    } else if (!isSnapshotInProgress && isSnapshotRequired()) {
+      // a pending snapshot is not written twice, the actor waits for it before it is closed
+      writeSnapshot(lastSuccessfulProcessedEventPosition);
     }
   }
 
-  private void doCreateSnapshot() {
+  private boolean isSnapshotRequired() {
     if (currentEvent != null) {
       final long commitPosition = streamProcessorContext.getLogStream().getCommitPosition();
 
       final boolean snapshotAlreadyPresent =
           lastSuccessfulProcessedEventPosition <= snapshotPosition;
 
-      if (!snapshotAlreadyPresent) {
-        // ensure that the last written event was committed
-        if (commitPosition >= lastWrittenEventPosition) {
-          writeSnapshot(lastSuccessfulProcessedEventPosition);
-        }
+      // ensure that the last written event was committed
+      return !snapshotAlreadyPresent && commitPosition >= lastWrittenEventPosition;
+    }
+    return false;
+  }
+
+  private boolean isDeltaSnapshotNext() {
+    return !isFullSnapshotRequired && deltaSnapshotCount < maxDeltaSnapshots;
+  }
+
+  /**
+   * Copies the state into memory and writes the copy to the snapshot storage on a blocking thread,
+   * so that the processing pauses only while the state is copied.
+   *
+   * <p>This is not a copy-on-write fork: the state is copied synchronously on the actor thread, so
+   * the pause grows with the size of the state. The memory of the copy is reserved from the {@link
+   * SnapshotMemoryBudget} before copying. If the size of the state is not known in advance or the
+   * copy doesn't fit into the budget, the snapshot is written directly instead.
+   */
+  private void forkSnapshot(final long eventPosition) {
+    final boolean isDeltaSnapshot = isDeltaSnapshotNext();
+    final SnapshotSupport stateResource = streamProcessor.getStateResource();
+
+    final long expectedSize;
+    try {
+      expectedSize =
+          isDeltaSnapshot ? stateResource.deltaSnapshotSize() : stateResource.snapshotSize();
+    } catch (Exception e) {
+      LOG.error("Stream processor '{}' failed. Can not determine snapshot size.", getName(), e);
+      return;
+    }
+
+    if (expectedSize < 0 || !snapshotMemoryBudget.tryReserve(expectedSize)) {
+      LOG.debug(
+          "State of stream processor '{}' doesn't fit into the memory budget, write it directly.",
+          getName());
+      writeSnapshot(eventPosition);
+      return;
+    }
+
+    // the copy can't grow beyond the reserved memory
+    snapshotBuffer.setMaxLength(expectedSize);
+
+    final long start = System.currentTimeMillis();
+    final long snapshotSize;
+
+    try {
+      if (isDeltaSnapshot) {
+        snapshotSize = stateResource.writeDeltaSnapshot(snapshotBuffer);
+      } else {
+        // the state is marked as written, the next snapshot must be a full one if this fails
+        isFullSnapshotRequired = true;
+        snapshotSize = stateResource.writeSnapshot(snapshotBuffer);
       }
+    } catch (Exception e) {
+      LOG.error("Stream processor '{}' failed. Can not copy state for snapshot.", getName(), e);
+      releaseSnapshotBuffer(expectedSize);
+
+      // the state may be partially marked as written
+      isFullSnapshotRequired = true;
+      return;
     }
 
-    // re-rest to cpu bound
-    actor.setSchedulingHints(SchedulingHints.cpuBound(ActorPriority.REGULAR));
+    metrics.recordSnapshotPauseTime(System.currentTimeMillis() - start);
+
+    isSnapshotInProgress = true;
+
+    final String name = getName();
+    final CompletableActorFuture<Void> snapshotWritten = new CompletableActorFuture<>();
+
+    actor.runBlocking(
+        () ->
+            writeSnapshotBuffer(
+                name, eventPosition, isDeltaSnapshot, expectedSize, snapshotWritten));
+
+    // the actor doesn't close before the snapshot is written
+    actor.runOnCompletionBlockingCurrentPhase(
+        snapshotWritten,
+        (v, failure) -> {
+          isSnapshotInProgress = false;
+
+          if (failure == null) {
+            final long snapshotCreationTime = System.currentTimeMillis() - start;
+            LOG.info("Creation of snapshot {} took {} ms.", name, snapshotCreationTime);
+
+            onSnapshotCommitted(eventPosition, isDeltaSnapshot, snapshotSize, snapshotCreationTime);
+          } else {
+            LOG.error("Stream processor '{}' failed. Can not write snapshot.", name, failure);
+          }
+        });
+  }
+
+  private void releaseSnapshotBuffer(long reservedBytes) {
+    snapshotBuffer.reset();
+    snapshotMemoryBudget.release(reservedBytes);
+  }
+
+  /** Runs on a blocking thread, the snapshot buffer is not accessed by the actor meanwhile. */
+  private void writeSnapshotBuffer(
+      String name,
+      long eventPosition,
+      boolean isDeltaSnapshot,
+      long reservedBytes,
+      CompletableActorFuture<Void> snapshotWritten) {
+    LOG.info(
+        "Write {} for stream processor {} at event position {}.",
+        isDeltaSnapshot ? "delta snapshot" : "snapshot",
+        name,
+        eventPosition);
+
+    SnapshotWriter snapshotWriter = null;
+    Exception failure = null;
+    try {
+      if (isDeltaSnapshot) {
+        snapshotWriter = snapshotStorage.createDeltaSnapshot(name, eventPosition);
+      } else {
+        snapshotWriter = snapshotStorage.createSnapshot(name, eventPosition);
+      }
+
+      snapshotBuffer.writeTo(snapshotWriter.getOutputStream());
+      snapshotWriter.commit();
+    } catch (Exception e) {
+      failure = e;
+
+      if (snapshotWriter != null) {
+        snapshotWriter.abort();
+      }
+    }
+
+    releaseSnapshotBuffer(reservedBytes);
+
+    if (failure == null) {
+      snapshotWritten.complete(null);
+    } else {
+      snapshotWritten.completeExceptionally(failure);
+    }
   }
 
   private void writeSnapshot(final long eventPosition) {
+    final boolean isDeltaSnapshot = isDeltaSnapshotNext();
+
     SnapshotWriter snapshotWriter = null;
     try {
       final long start = System.currentTimeMillis();
       final String name = streamProcessorContext.getName();
-      LOG.info("Write snapshot for stream processor {} at event position {}.", name, eventPosition);
+      final SnapshotSupport stateResource = streamProcessor.getStateResource();
+      final long snapshotSize;
+
+      if (isDeltaSnapshot) {
+        LOG.info(
+            "Write delta snapshot for stream processor {} at event position {}.",
+            name,
+            eventPosition);
 
-      snapshotWriter = snapshotStorage.createSnapshot(name, eventPosition);
+        snapshotWriter = snapshotStorage.createDeltaSnapshot(name, eventPosition);
+        snapshotSize = snapshotWriter.writeDeltaSnapshot(stateResource);
+      } else {
+        LOG.info(
+            "Write snapshot for stream processor {} at event position {}.", name, eventPosition);
+
+        // the state is marked as written, the next snapshot must be a full one if this fails
+        isFullSnapshotRequired = true;
 
-      final long snapshotSize = snapshotWriter.writeSnapshot(streamProcessor.getStateResource());
+        snapshotWriter = snapshotStorage.createSnapshot(name, eventPosition);
+        snapshotSize = snapshotWriter.writeSnapshot(stateResource);
+      }
       snapshotWriter.commit();
 
       final long snapshotCreationTime = System.currentTimeMillis() - start;
       LOG.info("Creation of snapshot {} took {} ms.", name, snapshotCreationTime);
 
-      metrics.recordSnapshotSize(snapshotSize);
-      metrics.recordSnapshotCreationTime(snapshotCreationTime);
-
-      snapshotPosition = eventPosition;
+      if (!isMetricsClosed) {
+        metrics.recordSnapshotPauseTime(snapshotCreationTime);
+      }
+      onSnapshotCommitted(eventPosition, isDeltaSnapshot, snapshotSize, snapshotCreationTime);
     } catch (Exception e) {
       LOG.error("Stream processor '{}' failed. Can not write snapshot.", getName(), e);
 
@@ -459,8 +924,32 @@ public class StreamProcessorController extends Actor {
     }
   }
 
+  private void onSnapshotCommitted(
+      long eventPosition, boolean isDeltaSnapshot, long snapshotSize, long snapshotCreationTime) {
+    // the pending snapshot may be committed after the metrics are closed
+    if (!isMetricsClosed) {
+      metrics.recordSnapshotSize(snapshotSize);
+      metrics.recordSnapshotCreationTime(snapshotCreationTime);
+    }
+
+    if (isDeltaSnapshot) {
+      deltaSnapshotCount += 1;
+    } else {
+      deltaSnapshotCount = 0;
+      isFullSnapshotRequired = false;
+      fullSnapshotPosition = eventPosition;
+    }
+    snapshotPosition = eventPosition;
+  }
+
   public ActorFuture<Void> closeAsync() {
     if (isOpened.compareAndSet(true, false)) {
+      final ActorFuture<Void> recoveryPermit = startingRecoveryPermit;
+      if (recoveryPermit != null) {
+        // the actor can't be closed before the starting phase ends
+        recoveryCoordinator.cancel(recoveryPermit);
+      }
+
       return actor.close();
     } else {
       return CompletableActorFuture.completed(null);
@@ -469,15 +958,21 @@ public class StreamProcessorController extends Actor {
 
   @Override
   protected void onActorClosing() {
+    releaseRecoveryPermit();
+
     metrics.close();
+    isMetricsClosed = true;
 
-    if (!isFailed()) {
+    // the stream processor is not opened if it is closed while waiting for the recovery permit
+    if (!isFailed() && isStreamProcessorOpened) {
       createSnapshot();
       streamProcessor.onClose();
     }
 
     streamProcessorContext.getLogStreamReader().close();
 
+    streamProcessorContext.logStream.removeRetentionGuard(retentionGuard);
+
     streamProcessorContext.logStream.removeOnCommitPositionUpdatedCondition(
         onCommitPositionUpdatedCondition);
     onCommitPositionUpdatedCondition = null;
@@ -491,6 +986,10 @@ public class StreamProcessorController extends Actor {
     actor.close();
   }
 
+  private long getFullSnapshotPosition() {
+    return fullSnapshotPosition;
+  }
+
   public boolean isOpened() {
     return isOpened.get();
   }
@@ -24,6 +24,16 @@ public class StreamProcessorMetrics {
   private final Metric eventsSkippedCountMetric;
   private final Metric snapshotSizeMetric;
   private final Metric snapshotTimeMillisMetric;
+  private final Metric snapshotPauseMillisMetric;
+  private final Metric jobCountMetric;
+  private final Metric jobEventsCountMetric;
+  private final Metric jobLastEventsCountMetric;
+  private final Metric recoveryEventsCountMetric;
+  private final Metric recoveryPositionMetric;
+  private final Metric recoveryTargetPositionMetric;
+  private final Metric recoverySnapshotTimeMillisMetric;
+  private final Metric recoveryTimeMillisMetric;
+  private final Metric recoveryEventsPerSecondMetric;
 
   public StreamProcessorMetrics(
       MetricsManager metricsManager, String processorName, String topicName, String partitionId) {
@@ -74,6 +84,96 @@ public class StreamProcessorMetrics {
             .label("topic", topicName)
             .label("partition", partitionId)
             .create();
+
+    snapshotPauseMillisMetric =
+        metricsManager
+            .newMetric("streamprocessor_snapshot_last_pause_millis")
+            .type("gauge")
+            .label("processor", processorName)
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+
+    jobCountMetric =
+        metricsManager
+            .newMetric("streamprocessor_job_count")
+            .type("counter")
+            .label("processor", processorName)
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+
+    jobEventsCountMetric =
+        metricsManager
+            .newMetric("streamprocessor_job_events_count")
+            .type("counter")
+            .label("processor", processorName)
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+
+    jobLastEventsCountMetric =
+        metricsManager
+            .newMetric("streamprocessor_job_last_events_count")
+            .type("gauge")
+            .label("processor", processorName)
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+
+    recoveryEventsCountMetric =
+        metricsManager
+            .newMetric("streamprocessor_recovery_events_count")
+            .type("counter")
+            .label("processor", processorName)
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+
+    recoveryPositionMetric =
+        metricsManager
+            .newMetric("streamprocessor_recovery_position")
+            .type("gauge")
+            .label("processor", processorName)
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+
+    recoveryTargetPositionMetric =
+        metricsManager
+            .newMetric("streamprocessor_recovery_target_position")
+            .type("gauge")
+            .label("processor", processorName)
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+
+    recoverySnapshotTimeMillisMetric =
+        metricsManager
+            .newMetric("streamprocessor_recovery_snapshot_duration_millis")
+            .type("gauge")
+            .label("processor", processorName)
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+
+    recoveryTimeMillisMetric =
+        metricsManager
+            .newMetric("streamprocessor_recovery_duration_millis")
+            .type("gauge")
+            .label("processor", processorName)
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+
+    recoveryEventsPerSecondMetric =
+        metricsManager
+            .newMetric("streamprocessor_recovery_events_per_second")
+            .type("gauge")
+            .label("processor", processorName)
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
   }
 
   public void close() {
@@ -82,6 +182,16 @@ public class StreamProcessorMetrics {
     eventsWrittenCountMetric.close();
     snapshotTimeMillisMetric.close();
     snapshotSizeMetric.close();
+    snapshotPauseMillisMetric.close();
+    jobCountMetric.close();
+    jobEventsCountMetric.close();
+    jobLastEventsCountMetric.close();
+    recoveryEventsCountMetric.close();
+    recoveryPositionMetric.close();
+    recoveryTargetPositionMetric.close();
+    recoverySnapshotTimeMillisMetric.close();
+    recoveryTimeMillisMetric.close();
+    recoveryEventsPerSecondMetric.close();
   }
 
   public void incrementEventsProcessedCount() {
@@ -103,4 +213,40 @@ public class StreamProcessorMetrics {
   public void recordSnapshotCreationTime(long creationTime) {
     snapshotTimeMillisMetric.setOrdered(creationTime);
   }
+
+  /** @param pauseTime the time in ms the processing was paused to take the snapshot */
+  public void recordSnapshotPauseTime(long pauseTime) {
+    snapshotPauseMillisMetric.setOrdered(pauseTime);
+  }
+
+  public void recordProcessingJob(int eventCount) {
+    jobCountMetric.incrementOrdered();
+    jobEventsCountMetric.getAndAddOrdered(eventCount);
+    jobLastEventsCountMetric.setOrdered(eventCount);
+  }
+
+  /**
+   * @param targetPosition the position of the last event which is reprocessed
+   * @param snapshotRecoveryTime the time in ms to recover the state from the snapshot and find the
+   *     target position
+   */
+  public void recordRecoveryTarget(long targetPosition, long snapshotRecoveryTime) {
+    recoveryTargetPositionMetric.setOrdered(targetPosition);
+    recoverySnapshotTimeMillisMetric.setOrdered(snapshotRecoveryTime);
+    recoveryTimeMillisMetric.setOrdered(snapshotRecoveryTime);
+  }
+
+  /**
+   * @param eventCount the number of events which are reprocessed since the last call
+   * @param position the position of the last reprocessed event
+   * @param reprocessedEvents the number of events which are reprocessed since the recovery started
+   * @param recoveryTime the time in ms since the recovery started
+   */
+  public void recordRecoveryProgress(
+      int eventCount, long position, long reprocessedEvents, long recoveryTime) {
+    recoveryEventsCountMetric.getAndAddOrdered(eventCount);
+    recoveryPositionMetric.setOrdered(position);
+    recoveryTimeMillisMetric.setOrdered(recoveryTime);
+    recoveryEventsPerSecondMetric.setOrdered(reprocessedEvents * 1000 / Math.max(recoveryTime, 1));
+  }
 }
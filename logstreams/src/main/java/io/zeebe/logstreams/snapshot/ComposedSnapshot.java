@@ -26,7 +26,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
-/** A composition of one or more snapshots which are combined to a single snapshot. */
+/**
+ * A composition of one or more snapshots which are combined to a single snapshot.
+ *
+ * <p>New parts can only be appended to the composition. A snapshot which was written before and
+ * lacks the trailing parts is still recovered, the missing parts are reset.
+ */
 public class ComposedSnapshot implements SnapshotSupport {
   protected final ComposableSnapshotSupport[] parts;
   protected final byte count;
@@ -49,17 +54,51 @@ public class ComposedSnapshot implements SnapshotSupport {
     return processedBytes;
   }
 
+  @Override
+  public long snapshotSize() {
+    return partsSize(false);
+  }
+
+  @Override
+  public long deltaSnapshotSize() {
+    return partsSize(true);
+  }
+
+  private long partsSize(boolean delta) {
+    long size = SIZE_OF_BYTE;
+
+    for (byte i = 0; i < count; i++) {
+      final ComposableSnapshotSupport part = parts[i];
+      size += SIZE_OF_LONG + (delta ? part.deltaSnapshotSize() : part.snapshotSize());
+    }
+    return size;
+  }
+
   @Override
   public long writeSnapshot(OutputStream outputStream) throws Exception {
+    return writeParts(outputStream, false);
+  }
+
+  @Override
+  public long writeDeltaSnapshot(OutputStream outputStream) throws Exception {
+    return writeParts(outputStream, true);
+  }
+
+  private long writeParts(OutputStream outputStream, boolean delta) throws Exception {
     outputStream.write(count);
     long writtenBytes = SIZE_OF_BYTE;
 
     for (byte i = 0; i < count; i++) {
       final ComposableSnapshotSupport part = parts[i];
-      final long mapSize = part.snapshotSize();
+      final long mapSize = delta ? part.deltaSnapshotSize() : part.snapshotSize();
       writeLong(outputStream, mapSize);
       writtenBytes += SIZE_OF_LONG;
-      part.writeSnapshot(outputStream);
+
+      if (delta) {
+        part.writeDeltaSnapshot(outputStream);
+      } else {
+        part.writeSnapshot(outputStream);
+      }
       writtenBytes += mapSize;
     }
     processedBytes = writtenBytes;
@@ -69,23 +108,44 @@ public class ComposedSnapshot implements SnapshotSupport {
 
   @Override
   public void recoverFromSnapshot(InputStream inputStream) throws Exception {
+    recoverParts(inputStream, false);
+  }
+
+  @Override
+  public void recoverFromDeltaSnapshot(InputStream inputStream) throws Exception {
+    recoverParts(inputStream, true);
+  }
+
+  private void recoverParts(InputStream inputStream, boolean delta) throws Exception {
     final LimitedInputStream limitedInputStream = new LimitedInputStream(inputStream);
     final byte dataCount = limitedInputStream.readByte();
     long bytesRead = SIZE_OF_BYTE;
 
-    if (dataCount != count) {
+    if (dataCount < 1 || dataCount > count) {
       throw new IllegalStateException(
-          "illegal data of composed snapshot, expected " + count + " parts but found " + dataCount);
+          "illegal data of composed snapshot, expected at most "
+              + count
+              + " parts but found "
+              + dataCount);
     }
 
-    for (byte idx = 0; idx < count; idx++) {
+    for (byte idx = 0; idx < dataCount; idx++) {
       limitedInputStream.reset();
       final long mapSize = readLong(inputStream);
       bytesRead += SIZE_OF_LONG;
       limitedInputStream.setLimit(mapSize);
-      parts[idx].recoverFromSnapshot(limitedInputStream);
+
+      if (delta) {
+        parts[idx].recoverFromDeltaSnapshot(limitedInputStream);
+      } else {
+        parts[idx].recoverFromSnapshot(limitedInputStream);
+      }
       bytesRead += mapSize;
     }
+
+    for (byte idx = dataCount; idx < count; idx++) {
+      parts[idx].reset();
+    }
     processedBytes = bytesRead;
   }
 
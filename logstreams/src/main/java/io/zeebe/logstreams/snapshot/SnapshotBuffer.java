@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.snapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory copy of a snapshot. Captures the state of a {@link
+ * io.zeebe.logstreams.spi.SnapshotSupport} quickly, so that it can be written to the snapshot
+ * storage later on while the state changes again.
+ *
+ * <p>The data is kept in chunks, so that the buffer grows without copying and is not limited to
+ * the size of an array. The buffer can be limited to a maximum length, a write beyond it fails
+ * with a {@link SnapshotBufferOverflowException}.
+ */
+public class SnapshotBuffer extends OutputStream {
+  public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+  private final int chunkSize;
+  private long maxLength;
+  private final List<byte[]> chunks = new ArrayList<>();
+
+  /** the number of bytes written into the last chunk */
+  private int chunkPosition;
+
+  private long length;
+
+  public SnapshotBuffer() {
+    this(DEFAULT_CHUNK_SIZE);
+  }
+
+  public SnapshotBuffer(int chunkSize) {
+    this(chunkSize, Long.MAX_VALUE);
+  }
+
+  public SnapshotBuffer(int chunkSize, long maxLength) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("chunk size must be greater than 0");
+    }
+    this.chunkSize = chunkSize;
+    this.maxLength = maxLength;
+  }
+
+  @Override
+  public void write(int b) throws SnapshotBufferOverflowException {
+    ensureCapacity(1);
+    ensureChunkAvailable();
+
+    final byte[] chunk = chunks.get(chunks.size() - 1);
+    chunk[chunkPosition] = (byte) b;
+
+    chunkPosition += 1;
+    length += 1;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws SnapshotBufferOverflowException {
+    if (off < 0 || len < 0 || off + len > b.length) {
+      throw new IndexOutOfBoundsException();
+    }
+    ensureCapacity(len);
+
+    int remaining = len;
+    int offset = off;
+
+    while (remaining > 0) {
+      ensureChunkAvailable();
+
+      final byte[] chunk = chunks.get(chunks.size() - 1);
+      final int copyLength = Math.min(remaining, chunkSize - chunkPosition);
+      System.arraycopy(b, offset, chunk, chunkPosition, copyLength);
+
+      chunkPosition += copyLength;
+      offset += copyLength;
+      remaining -= copyLength;
+    }
+
+    length += len;
+  }
+
+  private void ensureCapacity(int len) throws SnapshotBufferOverflowException {
+    if (length + len > maxLength) {
+      throw new SnapshotBufferOverflowException(maxLength);
+    }
+  }
+
+  private void ensureChunkAvailable() {
+    if (chunks.isEmpty() || chunkPosition == chunkSize) {
+      chunks.add(new byte[chunkSize]);
+      chunkPosition = 0;
+    }
+  }
+
+  /**
+   * Limits the length of the buffer, a write beyond it fails with a {@link
+   * SnapshotBufferOverflowException}.
+   */
+  public void setMaxLength(long maxLength) {
+    this.maxLength = maxLength;
+  }
+
+  /** @return the number of written bytes */
+  public long length() {
+    return length;
+  }
+
+  /** Writes the content of the buffer to the given stream. */
+  public void writeTo(OutputStream outputStream) throws IOException {
+    final int chunkCount = chunks.size();
+
+    for (int i = 0; i < chunkCount; i++) {
+      final int chunkLength = i == chunkCount - 1 ? chunkPosition : chunkSize;
+      outputStream.write(chunks.get(i), 0, chunkLength);
+    }
+  }
+
+  /** Discards the content and releases the memory of the buffer. */
+  public void reset() {
+    chunks.clear();
+    chunkPosition = 0;
+    length = 0;
+  }
+}
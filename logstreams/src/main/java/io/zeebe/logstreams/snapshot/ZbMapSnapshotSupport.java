@@ -51,6 +51,22 @@ public class ZbMapSnapshotSupport<T extends ZbMap<?, ?>> implements ComposableSn
     indexSerializer.readFromStream(inputStream);
   }
 
+  @Override
+  public long deltaSnapshotSize() {
+    return indexSerializer.deltaSerializationSize();
+  }
+
+  @Override
+  public long writeDeltaSnapshot(OutputStream outputStream) throws Exception {
+    indexSerializer.writeDeltaToStream(outputStream);
+    return deltaSnapshotSize();
+  }
+
+  @Override
+  public void recoverFromDeltaSnapshot(InputStream inputStream) throws Exception {
+    indexSerializer.readDeltaFromStream(inputStream);
+  }
+
   @Override
   public void reset() {
     zbMap.clear();
@@ -17,5 +17,7 @@ package io.zeebe.logstreams.spi;
 
 public interface ComposableSnapshotSupport extends SnapshotSupport {
 
+  /** The size must be known, since it precedes the part in the composed snapshot. */
+  @Override
   long snapshotSize();
 }
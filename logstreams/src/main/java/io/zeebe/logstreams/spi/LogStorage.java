@@ -71,6 +71,16 @@ public interface LogStorage {
    */
   void truncate(long address);
 
+  /**
+   * Deletes the log before the given address. The block at the given address and all following
+   * blocks are retained. Implementations may retain more blocks than requested, e.g. if they can
+   * only delete whole files.
+   *
+   * @param address the address of the first block which must be retained
+   * @return the address of the first block which is still available after the deletion
+   */
+  long delete(long address);
+
   /**
    * Naive implementation of the {@link #read(ByteBuffer, long, ReadResultProcessor)} method. Does
    * not process the bytes which are read.
@@ -145,6 +155,9 @@ public interface LogStorage {
    */
   long getFirstBlockAddress();
 
+  /** Returns the address at which the next block is appended, i.e. the end of the storage. */
+  long getEndAddress();
+
   /**
    * Flushes all appended blocks to ensure that all blocks are written completely. Note that a
    * storage implementation may do nothing if {@link #append(ByteBuffer)} guarantees that all blocks
@@ -51,4 +51,18 @@ public interface ReadableSnapshot extends SnapshotMetadata {
     snapshotSupport.recoverFromSnapshot(getData());
     validateAndClose();
   }
+
+  /**
+   * Reads the delta snapshot data and applies it on the given snapshot object, which must contain
+   * the state of the full snapshot the delta is based on. At the end, it validates that the bytes
+   * read are valid and closes any underlying resources.
+   *
+   * @param snapshotSupport the snapshot object
+   * @throws Exception if fails to recover the snapshot object
+   * @throws InvalidSnapshotException if the snapshot is not valid
+   */
+  default void recoverFromDeltaSnapshot(SnapshotSupport snapshotSupport) throws Exception {
+    snapshotSupport.recoverFromDeltaSnapshot(getData());
+    validateAndClose();
+  }
 }
@@ -39,6 +39,27 @@ public interface SnapshotStorage {
    */
   SnapshotWriter createSnapshot(String name, long logPosition) throws Exception;
 
+  /**
+   * Returns the last delta snapshot for the given name which was taken after the last snapshot.
+   *
+   * @param name the name of the snapshot
+   * @return the delta snapshot or <code>null</code> if none exists
+   * @throws Exception if fails to open the snapshot
+   */
+  ReadableSnapshot getLastDeltaSnapshot(String name) throws Exception;
+
+  /**
+   * Returns a writer to create a delta snapshot, which contains the changes since the last
+   * snapshot. It replaces the previous delta snapshot on commit. Creating a new snapshot removes
+   * the delta snapshots.
+   *
+   * @param name the name of the snapshot
+   * @param logPosition the log position at which the snapshot is taken
+   * @return the writer to create the delta snapshot
+   * @throws Exception if fails to create the snapshot
+   */
+  SnapshotWriter createDeltaSnapshot(String name, long logPosition) throws Exception;
+
   /**
    * Deletes all existing snapshot and checksum files.
    *
@@ -38,6 +38,43 @@ public interface SnapshotSupport {
    */
   void recoverFromSnapshot(InputStream inputStream) throws Exception;
 
+  /**
+   * write the state which changed since the last full snapshot to the provided output stream.
+   * Resources which don't track their changes write their whole state.
+   *
+   * @param outputStream the stream to write to
+   * @return the size of the delta snapshot in bytes
+   */
+  default long writeDeltaSnapshot(OutputStream outputStream) throws Exception {
+    return writeSnapshot(outputStream);
+  }
+
+  /**
+   * apply a delta snapshot from the provided input stream on top of the state which was recovered
+   * from the last full snapshot.
+   *
+   * @param inputStream the stream to read from
+   */
+  default void recoverFromDeltaSnapshot(InputStream inputStream) throws Exception {
+    recoverFromSnapshot(inputStream);
+  }
+
+  /**
+   * @return the size of the snapshot which is written by {@link #writeSnapshot(OutputStream)}, or
+   *     -1 if the size is not known in advance
+   */
+  default long snapshotSize() {
+    return -1L;
+  }
+
+  /**
+   * @return the size of the delta snapshot which is written by {@link
+   *     #writeDeltaSnapshot(OutputStream)}, or -1 if the size is not known in advance
+   */
+  default long deltaSnapshotSize() {
+    return snapshotSize();
+  }
+
   /** Set the snapshot in the initial state. */
   void reset();
 }
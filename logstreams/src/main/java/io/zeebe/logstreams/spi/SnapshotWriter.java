@@ -49,6 +49,17 @@ public interface SnapshotWriter {
     return snapshotSupport.writeSnapshot(getOutputStream());
   }
 
+  /**
+   * Writes the changes of the given snapshot since its last full snapshot to the output stream.
+   *
+   * @param snapshotSupport the snapshot object
+   * @return the size of the delta snapshot in bytes
+   * @throws Exception if fails to write the snapshot
+   */
+  default long writeDeltaSnapshot(SnapshotSupport snapshotSupport) throws Exception {
+    return snapshotSupport.writeDeltaSnapshot(getOutputStream());
+  }
+
   /**
    * Completes the snapshot by closing the output stream and writing its checksum, iff the checksum
    * is equal to the given checksum.
@@ -16,11 +16,13 @@
 package io.zeebe.logstreams.fs.log;
 
 import static io.zeebe.dispatcher.impl.PositionUtil.partitionOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.*;
 import static io.zeebe.util.StringUtil.getBytes;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
 import io.zeebe.dispatcher.impl.PositionUtil;
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
 import io.zeebe.logstreams.impl.log.fs.*;
 import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.util.FileUtil;
@@ -32,6 +34,7 @@ import java.nio.channels.FileChannel;
 import java.nio.file.*;
 import java.util.Arrays;
 import java.util.Random;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.*;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
@@ -41,6 +44,8 @@ public class FsLogStorageTest {
 
   private static final byte[] MSG = getBytes("test");
 
+  private static final int ENTRY_LENGTH = alignedFramedLength(LogEntryDescriptor.headerLength(0));
+
   @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
 
   @Rule public ExpectedException thrown = ExpectedException.none();
@@ -430,6 +435,84 @@ public class FsLogStorageTest {
     }
   }
 
+  @Test
+  public void shouldRejectSegmentOfPreviousVersion() throws IOException {
+    // given
+    fsLogStorage.open();
+    fsLogStorage.append(ByteBuffer.wrap(MSG));
+    fsLogStorage.close();
+
+    try (FileChannel fileChannel = FileUtil.openChannel(fsStorageConfig.fileName(0), false)) {
+      fileChannel.write(ByteBuffer.allocate(4), FsLogSegmentDescriptor.VERSION_OFFSET);
+    }
+
+    // then
+    thrown.expect(RuntimeException.class);
+    thrown.expectMessage("unsupported version 0");
+
+    // when
+    fsLogStorage.open();
+  }
+
+  @Test
+  public void shouldGetEndAddress() {
+    fsLogStorage.open();
+
+    final long address = fsLogStorage.append(ByteBuffer.wrap(MSG));
+
+    assertThat(fsLogStorage.getEndAddress()).isEqualTo(address + MSG.length);
+  }
+
+  @Test
+  public void shouldKeepValidEntriesOnOpen() {
+    // given
+    fsStorageConfig = new FsLogStorageConfiguration(SEGMENT_SIZE, logPath, 0, false, true);
+    fsLogStorage = new FsLogStorage(fsStorageConfig, new MetricsManager(), "topic", 0);
+
+    fsLogStorage.open();
+    final long firstAddress = fsLogStorage.append(createEntry(1));
+    fsLogStorage.append(createEntry(2));
+    fsLogStorage.close();
+
+    // when
+    fsLogStorage.open();
+
+    // then
+    final ByteBuffer readBuffer = ByteBuffer.allocate(2 * ENTRY_LENGTH);
+    final long result = fsLogStorage.read(readBuffer, firstAddress);
+
+    assertThat(result).isEqualTo(firstAddress + 2 * ENTRY_LENGTH);
+  }
+
+  @Test
+  public void shouldTruncateAtInvalidEntryOnOpen() throws IOException {
+    // given
+    fsStorageConfig = new FsLogStorageConfiguration(SEGMENT_SIZE, logPath, 0, false, true);
+    fsLogStorage = new FsLogStorage(fsStorageConfig, new MetricsManager(), "topic", 0);
+
+    fsLogStorage.open();
+    final long firstAddress = fsLogStorage.append(createEntry(1));
+    final long secondAddress = fsLogStorage.append(createEntry(2));
+    fsLogStorage.append(createEntry(3));
+    fsLogStorage.close();
+
+    try (FileChannel fileChannel = FileUtil.openChannel(fsStorageConfig.fileName(0), false)) {
+      // flip a byte of the second entry
+      final long keyOffset =
+          partitionOffset(secondAddress) + LogEntryDescriptor.keyOffset(messageOffset(0));
+      fileChannel.write(ByteBuffer.wrap(new byte[] {1}), keyOffset);
+    }
+
+    // when
+    fsLogStorage.open();
+
+    // then
+    final ByteBuffer readBuffer = ByteBuffer.allocate(3 * ENTRY_LENGTH);
+    final long result = fsLogStorage.read(readBuffer, firstAddress);
+
+    assertThat(result).isEqualTo(secondAddress);
+  }
+
   @Test
   public void shouldNotTruncateIfNotOpen() {
     thrown.expect(IllegalStateException.class);
@@ -725,6 +808,74 @@ public class FsLogStorageTest {
     fsLogStorage.close();
   }
 
+  @Test
+  public void shouldDeleteSegmentsBeforeAddress() {
+    fsLogStorage.open();
+
+    final int remainingCapacity = SEGMENT_SIZE - FsLogSegmentDescriptor.METADATA_LENGTH;
+    final byte[] largeBlock = new byte[remainingCapacity];
+    new Random().nextBytes(largeBlock);
+
+    // segment: 0
+    final long firstAddress = fsLogStorage.append(ByteBuffer.wrap(largeBlock));
+    // segment: 1
+    fsLogStorage.append(ByteBuffer.wrap(largeBlock));
+    // segment: 2
+    final long addressMessage = fsLogStorage.append(ByteBuffer.wrap(MSG));
+
+    final long firstBlockAddress = fsLogStorage.delete(addressMessage);
+
+    assertThat(firstBlockAddress).isEqualTo(addressMessage);
+    assertThat(fsLogStorage.getFirstBlockAddress()).isEqualTo(addressMessage);
+    assertThat(fsLogStorage.read(ByteBuffer.allocate(MSG.length), firstAddress))
+        .isEqualTo(LogStorage.OP_RESULT_INVALID_ADDR);
+    assertMessage(addressMessage, MSG);
+
+    fsLogStorage.close();
+
+    assertThat(logDirectory.listFiles().length).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotDeleteCurrentSegment() {
+    fsLogStorage.open();
+
+    final long address = fsLogStorage.append(ByteBuffer.wrap(MSG));
+
+    final long firstBlockAddress =
+        fsLogStorage.delete(PositionUtil.position(fsStorageConfig.getInitialSegmentId() + 1, 0));
+
+    assertThat(firstBlockAddress).isEqualTo(address);
+    assertMessage(address, MSG);
+  }
+
+  @Test
+  public void shouldOpenLogStorageAfterDeletion() {
+    fsLogStorage.open();
+
+    final int remainingCapacity = SEGMENT_SIZE - FsLogSegmentDescriptor.METADATA_LENGTH;
+    final byte[] largeBlock = new byte[remainingCapacity];
+    new Random().nextBytes(largeBlock);
+
+    // segment: 0
+    fsLogStorage.append(ByteBuffer.wrap(largeBlock));
+    // segment: 1
+    final long addressMessage = fsLogStorage.append(ByteBuffer.wrap(MSG));
+
+    fsLogStorage.delete(addressMessage);
+    fsLogStorage.close();
+
+    fsLogStorage = new FsLogStorage(fsStorageConfig, new MetricsManager(), "topic", 0);
+    fsLogStorage.open();
+
+    assertThat(fsLogStorage.getFirstBlockAddress()).isEqualTo(addressMessage);
+    assertMessage(addressMessage, MSG);
+
+    final long nextAddress = fsLogStorage.append(ByteBuffer.wrap(MSG));
+    assertThat(nextAddress).isEqualTo(addressMessage + MSG.length);
+    assertMessage(nextAddress, MSG);
+  }
+
   protected byte[] readLogFile(final String logFilePath, final long address, final int capacity) {
     final ByteBuffer buffer = ByteBuffer.allocate(capacity);
 
@@ -747,6 +898,18 @@ public class FsLogStorageTest {
     assertThat(readBuffer.array()).isEqualTo(message);
   }
 
+  protected ByteBuffer createEntry(long position) {
+    final ByteBuffer byteBuffer = ByteBuffer.allocate(ENTRY_LENGTH);
+    final UnsafeBuffer buffer = new UnsafeBuffer(byteBuffer);
+
+    final int messageLength = LogEntryDescriptor.headerLength(0);
+    buffer.putInt(lengthOffset(0), framedLength(messageLength));
+    LogEntryDescriptor.setPosition(buffer, messageOffset(0), position);
+    LogEntryDescriptor.writeChecksum(buffer, messageOffset(0), messageLength);
+
+    return byteBuffer;
+  }
+
   protected void assertNotBackupFile(File file) {
     assertThat(file.getPath()).doesNotEndWith(".bak");
   }
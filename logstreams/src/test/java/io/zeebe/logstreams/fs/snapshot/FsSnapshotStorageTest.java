@@ -246,6 +246,93 @@ public class FsSnapshotStorageTest {
     assertThat(files[0].getName()).matches(".+\\.tmp");
   }
 
+  @Test
+  public void shouldCreateDeltaSnapshot() throws Exception {
+    // given
+    writeSnapshot("test", 100);
+
+    // when
+    final FsSnapshotWriter deltaSnapshotWriter = fsSnapshotStorage.createDeltaSnapshot("test", 150);
+    deltaSnapshotWriter.getOutputStream().write(SNAPSHOT_DATA);
+    deltaSnapshotWriter.commit();
+
+    // then
+    assertThat(deltaSnapshotWriter.getDataFile())
+        .exists()
+        .hasName(getFileName(config.deltaSnapshotFileName("test", 150)))
+        .hasBinaryContent(SNAPSHOT_DATA);
+
+    final FsReadableSnapshot deltaSnapshot = fsSnapshotStorage.getLastDeltaSnapshot("test");
+    assertThat(deltaSnapshot).isNotNull();
+    assertThat(deltaSnapshot.getPosition()).isEqualTo(150);
+
+    final FsReadableSnapshot snapshot = fsSnapshotStorage.getLastSnapshot("test");
+    assertThat(snapshot.getPosition()).isEqualTo(100);
+  }
+
+  @Test
+  public void shouldNotCreateDeltaSnapshotWithoutSnapshot() {
+    assertThatThrownBy(() -> fsSnapshotStorage.createDeltaSnapshot("test", 100))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void shouldReplaceLastDeltaSnapshot() throws Exception {
+    // given
+    writeSnapshot("test", 100);
+    final File firstDeltaFile = writeDeltaSnapshot("test", 150);
+
+    // when
+    writeDeltaSnapshot("test", 200);
+
+    // then
+    assertThat(firstDeltaFile).doesNotExist();
+    assertThat(fsSnapshotStorage.getLastDeltaSnapshot("test").getPosition()).isEqualTo(200);
+  }
+
+  @Test
+  public void shouldDeleteDeltaSnapshotOnNewSnapshot() throws Exception {
+    // given
+    writeSnapshot("test", 100);
+    final File deltaFile = writeDeltaSnapshot("test", 150);
+
+    // when
+    writeSnapshot("test", 200);
+
+    // then
+    assertThat(deltaFile).doesNotExist();
+    assertThat(fsSnapshotStorage.getLastDeltaSnapshot("test")).isNull();
+    assertThat(fsSnapshotStorage.getLastSnapshot("test").getPosition()).isEqualTo(200);
+  }
+
+  @Test
+  public void shouldNotListDeltaSnapshots() throws Exception {
+    // given
+    writeSnapshot("test", 100);
+    writeDeltaSnapshot("test", 150);
+
+    // when
+    final List<SnapshotMetadata> snapshots = fsSnapshotStorage.listSnapshots();
+
+    // then
+    assertThat(snapshots).hasSize(1);
+    assertThat(snapshots.get(0).getPosition()).isEqualTo(100);
+  }
+
+  @Test
+  public void shouldPurgeDeltaSnapshots() throws Exception {
+    // given
+    writeSnapshot("test", 100);
+    final File deltaFile = writeDeltaSnapshot("test", 150);
+
+    // when
+    fsSnapshotStorage.purgeSnapshot("test");
+
+    // then
+    assertThat(deltaFile).doesNotExist();
+    assertThat(tempFolder.getRoot().listFiles()).isEmpty();
+  }
+
   protected String getFileName(String absolutePath) {
     return new File(absolutePath).getName();
   }
@@ -255,4 +342,11 @@ public class FsSnapshotStorageTest {
     fsSnapshotWriter.getOutputStream().write(SNAPSHOT_DATA);
     fsSnapshotWriter.commit();
   }
+
+  private File writeDeltaSnapshot(final String name, final long position) throws Exception {
+    final FsSnapshotWriter fsSnapshotWriter = fsSnapshotStorage.createDeltaSnapshot(name, position);
+    fsSnapshotWriter.getOutputStream().write(SNAPSHOT_DATA);
+    fsSnapshotWriter.commit();
+    return fsSnapshotWriter.getDataFile();
+  }
 }
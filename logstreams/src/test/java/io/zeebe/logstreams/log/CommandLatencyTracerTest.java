@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.logstreams.impl.CommandLatencyTracer;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.metrics.MetricsManager;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.agrona.ExpandableArrayBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CommandLatencyTracerTest {
+  private MetricsManager metricsManager;
+  private CommandLatencyTracer tracer;
+
+  @Before
+  public void setUp() {
+    metricsManager = new MetricsManager();
+    tracer = new CommandLatencyTracer(metricsManager, "test-topic", 0);
+  }
+
+  @Test
+  public void shouldRecordLatenciesOfProcessedCommand() {
+    // given
+    tracer.onCommandWritten(10, System.nanoTime());
+
+    // when
+    tracer.onAppended(20);
+    tracer.onCommitted(10);
+    tracer.onProcessingStarted(10);
+    tracer.onProcessed(10);
+
+    // then
+    assertThat(getCount("append")).isEqualTo(1);
+    assertThat(getCount("commit")).isEqualTo(1);
+    assertThat(getCount("processing_wait")).isEqualTo(1);
+    assertThat(getCount("processing")).isEqualTo(1);
+    assertThat(getCount("total")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotRecordLatenciesBeforeCommandIsProcessed() {
+    // given
+    tracer.onCommandWritten(10, System.nanoTime());
+
+    // when
+    tracer.onAppended(20);
+    tracer.onCommitted(10);
+    tracer.onProcessingStarted(10);
+
+    // then
+    assertThat(getCount("total")).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldIgnoreStagesOfOtherPositions() {
+    // given
+    tracer.onCommandWritten(10, System.nanoTime());
+
+    // when
+    tracer.onAppended(10);
+    tracer.onAppended(20);
+    tracer.onCommitted(5);
+    tracer.onCommitted(15);
+    tracer.onProcessingStarted(5);
+    tracer.onProcessingStarted(10);
+    tracer.onProcessed(15);
+    tracer.onProcessed(10);
+
+    // then
+    assertThat(getCount("total")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldTraceOneCommandAtATime() {
+    // given
+    tracer.onCommandWritten(10, System.nanoTime());
+
+    // when
+    tracer.onCommandWritten(30, System.nanoTime());
+    tracer.onAppended(40);
+    tracer.onCommitted(10);
+    tracer.onProcessingStarted(10);
+    tracer.onProcessed(10);
+
+    // then
+    assertThat(getCount("total")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldTraceNextCommandWhenPreviousIsProcessed() {
+    // given
+    traceCommand(10);
+
+    // when
+    traceCommand(30);
+
+    // then
+    assertThat(getCount("total")).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldReplaceTracedCommandAfterTimeout() {
+    // given
+    final long receivedTime = System.nanoTime();
+    tracer.onCommandWritten(10, receivedTime);
+
+    // when
+    tracer.onCommandWritten(30, receivedTime + CommandLatencyTracer.SAMPLE_TIMEOUT_NANOS + 1);
+    tracer.onAppended(40);
+    tracer.onCommitted(30);
+    tracer.onProcessingStarted(30);
+    tracer.onProcessed(30);
+
+    // then
+    assertThat(getCount("total")).isEqualTo(1);
+  }
+
+  private void traceCommand(long position) {
+    tracer.onCommandWritten(position, System.nanoTime());
+    tracer.onAppended(position + 1);
+    tracer.onCommitted(position);
+    tracer.onProcessingStarted(position);
+    tracer.onProcessed(position);
+  }
+
+  private long getCount(String stage) {
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    final int length = metricsManager.dump(buffer, 0, 0);
+    final String dump = BufferUtil.bufferAsString(buffer, 0, length);
+
+    final Pattern pattern =
+        Pattern.compile(
+            "zb_command_latency_micros_count\\{[^}]*stage=\"" + stage + "\"[^}]*\\} (\\d+) 0");
+
+    final Matcher matcher = pattern.matcher(dump);
+    assertThat(matcher.find()).isTrue();
+
+    return Long.parseLong(matcher.group(1));
+  }
+}
@@ -276,4 +276,47 @@ public class CompleteInBlockProcessorTest {
     assertThat(readBuffer.position()).isEqualTo(2 * ALIGNED_LEN);
     assertThat(readBuffer.limit()).isEqualTo(2 * ALIGNED_LEN);
   }
+
+  @Test
+  public void shouldReadEventWithValidChecksum() {
+    // given
+    final long address = appendEventWithChecksum(false);
+    final ByteBuffer readBuffer = ByteBuffer.allocate(ALIGNED_LEN);
+
+    // when
+    final long result = fsLogStorage.read(readBuffer, address, processor);
+
+    // then
+    assertThat(result).isEqualTo(address + ALIGNED_LEN);
+  }
+
+  @Test
+  public void shouldFailToReadEventWithInvalidChecksum() {
+    // given
+    final long address = appendEventWithChecksum(true);
+    final ByteBuffer readBuffer = ByteBuffer.allocate(ALIGNED_LEN);
+
+    // then
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("Invalid checksum of log entry at position 4");
+
+    // when
+    fsLogStorage.read(readBuffer, address, processor);
+  }
+
+  private long appendEventWithChecksum(boolean corrupt) {
+    final ByteBuffer writeBuffer = ByteBuffer.allocate(ALIGNED_LEN);
+    final MutableDirectBuffer directBuffer = new UnsafeBuffer(writeBuffer);
+
+    directBuffer.putInt(lengthOffset(0), framedLength(LENGTH));
+    directBuffer.putLong(positionOffset(messageOffset(0)), 4);
+    directBuffer.putLong(keyOffset(messageOffset(0)), 5);
+    writeChecksum(directBuffer, messageOffset(0), LENGTH);
+
+    if (corrupt) {
+      directBuffer.putLong(keyOffset(messageOffset(0)), 6);
+    }
+
+    return fsLogStorage.append(writeBuffer);
+  }
 }
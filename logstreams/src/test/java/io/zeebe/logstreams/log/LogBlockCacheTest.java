@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.logstreams.impl.LogBlockCache;
+import java.nio.ByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
+import org.junit.Test;
+
+public class LogBlockCacheTest {
+  private static final int BLOCK_CAPACITY = 64;
+
+  private final LogBlockCache cache = new LogBlockCache(4, BLOCK_CAPACITY);
+  private final UnsafeBuffer events = new UnsafeBuffer(new byte[BLOCK_CAPACITY * 2]);
+
+  @After
+  public void tearDown() {
+    cache.close();
+  }
+
+  @Test
+  public void shouldReadCachedBlock() {
+    // given
+    events.setMemory(0, 32, (byte) 7);
+    cache.put(100L, events, 0, 32, 132L);
+
+    final ByteBuffer readBuffer = ByteBuffer.allocate(BLOCK_CAPACITY);
+    readBuffer.position(8);
+
+    // when
+    final long nextAddress = cache.read(100L, readBuffer);
+
+    // then
+    assertThat(nextAddress).isEqualTo(132L);
+    assertThat(readBuffer.position()).isEqualTo(40);
+    assertThat(readBuffer.get(8)).isEqualTo((byte) 7);
+    assertThat(readBuffer.get(39)).isEqualTo((byte) 7);
+  }
+
+  @Test
+  public void shouldNotReadUncachedBlock() {
+    // given
+    cache.put(100L, events, 0, 32, 132L);
+
+    final ByteBuffer readBuffer = ByteBuffer.allocate(BLOCK_CAPACITY);
+
+    // then
+    assertThat(cache.read(132L, readBuffer)).isEqualTo(-1L);
+    assertThat(readBuffer.position()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldNotReadIfBufferHasNotEnoughCapacity() {
+    // given
+    cache.put(100L, events, 0, 32, 132L);
+
+    final ByteBuffer readBuffer = ByteBuffer.allocate(16);
+
+    // then
+    assertThat(cache.read(100L, readBuffer)).isEqualTo(-1L);
+  }
+
+  @Test
+  public void shouldNotCacheBlockLargerThanCapacity() {
+    // when
+    cache.put(100L, events, 0, BLOCK_CAPACITY + 1, 100L + BLOCK_CAPACITY + 1);
+
+    // then
+    assertThat(cache.read(100L, ByteBuffer.allocate(BLOCK_CAPACITY * 2))).isEqualTo(-1L);
+  }
+
+  @Test
+  public void shouldNotReadAfterClose() {
+    // given
+    cache.put(100L, events, 0, 32, 132L);
+
+    // when
+    cache.close();
+
+    // then
+    assertThat(cache.read(100L, ByteBuffer.allocate(BLOCK_CAPACITY))).isEqualTo(-1L);
+  }
+}
@@ -18,6 +18,7 @@ package io.zeebe.logstreams.log;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
+import io.zeebe.logstreams.impl.log.index.LogBlockIndexDescriptor;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
@@ -251,4 +252,71 @@ public class LogBlockIndexTest {
       assertThat(newBlockIndex.getAddress(i)).isEqualTo(physPos);
     }
   }
+
+  @Test
+  public void shouldLookupLastSourceEventPosition() {
+    // when
+    blockIndex.updateLastSourceEventPosition(1, 10);
+    blockIndex.updateLastSourceEventPosition(2, 20);
+    blockIndex.updateLastSourceEventPosition(1, 30);
+    blockIndex.updateLastSourceEventPosition(2, 15);
+    blockIndex.setSourceIndexPosition(40);
+
+    // then
+    assertThat(blockIndex.getSourceIndexPosition()).isEqualTo(40);
+    assertThat(blockIndex.lookupLastSourceEventPosition(1)).isEqualTo(30);
+    assertThat(blockIndex.lookupLastSourceEventPosition(2)).isEqualTo(20);
+    assertThat(blockIndex.lookupLastSourceEventPosition(3)).isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldNotMoveSourceIndexPositionIfIncomplete() {
+    // given
+    for (int i = 0; i < LogBlockIndexDescriptor.SOURCE_INDEX_CAPACITY; i++) {
+      assertThat(blockIndex.updateLastSourceEventPosition(i, 10)).isTrue();
+    }
+    blockIndex.setSourceIndexPosition(10);
+
+    // when
+    final boolean updated =
+        blockIndex.updateLastSourceEventPosition(LogBlockIndexDescriptor.SOURCE_INDEX_CAPACITY, 20);
+    blockIndex.setSourceIndexPosition(20);
+
+    // then
+    assertThat(updated).isFalse();
+    assertThat(blockIndex.getSourceIndexPosition()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldResetSourceIndex() {
+    // given
+    blockIndex.updateLastSourceEventPosition(1, 10);
+    blockIndex.setSourceIndexPosition(20);
+
+    // when
+    blockIndex.reset();
+
+    // then
+    assertThat(blockIndex.getSourceIndexPosition()).isEqualTo(-1);
+    assertThat(blockIndex.lookupLastSourceEventPosition(1)).isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldRecoverSourceIndexFromSnapshot() throws Exception {
+    // given
+    blockIndex.addBlock(1, 10);
+    blockIndex.updateLastSourceEventPosition(1, 10);
+    blockIndex.setSourceIndexPosition(20);
+
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    blockIndex.writeSnapshot(outputStream);
+
+    // when
+    final LogBlockIndex newBlockIndex = createNewBlockIndex(CAPACITY);
+    newBlockIndex.recoverFromSnapshot(new ByteArrayInputStream(outputStream.toByteArray()));
+
+    // then
+    assertThat(newBlockIndex.getSourceIndexPosition()).isEqualTo(20);
+    assertThat(newBlockIndex.lookupLastSourceEventPosition(1)).isEqualTo(10);
+  }
 }
@@ -125,6 +125,29 @@ public class LogBlockIndexWriterTest {
     assertThat(readEventAtAddress(indexAddress)).isEqualTo(EVENT_2);
   }
 
+  @Test
+  public void shouldIndexLastSourceEventPositions() {
+    // given
+    final long firstEventPosition = writer.writeEvent(EVENT_1, true);
+    writer.writeEvent(
+        w ->
+            w.positionAsKey().producerId(1).sourceRecordPosition(firstEventPosition).value(EVENT_1),
+        true);
+    final long thirdEventPosition =
+        writer.writeEvent(
+            w -> w.positionAsKey().producerId(2).sourceRecordPosition(5).value(EVENT_1), true);
+    writer.writeEvent(EVENT_2, true);
+
+    // when
+    waitUntil(() -> blockIndex.size() == 2);
+
+    // then
+    assertThat(blockIndex.getSourceIndexPosition()).isGreaterThanOrEqualTo(thirdEventPosition);
+    assertThat(blockIndex.lookupLastSourceEventPosition(1)).isEqualTo(firstEventPosition);
+    assertThat(blockIndex.lookupLastSourceEventPosition(2)).isEqualTo(5);
+    assertThat(blockIndex.lookupLastSourceEventPosition(3)).isEqualTo(-1);
+  }
+
   @Test
   public void shouldWriteSnapshot() {
     writer.writeEvents(2, EVENT_1, true);
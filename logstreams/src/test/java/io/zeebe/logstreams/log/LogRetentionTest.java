@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import io.zeebe.logstreams.impl.LogRetention;
+import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
+import io.zeebe.logstreams.spi.LogStorage;
+import io.zeebe.logstreams.spi.SnapshotMetadata;
+import io.zeebe.logstreams.spi.SnapshotStorage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+import org.agrona.concurrent.status.AtomicLongPosition;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LogRetentionTest {
+  private LogStorage logStorage;
+  private LogBlockIndex blockIndex;
+  private SnapshotStorage snapshotStorage;
+  private AtomicLongPosition commitPosition;
+  private List<LongSupplier> retentionGuards;
+
+  private LogRetention logRetention;
+
+  @Before
+  public void setUp() {
+    logStorage = mock(LogStorage.class);
+    blockIndex = mock(LogBlockIndex.class);
+    snapshotStorage = mock(SnapshotStorage.class);
+    commitPosition = new AtomicLongPosition();
+    retentionGuards = new ArrayList<>();
+
+    commitPosition.setVolatile(1_000L);
+    when(blockIndex.lookupBlockAddress(anyLong())).thenAnswer(i -> i.getArgument(0));
+
+    logRetention =
+        new LogRetention(logStorage, blockIndex, snapshotStorage, commitPosition, retentionGuards);
+  }
+
+  @Test
+  public void shouldNotDeleteWithoutSnapshot() {
+    // given
+    when(snapshotStorage.listSnapshots()).thenReturn(Collections.emptyList());
+
+    // when
+    final long address = logRetention.apply();
+
+    // then
+    assertThat(address).isNegative();
+    verify(logStorage, never()).delete(anyLong());
+  }
+
+  @Test
+  public void shouldDeleteBeforeLowestSnapshotPosition() {
+    // given
+    final List<SnapshotMetadata> snapshots = Arrays.asList(snapshot(300L), snapshot(200L));
+    when(snapshotStorage.listSnapshots()).thenReturn(snapshots);
+
+    // when
+    logRetention.apply();
+
+    // then
+    verify(logStorage).delete(200L);
+  }
+
+  @Test
+  public void shouldNotDeleteBeyondCommitPosition() {
+    // given
+    final List<SnapshotMetadata> snapshots = Collections.singletonList(snapshot(300L));
+    when(snapshotStorage.listSnapshots()).thenReturn(snapshots);
+    commitPosition.setVolatile(100L);
+
+    // when
+    logRetention.apply();
+
+    // then
+    verify(logStorage).delete(100L);
+  }
+
+  @Test
+  public void shouldNotDeleteBeyondRetentionGuard() {
+    // given
+    final List<SnapshotMetadata> snapshots = Collections.singletonList(snapshot(300L));
+    when(snapshotStorage.listSnapshots()).thenReturn(snapshots);
+    retentionGuards.add(() -> 150L);
+
+    // when
+    logRetention.apply();
+
+    // then
+    verify(logStorage).delete(150L);
+  }
+
+  @Test
+  public void shouldNotDeleteIfGuardRetainsWholeLog() {
+    // given
+    final List<SnapshotMetadata> snapshots = Collections.singletonList(snapshot(300L));
+    when(snapshotStorage.listSnapshots()).thenReturn(snapshots);
+    retentionGuards.add(() -> 150L);
+    retentionGuards.add(() -> -1L);
+
+    // when
+    final long address = logRetention.apply();
+
+    // then
+    assertThat(address).isNegative();
+    verify(logStorage, never()).delete(anyLong());
+  }
+
+  private static SnapshotMetadata snapshot(long position) {
+    final SnapshotMetadata snapshot = mock(SnapshotMetadata.class);
+    when(snapshot.getPosition()).thenReturn(position);
+    return snapshot;
+  }
+}
@@ -15,6 +15,9 @@
  */
 package io.zeebe.logstreams.log;
 
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageOffset;
 import static io.zeebe.test.util.TestUtil.waitUntil;
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,14 +27,17 @@ import static org.mockito.Mockito.spy;
 
 import io.zeebe.dispatcher.FragmentHandler;
 import io.zeebe.dispatcher.Subscription;
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
 import io.zeebe.logstreams.impl.LogStorageAppender;
 import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.logstreams.util.*;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorCondition;
+import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.*;
 import org.junit.rules.RuleChain;
 import org.junit.rules.TemporaryFolder;
@@ -71,6 +77,25 @@ public class LogStorageAppenderTest {
     reader.assertEvents(10, EVENT);
   }
 
+  @Test
+  public void shouldWriteChecksums() {
+    // given
+    writer.writeEvents(2, EVENT, true);
+    reader.assertEvents(2, EVENT);
+
+    // when
+    final ByteBuffer readBuffer = ByteBuffer.allocate(1024);
+    logStorageSpy.read(readBuffer, logStorageSpy.getFirstBlockAddress());
+
+    // then
+    final UnsafeBuffer buffer = new UnsafeBuffer(readBuffer);
+    final int messageLength = messageLength(buffer.getInt(lengthOffset(0)));
+
+    assertThat(LogEntryDescriptor.hasChecksum(buffer, messageOffset(0))).isTrue();
+    assertThat(LogEntryDescriptor.isChecksumValid(buffer, messageOffset(0), messageLength))
+        .isTrue();
+  }
+
   @Test
   public void shouldUpdateAppenderPosition() {
     final LogStorageAppender storageAppender = logStream.getLogStorageAppender();
@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.logstreams.impl.LogStorageAppender;
+import io.zeebe.logstreams.impl.log.fs.FsLogFlushPolicy;
+import io.zeebe.logstreams.util.LogStreamRule;
+import io.zeebe.logstreams.util.LogStreamWriterRule;
+import java.time.Duration;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TemporaryFolder;
+
+public class LogStorageFlusherTest {
+  private static final DirectBuffer EVENT = wrapString("FOO");
+  private static final DirectBuffer LARGE_EVENT = new UnsafeBuffer(new byte[2048]);
+
+  private static final int FLUSH_BYTES = 1024;
+  private static final Duration FLUSH_INTERVAL = Duration.ofMinutes(1);
+
+  private TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private LogStreamRule logStreamRule =
+      new LogStreamRule(
+          temporaryFolder,
+          b -> b.flushPolicy(FsLogFlushPolicy.group(FLUSH_BYTES, FLUSH_INTERVAL)));
+
+  private LogStreamWriterRule writer = new LogStreamWriterRule(logStreamRule);
+
+  @Rule
+  public RuleChain ruleChain =
+      RuleChain.outerRule(temporaryFolder).around(logStreamRule).around(writer);
+
+  private LogStorageAppender appender;
+
+  @Before
+  public void setup() {
+    appender = logStreamRule.getLogStream().getLogStorageAppender();
+  }
+
+  @Test
+  public void shouldNotFlushBeforeGroupIsComplete() {
+    // given
+    final long durablePosition = appender.getDurableAppenderPosition();
+
+    // when
+    writer.writeEvent(EVENT);
+
+    // then
+    assertThat(appender.getCurrentAppenderPosition()).isGreaterThan(durablePosition);
+    assertThat(appender.getDurableAppenderPosition()).isEqualTo(durablePosition);
+  }
+
+  @Test
+  public void shouldFlushWhenGroupBytesAreAppended() {
+    // when
+    writer.writeEvent(LARGE_EVENT);
+
+    // then
+    waitUntil(
+        () -> appender.getDurableAppenderPosition() == appender.getCurrentAppenderPosition());
+  }
+
+  @Test
+  public void shouldFlushAfterGroupInterval() {
+    // given
+    writer.writeEvent(EVENT);
+
+    // when
+    logStreamRule.getClock().addTime(FLUSH_INTERVAL);
+
+    // then
+    waitUntil(
+        () -> appender.getDurableAppenderPosition() == appender.getCurrentAppenderPosition());
+  }
+
+  @Test
+  public void shouldFlushLastBlockOfIdleLog() {
+    // given
+    writer.writeEvent(EVENT);
+    logStreamRule.getClock().addTime(FLUSH_INTERVAL);
+    waitUntil(
+        () -> appender.getDurableAppenderPosition() == appender.getCurrentAppenderPosition());
+
+    // when
+    writer.writeEvent(EVENT);
+    logStreamRule.getClock().addTime(FLUSH_INTERVAL);
+
+    // then
+    waitUntil(
+        () -> appender.getDurableAppenderPosition() == appender.getCurrentAppenderPosition());
+  }
+
+  @Test
+  public void shouldFlushOnClose() {
+    // given
+    writer.writeEvent(EVENT);
+
+    // when
+    logStreamRule.closeLogStream();
+
+    // then
+    assertThat(appender.getDurableAppenderPosition())
+        .isEqualTo(appender.getCurrentAppenderPosition());
+  }
+}
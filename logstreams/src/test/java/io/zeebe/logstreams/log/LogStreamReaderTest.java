@@ -25,6 +25,7 @@ import io.zeebe.logstreams.util.LogStreamReaderRule;
 import io.zeebe.logstreams.util.LogStreamRule;
 import io.zeebe.logstreams.util.LogStreamWriterRule;
 import io.zeebe.test.util.TestUtil;
+import java.nio.ByteBuffer;
 import java.util.NoSuchElementException;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Before;
@@ -421,4 +422,35 @@ public class LogStreamReaderTest {
     // when
     ((BufferedLogStreamReader) reader).wrap(logStorage, logStream.getLogBlockIndex());
   }
+
+  @Test
+  public void shouldReadCommittedEventsFromSharedCache() {
+    // given
+    final long firstPosition = writer.writeEvent(EVENT_VALUE);
+    final long lastPosition = writer.writeEvents(10, EVENT_VALUE);
+
+    while (reader.hasNext()) {
+      reader.next();
+    }
+
+    final LogStream logStream = logStreamRule.getLogStream();
+    final long firstBlockAddress = logStream.getLogStorage().getFirstBlockAddress();
+    assertThat(logStream.getLogBlockCache().read(firstBlockAddress, ByteBuffer.allocate(1024)))
+        .isGreaterThan(0);
+
+    // when
+    final BufferedLogStreamReader otherReader = new BufferedLogStreamReader(logStream);
+
+    // then
+    assertThat(otherReader.hasNext()).isTrue();
+    assertThat(otherReader.next().getPosition()).isEqualTo(firstPosition);
+
+    long position = firstPosition;
+    while (otherReader.hasNext()) {
+      position = otherReader.next().getPosition();
+    }
+    assertThat(position).isEqualTo(lastPosition);
+
+    otherReader.close();
+  }
 }
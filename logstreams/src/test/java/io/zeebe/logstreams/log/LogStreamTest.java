@@ -31,7 +31,10 @@ import io.zeebe.util.sched.testing.ActorSchedulerRule;
 import java.io.File;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.agrona.DirectBuffer;
@@ -132,6 +135,28 @@ public class LogStreamTest {
     assertThat(writeBuffer.isClosed()).isTrue();
   }
 
+  @Test
+  public void shouldRetainWholeLogWhileAppenderIsClosed() {
+    // given
+    final AtomicReference<List<LongSupplier>> retentionGuards = new AtomicReference<>();
+    final LogStream logStream = buildLogStream(b -> retentionGuards.set(b.getRetentionGuards()));
+    closeables.manage(logStream);
+
+    assertThat(retentionGuards.get()).extracting(LongSupplier::getAsLong).contains(-1L);
+
+    // when
+    logStream.openAppender().join();
+
+    // then
+    assertThat(retentionGuards.get()).extracting(LongSupplier::getAsLong).doesNotContain(-1L);
+
+    // and when
+    logStream.closeAppender().join();
+
+    // then
+    assertThat(retentionGuards.get()).extracting(LongSupplier::getAsLong).contains(-1L);
+  }
+
   @Test
   public void shouldCloseLogStream() {
     // given
@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.sched.future.ActorFuture;
+import org.junit.Test;
+
+public class RecoveryCoordinatorTest {
+
+  @Test
+  public void shouldStartRecoveriesUpToLimit() {
+    // given
+    final RecoveryCoordinator coordinator = new RecoveryCoordinator(2);
+
+    // when
+    final ActorFuture<Void> first = coordinator.acquire();
+    final ActorFuture<Void> second = coordinator.acquire();
+    final ActorFuture<Void> third = coordinator.acquire();
+
+    // then
+    assertThat(first).isDone();
+    assertThat(second).isDone();
+    assertThat(third).isNotDone();
+
+    assertThat(coordinator.getActiveRecoveries()).isEqualTo(2);
+    assertThat(coordinator.getPendingRecoveries()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldStartPendingRecoveryOnRelease() {
+    // given
+    final RecoveryCoordinator coordinator = new RecoveryCoordinator(1);
+    coordinator.acquire();
+
+    final ActorFuture<Void> second = coordinator.acquire();
+    final ActorFuture<Void> third = coordinator.acquire();
+
+    // when
+    coordinator.release();
+
+    // then
+    assertThat(second).isDone();
+    assertThat(third).isNotDone();
+
+    assertThat(coordinator.getActiveRecoveries()).isEqualTo(1);
+    assertThat(coordinator.getPendingRecoveries()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReleaseAllRecoveries() {
+    // given
+    final RecoveryCoordinator coordinator = new RecoveryCoordinator(1);
+    coordinator.acquire();
+    coordinator.acquire();
+
+    // when
+    coordinator.release();
+    coordinator.release();
+
+    // then
+    assertThat(coordinator.getActiveRecoveries()).isEqualTo(0);
+    assertThat(coordinator.getPendingRecoveries()).isEqualTo(0);
+    assertThat(coordinator.acquire()).isDone();
+  }
+
+  @Test
+  public void shouldCancelPendingRecovery() {
+    // given
+    final RecoveryCoordinator coordinator = new RecoveryCoordinator(1);
+    coordinator.acquire();
+
+    final ActorFuture<Void> second = coordinator.acquire();
+    final ActorFuture<Void> third = coordinator.acquire();
+
+    // when
+    final boolean isCancelled = coordinator.cancel(second);
+    coordinator.release();
+
+    // then
+    assertThat(isCancelled).isTrue();
+    assertThat(second.isCompletedExceptionally()).isTrue();
+    assertThat(third).isDone();
+
+    assertThat(coordinator.getActiveRecoveries()).isEqualTo(1);
+    assertThat(coordinator.getPendingRecoveries()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldNotCancelStartedRecovery() {
+    // given
+    final RecoveryCoordinator coordinator = new RecoveryCoordinator(1);
+    final ActorFuture<Void> first = coordinator.acquire();
+
+    // when
+    final boolean isCancelled = coordinator.cancel(first);
+
+    // then
+    assertThat(isCancelled).isFalse();
+    assertThat(first.isCompletedExceptionally()).isFalse();
+    assertThat(coordinator.getActiveRecoveries()).isEqualTo(1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectNonPositiveLimit() {
+    new RecoveryCoordinator(0);
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class SnapshotMemoryBudgetTest {
+
+  @Test
+  public void shouldReserveUpToLimit() {
+    // given
+    final SnapshotMemoryBudget budget = new SnapshotMemoryBudget(100);
+
+    // when
+    final boolean first = budget.tryReserve(60);
+    final boolean second = budget.tryReserve(40);
+    final boolean third = budget.tryReserve(1);
+
+    // then
+    assertThat(first).isTrue();
+    assertThat(second).isTrue();
+    assertThat(third).isFalse();
+
+    assertThat(budget.getReservedBytes()).isEqualTo(100);
+  }
+
+  @Test
+  public void shouldReserveAgainAfterRelease() {
+    // given
+    final SnapshotMemoryBudget budget = new SnapshotMemoryBudget(100);
+    budget.tryReserve(80);
+
+    // when
+    budget.release(80);
+
+    // then
+    assertThat(budget.getReservedBytes()).isEqualTo(0);
+    assertThat(budget.tryReserve(100)).isTrue();
+  }
+
+  @Test
+  public void shouldNotReserveMoreThanLimit() {
+    // given
+    final SnapshotMemoryBudget budget = new SnapshotMemoryBudget(100);
+
+    // then
+    assertThat(budget.tryReserve(101)).isFalse();
+    assertThat(budget.getReservedBytes()).isEqualTo(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectNegativeLimit() {
+    new SnapshotMemoryBudget(-1);
+  }
+}
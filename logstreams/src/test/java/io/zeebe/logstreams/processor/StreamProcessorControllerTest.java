@@ -49,6 +49,8 @@ import org.mockito.InOrder;
 
 public class StreamProcessorControllerTest {
   private static final String PROCESSOR_NAME = "testProcessor";
+  private static final String DELTA_PROCESSOR_NAME = "deltaProcessor";
+  private static final String BUDGET_PROCESSOR_NAME = "budgetProcessor";
   private static final int PROCESSOR_ID = 1;
   private static final Duration SNAPSHOT_INTERVAL = Duration.ofMinutes(1);
 
@@ -465,6 +467,22 @@ public class StreamProcessorControllerTest {
     assertThat(snapshotPosition).isEqualTo(lastEventPosition);
   }
 
+  @Test
+  public void shouldContinueProcessingWhileSnapshotIsWritten() {
+    // given
+    final long snapshotEventPosition = writeEventAndWaitUntilProcessed(EVENT_1);
+
+    // when
+    logStreamRule.getClock().addTime(SNAPSHOT_INTERVAL);
+    final long lastEventPosition = writeEventAndWaitUntilProcessed(EVENT_2);
+
+    // then
+    waitUntil(() -> getLatestSnapshot() != null);
+
+    final long snapshotPosition = getLatestSnapshot().getPosition();
+    assertThat(snapshotPosition).isBetween(snapshotEventPosition, lastEventPosition);
+  }
+
   @Test
   public void shouldWriteSnapshotOnClosing() {
     // given
@@ -517,6 +535,107 @@ public class StreamProcessorControllerTest {
         .containsExactly(firstEventPosition, secondEventPosition);
   }
 
+  @Test
+  public void shouldReleaseSnapshotMemoryAfterSnapshotIsWritten() {
+    // given
+    controller.closeAsync().join();
+
+    final SnapshotMemoryBudget budget = new SnapshotMemoryBudget(1024);
+    controller = createSnapshotMemoryBudgetController(budget);
+
+    final long lastEventPosition = writeEventAndWaitUntilProcessed(EVENT_1);
+    streamProcessor.getSnapshot().setValue("foo");
+
+    // when
+    logStreamRule.getClock().addTime(SNAPSHOT_INTERVAL);
+
+    // then
+    waitUntil(() -> getLatestSnapshot(BUDGET_PROCESSOR_NAME) != null);
+    assertThat(getLatestSnapshot(BUDGET_PROCESSOR_NAME).getPosition()).isEqualTo(lastEventPosition);
+
+    waitUntil(() -> budget.getReservedBytes() == 0);
+  }
+
+  @Test
+  public void shouldWriteSnapshotDirectlyIfMemoryBudgetIsExhausted() {
+    // given
+    controller.closeAsync().join();
+
+    final SnapshotMemoryBudget budget = new SnapshotMemoryBudget(1024);
+    budget.tryReserve(1024);
+    controller = createSnapshotMemoryBudgetController(budget);
+
+    final long lastEventPosition = writeEventAndWaitUntilProcessed(EVENT_1);
+    streamProcessor.getSnapshot().setValue("foo");
+
+    // when
+    logStreamRule.getClock().addTime(SNAPSHOT_INTERVAL);
+
+    // then
+    waitUntil(() -> getLatestSnapshot(BUDGET_PROCESSOR_NAME) != null);
+    assertThat(getLatestSnapshot(BUDGET_PROCESSOR_NAME).getPosition()).isEqualTo(lastEventPosition);
+    assertThat(budget.getReservedBytes()).isEqualTo(1024);
+
+    controller.closeAsync().join();
+    streamProcessor.getSnapshot().setValue(null);
+    controller.openAsync().join();
+
+    assertThat(streamProcessor.getSnapshot().getValue()).isEqualTo("foo");
+  }
+
+  @Test
+  public void shouldRecoverStateFromDeltaSnapshot() {
+    // given
+    controller.closeAsync().join();
+    controller = createDeltaSnapshotController(1);
+
+    writeEventAndWaitUntilProcessed(EVENT_1);
+    streamProcessor.getSnapshot().setValue("foo");
+
+    logStreamRule.getClock().addTime(SNAPSHOT_INTERVAL);
+    waitUntil(() -> getLatestSnapshot(DELTA_PROCESSOR_NAME) != null);
+
+    final long lastEventPosition = writeEventAndWaitUntilProcessed(EVENT_2);
+    streamProcessor.getSnapshot().setValue("bar");
+
+    controller.closeAsync().join();
+
+    assertThat(getLatestDeltaSnapshot(DELTA_PROCESSOR_NAME)).isNotNull();
+    assertThat(getLatestDeltaSnapshot(DELTA_PROCESSOR_NAME).getPosition()).isEqualTo(lastEventPosition);
+
+    streamProcessor.getSnapshot().setValue(null);
+
+    // when
+    controller.openAsync().join();
+
+    // then
+    assertThat(streamProcessor.getSnapshot().getValue()).isEqualTo("bar");
+  }
+
+  @Test
+  public void shouldWriteFullSnapshotAfterMaxDeltaSnapshots() {
+    // given
+    controller.closeAsync().join();
+    controller = createDeltaSnapshotController(1);
+
+    writeEventAndWaitUntilProcessed(EVENT_1);
+    logStreamRule.getClock().addTime(SNAPSHOT_INTERVAL);
+    waitUntil(() -> getLatestSnapshot(DELTA_PROCESSOR_NAME) != null);
+
+    final long deltaSnapshotPosition = writeEventAndWaitUntilProcessed(EVENT_2);
+    logStreamRule.getClock().addTime(SNAPSHOT_INTERVAL);
+    waitUntil(() -> getLatestDeltaSnapshot(DELTA_PROCESSOR_NAME) != null);
+    assertThat(getLatestDeltaSnapshot(DELTA_PROCESSOR_NAME).getPosition()).isEqualTo(deltaSnapshotPosition);
+
+    // when
+    final long lastEventPosition = writeEventAndWaitUntilProcessed(EVENT_1);
+    logStreamRule.getClock().addTime(SNAPSHOT_INTERVAL);
+
+    // then
+    waitUntil(() -> getLatestSnapshot(DELTA_PROCESSOR_NAME).getPosition() == lastEventPosition);
+    assertThat(getLatestDeltaSnapshot(DELTA_PROCESSOR_NAME)).isNull();
+  }
+
   @Test
   public void shouldFailOnProcessEvent() {
     // given
@@ -635,6 +754,83 @@ public class StreamProcessorControllerTest {
     inOrder.verifyNoMoreInteractions();
   }
 
+  @Test
+  public void shouldProcessMultipleEventsPerJob() {
+    // given
+    controller.closeAsync().join();
+    controller = createMultiEventController(10);
+
+    // when
+    writer.writeEvents(5, EVENT_1, true);
+
+    // then
+    waitUntil(() -> streamProcessor.getProcessedEventCount() == 5);
+
+    verify(eventProcessor, times(5)).processEvent(any());
+    verify(eventProcessor, times(5)).executeSideEffects();
+    verify(eventProcessor, times(5)).writeEvent(any());
+    verify(eventProcessor, times(5)).updateState();
+  }
+
+  @Test
+  public void shouldContinueWithNextJobAfterBackpressure() {
+    // given
+    controller.closeAsync().join();
+    controller = createMultiEventController(10);
+
+    changeMockInActorContext(
+        () -> when(eventProcessor.writeEvent(any())).thenReturn(-1L, -1L, 1L, 2L, 3L));
+
+    // when
+    writer.writeEvents(3, EVENT_1, true);
+
+    // then
+    waitUntil(() -> streamProcessor.getProcessedEventCount() == 3);
+
+    verify(eventProcessor, times(3)).processEvent(any());
+    verify(eventProcessor, times(5)).writeEvent(any());
+    verify(eventProcessor, times(3)).updateState();
+  }
+
+  private StreamProcessorController createMultiEventController(int eventsPerJob) {
+    return LogStreams.createStreamProcessor("multi-event", PROCESSOR_ID, streamProcessor)
+        .logStream(logStreamRule.getLogStream())
+        .snapshotStorage(logStreamRule.getSnapshotStorage())
+        .actorScheduler(logStreamRule.getActorScheduler())
+        .serviceContainer(logStreamRule.getServiceContainer())
+        .maxEventsPerJob(eventsPerJob)
+        .build()
+        .join()
+        .getController();
+  }
+
+  private StreamProcessorController createDeltaSnapshotController(int maxDeltaSnapshots) {
+    return LogStreams.createStreamProcessor(DELTA_PROCESSOR_NAME, PROCESSOR_ID, streamProcessor)
+        .logStream(logStreamRule.getLogStream())
+        .snapshotStorage(logStreamRule.getSnapshotStorage())
+        .actorScheduler(logStreamRule.getActorScheduler())
+        .serviceContainer(logStreamRule.getServiceContainer())
+        .snapshotPeriod(SNAPSHOT_INTERVAL)
+        .maxDeltaSnapshots(maxDeltaSnapshots)
+        .build()
+        .join()
+        .getController();
+  }
+
+  private StreamProcessorController createSnapshotMemoryBudgetController(
+      SnapshotMemoryBudget budget) {
+    return LogStreams.createStreamProcessor(BUDGET_PROCESSOR_NAME, PROCESSOR_ID, streamProcessor)
+        .logStream(logStreamRule.getLogStream())
+        .snapshotStorage(logStreamRule.getSnapshotStorage())
+        .actorScheduler(logStreamRule.getActorScheduler())
+        .serviceContainer(logStreamRule.getServiceContainer())
+        .snapshotPeriod(SNAPSHOT_INTERVAL)
+        .snapshotMemoryBudget(budget)
+        .build()
+        .join()
+        .getController();
+  }
+
   private long writeEventAndWaitUntilProcessed(DirectBuffer event) {
     final int before = streamProcessor.getProcessedEventCount();
 
@@ -645,11 +841,24 @@ public class StreamProcessorControllerTest {
   }
 
   private ReadableSnapshot getLatestSnapshot() {
+    return getLatestSnapshot(PROCESSOR_NAME);
+  }
+
+  private ReadableSnapshot getLatestSnapshot(String processorName) {
     try {
-      return logStreamRule.getSnapshotStorage().getLastSnapshot(PROCESSOR_NAME);
+      return logStreamRule.getSnapshotStorage().getLastSnapshot(processorName);
     } catch (Exception e) {
       fail("Fail to read snapshot", e);
       return null;
     }
   }
+
+  private ReadableSnapshot getLatestDeltaSnapshot(String processorName) {
+    try {
+      return logStreamRule.getSnapshotStorage().getLastDeltaSnapshot(processorName);
+    } catch (Exception e) {
+      fail("Fail to read delta snapshot", e);
+      return null;
+    }
+  }
 }
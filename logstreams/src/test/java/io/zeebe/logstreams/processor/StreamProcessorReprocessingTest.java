@@ -22,6 +22,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import io.zeebe.logstreams.LogStreams;
+import io.zeebe.logstreams.impl.service.LogStreamServiceNames;
 import io.zeebe.logstreams.impl.service.StreamProcessorService;
 import io.zeebe.logstreams.log.LogStreamWriter;
 import io.zeebe.logstreams.log.LoggedEvent;
@@ -376,6 +377,84 @@ public class StreamProcessorReprocessingTest {
     verify(eventProcessor, times(2)).updateState();
   }
 
+  @Test
+  public void shouldWaitForRecoveryCoordinator() {
+    // given [1|S:-] --> [2|S:1]
+    final long eventPosition1 = writeEvent();
+    final long eventPosition2 =
+        writeEventWith(w -> w.producerId(PROCESSOR_ID).sourceRecordPosition(eventPosition1));
+
+    final RecoveryCoordinator recoveryCoordinator = new RecoveryCoordinator(1);
+    recoveryCoordinator.acquire();
+
+    // when
+    final ActorFuture<StreamProcessorService> future =
+        LogStreams.createStreamProcessor(PROCESSOR_NAME, PROCESSOR_ID, streamProcessor)
+            .logStream(logStreamRule.getLogStream())
+            .snapshotStorage(logStreamRule.getSnapshotStorage())
+            .actorScheduler(logStreamRule.getActorScheduler())
+            .serviceContainer(logStreamRule.getServiceContainer())
+            .eventFilter(eventFilter)
+            .recoveryCoordinator(recoveryCoordinator)
+            .build();
+
+    waitUntil(() -> recoveryCoordinator.getPendingRecoveries() == 1);
+
+    // then
+    assertThat(future).isNotDone();
+    assertThat(streamProcessor.getProcessedEventCount()).isEqualTo(0);
+
+    // and when
+    recoveryCoordinator.release();
+    future.join();
+
+    waitUntil(() -> streamProcessor.getProcessedEventCount() == 2);
+
+    // then
+    assertThat(streamProcessor.getEvents())
+        .extracting(LoggedEvent::getPosition)
+        .containsExactly(eventPosition1, eventPosition2);
+
+    waitUntil(() -> recoveryCoordinator.getActiveRecoveries() == 0);
+  }
+
+  @Test
+  public void shouldCloseWhileWaitingForRecoveryCoordinator() throws Exception {
+    // given
+    writeEvent();
+
+    final RecoveryCoordinator recoveryCoordinator = new RecoveryCoordinator(1);
+    recoveryCoordinator.acquire();
+
+    final ActorFuture<StreamProcessorService> future =
+        LogStreams.createStreamProcessor(PROCESSOR_NAME, PROCESSOR_ID, streamProcessor)
+            .logStream(logStreamRule.getLogStream())
+            .snapshotStorage(logStreamRule.getSnapshotStorage())
+            .actorScheduler(logStreamRule.getActorScheduler())
+            .serviceContainer(logStreamRule.getServiceContainer())
+            .eventFilter(eventFilter)
+            .recoveryCoordinator(recoveryCoordinator)
+            .build();
+
+    waitUntil(() -> recoveryCoordinator.getPendingRecoveries() == 1);
+
+    // when
+    logStreamRule
+        .getServiceContainer()
+        .removeService(
+            LogStreamServiceNames.streamProcessorService(
+                logStreamRule.getLogStream().getLogName(), PROCESSOR_NAME))
+        .get(5, TimeUnit.SECONDS);
+
+    // then
+    assertThat(future).isDone();
+    assertThat(recoveryCoordinator.getPendingRecoveries()).isEqualTo(0);
+    assertThat(recoveryCoordinator.getActiveRecoveries()).isEqualTo(1);
+
+    verify(streamProcessor, never()).onOpen(any());
+    verify(streamProcessor, never()).onClose();
+  }
+
   @Test
   public void shouldReprocessRecursively() {
     // given
@@ -41,6 +41,11 @@ public class StringValueSnapshot implements SnapshotSupport {
     }
   }
 
+  @Override
+  public long snapshotSize() {
+    return value != null ? value.getBytes().length : 0;
+  }
+
   @Override
   public void reset() {
     value = null;
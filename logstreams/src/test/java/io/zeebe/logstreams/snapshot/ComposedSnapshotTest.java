@@ -138,6 +138,29 @@ public class ComposedSnapshotTest {
     assertThat(bytes2LongMap.get("17".getBytes(), -1)).isEqualTo(17);
   }
 
+  @Test
+  public void shouldReturnSizeOfSnapshot() throws Exception {
+    // given
+    final ComposedSnapshot composedSnapshot =
+        new ComposedSnapshot(
+            long2LongSnapshotSupport, long2bytesSnapshotSupport, bytes2LongSnapshotSupport);
+
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    final ByteArrayOutputStream deltaOutputStream = new ByteArrayOutputStream();
+
+    // when
+    final long snapshotSize = composedSnapshot.snapshotSize();
+    composedSnapshot.writeSnapshot(outputStream);
+
+    long2LongMap.put(18, 18);
+    final long deltaSnapshotSize = composedSnapshot.deltaSnapshotSize();
+    composedSnapshot.writeDeltaSnapshot(deltaOutputStream);
+
+    // then
+    assertThat(snapshotSize).isEqualTo(outputStream.size());
+    assertThat(deltaSnapshotSize).isEqualTo(deltaOutputStream.size());
+  }
+
   @Test
   public void shouldFailIfSnapshotHaveNoParts() throws Exception {
     thrown.expect(IllegalArgumentException.class);
@@ -158,15 +181,26 @@ public class ComposedSnapshotTest {
   }
 
   @Test
-  public void shouldFailToRecoverIfPartsAreMoreThanSnapshot() throws Exception {
+  public void shouldResetPartsWhichAreMissingInSnapshot() throws Exception {
+    // given
     new ComposedSnapshot(long2bytesSnapshotSupport, long2LongSnapshotSupport)
         .writeSnapshot(new FileOutputStream(snapshotFile));
 
-    thrown.expect(IllegalStateException.class);
+    long2LongMap.clear();
+    long2BytesMap.clear();
 
+    // when
     new ComposedSnapshot(
             long2bytesSnapshotSupport, long2LongSnapshotSupport, bytes2LongSnapshotSupport)
         .recoverFromSnapshot(new FileInputStream(snapshotFile));
+
+    // then
+    assertThat(long2LongMap.get(15, -1)).isEqualTo(15);
+
+    final DirectBuffer buffer = long2BytesMap.get(16);
+    assertThat(bufferAsString(buffer, 0, 2)).isEqualTo("16");
+
+    assertThat(bytes2LongMap.get("17".getBytes(), -1)).isEqualTo(-1);
   }
 
   @Test
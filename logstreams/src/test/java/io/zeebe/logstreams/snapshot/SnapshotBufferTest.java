@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import org.junit.Test;
+
+public class SnapshotBufferTest {
+
+  @Test
+  public void shouldWriteBytesSpanningChunks() throws Exception {
+    // given
+    final SnapshotBuffer buffer = new SnapshotBuffer(4);
+    final byte[] data = new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+    // when
+    buffer.write(data, 0, 3);
+    buffer.write(data[3]);
+    buffer.write(data, 4, 6);
+
+    // then
+    assertThat(buffer.length()).isEqualTo(10);
+
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    buffer.writeTo(outputStream);
+    assertThat(outputStream.toByteArray()).isEqualTo(data);
+  }
+
+  @Test
+  public void shouldWriteFullChunks() throws Exception {
+    // given
+    final SnapshotBuffer buffer = new SnapshotBuffer(4);
+    final byte[] data = new byte[] {1, 2, 3, 4, 5, 6, 7, 8};
+
+    // when
+    buffer.write(data);
+
+    // then
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    buffer.writeTo(outputStream);
+    assertThat(outputStream.toByteArray()).isEqualTo(data);
+  }
+
+  @Test
+  public void shouldReset() throws Exception {
+    // given
+    final SnapshotBuffer buffer = new SnapshotBuffer(4);
+    buffer.write(new byte[] {1, 2, 3, 4, 5});
+
+    // when
+    buffer.reset();
+    buffer.write(new byte[] {6, 7});
+
+    // then
+    assertThat(buffer.length()).isEqualTo(2);
+
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    buffer.writeTo(outputStream);
+    assertThat(outputStream.toByteArray()).isEqualTo(new byte[] {6, 7});
+  }
+
+  @Test
+  public void shouldFailIfMaxLengthIsExceeded() throws Exception {
+    // given
+    final SnapshotBuffer buffer = new SnapshotBuffer(4, 6);
+    buffer.write(new byte[] {1, 2, 3, 4, 5});
+
+    // then
+    assertThatThrownBy(() -> buffer.write(new byte[] {6, 7}))
+        .isInstanceOf(SnapshotBufferOverflowException.class);
+    assertThat(buffer.length()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldCaptureSnapshotOfState() throws Exception {
+    // given
+    final FooObject foo = new FooObject();
+    foo.setProp1(42);
+    foo.setProp2("bar");
+
+    final BaseValueSnapshotSupport snapshotSupport = new BaseValueSnapshotSupport(foo);
+    final SnapshotBuffer buffer = new SnapshotBuffer();
+    snapshotSupport.writeSnapshot(buffer);
+
+    // when
+    foo.setProp1(43);
+
+    // then
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    buffer.writeTo(outputStream);
+
+    final FooObject recoveredFoo = new FooObject();
+    new BaseValueSnapshotSupport(recoveredFoo)
+        .recoverFromSnapshot(new ByteArrayInputStream(outputStream.toByteArray()));
+
+    assertThat(recoveredFoo.getProp1()).isEqualTo(42);
+  }
+}
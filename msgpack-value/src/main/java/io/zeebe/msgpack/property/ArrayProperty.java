@@ -40,6 +40,6 @@ public class ArrayProperty<T extends BaseValue> extends BaseProperty<ArrayValue<
 
   @Override
   public T add() {
-    return value.add();
+    return resolveValue().add();
   }
 }
@@ -21,6 +21,8 @@ import io.zeebe.msgpack.spec.MsgPackWriter;
 import io.zeebe.msgpack.value.BaseValue;
 import io.zeebe.msgpack.value.StringValue;
 import java.util.Objects;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   protected StringValue key;
@@ -28,6 +30,15 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   protected T defaultValue;
   protected boolean isSet;
 
+  /**
+   * the encoded value of a lazily decoded property. It is decoded on first access, or written as it
+   * is if the property is not accessed.
+   */
+  private final UnsafeBuffer encodedValue = new UnsafeBuffer(0, 0);
+
+  private MsgPackReader encodedValueReader;
+  private boolean isEncoded;
+
   public BaseProperty(T value) {
     this(StringValue.EMPTY_STRING, value);
   }
@@ -47,16 +58,47 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
 
   public void set() {
     this.isSet = true;
+    this.isEncoded = false;
   }
 
   @Override
   public void reset() {
     this.isSet = false;
+    this.isEncoded = false;
     this.value.reset();
   }
 
   public boolean hasValue() {
-    return isSet || defaultValue != null;
+    return isEncoded || isSet || defaultValue != null;
+  }
+
+  /**
+   * Sets the encoded value of the property without decoding it. The value is decoded with the given
+   * reader when it is accessed the first time.
+   */
+  public void wrapEncodedValue(DirectBuffer buffer, int offset, int length, MsgPackReader reader) {
+    encodedValue.wrap(buffer, offset, length);
+    encodedValueReader = reader;
+    isEncoded = true;
+  }
+
+  public boolean isEncoded() {
+    return isEncoded;
+  }
+
+  private void decodeValue() {
+    if (isEncoded) {
+      // clear the flag first, reading an object value may access the property again
+      isEncoded = false;
+
+      encodedValueReader.wrap(encodedValue, 0, encodedValue.capacity());
+      try {
+        value.read(encodedValueReader);
+      } catch (Exception e) {
+        throw new RuntimeException(String.format("Could not read property '%s'.", key), e);
+      }
+      isSet = true;
+    }
   }
 
   public StringValue getKey() {
@@ -64,6 +106,8 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   }
 
   protected T resolveValue() {
+    decodeValue();
+
     if (isSet) {
       return value;
     } else if (defaultValue != null) {
@@ -74,7 +118,11 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   }
 
   public int getEncodedLength() {
-    return key.getEncodedLength() + resolveValue().getEncodedLength();
+    if (isEncoded) {
+      return key.getEncodedLength() + encodedValue.capacity();
+    } else {
+      return key.getEncodedLength() + resolveValue().getEncodedLength();
+    }
   }
 
   public void read(MsgPackReader reader) {
@@ -83,6 +131,12 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   }
 
   public void write(MsgPackWriter writer) {
+    if (isEncoded) {
+      key.write(writer);
+      writer.writeRaw(encodedValue);
+      return;
+    }
+
     T valueToWrite = value;
     if (!isSet) {
       valueToWrite = defaultValue;
@@ -113,6 +167,7 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
     final StringBuilder builder = new StringBuilder();
     builder.append(key.toString());
     builder.append(" => ");
+    decodeValue();
     builder.append(value.toString());
     return builder.toString();
   }
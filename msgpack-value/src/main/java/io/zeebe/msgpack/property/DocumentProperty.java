@@ -38,6 +38,6 @@ public class DocumentProperty extends BaseProperty<DocumentValue> {
 
   public void setValue(DirectBuffer data, int offset, int length) {
     this.value.wrap(data, offset, length);
-    this.isSet = true;
+    set();
   }
 }
@@ -32,6 +32,6 @@ public class EnumProperty<E extends Enum<E>> extends BaseProperty<EnumValue<E>>
 
   public void setValue(E value) {
     this.value.setValue(value);
-    this.isSet = true;
+    set();
   }
 }
@@ -32,6 +32,6 @@ public class IntegerProperty extends BaseProperty<IntegerValue> {
 
   public void setValue(int value) {
     this.value.setValue(value);
-    this.isSet = true;
+    set();
   }
 }
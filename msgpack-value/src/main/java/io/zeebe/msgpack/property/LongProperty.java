@@ -32,6 +32,6 @@ public class LongProperty extends BaseProperty<LongValue> {
 
   public void setValue(long value) {
     this.value.setValue(value);
-    this.isSet = true;
+    set();
   }
 }
@@ -33,6 +33,6 @@ public class PackedProperty extends BaseProperty<PackedValue> {
 
   public void setValue(DirectBuffer buffer, int offset, int length) {
     value.wrap(buffer, offset, length);
-    this.isSet = true;
+    set();
   }
 }
@@ -36,7 +36,7 @@ public class StringProperty extends BaseProperty<StringValue> {
 
   public void setValue(final String value) {
     this.value.wrap(getBytes(value));
-    this.isSet = true;
+    set();
   }
 
   public void setValue(final DirectBuffer buffer) {
@@ -45,6 +45,6 @@ public class StringProperty extends BaseProperty<StringValue> {
 
   public void setValue(final DirectBuffer buffer, final int offset, final int length) {
     this.value.wrap(buffer, offset, length);
-    this.isSet = true;
+    set();
   }
 }
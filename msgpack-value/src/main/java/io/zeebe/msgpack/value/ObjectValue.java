@@ -20,7 +20,10 @@ import io.zeebe.msgpack.property.UndeclaredProperty;
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 public class ObjectValue extends BaseValue {
   private final List<BaseProperty<? extends BaseValue>> declaredProperties = new ArrayList<>();
@@ -29,11 +32,43 @@ public class ObjectValue extends BaseValue {
 
   private final StringValue decodedKey = new StringValue();
 
+  /** built on the first read, after all properties are declared */
+  private PropertyNameIndex propertyIndex;
+
+  private boolean lazyDecoding;
+  private final MsgPackReader encodedValueReader = new MsgPackReader();
+
+  private final UnsafeBuffer encodedObject = new UnsafeBuffer(0, 0);
+
+  /**
+   * the undeclared properties which are not decoded yet, as pairs of offset and length of the
+   * encoded key and value in the encoded object (see {@link #setLazyDecoding(boolean)})
+   */
+  private int[] encodedUndeclaredProperties = new int[16];
+  private int encodedUndeclaredPropertyCount;
+
   public ObjectValue declareProperty(BaseProperty<? extends BaseValue> prop) {
     declaredProperties.add(prop);
+    propertyIndex = null;
+    return this;
+  }
+
+  /**
+   * In lazy decoding mode, reading the object only indexes the offsets of the properties. A
+   * property is decoded when it is accessed the first time, the properties which are not accessed
+   * are written as they are. Decoding errors of a property are thrown on access then.
+   *
+   * <p>The object must not be accessed after the buffer it is read from is modified.
+   */
+  public ObjectValue setLazyDecoding(boolean lazyDecoding) {
+    this.lazyDecoding = lazyDecoding;
     return this;
   }
 
+  public boolean isLazyDecoding() {
+    return lazyDecoding;
+  }
+
   @Override
   public void reset() {
     for (int i = 0; i < declaredProperties.size(); ++i) {
@@ -46,6 +81,9 @@ public class ObjectValue extends BaseValue {
       undeclaredProperty.reset();
       recycledProperties.add(undeclaredProperty);
     }
+
+    encodedUndeclaredPropertyCount = 0;
+    encodedObject.wrap(0, 0);
   }
 
   private UndeclaredProperty newUndeclaredProperty(StringValue key) {
@@ -67,6 +105,8 @@ public class ObjectValue extends BaseValue {
 
   @Override
   public void writeJSON(StringBuilder builder) {
+    decodeUndeclaredProperties();
+
     builder.append("{");
 
     writeJson(builder, declaredProperties);
@@ -91,22 +131,33 @@ public class ObjectValue extends BaseValue {
 
   @Override
   public void read(MsgPackReader reader) {
+    if (propertyIndex == null) {
+      propertyIndex = new PropertyNameIndex(declaredProperties);
+    }
+
+    if (lazyDecoding) {
+      readLazily(reader);
+    } else {
+      readEagerly(reader);
+    }
+
+    // verify that all required properties are set
+    for (int p = 0; p < declaredProperties.size(); p++) {
+      final BaseProperty<?> prop = declaredProperties.get(p);
+      if (!prop.hasValue()) {
+        throw new RuntimeException(
+            String.format("Property '%s' has no valid value", prop.getKey()));
+      }
+    }
+  }
+
+  private void readEagerly(MsgPackReader reader) {
     final int mapSize = reader.readMapHeader();
 
     for (int i = 0; i < mapSize; ++i) {
       decodedKey.read(reader);
 
-      BaseProperty<? extends BaseValue> prop = null;
-
-      for (int k = 0; k < declaredProperties.size(); ++k) {
-        final BaseProperty<?> declaredProperty = declaredProperties.get(k);
-        final StringValue declaredKey = declaredProperty.getKey();
-
-        if (declaredKey.equals(decodedKey)) {
-          prop = declaredProperty;
-          break;
-        }
-      }
+      BaseProperty<? extends BaseValue> prop = propertyIndex.get(decodedKey);
 
       if (prop == null) {
         prop = newUndeclaredProperty(decodedKey);
@@ -119,17 +170,61 @@ public class ObjectValue extends BaseValue {
             String.format("Could not read property '%s'.", prop.getKey()), e);
       }
     }
+  }
 
-    // verify that all required properties are set
-    for (int p = 0; p < declaredProperties.size(); p++) {
-      final BaseProperty<?> prop = declaredProperties.get(p);
-      if (!prop.hasValue()) {
-        throw new RuntimeException(
-            String.format("Property '%s' has no valid value", prop.getKey()));
+  private void readLazily(MsgPackReader reader) {
+    final DirectBuffer buffer = reader.getBuffer();
+    final int mapSize = reader.readMapHeader();
+
+    encodedObject.wrap(buffer);
+
+    for (int i = 0; i < mapSize; ++i) {
+      final int keyOffset = reader.getOffset();
+      decodedKey.read(reader);
+
+      final int valueOffset = reader.getOffset();
+      reader.skipValue();
+      final int valueLength = reader.getOffset() - valueOffset;
+
+      final BaseProperty<?> prop = propertyIndex.get(decodedKey);
+
+      if (prop != null) {
+        prop.wrapEncodedValue(buffer, valueOffset, valueLength, encodedValueReader);
+      } else {
+        addEncodedUndeclaredProperty(keyOffset, reader.getOffset() - keyOffset);
       }
     }
   }
 
+  private void addEncodedUndeclaredProperty(int offset, int length) {
+    final int index = encodedUndeclaredPropertyCount * 2;
+
+    if (index + 2 > encodedUndeclaredProperties.length) {
+      encodedUndeclaredProperties =
+          Arrays.copyOf(encodedUndeclaredProperties, encodedUndeclaredProperties.length * 2);
+    }
+
+    encodedUndeclaredProperties[index] = offset;
+    encodedUndeclaredProperties[index + 1] = length;
+    encodedUndeclaredPropertyCount += 1;
+  }
+
+  /** Decodes the undeclared properties which are read lazily. */
+  private void decodeUndeclaredProperties() {
+    for (int i = 0; i < encodedUndeclaredPropertyCount; i++) {
+      final int offset = encodedUndeclaredProperties[i * 2];
+      final int length = encodedUndeclaredProperties[i * 2 + 1];
+
+      encodedValueReader.wrap(encodedObject, offset, length);
+      decodedKey.read(encodedValueReader);
+
+      final UndeclaredProperty prop = newUndeclaredProperty(decodedKey);
+      prop.read(encodedValueReader);
+    }
+
+    encodedUndeclaredPropertyCount = 0;
+  }
+
   /**
    * Caution: In case not all properties are writeable (i.e. value not set and no default), this
    * method may write some of the values and only then throw an exception. The same exception is
@@ -138,11 +233,19 @@ public class ObjectValue extends BaseValue {
    */
   @Override
   public void write(MsgPackWriter writer) {
-    final int size = declaredProperties.size() + undeclaredProperties.size();
+    final int size =
+        declaredProperties.size() + undeclaredProperties.size() + encodedUndeclaredPropertyCount;
 
     writer.writeMapHeader(size);
     write(writer, declaredProperties);
     write(writer, undeclaredProperties);
+
+    for (int i = 0; i < encodedUndeclaredPropertyCount; i++) {
+      final int offset = encodedUndeclaredProperties[i * 2];
+      final int length = encodedUndeclaredProperties[i * 2 + 1];
+
+      writer.writeRaw(encodedObject, offset, length);
+    }
   }
 
   protected <T extends BaseProperty<?>> void write(MsgPackWriter writer, List<T> properties) {
@@ -154,12 +257,17 @@ public class ObjectValue extends BaseValue {
 
   @Override
   public int getEncodedLength() {
-    final int size = declaredProperties.size() + undeclaredProperties.size();
+    final int size =
+        declaredProperties.size() + undeclaredProperties.size() + encodedUndeclaredPropertyCount;
 
     int length = MsgPackWriter.getEncodedMapHeaderLenght(size);
     length += getEncodedLength(declaredProperties);
     length += getEncodedLength(undeclaredProperties);
 
+    for (int i = 0; i < encodedUndeclaredPropertyCount; i++) {
+      length += encodedUndeclaredProperties[i * 2 + 1];
+    }
+
     return length;
   }
 
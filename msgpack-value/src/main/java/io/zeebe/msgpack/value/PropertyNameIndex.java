@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.value;
+
+import io.zeebe.msgpack.property.BaseProperty;
+import java.util.Arrays;
+import java.util.List;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+
+/**
+ * Perfect hash table of the declared properties of an object, by key. The seed of the hash function
+ * is chosen when the table is built, so that each declared key has a slot of its own. A lookup
+ * hashes the decoded key once and compares it with the only candidate of its slot.
+ */
+final class PropertyNameIndex {
+  private static final int SEEDS_PER_CAPACITY = 256;
+
+  private BaseProperty<?>[] slots;
+  private int mask;
+  private int seed;
+
+  PropertyNameIndex(List<BaseProperty<? extends BaseValue>> properties) {
+    int capacity = BitUtil.findNextPositivePowerOfTwo(Math.max(2, properties.size() * 2));
+
+    while (!tryBuild(properties, capacity)) {
+      capacity <<= 1;
+    }
+  }
+
+  /** @return the declared property with the given key, or null if no such property is declared */
+  BaseProperty<?> get(StringValue key) {
+    final BaseProperty<?> property = slots[hash(key.getValue(), key.getLength(), seed) & mask];
+
+    if (property != null && property.getKey().equals(key)) {
+      return property;
+    } else {
+      return null;
+    }
+  }
+
+  private boolean tryBuild(List<BaseProperty<? extends BaseValue>> properties, int capacity) {
+    final BaseProperty<?>[] table = new BaseProperty<?>[capacity];
+    final int tableMask = capacity - 1;
+
+    for (int tableSeed = 1; tableSeed <= SEEDS_PER_CAPACITY; tableSeed++) {
+      Arrays.fill(table, null);
+
+      if (fill(table, tableMask, tableSeed, properties)) {
+        slots = table;
+        mask = tableMask;
+        seed = tableSeed;
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static boolean fill(
+      BaseProperty<?>[] table,
+      int tableMask,
+      int tableSeed,
+      List<BaseProperty<? extends BaseValue>> properties) {
+    for (int i = 0; i < properties.size(); i++) {
+      final BaseProperty<?> property = properties.get(i);
+      final StringValue key = property.getKey();
+      final int slot = hash(key.getValue(), key.getLength(), tableSeed) & tableMask;
+
+      final BaseProperty<?> existing = table[slot];
+      if (existing == null) {
+        table[slot] = property;
+      } else if (!existing.getKey().equals(key)) {
+        return false;
+      }
+      // else - the key is declared twice, the first declaration wins like on a linear scan
+    }
+
+    return true;
+  }
+
+  private static int hash(DirectBuffer key, int length, int seed) {
+    int hash = seed * 0x9E3779B9;
+
+    for (int i = 0; i < length; i++) {
+      hash = (hash ^ key.getByte(i)) * 0x01000193;
+    }
+
+    return hash ^ (hash >>> 16);
+  }
+}
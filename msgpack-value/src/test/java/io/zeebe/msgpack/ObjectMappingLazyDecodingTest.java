@@ -0,0 +1,229 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack;
+
+import static io.zeebe.msgpack.MsgPackUtil.asMap;
+import static io.zeebe.msgpack.MsgPackUtil.encodeMsgPack;
+import static io.zeebe.test.util.BufferAssert.assertThatBuffer;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import io.zeebe.msgpack.POJO.POJOEnum;
+import java.util.Map;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ObjectMappingLazyDecodingTest {
+  protected static final DirectBuffer BUF1 = wrapString("foo");
+  protected static final DirectBuffer BUF2 = wrapString("bar");
+
+  protected static final MutableDirectBuffer MSGPACK_BUF1 =
+      encodeMsgPack(
+          (w) -> {
+            w.writeMapHeader(1);
+            w.writeString(BUF1);
+            w.writeInteger(123123L);
+          });
+
+  protected static final DirectBuffer MSG_PACK =
+      encodeMsgPack(
+          (w) -> {
+            w.writeMapHeader(8);
+
+            w.writeString(wrapString("enumProp"));
+            w.writeString(wrapString(POJOEnum.BAR.toString()));
+
+            w.writeString(wrapString("binaryProp"));
+            w.writeBinary(BUF1);
+
+            w.writeString(wrapString("stringProp"));
+            w.writeString(BUF2);
+
+            w.writeString(wrapString("packedProp"));
+            w.writeRaw(MSGPACK_BUF1);
+
+            w.writeString(wrapString("longProp"));
+            w.writeInteger(88888L);
+
+            w.writeString(wrapString("undeclaredProp"));
+            w.writeInteger(456L);
+
+            w.writeString(wrapString("intProp"));
+            w.writeInteger(123L);
+
+            w.writeString(wrapString("objectProp"));
+            w.writeRaw(MSGPACK_BUF1);
+          });
+
+  @Rule public ExpectedException exception = ExpectedException.none();
+
+  @Test
+  public void shouldDeserializePOJOLazily() {
+    // given
+    final POJO pojo = new POJO();
+    pojo.setLazyDecoding(true);
+
+    // when
+    pojo.wrap(MSG_PACK);
+
+    // then
+    assertThat(pojo.getEnum()).isEqualByComparingTo(POJOEnum.BAR);
+    assertThat(pojo.getLong()).isEqualTo(88888L);
+    assertThat(pojo.getInt()).isEqualTo(123);
+    assertThatBuffer(pojo.getPacked()).hasBytes(MSGPACK_BUF1);
+    assertThatBuffer(pojo.getBinary()).hasBytes(BUF1);
+    assertThatBuffer(pojo.getString()).hasBytes(BUF2);
+    assertThat(pojo.nestedObject().getLong()).isEqualTo(123123L);
+  }
+
+  @Test
+  public void shouldSerializeUnaccessedPropertiesAsRead() {
+    // given
+    final POJO pojo = new POJO();
+    pojo.setLazyDecoding(true);
+    pojo.wrap(MSG_PACK);
+
+    final MutableDirectBuffer writeBuffer = new UnsafeBuffer(new byte[pojo.getLength()]);
+
+    // when
+    pojo.write(writeBuffer, 0);
+
+    // then
+    assertThat(writeBuffer.capacity()).isEqualTo(MSG_PACK.capacity());
+
+    final Map<String, Object> serialized = asMap(writeBuffer, 0, writeBuffer.capacity());
+    assertThat(serialized).hasSize(8);
+    assertThat(serialized)
+        .contains(
+            entry("enumProp", POJOEnum.BAR.toString()),
+            entry("longProp", 88888L),
+            entry("intProp", 123L),
+            entry("stringProp", "bar"),
+            entry("binaryProp", BUF1.byteArray()),
+            entry("undeclaredProp", 456L));
+  }
+
+  @Test
+  public void shouldSerializeUpdatedProperty() {
+    // given
+    final POJO pojo = new POJO();
+    pojo.setLazyDecoding(true);
+    pojo.wrap(MSG_PACK);
+
+    // when
+    pojo.setLong(pojo.getLong() + 1);
+    pojo.setString(wrapString("foobar"));
+
+    final MutableDirectBuffer writeBuffer = new UnsafeBuffer(new byte[pojo.getLength()]);
+    pojo.write(writeBuffer, 0);
+
+    // then
+    final Map<String, Object> serialized = asMap(writeBuffer, 0, writeBuffer.capacity());
+    assertThat(serialized).hasSize(8);
+    assertThat(serialized)
+        .contains(
+            entry("longProp", 88889L),
+            entry("stringProp", "foobar"),
+            entry("intProp", 123L),
+            entry("undeclaredProp", 456L));
+  }
+
+  @Test
+  public void shouldNotDecodePropertyBeforeAccess() {
+    // given
+    final POJO pojo = new POJO();
+    pojo.setLazyDecoding(true);
+
+    final DirectBuffer buffer =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(1);
+
+              w.writeString(wrapString("stringProp"));
+              w.writeFloat(123123.123123d);
+            });
+
+    // the value is not decoded on read
+    pojo.wrap(buffer);
+
+    // then
+    exception.expect(RuntimeException.class);
+    exception.expectMessage("Could not read property 'stringProp'");
+
+    // when
+    pojo.getString();
+  }
+
+  @Test
+  public void shouldFailIfRequiredPropertyIsMissing() {
+    // given
+    final MinimalPOJO pojo = new MinimalPOJO();
+    pojo.setLazyDecoding(true);
+
+    final DirectBuffer buffer =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(1);
+              w.writeString(wrapString("undeclaredProp"));
+              w.writeInteger(456L);
+            });
+
+    // then
+    exception.expect(RuntimeException.class);
+    exception.expectMessage("Property 'longProp' has no valid value");
+
+    // when
+    pojo.wrap(buffer);
+  }
+
+  @Test
+  public void shouldDropEncodedPropertiesOnReset() {
+    // given
+    final MinimalPOJO pojo = new MinimalPOJO();
+    pojo.setLazyDecoding(true);
+    pojo.wrap(MSG_PACK);
+
+    // when
+    pojo.reset();
+    pojo.setLongProp(123L);
+
+    // then
+    final MutableDirectBuffer writeBuffer = new UnsafeBuffer(new byte[pojo.getLength()]);
+    pojo.write(writeBuffer, 0);
+
+    final Map<String, Object> serialized = asMap(writeBuffer, 0, writeBuffer.capacity());
+    assertThat(serialized).containsExactly(entry("longProp", 123L));
+  }
+
+  @Test
+  public void shouldIncludeUndeclaredPropertiesInJson() {
+    // given
+    final MinimalPOJO pojo = new MinimalPOJO();
+    pojo.setLazyDecoding(true);
+    pojo.wrap(MSG_PACK);
+
+    // when
+    final String json = pojo.toString();
+
+    // then
+    assertThat(json).contains("\"longProp\":88888").contains("\"undeclaredProp\":[packed value");
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.benchmarks;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+
+import io.zeebe.msgpack.POJO;
+import io.zeebe.msgpack.POJO.POJOEnum;
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class EncodedRecordSupplier {
+  UnsafeBuffer encodedRecord;
+  UnsafeBuffer writeBuffer;
+
+  POJO eagerRecord = new POJO();
+  POJO lazyRecord = new POJO();
+
+  @Setup(Level.Trial)
+  public void encodeRecord() {
+    final MsgPackWriter writer = new MsgPackWriter();
+
+    final UnsafeBuffer payload = new UnsafeBuffer(new byte[256]);
+    writer.wrap(payload, 0);
+    writer.writeMapHeader(8);
+    for (int i = 0; i < 8; i++) {
+      writer.writeString(wrapString("var" + i));
+      writer.writeString(wrapString("value of variable " + i));
+    }
+    final DirectBuffer packedPayload = new UnsafeBuffer(payload, 0, writer.getOffset());
+
+    final POJO record = new POJO();
+    record.setEnum(POJOEnum.BAR);
+    record.setLong(123456789L);
+    record.setInt(123);
+    record.setString(wrapString("a string value of the record"));
+    record.setBinary(wrapString("some binary data of the record"));
+    record.setPacked(packedPayload);
+    record.nestedObject().setLong(24L);
+
+    encodedRecord = new UnsafeBuffer(new byte[record.getLength()]);
+    record.write(encodedRecord, 0);
+
+    writeBuffer = new UnsafeBuffer(new byte[encodedRecord.capacity() * 2]);
+
+    lazyRecord.setLazyDecoding(true);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.benchmarks;
+
+import io.zeebe.msgpack.POJO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the eager decoding of a record with the lazy decoding, which decodes a property on first
+ * access only.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class UnpackedObjectDecodingBenchmark {
+
+  @Benchmark
+  @Threads(1)
+  public long readOnePropertyEager(EncodedRecordSupplier supplier) {
+    return readOneProperty(supplier.eagerRecord, supplier);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long readOnePropertyLazy(EncodedRecordSupplier supplier) {
+    return readOneProperty(supplier.lazyRecord, supplier);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long readAllPropertiesEager(EncodedRecordSupplier supplier) {
+    return readAllProperties(supplier.eagerRecord, supplier);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long readAllPropertiesLazy(EncodedRecordSupplier supplier) {
+    return readAllProperties(supplier.lazyRecord, supplier);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int updateAndWriteEager(EncodedRecordSupplier supplier) {
+    return updateAndWrite(supplier.eagerRecord, supplier);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int updateAndWriteLazy(EncodedRecordSupplier supplier) {
+    return updateAndWrite(supplier.lazyRecord, supplier);
+  }
+
+  private static long readOneProperty(POJO record, EncodedRecordSupplier supplier) {
+    record.reset();
+    record.wrap(supplier.encodedRecord);
+
+    return record.getLong();
+  }
+
+  private static long readAllProperties(POJO record, EncodedRecordSupplier supplier) {
+    record.reset();
+    record.wrap(supplier.encodedRecord);
+
+    return record.getLong()
+        + record.getInt()
+        + record.getEnum().ordinal()
+        + record.getString().capacity()
+        + record.getBinary().capacity()
+        + record.getPacked().capacity()
+        + record.nestedObject().getLong();
+  }
+
+  /** the common case of a stream processor: read a record, change a property and write it */
+  private static int updateAndWrite(POJO record, EncodedRecordSupplier supplier) {
+    record.reset();
+    record.wrap(supplier.encodedRecord);
+
+    record.setInt(record.getInt() + 1);
+
+    final int length = record.getLength();
+    record.write(supplier.writeBuffer, 0);
+
+    return length;
+  }
+}
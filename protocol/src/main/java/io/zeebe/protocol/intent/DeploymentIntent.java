@@ -17,7 +17,8 @@ package io.zeebe.protocol.intent;
 
 public enum DeploymentIntent implements Intent {
   CREATE((short) 0),
-  CREATED((short) 3);
+  CREATED((short) 3),
+  DISTRIBUTED((short) 4);
 
   private short value;
 
@@ -35,6 +36,8 @@ public enum DeploymentIntent implements Intent {
         return CREATE;
       case 3:
         return CREATED;
+      case 4:
+        return DISTRIBUTED;
       default:
         return Intent.UNKNOWN;
     }
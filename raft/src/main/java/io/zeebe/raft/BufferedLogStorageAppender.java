@@ -31,6 +31,7 @@ import io.zeebe.transport.SocketAddress;
 import io.zeebe.util.allocation.AllocatedBuffer;
 import io.zeebe.util.allocation.BufferAllocators;
 import java.nio.ByteBuffer;
+import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
@@ -42,6 +43,7 @@ public class BufferedLogStorageAppender {
   private final RecordMetadata metadata = new RecordMetadata();
   private final RaftConfigurationEvent configuration = new RaftConfigurationEvent();
   private final AppendResponse appendResponse = new AppendResponse();
+  private final LoggedEventImpl blockEvent = new LoggedEventImpl();
 
   private final Raft raft;
   private final LogStream logStream;
@@ -127,20 +129,35 @@ public class BufferedLogStorageAppender {
     }
   }
 
-  public void appendEvent(final AppendRequest appendRequest, final LoggedEventImpl event) {
+  public void appendEvents(final AppendRequest appendRequest) {
+    appendEvents(
+        appendRequest,
+        appendRequest.getPreviousEventPosition(),
+        appendRequest.getPreviousEventTerm(),
+        0);
+  }
+
+  /**
+   * Buffers the events of the request, starting at the given offset. The events are written to
+   * the log storage with a single append when the buffer is flushed.
+   */
+  private void appendEvents(
+      final AppendRequest appendRequest,
+      final long previousPosition,
+      final int previousTerm,
+      final int eventsOffset) {
     deferredAck.reset();
 
-    if (event != null) {
-      final long previousPosition = appendRequest.getPreviousEventPosition();
-      final long previousTerm = appendRequest.getPreviousEventTerm();
+    final DirectBuffer events = appendRequest.getEvents();
+    final int eventsLength = events.capacity() - eventsOffset;
 
+    if (eventsLength > 0) {
       if (previousPosition == lastWrittenPosition && previousTerm == lastWrittenTerm) {
         discardBufferedEvents();
       }
 
       if (previousPosition == lastBufferedPosition && previousTerm == lastBufferedTerm) {
-        final int eventLength = event.getFragmentLength();
-        if (remainingCapacity() < eventLength) {
+        if (remainingCapacity() < eventsLength) {
           if (!flushBufferedEvents()) {
             // unable to flush events, abort and try again with last buffered position
             rejectAppendRequest(lastBufferedPosition, appendRequest.getSocketAddress());
@@ -153,22 +170,28 @@ public class BufferedLogStorageAppender {
           }
         }
 
-        if (remainingCapacity() < eventLength) {
-          allocateMemory(eventLength);
+        if (remainingCapacity() < eventsLength) {
+          allocateMemory(eventsLength);
         }
 
-        buffer.putBytes(offset, event.getBuffer(), event.getFragmentOffset(), eventLength);
-        offset += eventLength;
+        buffer.putBytes(offset, events, eventsOffset, eventsLength);
+        offset += eventsLength;
+
+        int eventOffset = eventsOffset;
+        while (eventOffset < events.capacity()) {
+          blockEvent.wrap(events, eventOffset);
+          blockEvent.readMetadata(metadata);
 
-        event.readMetadata(metadata);
+          lastBufferedPosition = blockEvent.getPosition();
+          lastBufferedTerm = blockEvent.getRaftTerm();
 
-        lastBufferedPosition = event.getPosition();
-        lastBufferedTerm = event.getRaftTerm();
+          if (metadata.getValueType() == ValueType.RAFT) {
+            // update configuration
+            blockEvent.readValue(configuration);
+            raft.replaceMembersOnConfigurationChange(configuration.members());
+          }
 
-        if (metadata.getValueType() == ValueType.RAFT) {
-          // update configuration
-          event.readValue(configuration);
-          raft.replaceMembersOnConfigurationChange(configuration.members());
+          eventOffset += blockEvent.getFragmentLength();
         }
       } else {
         LOG.warn(
@@ -188,7 +211,7 @@ public class BufferedLogStorageAppender {
     }
   }
 
-  public void truncateLog(final AppendRequest appendRequest, final LoggedEventImpl event) {
+  public void truncateLog(final AppendRequest appendRequest) {
     deferredAck.reset();
 
     final long currentCommit = logStream.getCommitPosition();
@@ -207,36 +230,53 @@ public class BufferedLogStorageAppender {
 
       if (writtenEvent.getPosition() == previousEventPosition
           && writtenEvent.getRaftTerm() == previousEventTerm) {
-        if (event != null) {
-          if (reader.hasNext()) {
+        final DirectBuffer events = appendRequest.getEvents();
+
+        if (events.capacity() > 0) {
+          long matchedPosition = previousEventPosition;
+          int matchedTerm = previousEventTerm;
+          int eventsOffset = 0;
+
+          // skip the events of the request which are already appended
+          while (eventsOffset < events.capacity() && reader.hasNext()) {
             final LoggedEvent nextEvent = reader.next();
 
             final long nextEventPosition = nextEvent.getPosition();
             final int nextEventTerm = nextEvent.getRaftTerm();
 
-            final long eventPosition = event.getPosition();
-            final int eventTerm = event.getRaftTerm();
+            blockEvent.wrap(events, eventsOffset);
 
-            if (nextEventPosition == eventPosition && nextEventTerm == eventTerm) {
-              // not truncating the log as the event is already appended
-              acceptAppendRequest(
-                  nextEventPosition,
-                  appendRequest.getCommitPosition(),
-                  appendRequest.getSocketAddress());
+            if (nextEventPosition == blockEvent.getPosition()
+                && nextEventTerm == blockEvent.getRaftTerm()) {
+              matchedPosition = nextEventPosition;
+              matchedTerm = nextEventTerm;
+              eventsOffset += blockEvent.getFragmentLength();
             } else {
-              // truncate log and append event
+              // truncate log and append the remaining events
               logStream.truncate(nextEventPosition);
 
               // reset positions
-              lastWrittenPosition = previousEventPosition;
-              lastWrittenTerm = previousEventTerm;
+              lastWrittenPosition = matchedPosition;
+              lastWrittenTerm = matchedTerm;
 
               lastBufferedPosition = lastWrittenPosition;
               lastBufferedTerm = lastWrittenTerm;
 
-              appendEvent(appendRequest, event);
+              appendEvents(appendRequest, matchedPosition, matchedTerm, eventsOffset);
+              return;
             }
           }
+
+          if (eventsOffset < events.capacity()) {
+            // the log ends within the request, append the remaining events
+            appendEvents(appendRequest, matchedPosition, matchedTerm, eventsOffset);
+          } else if (matchedPosition != previousEventPosition) {
+            // not truncating the log as the events are already appended
+            acceptAppendRequest(
+                matchedPosition,
+                appendRequest.getCommitPosition(),
+                appendRequest.getSocketAddress());
+          }
         } else {
           acceptAppendRequest(
               writtenEvent.getPosition(),
@@ -29,8 +29,11 @@ import io.zeebe.servicecontainer.*;
 import io.zeebe.transport.*;
 import io.zeebe.transport.impl.actor.Receiver;
 import io.zeebe.util.LogUtil;
+import io.zeebe.util.buffer.BufferUtil;
 import io.zeebe.util.buffer.BufferWriter;
 import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorPriority;
+import io.zeebe.util.sched.SchedulingHints;
 import io.zeebe.util.sched.channel.ConcurrentQueueChannel;
 import io.zeebe.util.sched.channel.OneToOneRingBufferChannel;
 import io.zeebe.util.sched.future.ActorFuture;
@@ -84,6 +87,7 @@ public class Raft extends Actor
   private String raftName;
   private AbstractRaftState state;
   private RaftJoinService raftJoinedService;
+  private RaftMetrics metrics;
 
   public Raft(
       final String raftName,
@@ -116,15 +120,25 @@ public class Raft extends Actor
 
     this.serviceContext = startContext;
 
+    metrics =
+        new RaftMetrics(
+            startContext.getScheduler().getMetricsManager(),
+            BufferUtil.bufferAsString(logStream.getTopicName()),
+            String.valueOf(logStream.getPartitionId()));
+
     raftJoinedService = new RaftJoinService(this, actor);
     serviceContext.createService(joinServiceName(raftName), raftJoinedService).install();
 
-    startContext.async(startContext.getScheduler().submitActor(this, true));
+    final int schedulingHints =
+        SchedulingHints.setAffinity(
+            logStream.getPartitionId(), SchedulingHints.cpuBound(ActorPriority.REGULAR));
+    startContext.async(startContext.getScheduler().submitActor(this, true, schedulingHints));
   }
 
   @Override
   public void stop(ServiceStopContext stopContext) {
     stopContext.async(actor.close());
+    metrics.close();
   }
 
   @Override
@@ -702,6 +716,10 @@ public class Raft extends Actor
     return raftName;
   }
 
+  public RaftMetrics getMetrics() {
+    return metrics;
+  }
+
   public Heartbeat getHeartbeat() {
     return heartbeat;
   }
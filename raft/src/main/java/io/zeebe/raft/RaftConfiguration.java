@@ -15,13 +15,24 @@
  */
 package io.zeebe.raft;
 
+import io.zeebe.raft.controller.MemberReplicateLogController;
+import io.zeebe.util.ByteValue;
 import io.zeebe.util.DurationUtil;
 import java.time.Duration;
 
 public class RaftConfiguration {
+  /**
+   * The upper bound of the max append request size. A request is received as a single message of
+   * the follower's receive buffer, which takes messages up to an eighth of its capacity. Half of it
+   * leaves room for the request header and a single large event.
+   */
+  public static final int MAX_APPEND_REQUEST_SIZE_LIMIT =
+      MemberReplicateLogController.REMOTE_BUFFER_SIZE / 16;
+
   private String heartbeatInterval = "250ms";
   private String electionInterval = "1s";
   private String leaveTimeout = "1s";
+  private String maxAppendRequestSize = "64K";
 
   public String getHeartbeatInterval() {
     return heartbeatInterval;
@@ -62,6 +73,28 @@ public class RaftConfiguration {
     return this;
   }
 
+  public String getMaxAppendRequestSize() {
+    return maxAppendRequestSize;
+  }
+
+  public int getMaxAppendRequestSizeBytes() {
+    final long bytes = new ByteValue(maxAppendRequestSize).toBytes();
+
+    if (bytes < 0 || bytes > MAX_APPEND_REQUEST_SIZE_LIMIT) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected max append request size to be between 0 and %d bytes, but was '%s'",
+              MAX_APPEND_REQUEST_SIZE_LIMIT, maxAppendRequestSize));
+    }
+
+    return (int) bytes;
+  }
+
+  public RaftConfiguration setMaxAppendRequestSize(String maxAppendRequestSize) {
+    this.maxAppendRequestSize = maxAppendRequestSize;
+    return this;
+  }
+
   @Override
   public String toString() {
     return "RaftConfiguration{"
@@ -74,6 +107,9 @@ public class RaftConfiguration {
         + ", leaveTimeout='"
         + leaveTimeout
         + '\''
+        + ", maxAppendRequestSize='"
+        + maxAppendRequestSize
+        + '\''
         + '}';
   }
 }
@@ -22,7 +22,7 @@ public class RaftMember {
   private final RemoteAddress remoteAddress;
   private MemberReplicateLogController replicationController;
 
-  private long matchPosition;
+  private volatile long matchPosition;
 
   public RaftMember(final RemoteAddress remoteAddress) {
     this.remoteAddress = remoteAddress;
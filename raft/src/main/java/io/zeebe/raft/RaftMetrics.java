@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft;
+
+import io.zeebe.util.metrics.Histogram;
+import io.zeebe.util.metrics.MetricsManager;
+import java.util.concurrent.TimeUnit;
+
+public class RaftMetrics {
+  private final Histogram commitLatency;
+
+  public RaftMetrics(MetricsManager metricsManager, String topicName, String partitionId) {
+    commitLatency =
+        metricsManager
+            .newHistogram("raft_commit_latency_micros")
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+  }
+
+  public void recordCommitLatency(long latencyNanos) {
+    commitLatency.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+  }
+
+  public void close() {
+    commitLatency.close();
+  }
+}
@@ -31,6 +31,8 @@ import io.zeebe.transport.*;
 import io.zeebe.util.sched.*;
 import io.zeebe.util.sched.clock.ActorClock;
 import java.time.Duration;
+import java.util.function.LongSupplier;
+import org.agrona.ExpandableArrayBuffer;
 import org.slf4j.Logger;
 
 /** Per-follower replication controller */
@@ -61,10 +63,18 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
   private long previousPosition;
   private int previousTerm;
 
+  // contiguous events which are sent in the next append request
+  private final int maxAppendRequestSize;
+  private final ExpandableArrayBuffer batchBuffer = new ExpandableArrayBuffer();
+  private int batchLength;
+  private long batchLastPosition;
+  private int batchLastTerm;
+
   private ActorCondition appenderCondition;
   private final String name;
 
   private RaftMember member;
+  private final LongSupplier retentionGuard;
 
   public MemberReplicateLogController(
       Raft raft, RaftMember member, ClientTransport clientTransport) {
@@ -74,9 +84,11 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
 
     this.raft = raft;
     this.heartbeatInterval = raft.getConfiguration().getHeartbeatIntervalDuration();
+    this.maxAppendRequestSize = raft.getConfiguration().getMaxAppendRequestSizeBytes();
     this.clientOutput = clientTransport.getOutput();
     this.logStream = raft.getLogStream();
     this.reader = new BufferedLogStreamReader(logStream, true);
+    this.retentionGuard = member::getMatchPosition;
   }
 
   @Override
@@ -106,6 +118,9 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
     appenderCondition = actor.onCondition("data-appended", this::onAppendPositionChanged);
     raft.getLogStream().registerOnAppendCondition(appenderCondition);
 
+    // keep the log which is not replicated to the follower yet
+    logStream.registerRetentionGuard(retentionGuard);
+
     reset();
   }
 
@@ -114,6 +129,7 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
     member.setReplicationController(null);
 
     raft.getLogStream().removeOnCommitPositionUpdatedCondition(appenderCondition);
+    logStream.removeRetentionGuard(retentionGuard);
   }
 
   @Override
@@ -171,20 +187,25 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
 
     actor.setPriority(ActorPriority.REGULAR);
 
-    final LoggedEventImpl nextEvent = getNextEvent();
+    if (batchLength == 0) {
+      // otherwise, retry to send the pending batch
+      collectNextEvents();
+    }
+
+    final boolean hasEvents = batchLength > 0;
 
     appendRequest
         .reset()
         .setRaft(raft)
         .setPreviousEventPosition(previousPosition)
         .setPreviousEventTerm(previousTerm)
-        .setEvent(nextEvent);
+        .setEvents(batchBuffer, 0, batchLength);
 
     final int requestSize = appendRequest.getLength();
     final long now = ActorClock.currentTimeMillis();
     final boolean isHeartbeatTimeout = now - lastRequestTimestamp >= heartbeatInterval.toMillis();
     final boolean isBackpressured = !backpressureHelper.canSend(requestSize);
-    final boolean trySend = isHeartbeatTimeout || (nextEvent != null && !isBackpressured);
+    final boolean trySend = isHeartbeatTimeout || (hasEvents && !isBackpressured);
 
     if (trySend) {
       transportMessage.reset().remoteAddress(remoteAddress).writer(appendRequest);
@@ -192,13 +213,14 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
       if (clientOutput.sendMessage(transportMessage)) {
         lastRequestTimestamp = now;
 
-        if (nextEvent != null) {
-          backpressureHelper.onEventSent(nextEvent.getPosition(), requestSize);
-          setPreviousEvent(nextEvent);
+        if (hasEvents) {
+          backpressureHelper.onEventSent(batchLastPosition, requestSize);
+
+          previousPosition = batchLastPosition;
+          previousTerm = batchLastTerm;
+          batchLength = 0;
         }
       } else {
-        setBufferedEvent(nextEvent);
-
         if (isHeartbeatTimeout) {
           actor.setPriority(ActorPriority.HIGH);
         } else {
@@ -212,14 +234,40 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
     }
   }
 
+  /**
+   * Copies the next contiguous events into the batch buffer, until the batch reaches the max
+   * append request size. The first event is always added, even if it is larger.
+   */
+  private void collectNextEvents() {
+    LoggedEventImpl event = getNextEvent();
+
+    while (event != null) {
+      final int fragmentLength = event.getFragmentLength();
+
+      if (batchLength > 0 && batchLength + fragmentLength > maxAppendRequestSize) {
+        // send the event with the next request
+        setBufferedEvent(event);
+        break;
+      }
+
+      batchBuffer.putBytes(
+          batchLength, event.getBuffer(), event.getFragmentOffset(), fragmentLength);
+      batchLength += fragmentLength;
+
+      batchLastPosition = event.getPosition();
+      batchLastTerm = event.getRaftTerm();
+
+      event = getNextEvent();
+    }
+  }
+
   private void setBufferedEvent(final LoggedEventImpl bufferedEvent) {
     this.bufferedEvent = bufferedEvent;
   }
 
-  private LoggedEventImpl discardBufferedEvent() {
-    final LoggedEventImpl event = bufferedEvent;
+  private void discardBufferedEvent() {
     bufferedEvent = null;
-    return event;
+    batchLength = 0;
   }
 
   private void reset() {
@@ -228,7 +276,9 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
 
   private LoggedEventImpl getNextEvent() {
     if (bufferedEvent != null) {
-      return discardBufferedEvent();
+      final LoggedEventImpl event = bufferedEvent;
+      bufferedEvent = null;
+      return event;
     } else if (reader.hasNext()) {
       return (LoggedEventImpl) reader.next();
     } else {
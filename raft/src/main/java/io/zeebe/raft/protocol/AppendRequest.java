@@ -46,7 +46,7 @@ public class AppendRequest extends AbstractRaftMessage
 
   // write
   private SocketAddress writeSocketAddress;
-  private LoggedEventImpl writeEvent;
+  private final UnsafeBuffer writeEvents = new UnsafeBuffer(0, 0);
 
   public AppendRequest() {
     reset();
@@ -65,7 +65,7 @@ public class AppendRequest extends AbstractRaftMessage
     readEvent.wrap(null, -1);
 
     writeSocketAddress = null;
-    writeEvent = null;
+    writeEvents.wrap(0, 0);
 
     return this;
   }
@@ -122,6 +122,7 @@ public class AppendRequest extends AbstractRaftMessage
     return readSocketAdress;
   }
 
+  /** @return the first event of the request, or null if the request contains no events */
   public LoggedEventImpl getEvent() {
     if (readEvent.getBuffer() != null) {
       return readEvent;
@@ -130,8 +131,32 @@ public class AppendRequest extends AbstractRaftMessage
     }
   }
 
+  /**
+   * @return the block of events of this request, which are stored in the same format as in the
+   *     log. Empty if the request contains no events.
+   */
+  public DirectBuffer getEvents() {
+    return readData;
+  }
+
   public AppendRequest setEvent(final LoggedEventImpl event) {
-    writeEvent = event;
+    if (event != null) {
+      return setEvents(event.getBuffer(), event.getFragmentOffset(), event.getFragmentLength());
+    } else {
+      writeEvents.wrap(0, 0);
+      return this;
+    }
+  }
+
+  /**
+   * Sets a contiguous block of events which are written as the data of the request.
+   *
+   * @param buffer the buffer which contains the events
+   * @param offset the offset of the first event
+   * @param length the length of all events in bytes
+   */
+  public AppendRequest setEvents(final DirectBuffer buffer, final int offset, final int length) {
+    writeEvents.wrap(buffer, offset, length);
     return this;
   }
 
@@ -159,9 +184,7 @@ public class AppendRequest extends AbstractRaftMessage
       length += writeSocketAddress.hostLength();
     }
 
-    if (writeEvent != null) {
-      length += writeEvent.getFragmentLength();
-    }
+    length += writeEvents.capacity();
 
     return length;
   }
@@ -231,9 +254,8 @@ public class AppendRequest extends AbstractRaftMessage
           .putHost(writeSocketAddress.getHostBuffer(), 0, writeSocketAddress.hostLength());
     }
 
-    if (writeEvent != null) {
-      bodyEncoder.putData(
-          writeEvent.getBuffer(), writeEvent.getFragmentOffset(), writeEvent.getFragmentLength());
+    if (writeEvents.capacity() > 0) {
+      bodyEncoder.putData(writeEvents, 0, writeEvents.capacity());
     }
   }
 }
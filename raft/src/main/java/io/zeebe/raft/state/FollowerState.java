@@ -15,7 +15,6 @@
  */
 package io.zeebe.raft.state;
 
-import io.zeebe.logstreams.impl.LoggedEventImpl;
 import io.zeebe.raft.Raft;
 import io.zeebe.raft.protocol.AppendRequest;
 import io.zeebe.util.sched.ActorControl;
@@ -61,14 +60,13 @@ public class FollowerState extends AbstractRaftState {
 
     final long previousEventPosition = appendRequest.getPreviousEventPosition();
     final int previousEventTerm = appendRequest.getPreviousEventTerm();
-    final LoggedEventImpl event = appendRequest.getEvent();
 
     if (!appender.isClosed() && raft.isTermCurrent(appendRequest)) {
       final boolean lastEvent = appender.isLastEvent(previousEventPosition, previousEventTerm);
       if (lastEvent) {
-        appender.appendEvent(appendRequest, event);
+        appender.appendEvents(appendRequest);
       } else {
-        appender.truncateLog(appendRequest, event);
+        appender.truncateLog(appendRequest);
       }
     } else {
       rejectAppendRequest(appendRequest, appender.getLastPosition());
@@ -15,7 +15,6 @@
  */
 package io.zeebe.raft.state;
 
-import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.protocol.intent.RaftIntent;
 import io.zeebe.raft.*;
 import io.zeebe.raft.controller.AppendRaftEventController;
@@ -31,6 +30,10 @@ public class LeaderState extends AbstractRaftState {
   private final AppendRaftEventController configurationChangeController;
 
   private ActorCondition appendCondition;
+  private ActorCondition latencySampleCondition;
+
+  private long latencySamplePosition = -1;
+  private long latencySampleStartTime;
 
   private boolean initialEventCommitted = false;
   private long initialEventPosition = -1;
@@ -44,6 +47,10 @@ public class LeaderState extends AbstractRaftState {
   protected void onEnterState() {
     super.onEnterState();
 
+    latencySampleCondition =
+        raftActor.onCondition("commit-latency-sample", this::sampleAppendedPosition);
+    logStream.registerOnAppendCondition(latencySampleCondition);
+
     if (raftMembers.getMemberSize() == 0) {
       createOnAppendContition();
     }
@@ -53,6 +60,10 @@ public class LeaderState extends AbstractRaftState {
   protected void onLeaveState() {
     configurationChangeController.close();
     removeOnAppendCondition();
+
+    latencySampleCondition.cancel();
+    logStream.removeOnAppendCondition(latencySampleCondition);
+
     super.onLeaveState();
   }
 
@@ -180,28 +191,53 @@ public class LeaderState extends AbstractRaftState {
     // position is the next position which is written. This means in a single node cluster the log
     // already committed an event which will be written in the future. `- 1` is a hotfix for this.
     // see https://github.com/zeebe-io/zeebe/issues/501
-    positions[memberSize] = logStream.getLogStorageAppender().getCurrentAppenderPosition() - 1;
+    final long durablePosition =
+        logStream.getLogStorageAppender().getDurableAppenderPosition() - 1;
+    positions[memberSize] = durablePosition;
 
     Arrays.sort(positions);
 
-    final long commitPosition = positions[memberSize + 1 - raft.requiredQuorum()];
+    final long quorumPosition = positions[memberSize + 1 - raft.requiredQuorum()];
 
-    final LogStream logStream = raft.getLogStream();
+    // followers acknowledge appended positions, which may not be flushed yet - never commit an
+    // event before the leader has flushed it
+    final long commitPosition = Math.min(quorumPosition, durablePosition);
 
-    if (initialEventPosition >= 0
-        && commitPosition >= initialEventPosition
-        && logStream.getCommitPosition() < commitPosition) {
-      logStream.setCommitPosition(commitPosition);
-    }
+    updateCommitPosition(commitPosition);
   }
 
   private void commitPositionOnSingleNode() {
-    final long commitPosition = logStream.getLogStorageAppender().getCurrentAppenderPosition() - 1;
+    final long commitPosition = logStream.getLogStorageAppender().getDurableAppenderPosition() - 1;
 
+    updateCommitPosition(commitPosition);
+  }
+
+  private void updateCommitPosition(long commitPosition) {
     if (initialEventPosition >= 0
         && commitPosition >= initialEventPosition
         && logStream.getCommitPosition() < commitPosition) {
       logStream.setCommitPosition(commitPosition);
+
+      if (latencySamplePosition >= 0 && commitPosition >= latencySamplePosition) {
+        raft.getMetrics().recordCommitLatency(System.nanoTime() - latencySampleStartTime);
+        latencySamplePosition = -1;
+      }
+    }
+  }
+
+  /**
+   * Samples one appended position at a time and measures the time until it is committed. This
+   * keeps the commit latency metric cheap, without tracking the append time of every event.
+   */
+  private void sampleAppendedPosition() {
+    if (latencySamplePosition < 0) {
+      final long appendedPosition =
+          logStream.getLogStorageAppender().getCurrentAppenderPosition() - 1;
+
+      if (appendedPosition > logStream.getCommitPosition()) {
+        latencySamplePosition = appendedPosition;
+        latencySampleStartTime = System.nanoTime();
+      }
     }
   }
 
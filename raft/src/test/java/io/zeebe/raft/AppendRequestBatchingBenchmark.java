@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft;
+
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogStreamWriter;
+import io.zeebe.raft.ThroughputTest.BenchmarkContext;
+import io.zeebe.util.collection.LongRingBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Compares the number of committed events per second of a three node cluster when the leader sends
+ * a single event per append request and when it batches the events up to the max append request
+ * size.
+ */
+public class AppendRequestBatchingBenchmark {
+  private static final MutableDirectBuffer METADATA = new UnsafeBuffer(new byte[31]);
+  private static final MutableDirectBuffer DATA = new UnsafeBuffer(new byte[256]);
+
+  private static final long WARM_UP_DURATION_NANOS = TimeUnit.SECONDS.toNanos(10);
+  private static final long MEASURE_DURATION_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+  public static void main(String[] args) throws Exception {
+    final double singleEvent = run("single event", "0");
+    final double batched = run("batched", new RaftConfiguration().getMaxAppendRequestSize());
+
+    System.out.format("single event: %.0f events/s%n", singleEvent);
+    System.out.format("batched:      %.0f events/s (%.2fx)%n", batched, batched / singleEvent);
+  }
+
+  private static double run(String name, String maxAppendRequestSize) throws Exception {
+    final RaftConfiguration configuration =
+        new RaftConfiguration().setMaxAppendRequestSize(maxAppendRequestSize);
+
+    final BenchmarkContext ctx = new BenchmarkContext(configuration);
+    ctx.setUp();
+
+    try {
+      final LogStreamWriter writer = ctx.writer;
+      final LogStream logStream = ctx.leader.getLogStream();
+      final LongRingBuffer uncommitedPositions = new LongRingBuffer(10 * 1024);
+
+      writeEvents(writer, logStream, uncommitedPositions, WARM_UP_DURATION_NANOS);
+
+      final long startPosition = logStream.getCommitPosition();
+      final long startTime = System.nanoTime();
+      final long committedEvents =
+          writeEvents(writer, logStream, uncommitedPositions, MEASURE_DURATION_NANOS);
+      final long duration = System.nanoTime() - startTime;
+
+      final double eventsPerSecond = committedEvents / (duration / 1_000_000_000d);
+
+      System.out.format(
+          "%s (maxAppendRequestSize=%s): %.0f events/s, commit position %d -> %d%n",
+          name,
+          maxAppendRequestSize,
+          eventsPerSecond,
+          startPosition,
+          logStream.getCommitPosition());
+
+      return eventsPerSecond;
+    } finally {
+      ctx.tearDown();
+    }
+  }
+
+  /** @return the number of events which were committed in the given duration */
+  private static long writeEvents(
+      LogStreamWriter writer,
+      LogStream logStream,
+      LongRingBuffer uncommitedPositions,
+      long durationNanos) {
+    final long deadline = System.nanoTime() + durationNanos;
+    long committedEvents = 0;
+
+    while (System.nanoTime() < deadline) {
+      final int uncommitedEvents = uncommitedPositions.size();
+      uncommitedPositions.consumeAscendingUntilInclusive(logStream.getCommitPosition());
+      committedEvents += uncommitedEvents - uncommitedPositions.size();
+
+      if (!uncommitedPositions.isSaturated()) {
+        final long position = writer.positionAsKey().metadata(METADATA).value(DATA).tryWrite();
+
+        if (position > 0) {
+          uncommitedPositions.addElementToHead(position);
+        }
+      } else {
+        LockSupport.parkNanos(1000);
+      }
+    }
+
+    return committedEvents;
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft;
+
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.alignedFramedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.framedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageOffset;
+import static io.zeebe.raft.AppendRequestEncoder.previousEventPositionNullValue;
+import static io.zeebe.raft.AppendRequestEncoder.previousEventTermNullValue;
+import static io.zeebe.test.util.BufferWriterUtil.writeAndRead;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.logstreams.LogStreams;
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.protocol.impl.RecordMetadata;
+import io.zeebe.raft.protocol.AppendRequest;
+import io.zeebe.raft.protocol.AppendResponse;
+import io.zeebe.servicecontainer.testing.ServiceContainerRule;
+import io.zeebe.transport.SocketAddress;
+import io.zeebe.util.buffer.BufferWriter;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+public class BufferedLogStorageAppenderTest {
+  private static final int TERM = 1;
+
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+  public ActorSchedulerRule actorScheduler = new ActorSchedulerRule();
+  public ServiceContainerRule serviceContainer = new ServiceContainerRule(actorScheduler);
+
+  @Rule
+  public RuleChain ruleChain =
+      RuleChain.outerRule(temporaryFolder).around(actorScheduler).around(serviceContainer);
+
+  private final RecordMetadata metadata = new RecordMetadata();
+
+  private LogStream logStream;
+  private Raft raft;
+  private BufferedLogStorageAppender appender;
+
+  @Before
+  public void setUp() {
+    logStream =
+        LogStreams.createFsLogStream(wrapString("test"), 0)
+            .logName("test-0")
+            .deleteOnClose(true)
+            .logDirectory(temporaryFolder.getRoot().getAbsolutePath())
+            .serviceContainer(serviceContainer.get())
+            .build()
+            .join();
+
+    raft = mock(Raft.class);
+    when(raft.getLogStream()).thenReturn(logStream);
+    when(raft.getTerm()).thenReturn(TERM);
+    when(raft.getSocketAddress()).thenReturn(new SocketAddress("localhost", 8001));
+
+    appender = new BufferedLogStorageAppender(raft);
+  }
+
+  @After
+  public void tearDown() {
+    appender.close();
+    logStream.close();
+  }
+
+  @Test
+  public void shouldAppendRemainingEventsOfPartiallyMatchedRequest() {
+    // given
+    appender.appendEvents(
+        appendRequest(previousEventPositionNullValue(), previousEventTermNullValue(), 1, 2));
+    appender.flushAndAck();
+
+    // when the request starts before the last event and contains more events
+    appender.truncateLog(appendRequest(1, TERM, 2, 3, 4));
+    appender.flushAndAck();
+
+    // then
+    assertThat(readPositions()).containsExactly(1L, 2L, 3L, 4L);
+    assertThat(appender.getLastPosition()).isEqualTo(4L);
+
+    final AppendResponse response = lastResponse();
+    assertThat(response.isSucceeded()).isTrue();
+    assertThat(response.getPreviousEventPosition()).isEqualTo(4L);
+  }
+
+  @Test
+  public void shouldAcknowledgeAlreadyAppendedEvents() {
+    // given
+    appender.appendEvents(
+        appendRequest(previousEventPositionNullValue(), previousEventTermNullValue(), 1, 2, 3));
+    appender.flushAndAck();
+
+    // when the request contains only events which are already appended
+    appender.truncateLog(appendRequest(1, TERM, 2));
+
+    // then
+    assertThat(readPositions()).containsExactly(1L, 2L, 3L);
+
+    final AppendResponse response = lastResponse();
+    assertThat(response.isSucceeded()).isTrue();
+    assertThat(response.getPreviousEventPosition()).isEqualTo(2L);
+  }
+
+  private AppendRequest appendRequest(
+      long previousPosition, int previousTerm, long... eventPositions) {
+    final DirectBuffer events = writeEvents(eventPositions);
+
+    final AppendRequest request =
+        new AppendRequest()
+            .setRaft(raft)
+            .setPreviousEventPosition(previousPosition)
+            .setPreviousEventTerm(previousTerm)
+            .setEvents(events, 0, events.capacity());
+
+    return writeAndRead(request);
+  }
+
+  private DirectBuffer writeEvents(long... positions) {
+    metadata.reset();
+
+    final int metadataLength = metadata.getLength();
+    final int messageLength = LogEntryDescriptor.headerLength(metadataLength);
+    final int fragmentLength = alignedFramedLength(messageLength);
+
+    final MutableDirectBuffer buffer =
+        new UnsafeBuffer(new byte[fragmentLength * positions.length]);
+
+    for (int i = 0; i < positions.length; i++) {
+      final int offset = i * fragmentLength;
+      final int entryOffset = messageOffset(offset);
+
+      buffer.putInt(lengthOffset(offset), framedLength(messageLength));
+      LogEntryDescriptor.setPosition(buffer, entryOffset, positions[i]);
+      LogEntryDescriptor.setRaftTerm(buffer, entryOffset, TERM);
+      LogEntryDescriptor.setMetadataLength(buffer, entryOffset, (short) metadataLength);
+      metadata.write(buffer, LogEntryDescriptor.metadataOffset(entryOffset));
+    }
+
+    return buffer;
+  }
+
+  private List<Long> readPositions() {
+    final List<Long> positions = new ArrayList<>();
+
+    try (BufferedLogStreamReader reader = new BufferedLogStreamReader(logStream, true)) {
+      reader.seekToFirstEvent();
+      reader.forEachRemaining(event -> positions.add(event.getPosition()));
+    }
+
+    return positions;
+  }
+
+  private AppendResponse lastResponse() {
+    final ArgumentCaptor<BufferWriter> captor = ArgumentCaptor.forClass(BufferWriter.class);
+    verify(raft, atLeastOnce()).sendMessage(any(SocketAddress.class), captor.capture());
+
+    return (AppendResponse) captor.getValue();
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class RaftConfigurationTest {
+  @Rule public ExpectedException exception = ExpectedException.none();
+
+  @Test
+  public void shouldGetMaxAppendRequestSizeInBytes() {
+    // given
+    final RaftConfiguration configuration = new RaftConfiguration().setMaxAppendRequestSize("32K");
+
+    // then
+    assertThat(configuration.getMaxAppendRequestSizeBytes()).isEqualTo(32 * 1024);
+  }
+
+  @Test
+  public void shouldRejectMaxAppendRequestSizeAboveLimit() {
+    // given
+    final RaftConfiguration configuration = new RaftConfiguration().setMaxAppendRequestSize("4G");
+
+    // then
+    exception.expect(IllegalArgumentException.class);
+    exception.expectMessage("Expected max append request size to be between 0 and");
+
+    // when
+    configuration.getMaxAppendRequestSizeBytes();
+  }
+}
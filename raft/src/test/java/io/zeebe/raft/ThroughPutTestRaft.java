@@ -59,8 +59,15 @@ public class ThroughPutTestRaft implements RaftStateListener {
   private ServiceContainer serviceContainer;
 
   public ThroughPutTestRaft(SocketAddress socketAddress, ThroughPutTestRaft... members) {
+    this(new RaftConfiguration(), socketAddress, members);
+  }
+
+  public ThroughPutTestRaft(
+      RaftConfiguration configuration,
+      SocketAddress socketAddress,
+      ThroughPutTestRaft... members) {
     this.name = socketAddress.toString();
-    this.configuration = new RaftConfiguration();
+    this.configuration = configuration;
     this.topicName = "someTopic";
     this.partition = 0;
     this.members = Arrays.asList(members);
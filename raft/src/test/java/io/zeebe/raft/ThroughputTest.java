@@ -65,16 +65,24 @@ public class ThroughputTest {
 
     final ServiceContainer serviceContainer = new ServiceContainerImpl(scheduler);
 
-    final ThroughPutTestRaft raft1 = new ThroughPutTestRaft(new SocketAddress("localhost", 51015));
-    final ThroughPutTestRaft raft2 =
-        new ThroughPutTestRaft(new SocketAddress("localhost", 51016), raft1);
-    final ThroughPutTestRaft raft3 =
-        new ThroughPutTestRaft(new SocketAddress("localhost", 51017), raft1);
+    final ThroughPutTestRaft raft1;
+    final ThroughPutTestRaft raft2;
+    final ThroughPutTestRaft raft3;
 
     final LogStreamWriter writer = new LogStreamWriterImpl();
 
     Raft leader;
 
+    public BenchmarkContext() {
+      this(new RaftConfiguration());
+    }
+
+    public BenchmarkContext(RaftConfiguration configuration) {
+      raft1 = new ThroughPutTestRaft(configuration, new SocketAddress("localhost", 51015));
+      raft2 = new ThroughPutTestRaft(configuration, new SocketAddress("localhost", 51016), raft1);
+      raft3 = new ThroughPutTestRaft(configuration, new SocketAddress("localhost", 51017), raft1);
+    }
+
     public void setUp() throws IOException {
       scheduler.start();
       serviceContainer.start();
@@ -199,6 +199,41 @@ public class RaftProtocolMessageTest {
     assertThat(actual.getBuffer()).isEqualTo(data);
   }
 
+  @Test
+  public void shouldReadAndWriteAppendRequestWithEvents() {
+    // given
+    final int msgLength = BitUtil.SIZE_OF_LONG;
+    final int fragmentLength = DataFrameDescriptor.alignedFramedLength(msgLength);
+
+    final MutableDirectBuffer data = new UnsafeBuffer(new byte[fragmentLength * 2]);
+    for (int i = 0; i < 2; i++) {
+      final int offset = i * fragmentLength;
+      data.putInt(
+          DataFrameDescriptor.lengthOffset(offset), DataFrameDescriptor.framedLength(msgLength));
+      data.putLong(DataFrameDescriptor.messageOffset(offset), 123L + i);
+    }
+
+    AppendRequest appendRequest =
+        new AppendRequest()
+            .setRaft(raft)
+            .setPreviousEventPosition(111)
+            .setPreviousEventTerm(222)
+            .setEvents(data, 0, data.capacity());
+
+    // when
+    appendRequest = writeAndRead(appendRequest);
+
+    // then
+    assertThat(appendRequest.getPreviousEventPosition()).isEqualTo(111);
+    assertThat(appendRequest.getPreviousEventTerm()).isEqualTo(222);
+    assertThat(appendRequest.getEvents()).isEqualTo(data);
+
+    final LoggedEventImpl firstEvent = appendRequest.getEvent();
+    assertThat(firstEvent).isNotNull();
+    assertThat(firstEvent.getFragmentOffset()).isEqualTo(0);
+    assertThat(firstEvent.getFragmentLength()).isEqualTo(fragmentLength);
+  }
+
   @Test
   public void shouldReadWriteAppendResponse() {
     // given
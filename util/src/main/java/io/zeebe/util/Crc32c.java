@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util;
+
+import java.nio.ByteOrder;
+import org.agrona.DirectBuffer;
+
+/**
+ * CRC-32C (Castagnoli) checksum. Computes eight bytes per step with the slicing-by-8 algorithm
+ * and reads the data directly from the buffer, so it works on heap and off-heap buffers without
+ * copying.
+ */
+public final class Crc32c {
+  private static final int POLYNOMIAL = 0x82F63B78;
+
+  private static final int TABLE_COUNT = 8;
+  private static final int TABLE_SIZE = 256;
+
+  /** the lookup tables, one after the other */
+  private static final int[] TABLES = createTables();
+
+  private Crc32c() {}
+
+  /** @return the checksum of the given bytes */
+  public static int compute(DirectBuffer buffer, int offset, int length) {
+    return update(0, buffer, offset, length);
+  }
+
+  /**
+   * @param checksum the checksum of the preceding bytes, or 0
+   * @return the checksum of the preceding and the given bytes
+   */
+  public static int update(int checksum, DirectBuffer buffer, int offset, int length) {
+    int crc = ~checksum;
+
+    final int limit = offset + length;
+    int index = offset;
+
+    while (index + 8 <= limit) {
+      final long word = buffer.getLong(index, ByteOrder.LITTLE_ENDIAN);
+
+      final int low = (int) word ^ crc;
+      final int high = (int) (word >>> 32);
+
+      crc =
+          TABLES[7 * TABLE_SIZE + (low & 0xFF)]
+              ^ TABLES[6 * TABLE_SIZE + ((low >>> 8) & 0xFF)]
+              ^ TABLES[5 * TABLE_SIZE + ((low >>> 16) & 0xFF)]
+              ^ TABLES[4 * TABLE_SIZE + (low >>> 24)]
+              ^ TABLES[3 * TABLE_SIZE + (high & 0xFF)]
+              ^ TABLES[2 * TABLE_SIZE + ((high >>> 8) & 0xFF)]
+              ^ TABLES[TABLE_SIZE + ((high >>> 16) & 0xFF)]
+              ^ TABLES[high >>> 24];
+
+      index += 8;
+    }
+
+    while (index < limit) {
+      crc = (crc >>> 8) ^ TABLES[(crc ^ buffer.getByte(index)) & 0xFF];
+      index += 1;
+    }
+
+    return ~crc;
+  }
+
+  private static int[] createTables() {
+    final int[] tables = new int[TABLE_COUNT * TABLE_SIZE];
+
+    for (int i = 0; i < TABLE_SIZE; i++) {
+      int crc = i;
+      for (int bit = 0; bit < 8; bit++) {
+        crc = (crc & 1) != 0 ? (crc >>> 1) ^ POLYNOMIAL : crc >>> 1;
+      }
+      tables[i] = crc;
+    }
+
+    for (int table = 1; table < TABLE_COUNT; table++) {
+      for (int i = 0; i < TABLE_SIZE; i++) {
+        final int previous = tables[(table - 1) * TABLE_SIZE + i];
+        tables[table * TABLE_SIZE + i] = (previous >>> 8) ^ tables[previous & 0xFF];
+      }
+    }
+
+    return tables;
+  }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.cache;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.UnsafeAccess;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+import sun.misc.Unsafe;
+
+/**
+ * LRU-cache for buffers of different size, which is bounded by the size of the cached values in
+ * bytes. The values are stored off-heap.
+ *
+ * <p>The entries are found by a hash map and ordered by a doubly linked list, so that all
+ * operations take constant time. The memory of a value is allocated in powers of two and reused if
+ * the value of an entry is replaced by a value of similar size.
+ *
+ * <p>The cache is not thread-safe.
+ */
+@SuppressWarnings("restriction")
+public class LruBufferCache implements AutoCloseable {
+  private static final Unsafe UNSAFE = UnsafeAccess.UNSAFE;
+
+  private static final int NULL_INDEX = -1;
+  private static final int MIN_VALUE_CAPACITY = 64;
+  private static final int INITIAL_ENTRY_CAPACITY = 64;
+
+  private final UnsafeBuffer readBuffer = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer writeBuffer = new UnsafeBuffer(0, 0);
+
+  private final long capacityInBytes;
+  private final LongFunction<DirectBuffer> lookup;
+
+  /** key -> entry index */
+  private final Long2LongHashMap entryIndexByKey = new Long2LongHashMap(NULL_INDEX);
+
+  // entries
+  private long[] keys = new long[INITIAL_ENTRY_CAPACITY];
+  private long[] valueAddresses = new long[INITIAL_ENTRY_CAPACITY];
+  private int[] valueLengths = new int[INITIAL_ENTRY_CAPACITY];
+  private int[] valueCapacities = new int[INITIAL_ENTRY_CAPACITY];
+  private int[] previousEntries = new int[INITIAL_ENTRY_CAPACITY];
+  private int[] nextEntries = new int[INITIAL_ENTRY_CAPACITY];
+
+  private int[] freeEntries = new int[INITIAL_ENTRY_CAPACITY];
+  private int freeEntryCount;
+  private int allocatedEntryCount;
+
+  // most recently used entry
+  private int head = NULL_INDEX;
+  // least recently used entry
+  private int tail = NULL_INDEX;
+
+  private int size;
+  private long sizeInBytes;
+
+  private LruBufferCacheMetrics metrics;
+
+  /**
+   * Create a new cache.
+   *
+   * @param capacityInBytes the maximal size of the cached values in bytes
+   * @param lookup a function for lookup an absent value
+   */
+  public LruBufferCache(long capacityInBytes, LongFunction<DirectBuffer> lookup) {
+    this.capacityInBytes = capacityInBytes;
+    this.lookup = lookup;
+  }
+
+  public void setMetrics(LruBufferCacheMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * Returns the value of the given key. If the value is not cached then it is looked up and added
+   * to the cache.
+   *
+   * <p>A returned cached value is a view on the cache memory, i.e. it may become invalid with the
+   * very next interaction with the cache.
+   *
+   * @return the value, or null if the lookup didn't find a value
+   */
+  public DirectBuffer get(long key) {
+    final int entry = (int) entryIndexByKey.get(key);
+
+    if (entry != NULL_INDEX) {
+      if (metrics != null) {
+        metrics.incrementHitCount();
+      }
+
+      moveToHead(entry);
+
+      final int length = valueLengths[entry];
+      if (length > 0) {
+        readBuffer.wrap(valueAddresses[entry], length);
+      } else {
+        readBuffer.wrap(0, 0);
+      }
+      return readBuffer;
+    } else {
+      if (metrics != null) {
+        metrics.incrementMissCount();
+      }
+
+      final DirectBuffer buffer = lookup.apply(key);
+      if (buffer != null) {
+        put(key, buffer);
+      }
+      return buffer;
+    }
+  }
+
+  public void put(long key, DirectBuffer buffer) {
+    final int length = buffer.capacity();
+    final int capacity = valueCapacity(length);
+
+    int entry = (int) entryIndexByKey.get(key);
+
+    if (entry != NULL_INDEX) {
+      final int currentCapacity = valueCapacities[entry];
+
+      if (currentCapacity == capacity) {
+        // reuse the memory of the entry
+        copyValue(entry, buffer);
+        moveToHead(entry);
+        return;
+      } else {
+        removeEntry(entry);
+      }
+    }
+
+    if (capacity > capacityInBytes) {
+      // the value is too large to be cached
+      return;
+    }
+
+    while (sizeInBytes + capacity > capacityInBytes && tail != NULL_INDEX) {
+      removeEntry(tail);
+
+      if (metrics != null) {
+        metrics.incrementEvictionCount();
+      }
+    }
+
+    entry = allocateEntry();
+
+    keys[entry] = key;
+    valueAddresses[entry] = UNSAFE.allocateMemory(capacity);
+    valueCapacities[entry] = capacity;
+    copyValue(entry, buffer);
+
+    linkAsHead(entry);
+    entryIndexByKey.put(key, entry);
+
+    size += 1;
+    sizeInBytes += capacity;
+
+    updateSizeMetrics();
+  }
+
+  public void remove(long key) {
+    final int entry = (int) entryIndexByKey.get(key);
+    if (entry != NULL_INDEX) {
+      removeEntry(entry);
+    }
+  }
+
+  /** @return the number of cached values */
+  public int getSize() {
+    return size;
+  }
+
+  /** @return the size of the memory which is allocated for the cached values, in bytes */
+  public long getSizeInBytes() {
+    return sizeInBytes;
+  }
+
+  public long getCapacityInBytes() {
+    return capacityInBytes;
+  }
+
+  public void clear() {
+    while (tail != NULL_INDEX) {
+      removeEntry(tail);
+    }
+  }
+
+  @Override
+  public void close() {
+    clear();
+  }
+
+  private static int valueCapacity(int length) {
+    return BitUtil.findNextPositivePowerOfTwo(Math.max(length, MIN_VALUE_CAPACITY));
+  }
+
+  private void copyValue(int entry, DirectBuffer buffer) {
+    final int length = buffer.capacity();
+
+    writeBuffer.wrap(valueAddresses[entry], valueCapacities[entry]);
+    writeBuffer.putBytes(0, buffer, 0, length);
+    valueLengths[entry] = length;
+  }
+
+  private void removeEntry(int entry) {
+    unlink(entry);
+    entryIndexByKey.remove(keys[entry]);
+
+    UNSAFE.freeMemory(valueAddresses[entry]);
+
+    size -= 1;
+    sizeInBytes -= valueCapacities[entry];
+
+    valueAddresses[entry] = 0;
+    valueLengths[entry] = 0;
+    valueCapacities[entry] = 0;
+
+    freeEntries[freeEntryCount] = entry;
+    freeEntryCount += 1;
+
+    updateSizeMetrics();
+  }
+
+  private int allocateEntry() {
+    if (freeEntryCount > 0) {
+      freeEntryCount -= 1;
+      return freeEntries[freeEntryCount];
+    }
+
+    if (allocatedEntryCount == keys.length) {
+      final int newLength = keys.length * 2;
+
+      keys = Arrays.copyOf(keys, newLength);
+      valueAddresses = Arrays.copyOf(valueAddresses, newLength);
+      valueLengths = Arrays.copyOf(valueLengths, newLength);
+      valueCapacities = Arrays.copyOf(valueCapacities, newLength);
+      previousEntries = Arrays.copyOf(previousEntries, newLength);
+      nextEntries = Arrays.copyOf(nextEntries, newLength);
+      freeEntries = Arrays.copyOf(freeEntries, newLength);
+    }
+
+    final int entry = allocatedEntryCount;
+    allocatedEntryCount += 1;
+    return entry;
+  }
+
+  private void moveToHead(int entry) {
+    if (entry != head) {
+      unlink(entry);
+      linkAsHead(entry);
+    }
+  }
+
+  private void linkAsHead(int entry) {
+    previousEntries[entry] = NULL_INDEX;
+    nextEntries[entry] = head;
+
+    if (head != NULL_INDEX) {
+      previousEntries[head] = entry;
+    } else {
+      tail = entry;
+    }
+
+    head = entry;
+  }
+
+  private void unlink(int entry) {
+    final int previous = previousEntries[entry];
+    final int next = nextEntries[entry];
+
+    if (previous != NULL_INDEX) {
+      nextEntries[previous] = next;
+    } else {
+      head = next;
+    }
+
+    if (next != NULL_INDEX) {
+      previousEntries[next] = previous;
+    } else {
+      tail = previous;
+    }
+
+    previousEntries[entry] = NULL_INDEX;
+    nextEntries[entry] = NULL_INDEX;
+  }
+
+  private void updateSizeMetrics() {
+    if (metrics != null) {
+      metrics.setSize(size, sizeInBytes);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.cache;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class LruBufferCacheMetrics {
+  private final Metric hitCountMetric;
+  private final Metric missCountMetric;
+  private final Metric evictionCountMetric;
+  private final Metric sizeMetric;
+  private final Metric sizeInBytesMetric;
+
+  public LruBufferCacheMetrics(
+      MetricsManager metricsManager, String cacheName, String topicName, String partitionId) {
+    hitCountMetric =
+        metricsManager
+            .newMetric("cache_requests_count")
+            .type("counter")
+            .label("cache", cacheName)
+            .label("result", "hit")
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+
+    missCountMetric =
+        metricsManager
+            .newMetric("cache_requests_count")
+            .type("counter")
+            .label("cache", cacheName)
+            .label("result", "miss")
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+
+    evictionCountMetric =
+        metricsManager
+            .newMetric("cache_evictions_count")
+            .type("counter")
+            .label("cache", cacheName)
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+
+    sizeMetric =
+        metricsManager
+            .newMetric("cache_entries")
+            .type("gauge")
+            .label("cache", cacheName)
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+
+    sizeInBytesMetric =
+        metricsManager
+            .newMetric("cache_size_bytes")
+            .type("gauge")
+            .label("cache", cacheName)
+            .label("topic", topicName)
+            .label("partition", partitionId)
+            .create();
+  }
+
+  public void close() {
+    hitCountMetric.close();
+    missCountMetric.close();
+    evictionCountMetric.close();
+    sizeMetric.close();
+    sizeInBytesMetric.close();
+  }
+
+  public void incrementHitCount() {
+    hitCountMetric.incrementOrdered();
+  }
+
+  public void incrementMissCount() {
+    missCountMetric.incrementOrdered();
+  }
+
+  public void incrementEvictionCount() {
+    evictionCountMetric.incrementOrdered();
+  }
+
+  public void setSize(int size, long sizeInBytes) {
+    sizeMetric.setOrdered(size);
+    sizeInBytesMetric.setOrdered(sizeInBytes);
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.metrics;
+
+import static io.zeebe.util.metrics.Metric.NEW_LINE;
+import static io.zeebe.util.metrics.Metric.WHITESPACE;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Consumer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Histogram with exponential buckets: bucket <code>i</code> counts the values which are less than
+ * or equal to <code>2^i</code>, the last bucket counts all greater values. The counters are kept
+ * in an off-heap buffer and are updated with atomic adds, so recording a value neither allocates
+ * nor locks and may happen from any thread.
+ *
+ * <p>The histogram is dumped in the Prometheus text format as cumulative <code>_bucket</code>
+ * samples with an <code>le</code> label, followed by <code>_sum</code> and <code>_count</code>.
+ */
+public class Histogram {
+  public static final int DEFAULT_BUCKET_COUNT = 24;
+
+  private static final int COUNT_OFFSET = 0;
+  private static final int SUM_OFFSET = COUNT_OFFSET + SIZE_OF_LONG;
+  private static final int BUCKETS_OFFSET = SUM_OFFSET + SIZE_OF_LONG;
+
+  private final String name;
+  private final int bucketCount;
+  private final AtomicBuffer values;
+  private final Consumer<Histogram> onClose;
+
+  private final byte[][] bucketPrefixes;
+  private final byte[] sumPrefix;
+  private final byte[] countPrefix;
+
+  public Histogram(
+      String name, int bucketCount, Map<String, String> labels, Consumer<Histogram> onClose) {
+    if (bucketCount < 1 || bucketCount > Long.SIZE - 1) {
+      throw new IllegalArgumentException("bucket count must be between 1 and 63");
+    }
+
+    this.name = name;
+    this.bucketCount = bucketCount;
+    this.onClose = onClose;
+
+    // one additional bucket for the values greater than the upper bound of the last bucket
+    final int length = BUCKETS_OFFSET + (bucketCount + 1) * SIZE_OF_LONG;
+    this.values = new UnsafeBuffer(ByteBuffer.allocateDirect(length));
+
+    final StringBuilder labelBuilder = new StringBuilder();
+    for (Entry<String, String> label : labels.entrySet()) {
+      labelBuilder
+          .append(label.getKey())
+          .append("=\"")
+          .append(label.getValue())
+          .append("\",");
+    }
+    final String labelString = labelBuilder.toString();
+
+    this.bucketPrefixes = new byte[bucketCount + 1][];
+    for (int i = 0; i <= bucketCount; i++) {
+      final String upperBound = i < bucketCount ? Long.toString(1L << i) : "+Inf";
+      bucketPrefixes[i] =
+          toBytes(name + "_bucket{" + labelString + "le=\"" + upperBound + "\"} ");
+    }
+
+    final String labelSuffix = labelString.isEmpty() ? "" : trimLastComma(labelString);
+    this.sumPrefix = toBytes(name + "_sum{" + labelSuffix + "} ");
+    this.countPrefix = toBytes(name + "_count{" + labelSuffix + "} ");
+  }
+
+  public void record(long value) {
+    final long boundedValue = Math.max(0, value);
+    final int bucket = bucketIndex(boundedValue, bucketCount);
+
+    values.getAndAddLong(bucketOffset(bucket), 1);
+    values.getAndAddLong(SUM_OFFSET, boundedValue);
+    values.getAndAddLong(COUNT_OFFSET, 1);
+  }
+
+  /** @return the number of the recorded values */
+  public long getCount() {
+    return values.getLongVolatile(COUNT_OFFSET);
+  }
+
+  /** @return the sum of the recorded values */
+  public long getSum() {
+    return values.getLongVolatile(SUM_OFFSET);
+  }
+
+  /**
+   * @return the number of the recorded values which fall into the given bucket, not including the
+   *     values of the lower buckets
+   */
+  public long getBucketValue(int bucket) {
+    return values.getLongVolatile(bucketOffset(bucket));
+  }
+
+  public int getBucketCount() {
+    return bucketCount;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int dump(MutableDirectBuffer buffer, int offset, long now) {
+    final byte[] timestamp = toBytes(Long.toString(now));
+
+    long cumulativeCount = 0;
+    for (int i = 0; i <= bucketCount; i++) {
+      cumulativeCount += getBucketValue(i);
+      offset = writeSample(buffer, offset, bucketPrefixes[i], cumulativeCount, timestamp);
+    }
+
+    offset = writeSample(buffer, offset, sumPrefix, getSum(), timestamp);
+    // use the bucket values so that the count is consistent with the +Inf bucket
+    offset = writeSample(buffer, offset, countPrefix, cumulativeCount, timestamp);
+
+    return offset;
+  }
+
+  public void close() {
+    onClose.accept(this);
+  }
+
+  static int bucketIndex(long value, int bucketCount) {
+    if (value <= 1) {
+      return 0;
+    }
+
+    // the smallest i with value <= 2^i
+    final int index = Long.SIZE - Long.numberOfLeadingZeros(value - 1);
+    return Math.min(index, bucketCount);
+  }
+
+  private static int bucketOffset(int bucket) {
+    return BUCKETS_OFFSET + bucket * SIZE_OF_LONG;
+  }
+
+  private static int writeSample(
+      MutableDirectBuffer buffer, int offset, byte[] prefix, long value, byte[] timestamp) {
+    offset = writeArray(buffer, offset, prefix);
+    offset = writeArray(buffer, offset, toBytes(Long.toString(value)));
+    offset = writeArray(buffer, offset, WHITESPACE);
+    offset = writeArray(buffer, offset, timestamp);
+    offset = writeArray(buffer, offset, NEW_LINE);
+    return offset;
+  }
+
+  private static int writeArray(MutableDirectBuffer buffer, int offset, byte[] array) {
+    buffer.putBytes(offset, array);
+    return offset + array.length;
+  }
+
+  private static String trimLastComma(String labels) {
+    return labels.substring(0, labels.length() - 1);
+  }
+
+  private static byte[] toBytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
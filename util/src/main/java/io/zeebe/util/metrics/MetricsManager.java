@@ -22,10 +22,12 @@ import org.agrona.MutableDirectBuffer;
 
 public class MetricsManager {
   private final List<Metric> metrics = new ArrayList<>();
+  private final List<Histogram> histograms = new ArrayList<>();
 
   private final String prefix;
   private final Map<String, String> globalLabels;
   private final Consumer<Metric> onClose = this::free;
+  private final Consumer<Histogram> onHistogramClose = this::free;
   private final ReentrantLock lock = new ReentrantLock();
 
   public MetricsManager() {
@@ -49,10 +51,27 @@ public class MetricsManager {
     }
   }
 
+  public Histogram allocateHistogram(String name, int bucketCount, Map<String, String> labels) {
+    lock.lock();
+    try {
+      labels.putAll(globalLabels);
+      final Histogram histogram =
+          new Histogram(prefix + name, bucketCount, labels, onHistogramClose);
+      histograms.add(histogram);
+      return histogram;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   public MetricBuilder newMetric(String name) {
     return new MetricBuilder(name);
   }
 
+  public HistogramBuilder newHistogram(String name) {
+    return new HistogramBuilder(name);
+  }
+
   public int dump(MutableDirectBuffer buffer, int offset, long now) {
     lock.lock();
     try {
@@ -60,6 +79,10 @@ public class MetricsManager {
         offset = metrics.get(i).dump(buffer, offset, now);
       }
 
+      for (int i = 0; i < histograms.size(); i++) {
+        offset = histograms.get(i).dump(buffer, offset, now);
+      }
+
       return offset;
     } finally {
       lock.unlock();
@@ -75,6 +98,15 @@ public class MetricsManager {
     }
   }
 
+  public void free(Histogram histogram) {
+    lock.lock();
+    try {
+      histograms.remove(histogram);
+    } finally {
+      lock.unlock();
+    }
+  }
+
   public class MetricBuilder {
     private final String name;
     private String type;
@@ -106,4 +138,32 @@ public class MetricsManager {
       return MetricsManager.this.allocate(name, type, description, labels);
     }
   }
+
+  public class HistogramBuilder {
+    private final String name;
+    private int bucketCount = Histogram.DEFAULT_BUCKET_COUNT;
+    private final Map<String, String> labels = new HashMap<>();
+
+    public HistogramBuilder(String name) {
+      this.name = name;
+    }
+
+    public HistogramBuilder label(String name, String value) {
+      labels.put(name, value);
+      return this;
+    }
+
+    /**
+     * @param bucketCount the number of buckets, the upper bound of the last bucket is <code>
+     *     2^(bucketCount - 1)</code>
+     */
+    public HistogramBuilder buckets(int bucketCount) {
+      this.bucketCount = bucketCount;
+      return this;
+    }
+
+    public Histogram create() {
+      return MetricsManager.this.allocateHistogram(name, bucketCount, labels);
+    }
+  }
 }
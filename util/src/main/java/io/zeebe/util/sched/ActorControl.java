@@ -41,7 +41,8 @@ public class ActorControl {
 
   /**
    * changes the actor's scheduling hints. For example, this makes it possible to transform a
-   * cpu-bound actor into an io-bound actor and vice versa.
+   * cpu-bound actor into an io-bound actor and vice versa. The affinity of the actor is kept if
+   * the given hints don't contain one.
    *
    * @param hints the changed scheduling hints
    */
@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched;
+
+import java.util.concurrent.TimeUnit;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
+
+/** The strategies an {@link ActorThread} can use to wait for work when it has no tasks to run. */
+public enum ActorIdleStrategy {
+  /**
+   * Never gives up the cpu. Gives the lowest latency when new work arrives, but keeps a core busy
+   * all the time.
+   */
+  SPIN {
+    @Override
+    public IdleStrategy newInstance() {
+      return new BusySpinIdleStrategy();
+    }
+  },
+
+  /** Spins, then yields and then parks the thread for increasing periods of time. */
+  BACKOFF {
+    @Override
+    public IdleStrategy newInstance() {
+      return newBackoffIdleStrategy();
+    }
+  },
+
+  /**
+   * Spins while work usually arrives within a short time, and backs off when the thread is mostly
+   * idle. See {@link AdaptiveIdleStrategy}.
+   */
+  ADAPTIVE {
+    @Override
+    public IdleStrategy newInstance() {
+      return new AdaptiveIdleStrategy(newBackoffIdleStrategy());
+    }
+  };
+
+  public abstract IdleStrategy newInstance();
+
+  static IdleStrategy newBackoffIdleStrategy() {
+    return new BackoffIdleStrategy(100, 100, 1, TimeUnit.MILLISECONDS.toNanos(1));
+  }
+}
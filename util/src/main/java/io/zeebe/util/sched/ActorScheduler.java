@@ -92,6 +92,8 @@ public class ActorScheduler {
       Actor actor, boolean collectTaskMetrics, int schedulingHints) {
     final ActorTask task = actor.actor.task;
 
+    task.setAffinity(SchedulingHints.getAffinity(schedulingHints));
+
     final ActorFuture<Void> startingFuture;
     if (SchedulingHints.isCpuBound(schedulingHints)) {
       task.setPriority(SchedulingHints.getPriority(schedulingHints));
@@ -156,10 +158,13 @@ public class ActorScheduler {
     private int cpuBoundThreadsCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 2);
     private ActorThreadGroup cpuBoundActorGroup;
     private double[] priorityQuotas = new double[] {0.60, 0.30, 0.10};
+    private int[] cpuBoundThreadAffinity = new int[0];
+    private ActorIdleStrategy cpuBoundIdleStrategy = ActorIdleStrategy.BACKOFF;
 
     private int ioBoundThreadsCount = 2;
     private ActorThreadGroup ioBoundActorGroup;
     private int[] ioDeviceConcurrency = new int[] {2};
+    private ActorIdleStrategy ioBoundIdleStrategy = ActorIdleStrategy.BACKOFF;
 
     private ActorThreadFactory actorThreadFactory;
     private ThreadPoolExecutor blockingTasksRunner;
@@ -198,6 +203,26 @@ public class ActorScheduler {
       return this;
     }
 
+    /**
+     * Pins the cpu bound actor threads to the given cpus: thread {@code t} is pinned to {@code
+     * cpus[t % cpus.length]}. Pinning is best effort and only supported on Linux. An empty array
+     * disables pinning.
+     */
+    public ActorSchedulerBuilder setCpuBoundThreadAffinity(int[] cpus) {
+      this.cpuBoundThreadAffinity = cpus;
+      return this;
+    }
+
+    public ActorSchedulerBuilder setCpuBoundIdleStrategy(ActorIdleStrategy idleStrategy) {
+      this.cpuBoundIdleStrategy = idleStrategy;
+      return this;
+    }
+
+    public ActorSchedulerBuilder setIoBoundIdleStrategy(ActorIdleStrategy idleStrategy) {
+      this.ioBoundIdleStrategy = idleStrategy;
+      return this;
+    }
+
     public ActorSchedulerBuilder setActorThreadFactory(ActorThreadFactory actorThreadFactory) {
       this.actorThreadFactory = actorThreadFactory;
       return this;
@@ -256,6 +281,18 @@ public class ActorScheduler {
       return priorityQuotas;
     }
 
+    public int[] getCpuBoundThreadAffinity() {
+      return cpuBoundThreadAffinity;
+    }
+
+    public ActorIdleStrategy getCpuBoundIdleStrategy() {
+      return cpuBoundIdleStrategy;
+    }
+
+    public ActorIdleStrategy getIoBoundIdleStrategy() {
+      return ioBoundIdleStrategy;
+    }
+
     public ActorThreadFactory getActorThreadFactory() {
       return actorThreadFactory;
     }
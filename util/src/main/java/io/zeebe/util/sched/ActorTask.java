@@ -118,6 +118,9 @@ public class ActorTask {
   /** the id of the io device used. Only set if this task is scheduled as a blocking io task */
   private int deviceId;
 
+  /** the affinity of the task, see {@link SchedulingHints#setAffinity(int, int)}; -1 if none */
+  private int affinity = -1;
+
   public ActorTask(Actor actor) {
     this.actor = actor;
   }
@@ -575,6 +578,14 @@ public class ActorTask {
     this.deviceId = deviceId;
   }
 
+  public int getAffinity() {
+    return affinity;
+  }
+
+  public void setAffinity(int affinity) {
+    this.affinity = affinity;
+  }
+
   public ActorExecutor getActorExecutor() {
     return actorExecutor;
   }
@@ -622,7 +633,17 @@ public class ActorTask {
     }
   }
 
+  /**
+   * Updates the thread group and priority / io device of the task. The affinity is kept if the
+   * given hints don't contain one, so that an actor stays pinned to its partition's thread when it
+   * switches between cpu and io bound.
+   */
   public void setUpdatedSchedulingHints(int hints) {
+    final int updatedAffinity = SchedulingHints.getAffinity(hints);
+    if (updatedAffinity >= 0) {
+      affinity = updatedAffinity;
+    }
+
     if (SchedulingHints.isCpuBound(hints)) {
       priority = SchedulingHints.getPriority(hints);
       actorThreadGroup = actorExecutor.getCpuBoundThreads();
@@ -58,6 +58,8 @@ class ActorTaskQueueNode {
 class ActorTaskQueuePadding1 {
   protected static final long HEAD_OFFSET;
   protected static final long TAIL_OFFSET;
+  protected static final long APPEND_COUNT_OFFSET;
+  protected static final long POLL_COUNT_OFFSET;
   protected static final long PREV_OFFSET;
   protected static final long NEXT_OFFSET;
   protected static final long STATE_COUNT_OFFSET;
@@ -66,6 +68,10 @@ class ActorTaskQueuePadding1 {
     try {
       HEAD_OFFSET = UNSAFE.objectFieldOffset(ActorTaskQueueHead.class.getDeclaredField("head"));
       TAIL_OFFSET = UNSAFE.objectFieldOffset(ActorTaskQueueTail.class.getDeclaredField("tail"));
+      APPEND_COUNT_OFFSET =
+          UNSAFE.objectFieldOffset(ActorTaskQueueTail.class.getDeclaredField("appendCount"));
+      POLL_COUNT_OFFSET =
+          UNSAFE.objectFieldOffset(ActorTaskQueueHead.class.getDeclaredField("pollCount"));
       PREV_OFFSET = UNSAFE.objectFieldOffset(ActorTaskQueueNode.class.getDeclaredField("prev"));
       NEXT_OFFSET = UNSAFE.objectFieldOffset(ActorTaskQueueNode.class.getDeclaredField("next"));
       STATE_COUNT_OFFSET = UNSAFE.objectFieldOffset(ActorTask.class.getDeclaredField("stateCount"));
@@ -81,6 +87,7 @@ class ActorTaskQueuePadding1 {
 /** Value for the tail that is expected to be padded. */
 class ActorTaskQueueTail extends ActorTaskQueuePadding1 {
   protected volatile ActorTaskQueueNode tail;
+  protected volatile long appendCount;
 }
 
 /** Pad out a cache line between the tail and the head to prevent false sharing. */
@@ -92,6 +99,7 @@ class ActorTaskQueuePadding2 extends ActorTaskQueueTail {
 /** Value for the head that is expected to be padded. */
 class ActorTaskQueueHead extends ActorTaskQueuePadding2 {
   protected volatile ActorTaskQueueNode head;
+  protected volatile long pollCount;
 }
 
 /** Adapted from Agrona's {@link ManyToOneConcurrentLinkedQueue}. */
@@ -116,6 +124,8 @@ public class ActorTaskQueue extends ActorTaskQueueHead {
     final ActorTaskQueueNode previousTail = swapTail(tail);
     previousTail.nextOrdered(tail);
     tail.prevOrdered(previousTail);
+
+    UNSAFE.getAndAddLong(this, APPEND_COUNT_OFFSET, 1);
   }
 
   /**
@@ -176,6 +186,9 @@ public class ActorTaskQueue extends ActorTaskQueueHead {
       }
 
       headOrdered(next);
+
+      // only the owner polls, no need for an atomic update
+      UNSAFE.putOrderedLong(this, POLL_COUNT_OFFSET, pollCount + 1);
     }
 
     return value;
@@ -186,6 +199,14 @@ public class ActorTaskQueue extends ActorTaskQueueHead {
     return next == empty ? null : next;
   }
 
+  /**
+   * @return the approximate number of tasks in the queue. Includes tasks which are stolen but not
+   *     yet polled by the owner of the queue.
+   */
+  public long size() {
+    return Math.max(0, appendCount - pollCount);
+  }
+
   public boolean isEmpty() {
     return head == tail;
   }
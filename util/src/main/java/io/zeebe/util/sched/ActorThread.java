@@ -62,6 +62,8 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
 
   private final ActorClock clock;
 
+  private static final long METRICS_SAMPLE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
   static {
     try {
       STATE_OFFSET = UNSAFE.objectFieldOffset(ActorThread.class.getDeclaredField("state"));
@@ -84,6 +86,9 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
 
   ActorTask currentTask;
 
+  /** the cpu this thread is pinned to when it starts, or -1 if it is not pinned */
+  private int cpuAffinity = -1;
+
   public ActorThread(
       String name,
       int id,
@@ -104,6 +109,10 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
 
   @Override
   public void run() {
+    if (cpuAffinity >= 0) {
+      CpuTopology.pinCurrentThread(cpuAffinity);
+    }
+
     idleStrategy.init();
 
     while (state == ActorThreadState.RUNNING) {
@@ -127,6 +136,8 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
       timerJobQueue.processExpiredTimers(clock);
     }
 
+    idleStrategy.sampleMetrics();
+
     currentTask = taskScheduler.getNextTask(clock);
 
     if (currentTask != null) {
@@ -163,6 +174,7 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
 
       clock.update();
       final long taskExecutionTime = clock.getNanoTime() - nanoTimeBeforeTask;
+      metrics.recordTaskExecutionTime(taskExecutionTime);
 
       // FIXME: if the task was woken up concurrently, we do not own it anymore and cannot report
       // metrics
@@ -186,17 +198,29 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
     idleStrategy.hintWorkAvailable();
   }
 
+  /** Must be called before the thread is started. */
+  public void setIdleStrategy(IdleStrategy strategy) {
+    idleStrategy.strategy = strategy;
+  }
+
   protected class ActorTaskRunnerIdleStrategy {
-    final BackoffIdleStrategy backoff =
-        new BackoffIdleStrategy(100, 100, 1, TimeUnit.MILLISECONDS.toNanos(1));
+    IdleStrategy strategy = ActorIdleStrategy.BACKOFF.newInstance();
     boolean isIdle;
 
     long idleTimeStart;
     long busyTimeStart;
 
+    /** busy and idle time since the metrics were last sampled, to calculate the utilization */
+    long sampleStart;
+    long sampleBusyTime;
+    long sampleIdleTime;
+
     void init() {
       isIdle = true;
       idleTimeStart = System.nanoTime();
+
+      clock.update();
+      sampleStart = clock.getNanoTime();
     }
 
     public void hintWorkAvailable() {
@@ -208,21 +232,46 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
         clock.update();
         idleTimeStart = clock.getNanoTime();
         metrics.recordRunnerBusyTime(idleTimeStart - busyTimeStart);
+        sampleBusyTime += idleTimeStart - Math.max(busyTimeStart, sampleStart);
         isIdle = true;
       }
 
-      backoff.idle();
+      strategy.idle();
     }
 
     protected void onTaskExecuted() {
-      backoff.reset();
+      strategy.reset();
 
       if (isIdle) {
         busyTimeStart = clock.getNanoTime();
         metrics.recordRunnerIdleTime(busyTimeStart - idleTimeStart);
+        sampleIdleTime += busyTimeStart - Math.max(idleTimeStart, sampleStart);
         isIdle = false;
       }
     }
+
+    void sampleMetrics() {
+      final long now = clock.getNanoTime();
+      if (now - sampleStart < METRICS_SAMPLE_INTERVAL_NANOS) {
+        return;
+      }
+
+      // include the current period until now
+      long busyTime = sampleBusyTime;
+      long idleTime = sampleIdleTime;
+      if (isIdle) {
+        idleTime += now - Math.max(idleTimeStart, sampleStart);
+      } else {
+        busyTime += now - Math.max(busyTimeStart, sampleStart);
+      }
+
+      metrics.setUtilization(busyTime, idleTime);
+      metrics.setQueueDepth(actorThreadGroup.getQueueDepth(threadId));
+
+      sampleStart = now;
+      sampleBusyTime = 0;
+      sampleIdleTime = 0;
+    }
   }
 
   /** Must be called from this thread, schedules a job to be run later. */
@@ -263,6 +312,15 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
     jobPool.reclaim(j);
   }
 
+  /** Must be called before the thread is started. */
+  public void setCpuAffinity(int cpu) {
+    this.cpuAffinity = cpu;
+  }
+
+  public int getCpuAffinity() {
+    return cpuAffinity;
+  }
+
   public int getRunnerId() {
     return threadId;
   }
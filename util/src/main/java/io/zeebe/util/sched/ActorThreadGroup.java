@@ -37,7 +37,18 @@ public abstract class ActorThreadGroup {
     this.groupName = groupName;
     this.numOfThreads = numOfThreads;
 
-    this.tasks = new MultiLevelWorkstealingGroup(numOfThreads, numOfQueuesPerThread);
+    final int[] cpus = getCpuAffinity(builder);
+    final boolean isPinned = cpus != null && cpus.length > 0;
+
+    final int[] threadLocality = new int[numOfThreads];
+    if (isPinned) {
+      for (int t = 0; t < numOfThreads; t++) {
+        threadLocality[t] = CpuTopology.getSocketId(cpus[t % cpus.length]);
+      }
+    }
+
+    this.tasks =
+        new MultiLevelWorkstealingGroup(numOfThreads, numOfQueuesPerThread, threadLocality);
 
     threads = new ActorThread[numOfThreads];
 
@@ -59,6 +70,12 @@ public abstract class ActorThreadGroup {
                   metrics,
                   builder.getActorTimerQueue());
 
+      thread.setIdleStrategy(getIdleStrategy(builder).newInstance());
+
+      if (isPinned) {
+        thread.setCpuAffinity(cpus[t % cpus.length]);
+      }
+
       threads[t] = thread;
     }
   }
@@ -66,11 +83,32 @@ public abstract class ActorThreadGroup {
   protected abstract TaskScheduler createTaskScheduler(
       MultiLevelWorkstealingGroup tasks, ActorSchedulerBuilder builder);
 
+  protected abstract ActorIdleStrategy getIdleStrategy(ActorSchedulerBuilder builder);
+
+  /**
+   * @return the cpus to pin the threads of this group to, thread {@code t} is pinned to {@code
+   *     cpus[t % cpus.length]}; null or empty if the threads should not be pinned
+   */
+  protected int[] getCpuAffinity(ActorSchedulerBuilder builder) {
+    return null;
+  }
+
   public void submit(ActorTask actorTask) {
     final int level = getLevel(actorTask);
+    final int affinity = actorTask.getAffinity();
 
     final ActorThread current = ActorThread.current();
-    if (current != null && current.getActorThreadGroup() == this) {
+    final boolean isCurrentGroup = current != null && current.getActorThreadGroup() == this;
+
+    if (affinity >= 0) {
+      // keep the task on the same thread as the other tasks with the same affinity
+      final int threadId = affinity % numOfThreads;
+      tasks.submit(actorTask, level, threadId);
+
+      if (!isCurrentGroup || current.getRunnerId() != threadId) {
+        threads[threadId].hintWorkAvailable();
+      }
+    } else if (isCurrentGroup) {
       tasks.submit(actorTask, level, current.getRunnerId());
     } else {
       final int threadId = ThreadLocalRandom.current().nextInt(numOfThreads);
@@ -81,6 +119,11 @@ public abstract class ActorThreadGroup {
 
   protected abstract int getLevel(ActorTask actorTask);
 
+  /** @return the approximate number of tasks in the queues of the given thread */
+  public long getQueueDepth(int threadId) {
+    return tasks.getQueueDepth(threadId);
+  }
+
   public String getGroupName() {
     return groupName;
   }
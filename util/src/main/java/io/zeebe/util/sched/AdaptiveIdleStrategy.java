@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched;
+
+import java.util.concurrent.TimeUnit;
+import org.agrona.concurrent.IdleStrategy;
+
+/**
+ * Idle strategy which switches between spinning and backing off, based on how long the thread
+ * recently had to wait for new work.
+ *
+ * <p>The strategy keeps a moving average of the idle periods. If work usually arrives within
+ * {@link #DEFAULT_MAX_SPIN_NANOS}, the thread spins for up to twice the average before it backs
+ * off, avoiding the latency of waking up a parked thread. If the thread is mostly idle, it backs
+ * off right away and does not burn the cpu.
+ */
+public class AdaptiveIdleStrategy implements IdleStrategy {
+  public static final long DEFAULT_MAX_SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  /** the weight of a new sample in the moving average, as a power of two: 1/8 */
+  private static final int AVERAGE_SHIFT = 3;
+
+  private final IdleStrategy backoff;
+  private final long maxSpinNanos;
+
+  private long averageIdleNanos;
+  private long idleStartNanos;
+  private boolean isIdle;
+
+  public AdaptiveIdleStrategy(IdleStrategy backoff) {
+    this(backoff, DEFAULT_MAX_SPIN_NANOS);
+  }
+
+  public AdaptiveIdleStrategy(IdleStrategy backoff, long maxSpinNanos) {
+    this.backoff = backoff;
+    this.maxSpinNanos = maxSpinNanos;
+    // start conservatively, a thread has to see short idle periods before it spins
+    this.averageIdleNanos = maxSpinNanos;
+  }
+
+  @Override
+  public void idle(int workCount) {
+    if (workCount > 0) {
+      reset();
+    } else {
+      idle();
+    }
+  }
+
+  @Override
+  public void idle() {
+    final long now = System.nanoTime();
+
+    if (!isIdle) {
+      isIdle = true;
+      idleStartNanos = now;
+    }
+
+    if (now - idleStartNanos >= getSpinNanos()) {
+      backoff.idle();
+    }
+  }
+
+  @Override
+  public void reset() {
+    if (isIdle) {
+      isIdle = false;
+
+      final long idleNanos = System.nanoTime() - idleStartNanos;
+      averageIdleNanos += (idleNanos - averageIdleNanos) >> AVERAGE_SHIFT;
+
+      backoff.reset();
+    }
+  }
+
+  /** @return how long the thread spins before it backs off */
+  public long getSpinNanos() {
+    return averageIdleNanos < maxSpinNanos ? Math.min(2 * averageIdleNanos, maxSpinNanos) : 0;
+  }
+
+  public long getAverageIdleNanos() {
+    return averageIdleNanos;
+  }
+}
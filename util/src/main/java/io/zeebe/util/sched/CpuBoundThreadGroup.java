@@ -34,6 +34,16 @@ public class CpuBoundThreadGroup extends ActorThreadGroup {
     return new PriorityScheduler(tasks::getNextTask, builder.getPriorityQuotas());
   }
 
+  @Override
+  protected ActorIdleStrategy getIdleStrategy(ActorSchedulerBuilder builder) {
+    return builder.getCpuBoundIdleStrategy();
+  }
+
+  @Override
+  protected int[] getCpuAffinity(ActorSchedulerBuilder builder) {
+    return builder.getCpuBoundThreadAffinity();
+  }
+
   @Override
   protected int getLevel(ActorTask actorTask) {
     return actorTask.getPriority();
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched;
+
+import io.zeebe.util.Loggers;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.slf4j.Logger;
+
+/**
+ * Best effort access to the cpu topology of the machine. Java has no API to pin a thread to a cpu,
+ * so this reads the topology from sysfs and pins threads with {@code taskset}. Both are only
+ * available on Linux; on other systems all cpus are reported on the same socket and pinning is a
+ * no-op.
+ */
+public class CpuTopology {
+  private static final Logger LOG = Loggers.ACTOR_LOGGER;
+
+  private static final String SOCKET_ID_PATH =
+      "/sys/devices/system/cpu/cpu%d/topology/physical_package_id";
+  private static final Path THREAD_SELF_PATH = Paths.get("/proc/thread-self");
+
+  /** @return the id of the socket (NUMA package) of the given cpu, or 0 if it is unknown */
+  public static int getSocketId(int cpu) {
+    final Path path = Paths.get(String.format(SOCKET_ID_PATH, cpu));
+
+    try {
+      final String socketId = new String(Files.readAllBytes(path), StandardCharsets.US_ASCII);
+      return Integer.parseInt(socketId.trim());
+    } catch (IOException | NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * Pins the calling thread to the given cpu.
+   *
+   * @return true if the thread is pinned
+   */
+  public static boolean pinCurrentThread(int cpu) {
+    final String threadName = Thread.currentThread().getName();
+
+    try {
+      final String tid = Files.readSymbolicLink(THREAD_SELF_PATH).getFileName().toString();
+
+      final Process process =
+          new ProcessBuilder("taskset", "-p", "-c", Integer.toString(cpu), tid)
+              .redirectErrorStream(true)
+              .redirectOutput(ProcessBuilder.Redirect.to(new File("/dev/null")))
+              .start();
+
+      final int exitCode = process.waitFor();
+      if (exitCode != 0) {
+        LOG.warn(
+            "Failed to pin thread {} to cpu {}: taskset exited with code {}",
+            threadName,
+            cpu,
+            exitCode);
+        return false;
+      }
+
+      LOG.debug("Pinned thread {} to cpu {}", threadName, cpu);
+      return true;
+    } catch (IOException | UnsupportedOperationException e) {
+      LOG.warn("Failed to pin thread {} to cpu {}: {}", threadName, cpu, e.getMessage());
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
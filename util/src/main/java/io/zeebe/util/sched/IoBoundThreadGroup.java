@@ -38,6 +38,11 @@ public class IoBoundThreadGroup extends ActorThreadGroup {
     return ioScheduler;
   }
 
+  @Override
+  protected ActorIdleStrategy getIdleStrategy(ActorSchedulerBuilder builder) {
+    return builder.getIoBoundIdleStrategy();
+  }
+
   @Override
   protected int getLevel(ActorTask actorTask) {
     return actorTask.getDeviceId();
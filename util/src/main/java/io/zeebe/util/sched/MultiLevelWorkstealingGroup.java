@@ -23,9 +23,17 @@ public class MultiLevelWorkstealingGroup {
   private final WorkStealingGroup[] workStealingGroups;
 
   public MultiLevelWorkstealingGroup(int numOfThreads, int levels) {
+    this(numOfThreads, levels, new int[numOfThreads]);
+  }
+
+  /**
+   * @param threadLocality the locality (e.g. the socket) of each thread, see {@link
+   *     WorkStealingGroup#WorkStealingGroup(int, int[])}
+   */
+  public MultiLevelWorkstealingGroup(int numOfThreads, int levels, int[] threadLocality) {
     workStealingGroups = new WorkStealingGroup[levels];
     for (int i = 0; i < levels; i++) {
-      workStealingGroups[i] = new WorkStealingGroup(numOfThreads);
+      workStealingGroups[i] = new WorkStealingGroup(numOfThreads, threadLocality);
     }
   }
 
@@ -33,6 +41,15 @@ public class MultiLevelWorkstealingGroup {
     return workStealingGroups[level].getNextTask();
   }
 
+  /** @return the approximate number of tasks in the queues of the given thread, on all levels */
+  public long getQueueDepth(int threadId) {
+    long depth = 0;
+    for (int i = 0; i < workStealingGroups.length; i++) {
+      depth += workStealingGroups[i].getQueueDepth(threadId);
+    }
+    return depth;
+  }
+
   public void submit(ActorTask task, int level, int threadId) {
     workStealingGroups[level].submit(task, threadId);
   }
@@ -16,6 +16,14 @@
 package io.zeebe.util.sched;
 
 public class SchedulingHints {
+  /**
+   * The affinity is stored in the upper bits, above the io device / priority. It is stored
+   * incremented by one so that hints without affinity (0) remain valid.
+   */
+  private static final int AFFINITY_SHIFT = 17;
+
+  private static final int AFFINITY_MASK = 0x3FFF;
+
   public static int ioBound(short ioDeviceId) {
     int hints = 0;
 
@@ -65,4 +73,26 @@ public class SchedulingHints {
   public static short getPriority(int hints) {
     return (short) (hints >> 1);
   }
+
+  /**
+   * Adds an affinity to the given hints: actors with the same affinity are submitted to the same
+   * thread of the thread group, instead of a random one. This keeps actors which exchange a lot of
+   * data (e.g. the actors of a partition) on the same core and their data in the same caches.
+   *
+   * @param affinity a non-negative key, like the partition id
+   * @param hints the hints to extend
+   */
+  public static int setAffinity(int affinity, int hints) {
+    if (affinity < 0) {
+      throw new IllegalArgumentException("affinity must not be negative");
+    }
+
+    final int storedAffinity = (affinity % AFFINITY_MASK) + 1;
+    return (hints & ~(AFFINITY_MASK << AFFINITY_SHIFT)) | (storedAffinity << AFFINITY_SHIFT);
+  }
+
+  /** @return the affinity of the given hints or -1 if none is set */
+  public static int getAffinity(int hints) {
+    return ((hints >>> AFFINITY_SHIFT) & AFFINITY_MASK) - 1;
+  }
 }
@@ -23,9 +23,25 @@ import java.util.concurrent.ThreadLocalRandom;
 public class WorkStealingGroup {
   private final int numOfThreads;
   private final ActorTaskQueue[] taskQueues;
+  private final int[] threadLocality;
 
   public WorkStealingGroup(int numOfThreads) {
+    this(numOfThreads, new int[numOfThreads]);
+  }
+
+  /**
+   * @param numOfThreads the number of threads in the group
+   * @param threadLocality the locality of each thread, like the socket of the cpu it is pinned to.
+   *     Threads prefer to steal from threads with the same locality, to keep the data of the
+   *     stolen task in the caches / memory node it is already in.
+   */
+  public WorkStealingGroup(int numOfThreads, int[] threadLocality) {
+    if (threadLocality.length != numOfThreads) {
+      throw new IllegalArgumentException("expected a locality for each thread");
+    }
+
     this.numOfThreads = numOfThreads;
+    this.threadLocality = threadLocality;
     this.taskQueues = new ActorTaskQueue[numOfThreads];
     for (int i = 0; i < numOfThreads; i++) {
       taskQueues[i] = new ActorTaskQueue();
@@ -43,6 +59,11 @@ public class WorkStealingGroup {
     taskQueues[threadId].append(task);
   }
 
+  /** @return the approximate number of tasks in the queue of the given thread */
+  public long getQueueDepth(int threadId) {
+    return taskQueues[threadId].size();
+  }
+
   /**
    * Attempts to acquire the next task to execute
    *
@@ -83,15 +104,31 @@ public class WorkStealingGroup {
      * Also, the optimization only makes sense if the system uses at least 3 runners.
      */
     final int offset = ThreadLocalRandom.current().nextInt(numOfThreads);
+    final int locality = threadLocality[currentThread.getRunnerId()];
+
+    // prefer victims with the same locality, then fall back to all others
+    ActorTask stolenActor = trySteal(currentThread, offset, locality, true);
+    if (stolenActor == null) {
+      stolenActor = trySteal(currentThread, offset, locality, false);
+    }
+
+    if (stolenActor != null) {
+      currentThread.getMetrics().incrementTaskStealCount();
+    }
+
+    return stolenActor;
+  }
 
+  private ActorTask trySteal(
+      ActorThread currentThread, int offset, int locality, boolean isSameLocality) {
     for (int i = offset; i < offset + numOfThreads; i++) {
       final int runnerId = i % numOfThreads;
 
-      if (runnerId != currentThread.getRunnerId()) {
+      if (runnerId != currentThread.getRunnerId()
+          && (threadLocality[runnerId] == locality) == isSameLocality) {
         final ActorTask stolenActor = taskQueues[runnerId].trySteal();
 
         if (stolenActor != null) {
-          currentThread.getMetrics().incrementTaskStealCount();
           return stolenActor;
         }
       }
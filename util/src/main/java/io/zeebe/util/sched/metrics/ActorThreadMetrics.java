@@ -15,8 +15,10 @@
  */
 package io.zeebe.util.sched.metrics;
 
+import io.zeebe.util.metrics.Histogram;
 import io.zeebe.util.metrics.Metric;
 import io.zeebe.util.metrics.MetricsManager;
+import java.util.concurrent.TimeUnit;
 
 /** Actor runner metrics */
 public class ActorThreadMetrics implements AutoCloseable {
@@ -25,6 +27,9 @@ public class ActorThreadMetrics implements AutoCloseable {
   private final Metric jobExecutionCount;
   private final Metric taskStealCount;
   private final Metric taskExecutionCount;
+  private final Histogram taskExecutionTime;
+  private final Metric utilization;
+  private final Metric queueDepth;
 
   public ActorThreadMetrics(String threadName, MetricsManager metricsManager) {
     threadIdleTime =
@@ -65,6 +70,26 @@ public class ActorThreadMetrics implements AutoCloseable {
             .label("thread", threadName)
             .label("type", "run")
             .create();
+
+    taskExecutionTime =
+        metricsManager
+            .newHistogram("scheduler_thread_task_execution_time_micros")
+            .label("thread", threadName)
+            .create();
+
+    utilization =
+        metricsManager
+            .newMetric("scheduler_thread_utilization_percent")
+            .type("gauge")
+            .label("thread", threadName)
+            .create();
+
+    queueDepth =
+        metricsManager
+            .newMetric("scheduler_thread_queue_depth")
+            .type("gauge")
+            .label("thread", threadName)
+            .create();
   }
 
   public void incrementTaskStealCount() {
@@ -79,6 +104,10 @@ public class ActorThreadMetrics implements AutoCloseable {
     jobExecutionCount.incrementOrdered();
   }
 
+  public void recordTaskExecutionTime(long executionTimeNs) {
+    taskExecutionTime.record(TimeUnit.NANOSECONDS.toMicros(executionTimeNs));
+  }
+
   public void recordRunnerIdleTime(long time) {
     threadIdleTime.getAndAddOrdered(time);
   }
@@ -87,6 +116,18 @@ public class ActorThreadMetrics implements AutoCloseable {
     threadBusyTime.getAndAddOrdered(time);
   }
 
+  /** Sets the share of the busy time of the last sample period. */
+  public void setUtilization(long busyTime, long idleTime) {
+    final long totalTime = busyTime + idleTime;
+    if (totalTime > 0) {
+      utilization.setOrdered(busyTime * 100 / totalTime);
+    }
+  }
+
+  public void setQueueDepth(long depth) {
+    queueDepth.setOrdered(depth);
+  }
+
   @Override
   public void close() {
     jobExecutionCount.close();
@@ -94,5 +135,8 @@ public class ActorThreadMetrics implements AutoCloseable {
     threadIdleTime.close();
     threadBusyTime.close();
     taskExecutionCount.close();
+    taskExecutionTime.close();
+    utilization.close();
+    queueDepth.close();
   }
 }
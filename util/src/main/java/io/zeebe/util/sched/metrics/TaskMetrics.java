@@ -15,13 +15,16 @@
  */
 package io.zeebe.util.sched.metrics;
 
+import io.zeebe.util.metrics.Histogram;
 import io.zeebe.util.metrics.Metric;
 import io.zeebe.util.metrics.MetricsManager;
+import java.util.concurrent.TimeUnit;
 
 public class TaskMetrics implements AutoCloseable {
   private final Metric executionCount;
   private final Metric totalExecutionTime;
   private final Metric maxExecutionTime;
+  private final Histogram executionTime;
 
   public TaskMetrics(String taskName, MetricsManager metricsManager) {
     executionCount =
@@ -44,6 +47,12 @@ public class TaskMetrics implements AutoCloseable {
             .type("gauge")
             .label("task", taskName)
             .create();
+
+    executionTime =
+        metricsManager
+            .newHistogram("scheduler_task_execution_time_micros")
+            .label("task", taskName)
+            .create();
   }
 
   public void reportExecutionTime(long executionTimeNs) {
@@ -55,6 +64,7 @@ public class TaskMetrics implements AutoCloseable {
     }
 
     totalExecutionTime.getAndAddOrdered(executionTimeNs);
+    executionTime.record(TimeUnit.NANOSECONDS.toMicros(executionTimeNs));
 
     executionCount.incrementOrdered();
   }
@@ -64,5 +74,6 @@ public class TaskMetrics implements AutoCloseable {
     executionCount.close();
     totalExecutionTime.close();
     maxExecutionTime.close();
+    executionTime.close();
   }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util;
+
+import static io.zeebe.util.StringUtil.getBytes;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class Crc32cTest {
+
+  @Test
+  public void shouldComputeChecksum() {
+    // given
+    final UnsafeBuffer buffer = new UnsafeBuffer(getBytes("123456789"));
+
+    // when
+    final int checksum = Crc32c.compute(buffer, 0, buffer.capacity());
+
+    // then
+    assertThat(checksum).isEqualTo(0xE3069283);
+  }
+
+  @Test
+  public void shouldComputeChecksumOfZeros() {
+    // given
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[32]);
+
+    // when
+    final int checksum = Crc32c.compute(buffer, 0, buffer.capacity());
+
+    // then
+    assertThat(checksum).isEqualTo(0x8A9136AA);
+  }
+
+  @Test
+  public void shouldComputeChecksumOfEmptyRange() {
+    // given
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[8]);
+
+    // when
+    final int checksum = Crc32c.compute(buffer, 4, 0);
+
+    // then
+    assertThat(checksum).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldUpdateChecksum() {
+    // given
+    final UnsafeBuffer buffer = new UnsafeBuffer(getBytes("the quick brown fox jumps over"));
+    final int expectedChecksum = Crc32c.compute(buffer, 0, buffer.capacity());
+
+    // when
+    int checksum = Crc32c.compute(buffer, 0, 11);
+    checksum = Crc32c.update(checksum, buffer, 11, buffer.capacity() - 11);
+
+    // then
+    assertThat(checksum).isEqualTo(expectedChecksum);
+  }
+
+  @Test
+  public void shouldComputeChecksumOfOffHeapBuffer() {
+    // given
+    final byte[] bytes = getBytes("the quick brown fox jumps over the lazy dog");
+    final UnsafeBuffer heapBuffer = new UnsafeBuffer(bytes);
+
+    final UnsafeBuffer offHeapBuffer =
+        new UnsafeBuffer(ByteBuffer.allocateDirect(bytes.length + 3));
+    offHeapBuffer.putBytes(3, bytes);
+
+    // when
+    final int checksum = Crc32c.compute(offHeapBuffer, 3, bytes.length);
+
+    // then
+    assertThat(checksum).isEqualTo(Crc32c.compute(heapBuffer, 0, bytes.length));
+  }
+
+  @Test
+  public void shouldDetectChangedByte() {
+    // given
+    final UnsafeBuffer buffer = new UnsafeBuffer(getBytes("the quick brown fox jumps over"));
+    final int checksum = Crc32c.compute(buffer, 0, buffer.capacity());
+
+    // when
+    buffer.putByte(17, (byte) (buffer.getByte(17) ^ 1));
+
+    // then
+    assertThat(Crc32c.compute(buffer, 0, buffer.capacity())).isNotEqualTo(checksum);
+  }
+}
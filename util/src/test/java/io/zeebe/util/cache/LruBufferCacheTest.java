@@ -0,0 +1,255 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.cache;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.metrics.MetricsManager;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LruBufferCacheTest {
+  /** the minimal memory which is allocated for a value */
+  private static final int VALUE_CAPACITY = 64;
+
+  private LruBufferCache cache;
+  private Map<Long, DirectBuffer> lookupMap = new HashMap<>();
+
+  @Before
+  public void init() {
+    // fits three small values
+    cache = new LruBufferCache(3 * VALUE_CAPACITY, lookupMap::get);
+
+    lookupMap.clear();
+  }
+
+  @After
+  public void close() {
+    cache.close();
+  }
+
+  @Test
+  public void shouldGet() {
+    cache.put(1L, wrapString("foo"));
+
+    assertThat(cache.getSize()).isEqualTo(1);
+    assertThat(cache.get(1L)).isEqualTo(wrapString("foo"));
+    assertThat(cache.get(2L)).isNull();
+  }
+
+  @Test
+  public void shouldLookupIfAbsent() {
+    lookupMap.put(1L, wrapString("foo"));
+
+    assertThat(cache.getSize()).isEqualTo(0);
+
+    assertThat(cache.get(1L)).isEqualTo(wrapString("foo"));
+    assertThat(cache.get(2L)).isNull();
+    assertThat(cache.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldPut() {
+    cache.put(1L, wrapString("foooo"));
+
+    assertThat(cache.getSize()).isEqualTo(1);
+    assertThat(cache.get(1L)).isEqualTo(wrapString("foooo"));
+
+    // override value
+    cache.put(1L, wrapString("bar"));
+
+    assertThat(cache.getSize()).isEqualTo(1);
+    assertThat(cache.get(1L)).isEqualTo(wrapString("bar"));
+  }
+
+  @Test
+  public void shouldRemove() {
+    cache.put(1L, wrapString("one"));
+    cache.put(2L, wrapString("two"));
+    cache.put(3L, wrapString("three"));
+
+    cache.remove(2L);
+
+    assertThat(cache.getSize()).isEqualTo(2);
+
+    // insert more values => drop key:1
+    cache.put(4L, wrapString("four"));
+    cache.put(5L, wrapString("five"));
+
+    assertThat(cache.getSize()).isEqualTo(3);
+    assertThat(cache.get(1L)).isNull();
+    assertThat(cache.get(2L)).isNull();
+    assertThat(cache.get(3L)).isEqualTo(wrapString("three"));
+    assertThat(cache.get(4L)).isEqualTo(wrapString("four"));
+    assertThat(cache.get(5L)).isEqualTo(wrapString("five"));
+  }
+
+  @Test
+  public void shouldClear() {
+    cache.put(1L, wrapString("foo"));
+
+    cache.clear();
+
+    assertThat(cache.getSize()).isEqualTo(0);
+    assertThat(cache.getSizeInBytes()).isEqualTo(0);
+    assertThat(cache.get(1L)).isNull();
+  }
+
+  @Test
+  public void shouldRemoveLeastRecentlyUsed() {
+    // fill cache
+    cache.put(1L, wrapString("one"));
+    cache.put(2L, wrapString("two"));
+    cache.put(3L, wrapString("three"));
+
+    assertThat(cache.getSize()).isEqualTo(3);
+
+    // change the recently used order => keys:2,1,3
+    cache.put(1L, wrapString("one-2"));
+    cache.get(2L);
+
+    // insert one more value => drop key:3
+    cache.put(4L, wrapString("four"));
+
+    assertThat(cache.getSize()).isEqualTo(3);
+    assertThat(cache.get(1L)).isEqualTo(wrapString("one-2"));
+    assertThat(cache.get(2L)).isEqualTo(wrapString("two"));
+    assertThat(cache.get(3L)).isNull();
+    assertThat(cache.get(4L)).isEqualTo(wrapString("four"));
+  }
+
+  @Test
+  public void shouldBeBoundedBySizeInBytes() {
+    // given
+    final DirectBuffer bigValue = value(VALUE_CAPACITY + 1);
+
+    cache.put(1L, wrapString("one"));
+    cache.put(2L, wrapString("two"));
+    cache.put(3L, wrapString("three"));
+
+    // when - the value needs the memory of two small values => drop key:1,2
+    cache.put(4L, bigValue);
+
+    // then
+    assertThat(cache.getSize()).isEqualTo(2);
+    assertThat(cache.getSizeInBytes()).isLessThanOrEqualTo(cache.getCapacityInBytes());
+    assertThat(cache.get(1L)).isNull();
+    assertThat(cache.get(2L)).isNull();
+    assertThat(cache.get(3L)).isEqualTo(wrapString("three"));
+    assertThat(cache.get(4L)).isEqualTo(bigValue);
+  }
+
+  @Test
+  public void shouldNotCacheValueLargerThanCapacity() {
+    // given
+    final DirectBuffer hugeValue = value(4 * VALUE_CAPACITY);
+    lookupMap.put(1L, hugeValue);
+
+    cache.put(2L, wrapString("two"));
+
+    // when
+    final DirectBuffer value = cache.get(1L);
+
+    // then
+    assertThat(value).isEqualTo(hugeValue);
+    assertThat(cache.getSize()).isEqualTo(1);
+    assertThat(cache.get(2L)).isEqualTo(wrapString("two"));
+  }
+
+  @Test
+  public void shouldReplaceValueOfDifferentSize() {
+    final DirectBuffer bigValue = value(VALUE_CAPACITY + 1);
+
+    cache.put(1L, wrapString("foo"));
+    cache.put(1L, bigValue);
+    assertThat(cache.get(1L)).isEqualTo(bigValue);
+
+    cache.put(1L, wrapString("bar"));
+    assertThat(cache.get(1L)).isEqualTo(wrapString("bar"));
+    assertThat(cache.getSizeInBytes()).isEqualTo(VALUE_CAPACITY);
+  }
+
+  @Test
+  public void shouldIgnoreOldDataOfBiggerValues() {
+    cache.put(1L, wrapString("foobar")); // initial value
+    cache.put(1L, wrapString("elf")); // smaller value
+
+    assertThat(cache.get(1L)).isEqualTo(wrapString("elf"));
+  }
+
+  @Test
+  public void shouldGrowNumberOfEntries() {
+    // given
+    final LruBufferCache largeCache = new LruBufferCache(1000 * VALUE_CAPACITY, lookupMap::get);
+
+    // when
+    for (long key = 0; key < 1000; key++) {
+      largeCache.put(key, wrapString("value-" + key));
+    }
+
+    // then
+    assertThat(largeCache.getSize()).isEqualTo(1000);
+    assertThat(largeCache.get(0L)).isEqualTo(wrapString("value-0"));
+    assertThat(largeCache.get(999L)).isEqualTo(wrapString("value-999"));
+
+    largeCache.close();
+  }
+
+  @Test
+  public void shouldRecordMetrics() {
+    // given
+    final MetricsManager metricsManager = new MetricsManager();
+    final LruBufferCacheMetrics metrics =
+        new LruBufferCacheMetrics(metricsManager, "test", "topic", "0");
+    cache.setMetrics(metrics);
+
+    lookupMap.put(1L, wrapString("one"));
+
+    // when
+    cache.get(1L); // miss
+    cache.get(1L); // hit
+    cache.put(2L, wrapString("two"));
+    cache.put(3L, wrapString("three"));
+    cache.put(4L, wrapString("four")); // evict key:1
+
+    // then
+    final String dump = dump(metricsManager);
+    assertThat(dump)
+        .containsPattern("cache_requests_count\\{[^}]*result=\"hit\"[^}]*\\} 1 ")
+        .containsPattern("cache_requests_count\\{[^}]*result=\"miss\"[^}]*\\} 1 ")
+        .containsPattern("cache_evictions_count\\{[^}]*\\} 1 ")
+        .containsPattern("cache_entries\\{[^}]*\\} 3 ");
+
+    metrics.close();
+  }
+
+  private static DirectBuffer value(int length) {
+    return wrapString(String.join("", Collections.nCopies(length, "a")));
+  }
+
+  private static String dump(MetricsManager metricsManager) {
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    final int length = metricsManager.dump(buffer, 0, 0);
+    return buffer.getStringWithoutLengthUtf8(0, length);
+  }
+}
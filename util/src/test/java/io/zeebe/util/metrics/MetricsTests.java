@@ -133,6 +133,74 @@ public class MetricsTests {
     assertThat(dump).isEqualTo("bz_metric1{broker=\"node1\",label1=\"value1\"} 0 100\n");
   }
 
+  @Test
+  public void shouldCreateHistogram() {
+    final MetricsManager metricsManager = new MetricsManager();
+
+    metricsManager.newHistogram("latency").buckets(2).create();
+
+    final String dump = dumpAsString(metricsManager, 100);
+    assertThat(dump)
+        .isEqualTo(
+            "zb_latency_bucket{le=\"1\"} 0 100\n"
+                + "zb_latency_bucket{le=\"2\"} 0 100\n"
+                + "zb_latency_bucket{le=\"+Inf\"} 0 100\n"
+                + "zb_latency_sum{} 0 100\n"
+                + "zb_latency_count{} 0 100\n");
+  }
+
+  @Test
+  public void shouldRecordHistogramValues() {
+    final MetricsManager metricsManager = new MetricsManager();
+
+    final Histogram histogram =
+        metricsManager.newHistogram("latency").label("label1", "value1").buckets(2).create();
+
+    histogram.record(1);
+    histogram.record(2);
+    histogram.record(5);
+
+    final String dump = dumpAsString(metricsManager, 100);
+    assertThat(dump)
+        .isEqualTo(
+            "zb_latency_bucket{label1=\"value1\",le=\"1\"} 1 100\n"
+                + "zb_latency_bucket{label1=\"value1\",le=\"2\"} 2 100\n"
+                + "zb_latency_bucket{label1=\"value1\",le=\"+Inf\"} 3 100\n"
+                + "zb_latency_sum{label1=\"value1\"} 8 100\n"
+                + "zb_latency_count{label1=\"value1\"} 3 100\n");
+  }
+
+  @Test
+  public void shouldRecordHistogramValuesInExponentialBuckets() {
+    final MetricsManager metricsManager = new MetricsManager();
+
+    final Histogram histogram = metricsManager.newHistogram("latency").create();
+
+    histogram.record(0);
+    histogram.record(3);
+    histogram.record(4);
+    histogram.record(1_000);
+    histogram.record(Long.MAX_VALUE);
+
+    assertThat(histogram.getBucketValue(0)).isEqualTo(1);
+    assertThat(histogram.getBucketValue(2)).isEqualTo(2);
+    assertThat(histogram.getBucketValue(10)).isEqualTo(1);
+    assertThat(histogram.getBucketValue(Histogram.DEFAULT_BUCKET_COUNT)).isEqualTo(1);
+    assertThat(histogram.getCount()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldCloseHistogram() {
+    final MetricsManager metricsManager = new MetricsManager();
+
+    final Histogram histogram = metricsManager.newHistogram("latency").create();
+
+    histogram.close();
+
+    final String dump = dumpAsString(metricsManager, 100);
+    assertThat(dump).isEqualTo("");
+  }
+
   private static String dumpAsString(MetricsManager metricsManager, long now) {
     final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
     final int length = metricsManager.dump(buffer, 0, now);
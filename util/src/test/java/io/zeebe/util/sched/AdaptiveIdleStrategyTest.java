@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.TimeUnit;
+import org.agrona.concurrent.IdleStrategy;
+import org.junit.Test;
+
+public class AdaptiveIdleStrategyTest {
+  private static final long MAX_SPIN_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final IdleStrategy backoff = mock(IdleStrategy.class);
+  private final AdaptiveIdleStrategy idleStrategy =
+      new AdaptiveIdleStrategy(backoff, MAX_SPIN_NANOS);
+
+  @Test
+  public void shouldBackOffInitially() {
+    // when
+    idleStrategy.idle();
+
+    // then
+    assertThat(idleStrategy.getSpinNanos()).isEqualTo(0);
+    verify(backoff).idle();
+  }
+
+  @Test
+  public void shouldSpinIfWorkArrivesFrequently() {
+    // given
+    idleShortly(100);
+
+    // when
+    idleStrategy.idle();
+
+    // then
+    assertThat(idleStrategy.getSpinNanos()).isGreaterThan(0).isLessThan(MAX_SPIN_NANOS);
+    verify(backoff, never()).idle();
+  }
+
+  @Test
+  public void shouldBackOffIfSpinPeriodIsExceeded() throws Exception {
+    // given
+    idleShortly(100);
+
+    // when
+    idleStrategy.idle();
+    Thread.sleep(5);
+    idleStrategy.idle();
+
+    // then
+    verify(backoff, times(1)).idle();
+  }
+
+  @Test
+  public void shouldBackOffIfWorkArrivesRarely() throws Exception {
+    // given
+    idleShortly(100);
+
+    // when
+    for (int i = 0; i < 50; i++) {
+      idleStrategy.idle();
+      Thread.sleep(2);
+      idleStrategy.reset();
+    }
+
+    // then
+    assertThat(idleStrategy.getSpinNanos()).isEqualTo(0);
+  }
+
+  private void idleShortly(int times) {
+    for (int i = 0; i < times; i++) {
+      idleStrategy.idle();
+      idleStrategy.reset();
+    }
+
+    reset(backoff);
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+public class SchedulingHintsTest {
+
+  @Test
+  public void shouldHaveNoAffinityByDefault() {
+    assertThat(SchedulingHints.getAffinity(SchedulingHints.cpuBound(ActorPriority.LOW)))
+        .isEqualTo(-1);
+    assertThat(SchedulingHints.getAffinity(SchedulingHints.ioBound((short) 1))).isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldSetAffinityOnCpuBoundHints() {
+    // when
+    final int hints =
+        SchedulingHints.setAffinity(3, SchedulingHints.cpuBound(ActorPriority.LOW));
+
+    // then
+    assertThat(SchedulingHints.getAffinity(hints)).isEqualTo(3);
+    assertThat(SchedulingHints.isCpuBound(hints)).isTrue();
+    assertThat(SchedulingHints.getPriority(hints))
+        .isEqualTo(ActorPriority.LOW.getPriorityClass());
+  }
+
+  @Test
+  public void shouldSetAffinityOnIoBoundHints() {
+    // when
+    final int hints = SchedulingHints.setAffinity(0, SchedulingHints.ioBound((short) 1));
+
+    // then
+    assertThat(SchedulingHints.getAffinity(hints)).isEqualTo(0);
+    assertThat(SchedulingHints.isCpuBound(hints)).isFalse();
+    assertThat(SchedulingHints.getIoDevice(hints)).isEqualTo((short) 1);
+  }
+
+  @Test
+  public void shouldReplaceAffinity() {
+    // given
+    final int hints = SchedulingHints.setAffinity(5, SchedulingHints.ioBound((short) 0));
+
+    // when
+    final int updatedHints = SchedulingHints.setAffinity(7, hints);
+
+    // then
+    assertThat(SchedulingHints.getAffinity(updatedHints)).isEqualTo(7);
+  }
+
+  @Test
+  public void shouldRejectNegativeAffinity() {
+    assertThatThrownBy(() -> SchedulingHints.setAffinity(-1, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.map.benchmarks;
+
+import java.util.Random;
+
+import io.zeebe.map.Long2BytesZbMap;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the put / get throughput and the memory footprint of a map with padded values and a map
+ * with variable-length values.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class Long2BytesZbMapBenchmark
+{
+    static final int DATA_SET_SIZE = 100_000;
+
+    @State(Scope.Benchmark)
+    public static class ValuesSupplier
+    {
+        final DirectBuffer[] values = new DirectBuffer[DATA_SET_SIZE];
+
+        @Setup
+        public void generateValues()
+        {
+            final Random random = new Random(42);
+
+            for (int i = 0; i < values.length; i++)
+            {
+                // job key, id length and an id of 5 to 40 chars
+                final int idLength = (5 + random.nextInt(36)) * 2;
+                final UnsafeBuffer value = new UnsafeBuffer(new byte[8 + 4 + idLength]);
+                value.putLong(0, i);
+                value.putInt(8, idLength);
+
+                values[i] = value;
+            }
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class MemoryFootprint
+    {
+        /** the memory used by the map in bytes */
+        public long mapSize;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long putAndGet(Long2BytesZbMapSupplier mapSupplier, ValuesSupplier valuesSupplier,
+            MemoryFootprint memoryFootprint)
+    {
+        final Long2BytesZbMap map = mapSupplier.map;
+        final DirectBuffer[] values = valuesSupplier.values;
+
+        for (int i = 0; i < values.length; i++)
+        {
+            map.put(i, values[i]);
+        }
+
+        long result = 0;
+
+        for (int i = 0; i < values.length; i++)
+        {
+            result += map.get(i).getLong(0);
+        }
+
+        memoryFootprint.mapSize = map.size();
+
+        return result;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long putAndRemove(Long2BytesZbMapSupplier mapSupplier, ValuesSupplier valuesSupplier)
+    {
+        final Long2BytesZbMap map = mapSupplier.map;
+        final DirectBuffer[] values = valuesSupplier.values;
+
+        for (int i = 0; i < values.length; i++)
+        {
+            map.put(i, values[i]);
+        }
+
+        long result = 0;
+
+        for (int i = 0; i < values.length; i++)
+        {
+            result += map.remove(i).capacity();
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.map.benchmarks;
+
+import io.zeebe.map.Long2BytesZbMap;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Supplies a map with values like the activity instance map: a long, an int and an id with a max
+ * length of 255 chars, while most ids are much shorter.
+ */
+@State(Scope.Benchmark)
+public class Long2BytesZbMapSupplier
+{
+    static final int VALUE_MAX_LENGTH = 8 + 4 + 255 * 2;
+
+    @Param({"false", "true"})
+    boolean variableValueLength;
+
+    Long2BytesZbMap map;
+
+    @Setup(Level.Iteration)
+    public void createmap()
+    {
+        map = new Long2BytesZbMap(32, 16, VALUE_MAX_LENGTH, variableValueLength);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closemap()
+    {
+        map.close();
+    }
+
+}
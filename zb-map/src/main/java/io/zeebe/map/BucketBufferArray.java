@@ -18,12 +18,15 @@ package io.zeebe.map;
 import static io.zeebe.map.BucketBufferArrayDescriptor.*;
 import static java.lang.Math.addExact;
 import static java.lang.Math.multiplyExact;
+import static org.agrona.BitUtil.SIZE_OF_INT;
 import static org.agrona.BufferUtil.ARRAY_BASE_OFFSET;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import org.agrona.UnsafeAccess;
+import org.agrona.concurrent.UnsafeBuffer;
 import sun.misc.Unsafe;
 
 @SuppressWarnings("restriction")
@@ -32,6 +35,7 @@ public class BucketBufferArray implements AutoCloseable {
   public static final int OVERFLOW_BUCKET = -1;
   public static final int ABANDONED_BUCKET = -73;
   private static final long INVALID_ADDRESS = 0;
+  private static final int DELTA_ENTRY_HEADER_LENGTH = SIZE_OF_INT + SIZE_OF_INT;
 
   private static final Unsafe UNSAFE = UnsafeAccess.UNSAFE;
   private static final String FAIL_MSG_TO_READ_BUCKET_BUFFER =
@@ -41,19 +45,61 @@ public class BucketBufferArray implements AutoCloseable {
   private final int maxBucketBlockCount;
   private final int maxKeyLength;
   private final int maxValueLength;
+  private final int maxBlockLength;
   private final int maxBucketBufferLength;
+  private final boolean isVariableValueLength;
+
+  /** the files of the bucket buffers, or null if the bucket buffers are allocated in memory */
+  private final BucketBufferFiles bucketBufferFiles;
 
   protected long realAddresses[];
   private long bucketBufferHeaderAddress;
   protected int nextNotFullBucketBuffer;
 
+  /**
+   * Marks the bucket buffers which changed since the last full write, see {@link
+   * #writeToStream(OutputStream, byte[])}. Only these are written by {@link
+   * #writeDeltaToStream(OutputStream, byte[])}.
+   */
+  protected boolean dirtyBucketBuffers[];
+
+  private final UnsafeBuffer ioBuffer = new UnsafeBuffer(0, 0);
+
   public BucketBufferArray(int maxBucketBlockCount, int maxKeyLength, int maxValueLength) {
+    this(maxBucketBlockCount, maxKeyLength, maxValueLength, false);
+  }
+
+  /**
+   * @param maxBucketBlockCount the count of blocks with the max value length which fit into a
+   *     bucket
+   * @param isVariableValueLength if true, the values are not padded to the max value length. A
+   *     bucket is full if the next block does not fit anymore, i.e. it can contain more than
+   *     maxBucketBlockCount blocks
+   */
+  public BucketBufferArray(
+      int maxBucketBlockCount,
+      int maxKeyLength,
+      int maxValueLength,
+      boolean isVariableValueLength) {
+    this(maxBucketBlockCount, maxKeyLength, maxValueLength, isVariableValueLength, null);
+  }
+
+  /**
+   * @param directory if not null, the bucket buffers are mapped into files of this directory
+   *     instead of being allocated in memory, see {@link BucketBufferFiles}
+   */
+  public BucketBufferArray(
+      int maxBucketBlockCount,
+      int maxKeyLength,
+      int maxValueLength,
+      boolean isVariableValueLength,
+      File directory) {
+    this.maxBlockLength =
+        isVariableValueLength
+            ? BucketBufferArrayDescriptor.getVariableBlockLength(maxKeyLength, maxValueLength)
+            : BucketBufferArrayDescriptor.getBlockLength(maxKeyLength, maxValueLength);
     this.maxBucketLength =
-        addExact(
-            BUCKET_DATA_OFFSET,
-            multiplyExact(
-                maxBucketBlockCount,
-                BucketBufferArrayDescriptor.getBlockLength(maxKeyLength, maxValueLength)));
+        addExact(BUCKET_DATA_OFFSET, multiplyExact(maxBucketBlockCount, maxBlockLength));
     try {
       this.maxBucketBufferLength =
           addExact(BUCKET_BUFFER_HEADER_LENGTH, multiplyExact(ALLOCATION_FACTOR, maxBucketLength));
@@ -65,6 +111,10 @@ public class BucketBufferArray implements AutoCloseable {
     this.maxBucketBlockCount = maxBucketBlockCount;
     this.maxKeyLength = maxKeyLength;
     this.maxValueLength = maxValueLength;
+    this.isVariableValueLength = isVariableValueLength;
+
+    this.bucketBufferFiles =
+        directory != null ? new BucketBufferFiles(directory, maxBucketBufferLength) : null;
 
     init();
   }
@@ -74,8 +124,17 @@ public class BucketBufferArray implements AutoCloseable {
     init();
   }
 
+  /**
+   * @return a new, empty bucket buffer array with the same parameters, but with values padded to
+   *     the max value length. It is kept in memory.
+   */
+  BucketBufferArray newPaddedBucketBufferArray() {
+    return new BucketBufferArray(maxBucketBlockCount, maxKeyLength, maxValueLength, false);
+  }
+
   private void init() {
     this.realAddresses = new long[ALLOCATION_FACTOR];
+    this.dirtyBucketBuffers = new boolean[ALLOCATION_FACTOR];
     bucketBufferHeaderAddress = UNSAFE.allocateMemory(MAIN_BUCKET_BUFFER_HEADER_LEN);
 
     setBucketBufferCount(0);
@@ -154,9 +213,9 @@ public class BucketBufferArray implements AutoCloseable {
   @Override
   public void close() {
     UNSAFE.freeMemory(bucketBufferHeaderAddress);
-    for (long realAddress : realAddresses) {
-      if (realAddress != INVALID_ADDRESS) {
-        UNSAFE.freeMemory(realAddress);
+    for (int i = 0; i < realAddresses.length; i++) {
+      if (realAddresses[i] != INVALID_ADDRESS) {
+        freeBucketBufferMemory(i);
       }
     }
   }
@@ -195,6 +254,15 @@ public class BucketBufferArray implements AutoCloseable {
     return maxBucketLength;
   }
 
+  public boolean isVariableValueLength() {
+    return isVariableValueLength;
+  }
+
+  /** @return true, if the bucket buffers are mapped into files */
+  public boolean isMapped() {
+    return bucketBufferFiles != null;
+  }
+
   // BUCKET BUFFER ///////////////////////////////////////////////////////////////
 
   public int getBucketCount(int bucketBufferId) {
@@ -202,6 +270,7 @@ public class BucketBufferArray implements AutoCloseable {
   }
 
   private void setBucketCount(int bucketBufferId, int blockCount) {
+    markDirty(bucketBufferId);
     UNSAFE.putInt(getRealAddress(bucketBufferId, BUCKET_BUFFER_BUCKET_COUNT_OFFSET), blockCount);
   }
 
@@ -212,16 +281,27 @@ public class BucketBufferArray implements AutoCloseable {
   }
 
   private void initBucketFillCount(int bucketBufferId, int bucketOffset) {
+    markDirty(bucketBufferId);
     UNSAFE.putInt(getRealAddress(bucketBufferId, bucketOffset) + BUCKET_FILL_COUNT_OFFSET, 0);
   }
 
   private void setBucketFillCount(long bucketAddress, int blockFillCount) {
+    markDirty(bucketAddress);
     UNSAFE.putInt(getRealAddress(bucketAddress) + BUCKET_FILL_COUNT_OFFSET, blockFillCount);
   }
 
   public int getBucketLength(long bucketAddress) {
-    return getBucketFillCount(bucketAddress) * (maxKeyLength + maxValueLength)
-        + BUCKET_HEADER_LENGTH;
+    final int bucketFillCount = getBucketFillCount(bucketAddress);
+
+    if (isVariableValueLength) {
+      int bucketLength = BUCKET_DATA_OFFSET;
+      for (int i = 0; i < bucketFillCount; i++) {
+        bucketLength += getBlockLength(bucketAddress, bucketLength);
+      }
+      return bucketLength;
+    } else {
+      return bucketFillCount * maxBlockLength + BUCKET_HEADER_LENGTH;
+    }
   }
 
   public long getBucketOverflowPointer(long bucketAddress) {
@@ -229,11 +309,13 @@ public class BucketBufferArray implements AutoCloseable {
   }
 
   private void clearBucketOverflowPointer(int bucketBufferId, int bucketOffset) {
+    markDirty(bucketBufferId);
     UNSAFE.putLong(
         getRealAddress(bucketBufferId, bucketOffset) + BUCKET_OVERFLOW_POINTER_OFFSET, 0L);
   }
 
   private void setBucketOverflowPointer(long bucketAddress, long overflowPointer) {
+    markDirty(bucketAddress);
     UNSAFE.putLong(getRealAddress(bucketAddress) + BUCKET_OVERFLOW_POINTER_OFFSET, overflowPointer);
   }
 
@@ -254,8 +336,24 @@ public class BucketBufferArray implements AutoCloseable {
   // BLOCK
   // ///////////////////////////////////////////////////////////////////////////////////////////
 
+  /** @return the length of a block with the max value length */
   public int getBlockLength() {
-    return BucketBufferArrayDescriptor.getBlockLength(maxKeyLength, maxValueLength);
+    return maxBlockLength;
+  }
+
+  /** @return the length of the block at the given offset */
+  public int getBlockLength(long bucketAddress, int blockOffset) {
+    if (isVariableValueLength) {
+      final long blockAddress = getBlockAddress(bucketAddress, blockOffset);
+      return BucketBufferArrayDescriptor.getVariableBlockLength(
+          maxKeyLength, getVariableValueLength(blockAddress));
+    } else {
+      return maxBlockLength;
+    }
+  }
+
+  private int getVariableValueLength(long blockAddress) {
+    return UNSAFE.getInt(getVariableBlockValueLengthOffset(blockAddress, maxKeyLength));
   }
 
   public boolean keyEquals(KeyHandler keyHandler, long bucketAddress, int blockOffset) {
@@ -267,20 +365,82 @@ public class BucketBufferArray implements AutoCloseable {
   }
 
   public void readValue(ValueHandler valueHandler, long bucketAddress, int blockOffset) {
-    final long valueOffset =
-        getBlockValueOffset(getBlockAddress(bucketAddress, blockOffset), maxKeyLength);
-    valueHandler.readValue(valueOffset, maxValueLength);
+    final long blockAddress = getBlockAddress(bucketAddress, blockOffset);
+
+    if (isVariableValueLength) {
+      final int valueLength = getVariableValueLength(blockAddress);
+      valueHandler.readValue(getVariableBlockValueOffset(blockAddress, maxKeyLength), valueLength);
+    } else {
+      valueHandler.readValue(getBlockValueOffset(blockAddress, maxKeyLength), maxValueLength);
+    }
   }
 
-  public void updateValue(ValueHandler valueHandler, long bucketAddress, int blockOffset) {
+  /**
+   * Updates the value of the block at the given offset. If the array stores variable-length
+   * values, the remaining blocks of the bucket are moved if the value length changes.
+   *
+   * @return true if the value is updated, false if the new value does not fit into the bucket
+   *     anymore. Then the block is unchanged and has to be moved into another bucket.
+   */
+  public boolean updateValue(ValueHandler valueHandler, long bucketAddress, int blockOffset) {
     final int valueLength = valueHandler.getValueLength();
     if (valueLength > maxValueLength) {
       throw new IllegalArgumentException(
           "Value can't exceed the max value length of " + maxValueLength);
     }
 
-    final long blockAddress = getRealAddress(bucketAddress) + blockOffset;
-    valueHandler.writeValue(getBlockValueOffset(blockAddress, maxKeyLength));
+    markDirty(bucketAddress);
+
+    if (isVariableValueLength) {
+      final int oldBlockLength = getBlockLength(bucketAddress, blockOffset);
+      final int newBlockLength =
+          BucketBufferArrayDescriptor.getVariableBlockLength(
+              maxKeyLength, valueHandler.getCurrentValueLength());
+      final int lengthDifference = newBlockLength - oldBlockLength;
+
+      if (lengthDifference != 0) {
+        final int bucketLength = getBucketLength(bucketAddress);
+        if (bucketLength + lengthDifference > maxBucketLength) {
+          return false;
+        }
+
+        moveRemainingMemory(
+            bucketAddress, bucketLength, blockOffset + oldBlockLength, lengthDifference);
+      }
+
+      writeVariableValue(valueHandler, getBlockAddress(bucketAddress, blockOffset));
+    } else {
+      final long blockAddress = getRealAddress(bucketAddress) + blockOffset;
+      valueHandler.writeValue(getBlockValueOffset(blockAddress, maxKeyLength));
+    }
+
+    return true;
+  }
+
+  private void writeVariableValue(ValueHandler valueHandler, long blockAddress) {
+    UNSAFE.putInt(
+        getVariableBlockValueLengthOffset(blockAddress, maxKeyLength),
+        valueHandler.getCurrentValueLength());
+    valueHandler.writeCurrentValue(getVariableBlockValueOffset(blockAddress, maxKeyLength));
+  }
+
+  /**
+   * @return true if a block with the given length can be added to the bucket with the given fill
+   *     count
+   */
+  private boolean canAddBlock(long bucketAddress, int bucketFillCount, int blockLength) {
+    if (isVariableValueLength) {
+      return getBucketLength(bucketAddress) + blockLength <= maxBucketLength;
+    } else {
+      return bucketFillCount < maxBucketBlockCount;
+    }
+  }
+
+  private int getNewBlockLength(ValueHandler valueHandler) {
+    return isVariableValueLength
+        ? BucketBufferArrayDescriptor.getVariableBlockLength(
+            maxKeyLength, valueHandler.getCurrentValueLength())
+        : maxBlockLength;
   }
 
   public boolean addBlock(long bucketAddress, KeyHandler keyHandler, ValueHandler valueHandler) {
@@ -290,8 +450,9 @@ public class BucketBufferArray implements AutoCloseable {
           "No bucket in buffer " + bucketBufferId + ", need to allocate new bucket!");
     }
 
+    final int blockLength = getNewBlockLength(valueHandler);
     int bucketFillCount = getBucketFillCount(bucketAddress);
-    boolean canAddRecord = bucketFillCount < maxBucketBlockCount;
+    boolean canAddRecord = canAddBlock(bucketAddress, bucketFillCount, blockLength);
 
     if (canAddRecord) {
       addBlockToBucket(bucketAddress, keyHandler, valueHandler, bucketFillCount);
@@ -302,7 +463,7 @@ public class BucketBufferArray implements AutoCloseable {
         overflowBucketAddress = getBucketOverflowPointer(bucketAddress);
 
         bucketFillCount = getBucketFillCount(bucketAddress);
-        canAddRecord = bucketFillCount < maxBucketBlockCount;
+        canAddRecord = canAddBlock(bucketAddress, bucketFillCount, blockLength);
         if (canAddRecord) {
           addBlockToBucket(bucketAddress, keyHandler, valueHandler, bucketFillCount);
         }
@@ -314,12 +475,19 @@ public class BucketBufferArray implements AutoCloseable {
 
   private void addBlockToBucket(
       long bucketAddress, KeyHandler keyHandler, ValueHandler valueHandler, int bucketFillCount) {
+    markDirty(bucketAddress);
+
     final int blockOffset = getBucketLength(bucketAddress);
 
     final long blockAddress = getBlockAddress(bucketAddress, blockOffset);
 
     keyHandler.writeKey(blockAddress + BLOCK_KEY_OFFSET);
-    valueHandler.writeValue(getBlockValueOffset(blockAddress, maxKeyLength));
+
+    if (isVariableValueLength) {
+      writeVariableValue(valueHandler, blockAddress);
+    } else {
+      valueHandler.writeValue(getBlockValueOffset(blockAddress, maxKeyLength));
+    }
 
     setBucketFillCount(bucketAddress, bucketFillCount + 1);
     setBlockCount(getBlockCount() + 1);
@@ -332,10 +500,14 @@ public class BucketBufferArray implements AutoCloseable {
   }
 
   private int removeBlockFromBucket(long bucketAddress, int blockOffset) {
-    final int blockLength = getBlockLength();
+    markDirty(bucketAddress);
+
+    final int blockLength = getBlockLength(bucketAddress, blockOffset);
     final int nextBlockOffset = blockOffset + blockLength;
 
-    moveRemainingMemory(bucketAddress, nextBlockOffset, -blockLength);
+    // compacts the bucket
+    moveRemainingMemory(
+        bucketAddress, getBucketLength(bucketAddress), nextBlockOffset, -blockLength);
 
     final int newBucketFillCount = getBucketFillCount(bucketAddress) - 1;
     setBucketFillCount(bucketAddress, newBucketFillCount);
@@ -460,8 +632,8 @@ public class BucketBufferArray implements AutoCloseable {
     if (bucketBufferId != 0 && bucketBufferId == bucketBufferCount - 1) {
       boolean isEmpty;
       do {
-        UNSAFE.freeMemory(realAddresses[bucketBufferId]);
-        realAddresses[bucketBufferId] = INVALID_ADDRESS;
+        freeBucketBufferMemory(bucketBufferId);
+        dirtyBucketBuffers[bucketBufferId] = false;
         bucketBufferCount--;
         bucketBufferId--;
         isEmpty = getBucketCount(bucketBufferId) == 0;
@@ -477,11 +649,16 @@ public class BucketBufferArray implements AutoCloseable {
         final long newAddressTable[] = new long[halfAddressBufferSize];
         System.arraycopy(realAddresses, 0, newAddressTable, 0, bucketBufferCount);
         realAddresses = newAddressTable;
+
+        final boolean newDirtyTable[] = new boolean[halfAddressBufferSize];
+        System.arraycopy(dirtyBucketBuffers, 0, newDirtyTable, 0, bucketBufferCount);
+        dirtyBucketBuffers = newDirtyTable;
       }
     }
   }
 
   private void setBucketId(int bucketBufferId, int bucketOffset, int newBlockId) {
+    markDirty(bucketBufferId);
     UNSAFE.putInt(getRealAddress(bucketBufferId, bucketOffset) + BUCKET_ID_OFFSET, newBlockId);
   }
 
@@ -490,11 +667,13 @@ public class BucketBufferArray implements AutoCloseable {
   }
 
   private void setBucketDepth(int bucketBufferId, int bucketOffset, int newBlockDepth) {
+    markDirty(bucketBufferId);
     UNSAFE.putInt(
         getRealAddress(bucketBufferId, bucketOffset) + BUCKET_DEPTH_OFFSET, newBlockDepth);
   }
 
   protected void setBucketDepth(long bucketAddress, int newBlockDepth) {
+    markDirty(bucketAddress);
     UNSAFE.putInt(getRealAddress(bucketAddress) + BUCKET_DEPTH_OFFSET, newBlockDepth);
   }
 
@@ -584,22 +763,46 @@ public class BucketBufferArray implements AutoCloseable {
     return bucketAddress;
   }
 
+  /**
+   * @return true if the blocks of the given bucket can be relocated to the parent bucket, and the
+   *     parent bucket can take at least one more block afterwards
+   */
+  public boolean isMergeableWithBucket(long parentBucketAddress, long bucketAddress) {
+    if (isVariableValueLength) {
+      final int mergedLength =
+          getBucketLength(parentBucketAddress)
+              + getBucketLength(bucketAddress)
+              - BUCKET_DATA_OFFSET;
+      return mergedLength + maxBlockLength <= maxBucketLength;
+    } else {
+      final int parentFillCount = getBucketFillCount(parentBucketAddress);
+      return parentFillCount + getBucketFillCount(bucketAddress) < maxBucketBlockCount;
+    }
+  }
+
   public void relocateBlocksFromBucket(long bucketAddress, long newBucketAddress) {
     final int srcBucketFillCount = getBucketFillCount(bucketAddress);
     final int destBucketFillCount = getBucketFillCount(newBucketAddress);
+    final int copyLength = getBucketLength(bucketAddress) - BUCKET_DATA_OFFSET;
+    final int destBucketLength = getBucketLength(newBucketAddress);
 
-    if (srcBucketFillCount + destBucketFillCount > maxBucketBlockCount) {
+    final boolean fitsIntoDestination =
+        isVariableValueLength
+            ? destBucketLength + copyLength <= maxBucketLength
+            : srcBucketFillCount + destBucketFillCount <= maxBucketBlockCount;
+
+    if (!fitsIntoDestination) {
       throw new IllegalArgumentException(
           String.format(
               "Blocks can't be relocate from bucket %d to bucket %d. Not enough space on destination bucket.",
               bucketAddress, newBucketAddress));
     } else {
+      markDirty(bucketAddress);
+      markDirty(newBucketAddress);
+
       final long srcFirstBlockAddress = getBlockAddress(bucketAddress, getFirstBlockOffset());
-      final int destBucketLength = getBucketLength(newBucketAddress);
       final long destBlockAddress = getBlockAddress(newBucketAddress, destBucketLength);
 
-      final int copyLength = srcBucketFillCount * getBlockLength();
-
       // copy blocks to new bucket
       UNSAFE.copyMemory(srcFirstBlockAddress, destBlockAddress, copyLength);
 
@@ -611,18 +814,20 @@ public class BucketBufferArray implements AutoCloseable {
 
   public void relocateBlock(long bucketAddress, int blockOffset, long newBucketAddress) {
     final int destBucketFillCount = getBucketFillCount(newBucketAddress);
+    final int blockLength = getBlockLength(bucketAddress, blockOffset);
 
-    if (destBucketFillCount >= maxBucketBlockCount) {
+    if (!canAddBlock(newBucketAddress, destBucketFillCount, blockLength)) {
       // overflow
       final long overflowBucketAddress = overflow(newBucketAddress);
       relocateBlock(bucketAddress, blockOffset, overflowBucketAddress);
     } else {
+      markDirty(bucketAddress);
+      markDirty(newBucketAddress);
+
       final long srcBlockAddress = getBlockAddress(bucketAddress, blockOffset);
       final int destBucketLength = getBucketLength(newBucketAddress);
       final long destBlockAddress = getBlockAddress(newBucketAddress, destBucketLength);
 
-      final int blockLength = getBlockLength();
-
       // copy to new block
       UNSAFE.copyMemory(srcBlockAddress, destBlockAddress, blockLength);
       setBucketFillCount(newBucketAddress, destBucketFillCount + 1);
@@ -665,6 +870,9 @@ public class BucketBufferArray implements AutoCloseable {
     final long remainingBytes =
         countOfUsedBytes - ((bucketBufferCount - 1) * getMaxBucketBufferLength());
     write(outputStream, writeBuffer, realAddresses[bucketBufferCount - 1], (int) remainingBytes);
+
+    // the written state is the base of the next delta
+    clearDirtyBucketBuffers();
   }
 
   private int readInto(
@@ -712,13 +920,226 @@ public class BucketBufferArray implements AutoCloseable {
       throw new IOException(errorMessage, ioe);
     }
     nextNotFullBucketBuffer = findNextNotFullBucketBuffer(0);
+
+    clearDirtyBucketBuffers();
   }
 
-  // HELPER METHODS ////////////////////////
+  // DELTA IO ///////////////////////////
+
+  private int getUsedBucketBufferLength(int bucketBufferId) {
+    return BUCKET_BUFFER_HEADER_LENGTH + getBucketCount(bucketBufferId) * maxBucketLength;
+  }
+
+  /**
+   * @return the length of the delta which is written by {@link #writeDeltaToStream(OutputStream,
+   *     byte[])}
+   */
+  public long deltaSize() {
+    long size = MAIN_BUCKET_BUFFER_HEADER_LEN + SIZE_OF_INT;
+
+    final int bucketBufferCount = getBucketBufferCount();
+    for (int i = 0; i < bucketBufferCount; i++) {
+      if (dirtyBucketBuffers[i]) {
+        size += DELTA_ENTRY_HEADER_LENGTH + getUsedBucketBufferLength(i);
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Writes the main header and the bucket buffers which changed since the last call of {@link
+   * #writeToStream(OutputStream, byte[])}. The delta can be applied on top of the written state via
+   * {@link #readDeltaFromStream(InputStream, byte[])}. Unlike the full write, the dirty bucket
+   * buffers are not reset, i.e. every delta contains all changes since the last full write.
+   */
+  public void writeDeltaToStream(OutputStream outputStream, byte[] writeBuffer) throws IOException {
+    write(outputStream, writeBuffer, bucketBufferHeaderAddress, MAIN_BUCKET_BUFFER_HEADER_LEN);
+
+    ioBuffer.wrap(writeBuffer);
+    ioBuffer.putInt(0, getDirtyBucketBufferCount());
+    outputStream.write(writeBuffer, 0, SIZE_OF_INT);
+
+    final int bucketBufferCount = getBucketBufferCount();
+    for (int i = 0; i < bucketBufferCount; i++) {
+      if (dirtyBucketBuffers[i]) {
+        final int length = getUsedBucketBufferLength(i);
+
+        ioBuffer.putInt(0, i);
+        ioBuffer.putInt(SIZE_OF_INT, length);
+        outputStream.write(writeBuffer, 0, DELTA_ENTRY_HEADER_LENGTH);
+
+        write(outputStream, writeBuffer, realAddresses[i], length);
+      }
+    }
+  }
+
+  /**
+   * Applies a delta, which was written by {@link #writeDeltaToStream(OutputStream, byte[])}, on
+   * top of the current state. The current state has to be the state of the last full write.
+   */
+  public void readDeltaFromStream(InputStream inputStream, byte[] buffer) throws IOException {
+    final int currentBucketBufferCount = getBucketBufferCount();
+
+    try {
+      readFully(inputStream, buffer, bucketBufferHeaderAddress, MAIN_BUCKET_BUFFER_HEADER_LEN);
+
+      final int bucketBufferCount = getBucketBufferCount();
+
+      for (int i = bucketBufferCount; i < currentBucketBufferCount; i++) {
+        freeBucketBufferMemory(i);
+        dirtyBucketBuffers[i] = false;
+      }
+
+      for (int i = currentBucketBufferCount; i < bucketBufferCount; i++) {
+        allocateBucketBufferMemory(i);
+      }
+
+      ioBuffer.wrap(buffer);
+
+      readFully(inputStream, buffer, SIZE_OF_INT);
+      final int dirtyBucketBufferCount = ioBuffer.getInt(0);
+
+      for (int i = 0; i < dirtyBucketBufferCount; i++) {
+        readFully(inputStream, buffer, DELTA_ENTRY_HEADER_LENGTH);
+        final int bucketBufferId = ioBuffer.getInt(0);
+        final int length = ioBuffer.getInt(SIZE_OF_INT);
+
+        if (bucketBufferId < 0
+            || bucketBufferId >= bucketBufferCount
+            || length > maxBucketBufferLength) {
+          throw new IOException(
+              String.format(
+                  "Invalid bucket buffer %d with length %d in delta.", bucketBufferId, length));
+        }
+
+        readFully(inputStream, buffer, realAddresses[bucketBufferId], length);
+
+        // the bucket buffer differs from the last full state
+        markDirty(bucketBufferId);
+      }
+    } catch (IOException ioe) {
+      clear();
+      throw new IOException("Failed to read bucket buffer array delta.", ioe);
+    }
+
+    nextNotFullBucketBuffer = findNextNotFullBucketBuffer(0);
+  }
+
+  // CHECKPOINT IO ///////////////////////////
+
+  /**
+   * @return the length of the checkpoint which is written by {@link
+   *     #writeCheckpointToStream(OutputStream, byte[])}
+   */
+  public long checkpointSize() {
+    return MAIN_BUCKET_BUFFER_HEADER_LEN
+        + SIZE_OF_INT
+        + (long) getBucketBufferCount() * SIZE_OF_INT;
+  }
+
+  /**
+   * Flushes the mapped bucket buffers to disk and writes the main header and the generation of each
+   * bucket buffer file. The files are not modified anymore, the bucket buffers are copied on the
+   * next write. Only supported if the bucket buffers are mapped.
+   */
+  public void writeCheckpointToStream(OutputStream outputStream, byte[] writeBuffer)
+      throws IOException {
+    ensureMapped();
+
+    write(outputStream, writeBuffer, bucketBufferHeaderAddress, MAIN_BUCKET_BUFFER_HEADER_LEN);
+
+    final int bucketBufferCount = getBucketBufferCount();
+    final int[] checkpoint = bucketBufferFiles.checkpoint(bucketBufferCount);
+
+    ioBuffer.wrap(writeBuffer);
+    ioBuffer.putInt(0, bucketBufferCount);
+    outputStream.write(writeBuffer, 0, SIZE_OF_INT);
+
+    for (int generation : checkpoint) {
+      ioBuffer.putInt(0, generation);
+      outputStream.write(writeBuffer, 0, SIZE_OF_INT);
+    }
+  }
+
+  /**
+   * Maps the bucket buffer files of a checkpoint, which was written by {@link
+   * #writeCheckpointToStream(OutputStream, byte[])}. Replaces the current state.
+   */
+  public void readCheckpointFromStream(InputStream inputStream, byte[] buffer) throws IOException {
+    ensureMapped();
+
+    try {
+      readFully(inputStream, buffer, bucketBufferHeaderAddress, MAIN_BUCKET_BUFFER_HEADER_LEN);
+
+      ioBuffer.wrap(buffer);
+      readFully(inputStream, buffer, SIZE_OF_INT);
+      final int bucketBufferCount = ioBuffer.getInt(0);
+
+      if (bucketBufferCount != getBucketBufferCount()) {
+        throw new IOException(
+            String.format(
+                "Expected %d bucket buffers in checkpoint, but got %d.",
+                getBucketBufferCount(), bucketBufferCount));
+      }
+
+      final int[] checkpoint = new int[bucketBufferCount];
+      for (int i = 0; i < bucketBufferCount; i++) {
+        readFully(inputStream, buffer, SIZE_OF_INT);
+        checkpoint[i] = ioBuffer.getInt(0);
+      }
+
+      for (int i = 0; i < realAddresses.length; i++) {
+        if (realAddresses[i] != INVALID_ADDRESS) {
+          freeBucketBufferMemory(i);
+        }
+      }
 
-  private void moveRemainingMemory(long bucketAddress, int srcOffset, int moveBytes) {
-    final int bucketLength = getBucketLength(bucketAddress);
+      final long[] addresses = bucketBufferFiles.mapCheckpoint(checkpoint);
+      for (int i = 0; i < addresses.length; i++) {
+        ensureBucketBufferCapacity(i);
+        realAddresses[i] = addresses[i];
+      }
+    } catch (IOException ioe) {
+      bucketBufferFiles.close();
+      clear();
+      throw new IOException("Failed to read bucket buffer array checkpoint.", ioe);
+    }
+
+    clearDirtyBucketBuffers();
+    nextNotFullBucketBuffer = findNextNotFullBucketBuffer(0);
+  }
+
+  private void ensureMapped() {
+    if (bucketBufferFiles == null) {
+      throw new IllegalStateException("Bucket buffers are not mapped into files.");
+    }
+  }
+
+  private void readFully(InputStream inputStream, byte[] buffer, int length) throws IOException {
+    int offset = 0;
+    while (offset < length) {
+      final int bytesRead = inputStream.read(buffer, offset, length - offset);
+      if (bytesRead < 0) {
+        throw new IOException("Unexpected end of stream.");
+      }
+      offset += bytesRead;
+    }
+  }
 
+  private void readFully(
+      InputStream inputStream, byte[] buffer, long destinationAddress, int length)
+      throws IOException {
+    final int bytesRead = readInto(inputStream, buffer, destinationAddress, length);
+    if (bytesRead < length) {
+      throw new IOException(
+          String.format("Expected to read %d bytes, but only read %d.", length, bytesRead));
+    }
+  }
+
+  // HELPER METHODS ////////////////////////
+
+  private void moveRemainingMemory(
+      long bucketAddress, int bucketLength, int srcOffset, int moveBytes) {
     if (srcOffset < bucketLength) {
       final long srcAddress = getBlockAddress(bucketAddress, srcOffset);
       final int remainingBytes = bucketLength - srcOffset;
@@ -728,14 +1149,74 @@ public class BucketBufferArray implements AutoCloseable {
   }
 
   private void allocateNewBucketBuffer(int newBucketBufferId) {
-    if (newBucketBufferId >= realAddresses.length) {
-      final long newAddressTable[] = new long[realAddresses.length * 2];
+    allocateBucketBufferMemory(newBucketBufferId);
+    setBucketCount(newBucketBufferId, 0);
+    setBucketBufferCount(getBucketBufferCount() + 1);
+  }
+
+  private void allocateBucketBufferMemory(int newBucketBufferId) {
+    ensureBucketBufferCapacity(newBucketBufferId);
+
+    realAddresses[newBucketBufferId] =
+        bucketBufferFiles != null
+            ? bucketBufferFiles.map(newBucketBufferId)
+            : UNSAFE.allocateMemory(maxBucketBufferLength);
+  }
+
+  private void freeBucketBufferMemory(int bucketBufferId) {
+    if (bucketBufferFiles != null) {
+      bucketBufferFiles.unmap(bucketBufferId);
+    } else {
+      UNSAFE.freeMemory(realAddresses[bucketBufferId]);
+    }
+    realAddresses[bucketBufferId] = INVALID_ADDRESS;
+  }
+
+  private void ensureBucketBufferCapacity(int bucketBufferId) {
+    if (bucketBufferId >= realAddresses.length) {
+      final int newLength = Math.max(realAddresses.length * 2, bucketBufferId + 1);
+
+      final long newAddressTable[] = new long[newLength];
       System.arraycopy(realAddresses, 0, newAddressTable, 0, realAddresses.length);
       realAddresses = newAddressTable;
+
+      final boolean newDirtyTable[] = new boolean[newLength];
+      System.arraycopy(dirtyBucketBuffers, 0, newDirtyTable, 0, dirtyBucketBuffers.length);
+      dirtyBucketBuffers = newDirtyTable;
     }
-    realAddresses[newBucketBufferId] = UNSAFE.allocateMemory(maxBucketBufferLength);
-    setBucketCount(newBucketBufferId, 0);
-    setBucketBufferCount(getBucketBufferCount() + 1);
+  }
+
+  private void markDirty(long bucketAddress) {
+    markDirty((int) (bucketAddress >> 32));
+  }
+
+  /**
+   * Must be called before the bucket buffer is modified. If the bucket buffer is part of a
+   * checkpoint, it is copied first and the real address changes.
+   */
+  private void markDirty(int bucketBufferId) {
+    if (bucketBufferFiles != null && bucketBufferFiles.isSealed(bucketBufferId)) {
+      realAddresses[bucketBufferId] = bucketBufferFiles.copyOnWrite(bucketBufferId);
+    }
+    dirtyBucketBuffers[bucketBufferId] = true;
+  }
+
+  private void clearDirtyBucketBuffers() {
+    for (int i = 0; i < dirtyBucketBuffers.length; i++) {
+      dirtyBucketBuffers[i] = false;
+    }
+  }
+
+  public int getDirtyBucketBufferCount() {
+    final int bucketBufferCount = getBucketBufferCount();
+    int count = 0;
+
+    for (int i = 0; i < bucketBufferCount; i++) {
+      if (dirtyBucketBuffers[i]) {
+        count++;
+      }
+    }
+    return count;
   }
 
   public int searchHighestBucketId() {
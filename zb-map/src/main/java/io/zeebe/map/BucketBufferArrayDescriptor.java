@@ -96,6 +96,24 @@ import static org.agrona.BitUtil.SIZE_OF_LONG;
  * ...                                                            |
  *  +-------------------------------------------------------------+
  * </pre>
+ *
+ * The value is padded to the max value length, i.e. all blocks have the same length. If the array
+ * stores variable-length values, the block contains the length of the value instead and is not
+ * padded. Then, a bucket contains as many blocks as fit into it.
+ *
+ * <pre>
+ *  0               1               2               3
+ *  0 1 2 3 4 5 6 7 0 1 2 3 4 5 6 7 0 1 2 3 4 5 6 7 0 1 2 3 4 5 6 7
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                             Key                            ...
+ * ...                                                            |
+ *  +-------------------------------------------------------------+
+ *  |                             Value Length                    |
+ *  +-------------------------------------------------------------+
+ *  |                             Value                          ...
+ * ...                                                            |
+ *  +-------------------------------------------------------------+
+ * </pre>
  */
 public class BucketBufferArrayDescriptor {
 
@@ -117,6 +135,7 @@ public class BucketBufferArrayDescriptor {
   public static final int BUCKET_DATA_OFFSET;
 
   public static final int BLOCK_KEY_OFFSET;
+  public static final int BLOCK_VALUE_LENGTH_LENGTH = SIZE_OF_INT;
 
   static {
     int offset = 0;
@@ -173,4 +192,16 @@ public class BucketBufferArrayDescriptor {
   public static long getBlockValueOffset(final long offset, final int keyLength) {
     return offset + BLOCK_KEY_OFFSET + keyLength;
   }
+
+  public static int getVariableBlockLength(final int keyLength, final int valueLength) {
+    return addExact(addExact(keyLength, BLOCK_VALUE_LENGTH_LENGTH), valueLength);
+  }
+
+  public static long getVariableBlockValueLengthOffset(final long offset, final int keyLength) {
+    return offset + BLOCK_KEY_OFFSET + keyLength;
+  }
+
+  public static long getVariableBlockValueOffset(final long offset, final int keyLength) {
+    return offset + BLOCK_KEY_OFFSET + keyLength + BLOCK_VALUE_LENGTH_LENGTH;
+  }
 }
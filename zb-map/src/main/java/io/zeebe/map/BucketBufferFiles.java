@@ -0,0 +1,284 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.map;
+
+import static io.zeebe.map.BucketBufferArray.ALLOCATION_FACTOR;
+
+import io.zeebe.util.allocation.AllocatedBuffer;
+import io.zeebe.util.allocation.MappedFileAllocator;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.agrona.BufferUtil;
+import org.agrona.IoUtil;
+import org.agrona.UnsafeAccess;
+import org.slf4j.Logger;
+import sun.misc.Unsafe;
+
+/**
+ * Maps the bucket buffers of a {@link BucketBufferArray} into files of a directory, one file per
+ * bucket buffer and generation (<code>bucket-buffer-[id]-[generation].map</code>).
+ *
+ * <p>A checkpoint flushes the files of the current generation and seals them, i.e. they contain
+ * the state of the checkpoint. A sealed bucket buffer is copied into a file of the next generation
+ * before it is modified again (copy-on-write), so only the bucket buffers which changed since the
+ * last checkpoint are written to disk. The files of the last two checkpoints are kept, all other
+ * files are deleted when a checkpoint is written or read.
+ */
+@SuppressWarnings("restriction")
+class BucketBufferFiles {
+  private static final Logger LOG = Loggers.ZB_MAP_LOGGER;
+  private static final Unsafe UNSAFE = UnsafeAccess.UNSAFE;
+
+  private static final String FILE_NAME_FORMAT = "bucket-buffer-%d-%d.map";
+  private static final Pattern FILE_NAME_PATTERN =
+      Pattern.compile("bucket-buffer-(\\d+)-(\\d+)\\.map");
+
+  private static final int NO_GENERATION = -1;
+
+  private final File directory;
+  private final int bucketBufferLength;
+
+  private AllocatedBuffer[] buffers = new AllocatedBuffer[ALLOCATION_FACTOR];
+  private int[] generations = new int[ALLOCATION_FACTOR];
+
+  /** the generation of the bucket buffers which are modified after the last checkpoint */
+  private int generation;
+
+  private int[] lastCheckpoint = new int[0];
+  private int[] previousCheckpoint = new int[0];
+
+  /**
+   * the sealed buffers which were replaced by a copy. They are unmapped on the next checkpoint
+   * only, since a value read from the map may still point into the sealed buffer.
+   */
+  private final List<AllocatedBuffer> replacedBuffers = new ArrayList<>();
+
+  BucketBufferFiles(File directory, int bucketBufferLength) {
+    this.directory = directory;
+    this.bucketBufferLength = bucketBufferLength;
+
+    directory.mkdirs();
+    if (!directory.isDirectory()) {
+      throw new IllegalArgumentException("Can't create map directory " + directory);
+    }
+
+    Arrays.fill(generations, NO_GENERATION);
+
+    // don't overwrite the files of a checkpoint the map may be recovered from
+    generation = findHighestGeneration() + 1;
+  }
+
+  /** @return the address of a new empty bucket buffer */
+  long map(int bucketBufferId) {
+    ensureCapacity(bucketBufferId);
+
+    final File file = getFile(bucketBufferId, generation);
+    file.delete();
+
+    buffers[bucketBufferId] = new MappedFileAllocator(file).allocate(bucketBufferLength);
+    generations[bucketBufferId] = generation;
+
+    return getAddress(bucketBufferId);
+  }
+
+  /** @return true, if the bucket buffer is part of a checkpoint and must not be modified */
+  boolean isSealed(int bucketBufferId) {
+    return generations[bucketBufferId] < generation;
+  }
+
+  /**
+   * Copies the sealed bucket buffer into a file of the current generation.
+   *
+   * @return the new address of the bucket buffer
+   */
+  long copyOnWrite(int bucketBufferId) {
+    final AllocatedBuffer sealedBuffer = buffers[bucketBufferId];
+    final long sealedAddress = getAddress(bucketBufferId);
+
+    final long address = map(bucketBufferId);
+    UNSAFE.copyMemory(sealedAddress, address, bucketBufferLength);
+
+    replacedBuffers.add(sealedBuffer);
+
+    return address;
+  }
+
+  /** Releases the bucket buffer. The file is deleted if it is not part of a checkpoint. */
+  void unmap(int bucketBufferId) {
+    if (buffers[bucketBufferId] == null) {
+      return;
+    }
+
+    close(buffers[bucketBufferId]);
+
+    if (!isSealed(bucketBufferId)) {
+      getFile(bucketBufferId, generations[bucketBufferId]).delete();
+    }
+
+    buffers[bucketBufferId] = null;
+    generations[bucketBufferId] = NO_GENERATION;
+  }
+
+  /**
+   * Flushes the given bucket buffers to disk and seals them.
+   *
+   * @return the generation of each bucket buffer, which identifies the files of the checkpoint
+   */
+  int[] checkpoint(int bucketBufferCount) {
+    final int[] checkpoint = new int[bucketBufferCount];
+
+    for (int i = 0; i < bucketBufferCount; i++) {
+      if (!isSealed(i)) {
+        ((MappedByteBuffer) buffers[i].getRawBuffer()).force();
+      }
+      checkpoint[i] = generations[i];
+    }
+
+    generation += 1;
+
+    previousCheckpoint = lastCheckpoint;
+    lastCheckpoint = checkpoint;
+
+    closeReplacedBuffers();
+    deleteUnusedFiles();
+
+    return checkpoint;
+  }
+
+  /**
+   * Maps the files of the given checkpoint. The current bucket buffers must be released before.
+   *
+   * @return the address of each bucket buffer
+   */
+  long[] mapCheckpoint(int[] checkpoint) throws IOException {
+    final long[] addresses = new long[checkpoint.length];
+
+    for (int i = 0; i < checkpoint.length; i++) {
+      final File file = getFile(i, checkpoint[i]);
+      if (!file.exists()) {
+        throw new IOException("Missing bucket buffer file " + file + " of map checkpoint.");
+      }
+
+      ensureCapacity(i);
+      buffers[i] = new MappedFileAllocator(file).allocate(bucketBufferLength);
+      generations[i] = checkpoint[i];
+      addresses[i] = getAddress(i);
+    }
+
+    for (int checkpointGeneration : checkpoint) {
+      generation = Math.max(generation, checkpointGeneration + 1);
+    }
+
+    previousCheckpoint = new int[0];
+    lastCheckpoint = checkpoint;
+
+    closeReplacedBuffers();
+    deleteUnusedFiles();
+
+    return addresses;
+  }
+
+  /** Releases all bucket buffers. The files of the checkpoints are kept. */
+  void close() {
+    for (int i = 0; i < buffers.length; i++) {
+      if (buffers[i] != null) {
+        unmap(i);
+      }
+    }
+    closeReplacedBuffers();
+  }
+
+  private void closeReplacedBuffers() {
+    for (int i = 0; i < replacedBuffers.size(); i++) {
+      close(replacedBuffers.get(i));
+    }
+    replacedBuffers.clear();
+  }
+
+  private long getAddress(int bucketBufferId) {
+    return BufferUtil.address(buffers[bucketBufferId].getRawBuffer());
+  }
+
+  private void ensureCapacity(int bucketBufferId) {
+    if (bucketBufferId >= buffers.length) {
+      final int newLength = Math.max(buffers.length * 2, bucketBufferId + 1);
+
+      buffers = Arrays.copyOf(buffers, newLength);
+
+      final int oldLength = generations.length;
+      generations = Arrays.copyOf(generations, newLength);
+      Arrays.fill(generations, oldLength, newLength, NO_GENERATION);
+    }
+  }
+
+  private File getFile(int bucketBufferId, int fileGeneration) {
+    return new File(directory, String.format(FILE_NAME_FORMAT, bucketBufferId, fileGeneration));
+  }
+
+  private int findHighestGeneration() {
+    int highestGeneration = 0;
+
+    final String[] fileNames = directory.list();
+    if (fileNames != null) {
+      for (String fileName : fileNames) {
+        final Matcher matcher = FILE_NAME_PATTERN.matcher(fileName);
+        if (matcher.matches()) {
+          highestGeneration = Math.max(highestGeneration, Integer.parseInt(matcher.group(2)));
+        }
+      }
+    }
+    return highestGeneration;
+  }
+
+  private void deleteUnusedFiles() {
+    final String[] fileNames = directory.list();
+    if (fileNames == null) {
+      return;
+    }
+
+    for (String fileName : fileNames) {
+      final Matcher matcher = FILE_NAME_PATTERN.matcher(fileName);
+      if (matcher.matches()) {
+        final int bucketBufferId = Integer.parseInt(matcher.group(1));
+        final int fileGeneration = Integer.parseInt(matcher.group(2));
+
+        final boolean isUsed =
+            isReferenced(generations, bucketBufferId, fileGeneration)
+                || isReferenced(lastCheckpoint, bucketBufferId, fileGeneration)
+                || isReferenced(previousCheckpoint, bucketBufferId, fileGeneration);
+
+        if (!isUsed && !new File(directory, fileName).delete()) {
+          LOG.warn("Failed to delete unused bucket buffer file {}", fileName);
+        }
+      }
+    }
+  }
+
+  private static boolean isReferenced(int[] generations, int bucketBufferId, int fileGeneration) {
+    return bucketBufferId < generations.length && generations[bucketBufferId] == fileGeneration;
+  }
+
+  private static void close(AllocatedBuffer buffer) {
+    IoUtil.unmap((MappedByteBuffer) buffer.getRawBuffer());
+    buffer.close();
+  }
+}
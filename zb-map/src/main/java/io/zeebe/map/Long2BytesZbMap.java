@@ -20,12 +20,14 @@ import static org.agrona.BitUtil.SIZE_OF_LONG;
 import io.zeebe.map.iterator.Long2BytesZbMapEntry;
 import io.zeebe.map.types.ByteArrayValueHandler;
 import io.zeebe.map.types.LongKeyHandler;
+import java.io.File;
 import java.util.Iterator;
 import org.agrona.DirectBuffer;
 
 /**
  * {@link ZbMap} that maps Long keys to Byte Array values. All values have a max size which is
- * defined on creation.
+ * defined on creation. If the map is created with variable value length, a value is stored with its
+ * actual length instead of being padded to the max size.
  */
 public class Long2BytesZbMap extends ZbMap<LongKeyHandler, ByteArrayValueHandler>
     implements Iterable<Long2BytesZbMapEntry> {
@@ -39,10 +41,27 @@ public class Long2BytesZbMap extends ZbMap<LongKeyHandler, ByteArrayValueHandler
     super(tableSize, blocksPerBucket, SIZE_OF_LONG, valueMaxLength);
   }
 
+  public Long2BytesZbMap(
+      int tableSize, int blocksPerBucket, int valueMaxLength, boolean isVariableValueLength) {
+    super(tableSize, blocksPerBucket, SIZE_OF_LONG, valueMaxLength, isVariableValueLength);
+  }
+
+  /** @param directory the directory the buckets are mapped into, see {@link ZbMap} */
+  public Long2BytesZbMap(
+      int tableSize,
+      int blocksPerBucket,
+      int valueMaxLength,
+      boolean isVariableValueLength,
+      File directory) {
+    super(
+        tableSize, blocksPerBucket, SIZE_OF_LONG, valueMaxLength, isVariableValueLength, directory);
+  }
+
   /**
    * Returns a view on the map value, i.e. direct modification should be avoided. This view may
    * become invalid with the very next interaction with the map. For values shorter than
-   * valueMaxLength, the returned buffer contains padding 0s.
+   * valueMaxLength, the returned buffer contains padding 0s, unless the map has variable value
+   * length.
    */
   public DirectBuffer get(long key) {
     keyHandler.theKey = key;
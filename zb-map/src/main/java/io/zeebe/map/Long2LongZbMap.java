@@ -20,6 +20,7 @@ import static org.agrona.BitUtil.SIZE_OF_LONG;
 import io.zeebe.map.iterator.Long2LongZbMapEntry;
 import io.zeebe.map.types.LongKeyHandler;
 import io.zeebe.map.types.LongValueHandler;
+import java.io.File;
 import java.util.Iterator;
 
 public class Long2LongZbMap extends ZbMap<LongKeyHandler, LongValueHandler>
@@ -34,6 +35,11 @@ public class Long2LongZbMap extends ZbMap<LongKeyHandler, LongValueHandler>
     super(tableSize, blocksPerBucket, SIZE_OF_LONG, SIZE_OF_LONG);
   }
 
+  /** @param directory the directory the buckets are mapped into, see {@link ZbMap} */
+  public Long2LongZbMap(int tableSize, int blocksPerBucket, File directory) {
+    super(tableSize, blocksPerBucket, SIZE_OF_LONG, SIZE_OF_LONG, false, directory);
+  }
+
   public long get(long key, long missingValue) {
     keyHandler.theKey = key;
     valueHandler.theValue = missingValue;
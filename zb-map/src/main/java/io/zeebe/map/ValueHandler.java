@@ -23,4 +23,17 @@ public interface ValueHandler {
   void writeValue(long writeValueAddr);
 
   void readValue(long valueAddr, int valueLength);
+
+  /**
+   * @return the length of the current value. Maps with variable-length values store the value with
+   *     this length instead of the max value length.
+   */
+  default int getCurrentValueLength() {
+    return getValueLength();
+  }
+
+  /** Writes the current value without padding, see {@link #getCurrentValueLength()}. */
+  default void writeCurrentValue(long writeValueAddr) {
+    writeValue(writeValueAddr);
+  }
 }
@@ -18,6 +18,7 @@ package io.zeebe.map;
 import static io.zeebe.map.BucketBufferArrayDescriptor.BUCKET_DATA_OFFSET;
 
 import io.zeebe.util.StringUtil;
+import java.io.File;
 import java.lang.reflect.ParameterizedType;
 import java.util.HashSet;
 import java.util.Set;
@@ -132,6 +133,47 @@ public abstract class ZbMap<K extends KeyHandler, V extends ValueHandler> {
    * @param maxValueLength the max length of a value
    */
   public ZbMap(int initialTableSize, int minBlockCount, int maxKeyLength, int maxValueLength) {
+    this(initialTableSize, minBlockCount, maxKeyLength, maxValueLength, false);
+  }
+
+  /**
+   * Creates an hash map object, see {@link #ZbMap(int, int, int, int)}.
+   *
+   * <p>If the map stores variable-length values, a value takes only its actual length instead of
+   * the max value length. A bucket contains at least minBlockCount entries, or more if the values
+   * are shorter. This reduces the memory usage if most values are much shorter than the max value
+   * length, but makes the lookup in a bucket a bit more expensive.
+   *
+   * @param isVariableValueLength true, if the values should not be padded to the max value length
+   */
+  public ZbMap(
+      int initialTableSize,
+      int minBlockCount,
+      int maxKeyLength,
+      int maxValueLength,
+      boolean isVariableValueLength) {
+    this(
+        initialTableSize, minBlockCount, maxKeyLength, maxValueLength, isVariableValueLength, null);
+  }
+
+  /**
+   * Creates an hash map object, see {@link #ZbMap(int, int, int, int, boolean)}.
+   *
+   * <p>If a directory is given, the buckets are mapped into files of the directory instead of being
+   * allocated in memory. Then, a delta snapshot of the map is a checkpoint which flushes the files
+   * and references them, instead of copying the changed buckets (see {@link ZbMapSerializer}). The
+   * directory must not be shared with another map.
+   *
+   * @param directory the directory of the bucket files, or null if the map should be kept in
+   *     memory
+   */
+  public ZbMap(
+      int initialTableSize,
+      int minBlockCount,
+      int maxKeyLength,
+      int maxValueLength,
+      boolean isVariableValueLength,
+      File directory) {
     if (LOG.isTraceEnabled()) {
       LOG.trace(
           "Creating map {} in context: \n{}",
@@ -147,9 +189,10 @@ public abstract class ZbMap<K extends KeyHandler, V extends ValueHandler> {
     this.initialTableSize = ensureTableSizeIsPowerOfTwo(initialTableSize);
 
     this.hashTable = new HashTable(this.initialTableSize);
-    this.bucketBufferArray = new BucketBufferArray(minBlockCount, maxKeyLength, maxValueLength);
-    this.bucketMergeHelper =
-        new ZbMapBucketMergeHelper(bucketBufferArray, hashTable, minBlockCount);
+    this.bucketBufferArray =
+        new BucketBufferArray(
+            minBlockCount, maxKeyLength, maxValueLength, isVariableValueLength, directory);
+    this.bucketMergeHelper = new ZbMapBucketMergeHelper(bucketBufferArray, hashTable);
 
     init();
   }
@@ -247,10 +290,19 @@ public abstract class ZbMap<K extends KeyHandler, V extends ValueHandler> {
     return bucketBufferArray.getBucketCount();
   }
 
+  public boolean isVariableValueLength() {
+    return bucketBufferArray.isVariableValueLength();
+  }
+
+  public boolean isMapped() {
+    return bucketBufferArray.isMapped();
+  }
+
   protected boolean put() {
     final int keyHashCode = keyHandler.keyHashCode();
     int bucketId = getBucketId(keyHashCode);
     boolean isUpdated = false;
+    boolean isReplaced = false;
     boolean isPut = false;
     boolean scanForKey = true;
 
@@ -263,11 +315,16 @@ public abstract class ZbMap<K extends KeyHandler, V extends ValueHandler> {
         if (blockWasFound) {
           bucketAddress = block.getBucketAddress();
           final int blockOffset = block.getBlockOffset();
-          bucketBufferArray.updateValue(valueHandler, bucketAddress, blockOffset);
+          isUpdated = bucketBufferArray.updateValue(valueHandler, bucketAddress, blockOffset);
+
+          if (!isUpdated) {
+            // the new value is longer and does not fit into the bucket - add it again
+            bucketBufferArray.removeBlock(bucketAddress, blockOffset);
+            isReplaced = true;
+          }
           modCount += 1;
-          isUpdated = true;
         }
-        scanForKey = blockWasFound;
+        scanForKey = false;
       } else {
         isPut = bucketBufferArray.addBlock(bucketAddress, keyHandler, valueHandler);
 
@@ -279,7 +336,35 @@ public abstract class ZbMap<K extends KeyHandler, V extends ValueHandler> {
         modCount += 1;
       }
     }
-    return isUpdated;
+    return isUpdated || isReplaced;
+  }
+
+  /**
+   * Puts all entries of the given buckets into this map, e.g. to convert the buckets of a snapshot
+   * with another layout.
+   */
+  void putAll(BucketBufferArray buckets) {
+    final int bucketBufferCount = buckets.getBucketBufferCount();
+
+    for (int bucketBufferId = 0; bucketBufferId < bucketBufferCount; bucketBufferId++) {
+      int bucketOffset = buckets.getFirstBucketOffset();
+
+      for (int bucket = 0; bucket < buckets.getBucketCount(bucketBufferId); bucket++) {
+        final long bucketAddress =
+            BucketBufferArray.getBucketAddress(bucketBufferId, bucketOffset);
+        int blockOffset = buckets.getFirstBlockOffset();
+
+        for (int block = 0; block < buckets.getBucketFillCount(bucketAddress); block++) {
+          buckets.readKey(keyHandler, bucketAddress, blockOffset);
+          buckets.readValue(valueHandler, bucketAddress, blockOffset);
+          put();
+
+          blockOffset += buckets.getBlockLength(bucketAddress, blockOffset);
+        }
+
+        bucketOffset += buckets.getMaxBucketLength();
+      }
+    }
   }
 
   private int getBucketId(int keyHashCode) {
@@ -296,9 +381,9 @@ public abstract class ZbMap<K extends KeyHandler, V extends ValueHandler> {
       final long bucketAddress = block.getBucketAddress();
       final int blockOffset = block.getBlockOffset();
       bucketBufferArray.readValue(valueHandler, bucketAddress, blockOffset);
-      final int newBucketFillCount = bucketBufferArray.removeBlock(bucketAddress, blockOffset);
+      bucketBufferArray.removeBlock(bucketAddress, blockOffset);
 
-      bucketMergeHelper.tryMergingBuckets(bucketAddress, newBucketFillCount);
+      bucketMergeHelper.tryMergingBuckets(bucketAddress);
       tryShrinkHashTable();
       modCount += 1;
     }
@@ -357,7 +442,7 @@ public abstract class ZbMap<K extends KeyHandler, V extends ValueHandler> {
           foundBlock.set(bucketAddress, blockOffset);
         }
 
-        blockOffset += bucketBufferArray.getBlockLength();
+        blockOffset += bucketBufferArray.getBlockLength(bucketAddress, blockOffset);
         blocksVisited++;
       }
 
@@ -413,7 +498,7 @@ public abstract class ZbMap<K extends KeyHandler, V extends ValueHandler> {
       int blocksVisited = 0;
 
       while (blocksVisited < bucketFillCount) {
-        final int blockLength = bucketBufferArray.getBlockLength();
+        final int blockLength = bucketBufferArray.getBlockLength(filledBucketAddress, blockOffset);
 
         bucketBufferArray.readKey(splitKeyHandler, filledBucketAddress, blockOffset);
         final int keyHashCode = splitKeyHandler.keyHashCode();
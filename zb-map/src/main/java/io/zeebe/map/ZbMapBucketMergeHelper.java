@@ -22,13 +22,10 @@ final class ZbMapBucketMergeHelper {
 
   private final BucketBufferArray bucketBufferArrayRef;
   private final HashTable hashTableRef;
-  private final int blockCountPerBucket;
 
-  ZbMapBucketMergeHelper(
-      BucketBufferArray bucketBufferArrayRef, HashTable hashTableRef, int blockCountPerBucket) {
+  ZbMapBucketMergeHelper(BucketBufferArray bucketBufferArrayRef, HashTable hashTableRef) {
     this.bucketBufferArrayRef = bucketBufferArrayRef;
     this.hashTableRef = hashTableRef;
-    this.blockCountPerBucket = blockCountPerBucket;
   }
 
   /**
@@ -42,9 +39,11 @@ final class ZbMapBucketMergeHelper {
    *       before with the parent. This is necessary to calculate the id and update the hash table
    *       correctly.
    *   <li>Parent fill count plus the bucket fill count have to be less then the maximum bucket fill
-   *       count. Would result the merging in a full parent bucket on the next add block a new split
-   *       have to be done. This split will create the same bucket which was merged before, since
-   *       this makes no sense we only merge if the relocation will not result in a filled bucket!
+   *       count (for variable-length values: the parent bucket must have space for another block
+   *       after the merge). Would result the merging in a full parent bucket on the next add block
+   *       a new split have to be done. This split will create the same bucket which was merged
+   *       before, since this makes no sense we only merge if the relocation will not result in a
+   *       filled bucket!
    * </ul>
    *
    * <p>Are the rules above satisfied and the bucket is or has no overflow bucket, then the
@@ -60,7 +59,7 @@ final class ZbMapBucketMergeHelper {
    * <p>Since this method is recursively it is possible that one merge call can clean up a bunch of
    * empty or mergable buckets. It is also possible that merge is called on a bucket which has as ID
    * {@link BucketBufferArray#ABANDONED_BUCKET}. In that case the bucket will be removed if it is
-   * the last one. Like on the normal merge we will call again {@link #tryMergingBuckets(long, int)}
+   * the last one. Like on the normal merge we will call again {@link #tryMergingBuckets(long)}
    * with the new last bucket address. If it is not the last one the method returns. Also if the
    * bucket id and the depth is zero, which means the first bucket was not splitted before the
    * method simply returns.
@@ -78,7 +77,7 @@ final class ZbMapBucketMergeHelper {
    * <ul>
    *   <li>Overflow bucket is removable and blocks of overflow bucket can be relocated to the
    *       current bucket, then we relocate the blocks and remove the overflow bucket. Like on the
-   *       normal merge we will call again {@link #tryMergingBuckets(long, int)} with the new last
+   *       normal merge we will call again {@link #tryMergingBuckets(long)} with the new last
    *       bucket address.
    *   <li>Overflow bucket is removable but can't be merged, then nothing happens.
    *   <li>Overflow bucket is not removable but it can be merged Existing blocks are relocated to
@@ -87,13 +86,13 @@ final class ZbMapBucketMergeHelper {
    *   <li>Overflow bucket is not removable and can't be merged, then nothing happens.
    * </ul>
    *
-   * <b>Is overflow bucket, then {@link #tryMergeOverflowBucket(long, int, int)} is called and the
+   * <b>Is overflow bucket, then {@link #tryMergeOverflowBucket(long, int)} is called and the
    * following procedure is done.</b>
    *
    * <ul>
    *   <li>Is overflow bucket removable and the block can be relocated to the parent/original
    *       bucket, then this will be done. Like on the normal merge we will call again {@link
-   *       #tryMergingBuckets(long, int)} with the new last bucket address.
+   *       #tryMergingBuckets(long)} with the new last bucket address.
    *   <li>If the overflow bucket is not removable the next steps are depending, whether the
    *       overflow bucket has a overflow bucket or not.
    *       <ul>
@@ -113,8 +112,8 @@ final class ZbMapBucketMergeHelper {
    *             <ul>
    *               <li>Are the blocks relocatable to the current overflow bucket and the overflow
    *                   bucket is removable, then this is done and the overflow bucket is removed.
-   *                   Like on the normal merge we will call again {@link #tryMergingBuckets(long,
-   *                   int)} with the new last bucket address.
+   *                   Like on the normal merge we will call again {@link
+   *                   #tryMergingBuckets(long)} with the new last bucket address.
    *               <li>Are the blocks relocatable to the current overflow bucket and the overflow
    *                   bucket is NOT removable, then the blocks are relocated and the overflow
    *                   bucket is marked as removable, see {@link
@@ -161,9 +160,8 @@ final class ZbMapBucketMergeHelper {
    * </ul>
    *
    * @param bucketAddress address of the bucket which should be as first tried to be merged
-   * @param newBucketFillCount the new fill count of the bucket
    */
-  void tryMergingBuckets(long bucketAddress, int newBucketFillCount) {
+  void tryMergingBuckets(long bucketAddress) {
     int bucketId = bucketBufferArrayRef.getBucketId(bucketAddress);
     int depth = bucketBufferArrayRef.getBucketDepth(bucketAddress);
 
@@ -172,7 +170,7 @@ final class ZbMapBucketMergeHelper {
       if (depth == ABANDONED_BUCKET) {
         newLastBucketAddress = tryRemoveAbandonedBucketWithoutMerge(bucketAddress);
       } else if (depth == BucketBufferArray.OVERFLOW_BUCKET) {
-        newLastBucketAddress = tryMergeOverflowBucket(bucketAddress, newBucketFillCount, bucketId);
+        newLastBucketAddress = tryMergeOverflowBucket(bucketAddress, bucketId);
       } else {
         final long bucketOverflowPointer =
             bucketBufferArrayRef.getBucketOverflowPointer(bucketAddress);
@@ -180,11 +178,9 @@ final class ZbMapBucketMergeHelper {
           newLastBucketAddress =
               tryMergeBucketWhichHasOverflowBucket(bucketAddress, bucketOverflowPointer);
         } else {
-          newLastBucketAddress =
-              tryMergeSplitBucket(bucketAddress, newBucketFillCount, depth, bucketId);
+          newLastBucketAddress = tryMergeSplitBucket(bucketAddress, depth, bucketId);
         }
       }
-      newBucketFillCount = bucketBufferArrayRef.getBucketFillCount(newLastBucketAddress);
 
       bucketAddress = newLastBucketAddress;
       bucketId = bucketBufferArrayRef.getBucketId(newLastBucketAddress);
@@ -222,12 +218,11 @@ final class ZbMapBucketMergeHelper {
    * {@link #tryMergeBucketWhichHasOverflowBucket(long, long)}.
    *
    * @param bucketAddress
-   * @param newBucketFillCount
    * @param bucketId
    * @return zero if no bucket was removed or no remaining bucket exist, otherwise the address of
    *     the new last bucket which can be removed
    */
-  private long tryMergeOverflowBucket(long bucketAddress, int newBucketFillCount, int bucketId) {
+  private long tryMergeOverflowBucket(long bucketAddress, int bucketId) {
     final long parentBucketAddress = hashTableRef.getBucketAddress(bucketId);
     long newLastBucketAddress = 0;
 
@@ -235,7 +230,7 @@ final class ZbMapBucketMergeHelper {
     if (bucketOverflowPointer != 0) {
       newLastBucketAddress =
           tryMergeBucketWhichHasOverflowBucket(bucketAddress, bucketOverflowPointer);
-    } else if (isMergableWithParentBucket(parentBucketAddress, newBucketFillCount)) {
+    } else if (bucketBufferArrayRef.isMergeableWithBucket(parentBucketAddress, bucketAddress)) {
       bucketBufferArrayRef.relocateBlocksFromBucket(bucketAddress, parentBucketAddress);
       bucketBufferArrayRef.removeOverflowBucket(parentBucketAddress, bucketAddress);
       newLastBucketAddress = bucketBufferArrayRef.removeBucket(bucketAddress);
@@ -257,9 +252,8 @@ final class ZbMapBucketMergeHelper {
     long newLastBucketAddress = 0;
     final long parentBucketAddress = bucketAddress;
     bucketAddress = bucketOverflowPointer;
-    final int newBucketFillCount = bucketBufferArrayRef.getBucketFillCount(bucketAddress);
 
-    if (isMergableWithParentBucket(parentBucketAddress, newBucketFillCount)) {
+    if (bucketBufferArrayRef.isMergeableWithBucket(parentBucketAddress, bucketAddress)) {
       bucketBufferArrayRef.relocateBlocksFromBucket(bucketAddress, parentBucketAddress);
       bucketBufferArrayRef.removeOverflowBucket(parentBucketAddress, bucketAddress);
       newLastBucketAddress = bucketBufferArrayRef.removeBucket(bucketAddress);
@@ -269,17 +263,15 @@ final class ZbMapBucketMergeHelper {
 
   /**
    * Tries to merge normal bucket with the parent bucket. Merges the bucket if the merge rules are
-   * satisfied, see {@link #tryMergingBuckets(long, int)}.
+   * satisfied, see {@link #tryMergingBuckets(long)}.
    *
    * @param bucketAddress
-   * @param newBucketFillCount
    * @param depth
    * @param bucketId
    * @return zero if no bucket was removed or no remaining bucket exist, otherwise the address of
    *     the new last bucket which can be removed
    */
-  private long tryMergeSplitBucket(
-      long bucketAddress, int newBucketFillCount, int depth, int bucketId) {
+  private long tryMergeSplitBucket(long bucketAddress, int depth, int bucketId) {
     final int id = (1 << (depth - 1)) ^ bucketId;
     final long parentBucketAddress;
     final int parentBucketDepth;
@@ -296,23 +288,21 @@ final class ZbMapBucketMergeHelper {
       bucketId = id;
       bucketAddress = hashTableRef.getBucketAddress(id);
       depth = bucketBufferArrayRef.getBucketDepth(bucketAddress);
-      newBucketFillCount = bucketBufferArrayRef.getBucketFillCount(bucketAddress);
     }
 
     return tryToMergeSplitBucketWithParent(
-        parentBucketAddress, parentBucketDepth, bucketAddress, depth, bucketId, newBucketFillCount);
+        parentBucketAddress, parentBucketDepth, bucketAddress, depth, bucketId);
   }
 
   /**
    * Tries to merge normal bucket with the parent bucket. Merges the bucket if the merge rules are
-   * satisfied, see {@link #tryMergingBuckets(long, int)}.
+   * satisfied, see {@link #tryMergingBuckets(long)}.
    *
    * @param parentBucketAddress
    * @param parentBucketDepth
    * @param bucketAddress
    * @param depth
    * @param bucketId
-   * @param newBucketFillCount
    * @return zero if no bucket was removed or no remaining bucket exist, otherwise the address of
    *     the new last bucket which can be removed
    */
@@ -321,13 +311,12 @@ final class ZbMapBucketMergeHelper {
       int parentBucketDepth,
       long bucketAddress,
       int depth,
-      int bucketId,
-      int newBucketFillCount) {
+      int bucketId) {
     long newLastBucketAddress = 0;
 
     if (parentBucketDepth == depth
         && bucketBufferArrayRef.isBucketRemovable(bucketAddress)
-        && isMergableWithParentBucket(parentBucketAddress, newBucketFillCount)) {
+        && bucketBufferArrayRef.isMergeableWithBucket(parentBucketAddress, bucketAddress)) {
       // merging
       // 1. relocate existing blocks to parent
       bucketBufferArrayRef.relocateBlocksFromBucket(bucketAddress, parentBucketAddress);
@@ -340,16 +329,4 @@ final class ZbMapBucketMergeHelper {
     }
     return newLastBucketAddress;
   }
-
-  /**
-   * Checks if parent bucket with the given address is mergable with the given fill count.
-   *
-   * @param parentBucketAddress
-   * @param bucketFillCount
-   * @return true if mergable, false otherwise
-   */
-  private boolean isMergableWithParentBucket(long parentBucketAddress, int bucketFillCount) {
-    final int parentFillCount = bucketBufferArrayRef.getBucketFillCount(parentBucketAddress);
-    return (parentFillCount + bucketFillCount < blockCountPerBucket);
-  }
 }
@@ -99,7 +99,8 @@ public class ZbMapIterator<K extends KeyHandler, V extends ValueHandler, E exten
 
     if (currentBlock < bucketBufferArray.getBucketFillCount(currentBucketAddress)) {
       // next block in the current bucket
-      currentBlockOffset += bucketBufferArray.getBlockLength();
+      currentBlockOffset +=
+          bucketBufferArray.getBlockLength(currentBucketAddress, currentBlockOffset);
     } else {
       // the current bucket contains no more blocks
       // go to the next bucket which contains blocks
@@ -23,7 +23,13 @@ import java.io.OutputStream;
 import org.agrona.IoUtil;
 import org.agrona.concurrent.UnsafeBuffer;
 
-/** Can read / write map from / to stream */
+/**
+ * Can read / write map from / to stream.
+ *
+ * <p>If the buckets of the map are mapped into files, a delta is written as checkpoint: the files
+ * are flushed and the snapshot contains the hash table and the references to the files only. A
+ * full snapshot always contains the buckets, so it can be restored on another node.
+ */
 public class ZbMapSerializer {
   /**
    * The version of the snapshot. Part of the metadata header, which will be written on every
@@ -31,6 +37,19 @@ public class ZbMapSerializer {
    */
   private static final int VERSION = 1;
 
+  /**
+   * The version of the snapshot of a map with variable-length values. The blocks contain the length
+   * of the value, so the snapshot can't be read by a map with padded values. A map with
+   * variable-length values converts a snapshot with padded values on reading.
+   */
+  private static final int VARIABLE_VALUE_LENGTH_VERSION = 2;
+
+  /**
+   * Marks a delta of a mapped map, which is a checkpoint of the bucket files instead of a copy of
+   * the changed buckets. Combined with the version of the layout.
+   */
+  private static final int CHECKPOINT_FLAG = 1 << 16;
+
   /** The size of the header, which contains meta data like the version of the snapshot etc. */
   private static final int METADATA_LEN = SIZE_OF_INT;
 
@@ -48,30 +67,129 @@ public class ZbMapSerializer {
   }
 
   public void writeToStream(OutputStream outputStream) throws IOException {
-    bufferView.putInt(0, VERSION);
+    bufferView.putInt(0, getVersion());
     outputStream.write(buffer, 0, SIZE_OF_INT);
 
     map.getHashTable().writeToStream(outputStream, buffer);
     map.getBucketBufferArray().writeToStream(outputStream, buffer);
   }
 
+  /**
+   * Reads a snapshot which was written by {@link #writeToStream(OutputStream)}. A map with
+   * variable-length values can also read a snapshot with padded values, see {@link
+   * #readPaddedFromStream(InputStream)}.
+   */
   public void readFromStream(InputStream inputStream) throws IOException {
+    final int version = readVersion(inputStream);
+
+    if (version == getVersion()) {
+      map.getHashTable().readFromStream(inputStream, buffer);
+      map.getBucketBufferArray().readFromStream(inputStream, buffer);
+    } else if (version == VERSION && map.isVariableValueLength()) {
+      readPaddedFromStream(inputStream);
+    } else {
+      throw unexpectedVersion(getVersion(), version);
+    }
+  }
+
+  /**
+   * Reads a snapshot with padded values, e.g. which was written before the map used variable-length
+   * values, and puts its entries into the map. The restored values keep the max value length, but
+   * values which are put afterwards take only their actual length.
+   *
+   * <p>The entries are always put in the same order, so a delta which was written after the
+   * conversion can be applied on top of the converted state.
+   */
+  private void readPaddedFromStream(InputStream inputStream) throws IOException {
+    final HashTable paddedHashTable = new HashTable(map.getHashTable().getCapacity());
+    final BucketBufferArray paddedBuckets =
+        map.getBucketBufferArray().newPaddedBucketBufferArray();
+
+    try {
+      paddedHashTable.readFromStream(inputStream, buffer);
+      paddedBuckets.readFromStream(inputStream, buffer);
+
+      map.clear();
+      map.putAll(paddedBuckets);
+    } finally {
+      paddedHashTable.close();
+      paddedBuckets.close();
+    }
+  }
+
+  public long deltaSerializationSize() {
+    final BucketBufferArray bucketBufferArray = map.getBucketBufferArray();
+    final long bucketsSize =
+        map.isMapped() ? bucketBufferArray.checkpointSize() : bucketBufferArray.deltaSize();
+
+    return METADATA_LEN + map.getHashTable().serializationSize() + bucketsSize;
+  }
+
+  /**
+   * Writes the hash table and the buckets which changed since the last {@link
+   * #writeToStream(OutputStream)}. If the map is mapped, a checkpoint of the bucket files is
+   * written instead.
+   */
+  public void writeDeltaToStream(OutputStream outputStream) throws IOException {
+    bufferView.putInt(0, getDeltaVersion());
+    outputStream.write(buffer, 0, SIZE_OF_INT);
+
+    map.getHashTable().writeToStream(outputStream, buffer);
+
+    if (map.isMapped()) {
+      map.getBucketBufferArray().writeCheckpointToStream(outputStream, buffer);
+    } else {
+      map.getBucketBufferArray().writeDeltaToStream(outputStream, buffer);
+    }
+  }
+
+  /**
+   * Applies a delta which was written by {@link #writeDeltaToStream(OutputStream)}. The map must
+   * contain the state of the full snapshot the delta is based on. If the map is mapped, the bucket
+   * files of the checkpoint are mapped instead.
+   */
+  public void readDeltaFromStream(InputStream inputStream) throws IOException {
+    readVersion(inputStream, getDeltaVersion());
+
+    map.getHashTable().readFromStream(inputStream, buffer);
+
+    if (map.isMapped()) {
+      map.getBucketBufferArray().readCheckpointFromStream(inputStream, buffer);
+    } else {
+      map.getBucketBufferArray().readDeltaFromStream(inputStream, buffer);
+    }
+  }
+
+  private int readVersion(InputStream inputStream) throws IOException {
     final int bytesRead = inputStream.read(buffer, 0, SIZE_OF_INT);
 
     if (bytesRead < SIZE_OF_INT) {
       throw new IOException("Unable to read map snapshot version");
     }
 
-    final int version = bufferView.getInt(0);
+    return bufferView.getInt(0);
+  }
+
+  private void readVersion(InputStream inputStream, int expectedVersion) throws IOException {
+    final int version = readVersion(inputStream);
 
-    if (version != VERSION) {
-      throw new RuntimeException(
-          String.format(
-              "Cannot read map snapshot: expected version %d but got version %d",
-              VERSION, version));
+    if (version != expectedVersion) {
+      throw unexpectedVersion(expectedVersion, version);
     }
+  }
 
-    map.getHashTable().readFromStream(inputStream, buffer);
-    map.getBucketBufferArray().readFromStream(inputStream, buffer);
+  private static RuntimeException unexpectedVersion(int expectedVersion, int version) {
+    return new RuntimeException(
+        String.format(
+            "Cannot read map snapshot: expected version %d but got version %d",
+            expectedVersion, version));
+  }
+
+  private int getVersion() {
+    return map.isVariableValueLength() ? VARIABLE_VALUE_LENGTH_VERSION : VERSION;
+  }
+
+  private int getDeltaVersion() {
+    return map.isMapped() ? getVersion() | CHECKPOINT_FLAG : getVersion();
   }
 }
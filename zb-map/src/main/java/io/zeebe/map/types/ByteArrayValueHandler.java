@@ -64,6 +64,21 @@ public class ByteArrayValueHandler implements ValueHandler {
     UNSAFE.setMemory(writeValueAddr + actualValueLength, valueLength - actualValueLength, (byte) 0);
   }
 
+  @Override
+  public int getCurrentValueLength() {
+    return valueBuffer.capacity();
+  }
+
+  @Override
+  public void writeCurrentValue(long writeValueAddr) {
+    UNSAFE.copyMemory(
+        valueBuffer.byteArray(),
+        valueBuffer.addressOffset(),
+        null,
+        writeValueAddr,
+        valueBuffer.capacity());
+  }
+
   @Override
   public void readValue(long valueAddr, int valueLength) {
     valueBuffer.wrap(valueAddr, valueLength);
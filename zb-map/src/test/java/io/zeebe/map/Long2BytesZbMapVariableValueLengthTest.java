@@ -0,0 +1,337 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.map.iterator.Long2BytesZbMapEntry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class Long2BytesZbMapVariableValueLengthTest {
+  private static final int TABLE_SIZE = 16;
+  private static final int BLOCKS_PER_BUCKET = 4;
+  private static final int VALUE_MAX_LENGTH = 64;
+
+  private Long2BytesZbMap map;
+
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  @Before
+  public void createMap() {
+    map = new Long2BytesZbMap(TABLE_SIZE, BLOCKS_PER_BUCKET, VALUE_MAX_LENGTH, true);
+  }
+
+  @After
+  public void close() {
+    map.close();
+  }
+
+  @Test
+  public void shouldReturnValueWithoutPadding() {
+    // given
+    map.put(1, value("foo"));
+
+    // when
+    final DirectBuffer value = map.get(1);
+
+    // then
+    assertThat(value).isEqualTo(value("foo"));
+  }
+
+  @Test
+  public void shouldPutValuesOfDifferentLength() {
+    // given
+    map.put(1, value("a"));
+    map.put(2, value(VALUE_MAX_LENGTH));
+    map.put(3, value(""));
+
+    // then
+    assertThat(map.get(1)).isEqualTo(value("a"));
+    assertThat(map.get(2)).isEqualTo(value(VALUE_MAX_LENGTH));
+    assertThat(map.get(3)).isEqualTo(value(""));
+  }
+
+  @Test
+  public void shouldRejectPutIfValueTooLong() {
+    // expect
+    thrown.expect(IllegalArgumentException.class);
+
+    // when
+    map.put(1, value(VALUE_MAX_LENGTH + 1));
+  }
+
+  @Test
+  public void shouldStoreMoreEntriesInBucketIfValuesAreShort() {
+    // when
+    for (int i = 0; i < BLOCKS_PER_BUCKET * 2; i++) {
+      map.put(i, value("v" + i));
+    }
+
+    // then
+    assertThat(map.bucketCount()).isEqualTo(1);
+    final long bucketAddress = map.getHashTable().getBucketAddress(0);
+    assertThat(map.getBucketBufferArray().getBucketFillCount(bucketAddress))
+        .isEqualTo(BLOCKS_PER_BUCKET * 2);
+  }
+
+  @Test
+  public void shouldUpdateWithLongerValue() {
+    // given
+    map.put(1, value("a"));
+    map.put(2, value("b"));
+    map.put(3, value("c"));
+
+    // when
+    final boolean isUpdated = map.put(2, value("bbbbbbbbbbbb"));
+
+    // then
+    assertThat(isUpdated).isTrue();
+    assertThat(map.get(1)).isEqualTo(value("a"));
+    assertThat(map.get(2)).isEqualTo(value("bbbbbbbbbbbb"));
+    assertThat(map.get(3)).isEqualTo(value("c"));
+  }
+
+  @Test
+  public void shouldUpdateWithShorterValue() {
+    // given
+    map.put(1, value("aaaaaaaaaaaa"));
+    map.put(2, value("bbbbbbbbbbbb"));
+    map.put(3, value("cccccccccccc"));
+
+    // when
+    final boolean isUpdated = map.put(2, value("b"));
+
+    // then
+    assertThat(isUpdated).isTrue();
+    assertThat(map.get(1)).isEqualTo(value("aaaaaaaaaaaa"));
+    assertThat(map.get(2)).isEqualTo(value("b"));
+    assertThat(map.get(3)).isEqualTo(value("cccccccccccc"));
+  }
+
+  @Test
+  public void shouldUpdateWithLongerValueIfBucketIsFull() {
+    // given
+    final int entryCount = 100;
+    for (int i = 0; i < entryCount; i++) {
+      map.put(i, value("x"));
+    }
+
+    // when
+    for (int i = 0; i < entryCount; i++) {
+      assertThat(map.put(i, value(VALUE_MAX_LENGTH))).isTrue();
+    }
+
+    // then
+    for (int i = 0; i < entryCount; i++) {
+      assertThat(map.get(i)).isEqualTo(value(VALUE_MAX_LENGTH));
+    }
+  }
+
+  @Test
+  public void shouldCompactBucketOnRemove() {
+    // given
+    map.put(1, value("aaaa"));
+    map.put(2, value("bb"));
+    map.put(3, value("cccccc"));
+
+    // when
+    final DirectBuffer removedValue = map.remove(2);
+
+    // then
+    assertThat(removedValue).isNotNull();
+    assertThat(map.get(2)).isNull();
+    assertThat(map.get(1)).isEqualTo(value("aaaa"));
+    assertThat(map.get(3)).isEqualTo(value("cccccc"));
+
+    map.put(4, value("dddddddd"));
+    assertThat(map.get(4)).isEqualTo(value("dddddddd"));
+  }
+
+  @Test
+  public void shouldSplitAndMergeBuckets() {
+    // given
+    final int entryCount = 1_000;
+    for (int i = 0; i < entryCount; i++) {
+      map.put(i, value(i % VALUE_MAX_LENGTH));
+    }
+    final int bucketCount = map.bucketCount();
+    assertThat(bucketCount).isGreaterThan(1);
+
+    // when
+    for (int i = 0; i < entryCount; i++) {
+      if (i % 2 == 0) {
+        assertThat(map.remove(i)).isNotNull();
+      }
+    }
+
+    // then
+    assertThat(map.bucketCount()).isLessThan(bucketCount);
+    for (int i = 0; i < entryCount; i++) {
+      if (i % 2 == 0) {
+        assertThat(map.get(i)).isNull();
+      } else {
+        assertThat(map.get(i)).isEqualTo(value(i % VALUE_MAX_LENGTH));
+      }
+    }
+  }
+
+  @Test
+  public void shouldIterateOverMap() {
+    // given
+    final Map<Long, DirectBuffer> expected = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      final DirectBuffer value = value(i % VALUE_MAX_LENGTH);
+      map.put(i, value);
+      expected.put((long) i, value);
+    }
+
+    // when
+    final Map<Long, DirectBuffer> actual = new HashMap<>();
+    for (Long2BytesZbMapEntry entry : map) {
+      final DirectBuffer value = entry.getValue();
+      final byte[] bytes = new byte[value.capacity()];
+      value.getBytes(0, bytes);
+      actual.put(entry.getKey(), new UnsafeBuffer(bytes));
+    }
+
+    // then
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  public void shouldUseLessMemoryThanPaddedMap() {
+    // given
+    final Long2BytesZbMap paddedMap =
+        new Long2BytesZbMap(TABLE_SIZE, BLOCKS_PER_BUCKET, VALUE_MAX_LENGTH);
+
+    // when
+    for (int i = 0; i < 1_000; i++) {
+      map.put(i, value("value" + i));
+      paddedMap.put(i, value("value" + i));
+    }
+
+    // then
+    assertThat(map.size()).isLessThan(paddedMap.size());
+    paddedMap.close();
+  }
+
+  @Test
+  public void shouldRestoreFromSnapshot() throws IOException {
+    // given
+    for (int i = 0; i < 1_000; i++) {
+      map.put(i, value(i % VALUE_MAX_LENGTH));
+    }
+
+    final ZbMapSerializer serializer = new ZbMapSerializer();
+    serializer.wrap(map);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serializer.writeToStream(out);
+
+    // when
+    final Long2BytesZbMap newMap =
+        new Long2BytesZbMap(TABLE_SIZE, BLOCKS_PER_BUCKET, VALUE_MAX_LENGTH, true);
+    serializer.wrap(newMap);
+    serializer.readFromStream(new ByteArrayInputStream(out.toByteArray()));
+
+    // then
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(newMap.get(i)).isEqualTo(value(i % VALUE_MAX_LENGTH));
+    }
+    newMap.close();
+  }
+
+  @Test
+  public void shouldRestoreSnapshotOfPaddedMap() throws IOException {
+    // given
+    final Long2BytesZbMap paddedMap =
+        new Long2BytesZbMap(TABLE_SIZE, BLOCKS_PER_BUCKET, VALUE_MAX_LENGTH);
+    for (int i = 0; i < 1_000; i++) {
+      paddedMap.put(i, value(i % VALUE_MAX_LENGTH));
+    }
+
+    final ZbMapSerializer serializer = new ZbMapSerializer();
+    serializer.wrap(paddedMap);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serializer.writeToStream(out);
+    paddedMap.close();
+
+    // when
+    serializer.wrap(map);
+    serializer.readFromStream(new ByteArrayInputStream(out.toByteArray()));
+
+    // then the restored values keep their padding
+    for (int i = 0; i < 1_000; i++) {
+      final DirectBuffer value = map.get(i);
+      final int length = i % VALUE_MAX_LENGTH;
+
+      assertThat(value.capacity()).isEqualTo(VALUE_MAX_LENGTH);
+      assertThat(new UnsafeBuffer(value, 0, length)).isEqualTo(value(length));
+    }
+
+    // and new values are not padded
+    map.put(1_000, value("foo"));
+    assertThat(map.get(1_000)).isEqualTo(value("foo"));
+  }
+
+  @Test
+  public void shouldNotRestoreSnapshotIntoPaddedMap() throws IOException {
+    // given
+    map.put(1, value("foo"));
+
+    final ZbMapSerializer serializer = new ZbMapSerializer();
+    serializer.wrap(map);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serializer.writeToStream(out);
+
+    final Long2BytesZbMap paddedMap =
+        new Long2BytesZbMap(TABLE_SIZE, BLOCKS_PER_BUCKET, VALUE_MAX_LENGTH);
+
+    // expect
+    thrown.expect(RuntimeException.class);
+    thrown.expectMessage("expected version 1 but got version 2");
+
+    // when
+    serializer.wrap(paddedMap);
+    try {
+      serializer.readFromStream(new ByteArrayInputStream(out.toByteArray()));
+    } finally {
+      paddedMap.close();
+    }
+  }
+
+  private static DirectBuffer value(String value) {
+    return new UnsafeBuffer(value.getBytes());
+  }
+
+  private static DirectBuffer value(int length) {
+    final byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) (length + i);
+    }
+    return new UnsafeBuffer(bytes);
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedZbMapTest {
+  private static final int DATASET_SIZE = 10_000;
+  private static final int NO_SUCH_KEY = -1;
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  private File directory;
+  private Long2LongZbMap map;
+
+  @Before
+  public void createMap() throws IOException {
+    directory = tempFolder.newFolder("map");
+    map = new Long2LongZbMap(32, 16, directory);
+  }
+
+  @After
+  public void close() {
+    map.close();
+  }
+
+  @Test
+  public void shouldPutAndGetValues() {
+    // when
+    fillMap(map, 0);
+
+    // then
+    assertThat(map.isMapped()).isTrue();
+    assertThat(map.getBucketBufferArray().getBucketBufferCount()).isGreaterThan(1);
+
+    for (int i = 0; i < DATASET_SIZE; i++) {
+      assertThat(map.get(i, NO_SUCH_KEY)).isEqualTo(i);
+    }
+  }
+
+  @Test
+  public void shouldMapBucketBuffersIntoFiles() {
+    // when
+    fillMap(map, 0);
+
+    // then
+    final int bucketBufferCount = map.getBucketBufferArray().getBucketBufferCount();
+    assertThat(directory.list()).hasSize(bucketBufferCount);
+  }
+
+  @Test
+  public void shouldRemoveValues() {
+    // given
+    fillMap(map, 0);
+
+    // when
+    for (int i = 0; i < DATASET_SIZE; i++) {
+      map.remove(i, NO_SUCH_KEY);
+    }
+
+    // then
+    assertThat(map.getBucketBufferArray().getBucketBufferCount()).isEqualTo(1);
+    assertThat(directory.list()).hasSize(1);
+
+    for (int i = 0; i < DATASET_SIZE; i++) {
+      assertThat(map.get(i, NO_SUCH_KEY)).isEqualTo(NO_SUCH_KEY);
+    }
+  }
+
+  @Test
+  public void shouldRestoreFromCheckpoint() throws IOException {
+    // given
+    final byte[] snapshot = writeSnapshot(map);
+    fillMap(map, 0);
+    final byte[] checkpoint = writeCheckpoint(map);
+
+    // when
+    map.close();
+    map = new Long2LongZbMap(32, 16, directory);
+    readCheckpoint(map, snapshot, checkpoint);
+
+    // then
+    for (int i = 0; i < DATASET_SIZE; i++) {
+      assertThat(map.get(i, NO_SUCH_KEY)).isEqualTo(i);
+    }
+  }
+
+  @Test
+  public void shouldNotModifyCheckpoint() throws IOException {
+    // given
+    final byte[] snapshot = writeSnapshot(map);
+    fillMap(map, 0);
+    final byte[] checkpoint = writeCheckpoint(map);
+
+    // when
+    for (int i = 0; i < DATASET_SIZE; i++) {
+      if (i % 2 == 0) {
+        map.remove(i, NO_SUCH_KEY);
+      } else {
+        map.put(i, i + 1);
+      }
+    }
+    map.put(DATASET_SIZE, DATASET_SIZE);
+
+    map.close();
+    map = new Long2LongZbMap(32, 16, directory);
+    readCheckpoint(map, snapshot, checkpoint);
+
+    // then
+    for (int i = 0; i < DATASET_SIZE; i++) {
+      assertThat(map.get(i, NO_SUCH_KEY)).isEqualTo(i);
+    }
+    assertThat(map.get(DATASET_SIZE, NO_SUCH_KEY)).isEqualTo(NO_SUCH_KEY);
+  }
+
+  @Test
+  public void shouldModifyMapAfterRestore() throws IOException {
+    // given
+    final byte[] snapshot = writeSnapshot(map);
+    fillMap(map, 0);
+    final byte[] checkpoint = writeCheckpoint(map);
+
+    map.close();
+    map = new Long2LongZbMap(32, 16, directory);
+    readCheckpoint(map, snapshot, checkpoint);
+
+    // when
+    for (int i = 0; i < DATASET_SIZE; i++) {
+      map.put(i, i + 1);
+    }
+    fillMap(map, DATASET_SIZE);
+
+    // then
+    for (int i = 0; i < DATASET_SIZE; i++) {
+      assertThat(map.get(i, NO_SUCH_KEY)).isEqualTo(i + 1);
+      assertThat(map.get(DATASET_SIZE + i, NO_SUCH_KEY)).isEqualTo(DATASET_SIZE + i);
+    }
+  }
+
+  @Test
+  public void shouldRestoreFromLatestCheckpoint() throws IOException {
+    // given
+    final byte[] snapshot = writeSnapshot(map);
+    fillMap(map, 0);
+    writeCheckpoint(map);
+
+    for (int i = 0; i < DATASET_SIZE; i++) {
+      map.put(i, i + 1);
+    }
+    final byte[] checkpoint = writeCheckpoint(map);
+
+    map.put(0, 0);
+
+    // when
+    map.close();
+    map = new Long2LongZbMap(32, 16, directory);
+    readCheckpoint(map, snapshot, checkpoint);
+
+    // then
+    for (int i = 0; i < DATASET_SIZE; i++) {
+      assertThat(map.get(i, NO_SUCH_KEY)).isEqualTo(i + 1);
+    }
+  }
+
+  @Test
+  public void shouldDeleteFilesOfOldCheckpoints() throws IOException {
+    // given
+    fillMap(map, 0);
+    final int bucketBufferCount = map.getBucketBufferArray().getBucketBufferCount();
+
+    // when
+    for (int checkpoint = 0; checkpoint < 5; checkpoint++) {
+      for (int i = 0; i < DATASET_SIZE; i++) {
+        map.put(i, i + checkpoint);
+      }
+      writeCheckpoint(map);
+    }
+
+    // then the files of the last two checkpoints are kept
+    assertThat(directory.list()).hasSize(2 * bucketBufferCount);
+  }
+
+  @Test
+  public void shouldRestoreSnapshotOfMappedMapInMemory() throws IOException {
+    // given
+    fillMap(map, 0);
+    final byte[] snapshot = writeSnapshot(map);
+
+    // when
+    final Long2LongZbMap inMemoryMap = new Long2LongZbMap(32, 16);
+    final ZbMapSerializer serializer = new ZbMapSerializer();
+    serializer.wrap(inMemoryMap);
+    serializer.readFromStream(new ByteArrayInputStream(snapshot));
+
+    // then
+    for (int i = 0; i < DATASET_SIZE; i++) {
+      assertThat(inMemoryMap.get(i, NO_SUCH_KEY)).isEqualTo(i);
+    }
+    inMemoryMap.close();
+  }
+
+  @Test
+  public void shouldFailIfFilesOfCheckpointAreMissing() throws IOException {
+    // given
+    final byte[] snapshot = writeSnapshot(map);
+    fillMap(map, 0);
+    final byte[] checkpoint = writeCheckpoint(map);
+    map.close();
+
+    for (File file : directory.listFiles()) {
+      file.delete();
+    }
+
+    map = new Long2LongZbMap(32, 16, directory);
+
+    // expect
+    thrown.expect(IOException.class);
+    thrown.expectMessage("Failed to read bucket buffer array checkpoint.");
+
+    // when
+    readCheckpoint(map, snapshot, checkpoint);
+  }
+
+  private static void fillMap(Long2LongZbMap map, int offset) {
+    for (int i = offset; i < offset + DATASET_SIZE; i++) {
+      map.put(i, i);
+    }
+  }
+
+  private static byte[] writeSnapshot(ZbMap<?, ?> map) throws IOException {
+    final ZbMapSerializer serializer = new ZbMapSerializer();
+    serializer.wrap(map);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serializer.writeToStream(out);
+    return out.toByteArray();
+  }
+
+  private static byte[] writeCheckpoint(ZbMap<?, ?> map) throws IOException {
+    final ZbMapSerializer serializer = new ZbMapSerializer();
+    serializer.wrap(map);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serializer.writeDeltaToStream(out);
+    assertThat((long) out.size()).isEqualTo(serializer.deltaSerializationSize());
+
+    return out.toByteArray();
+  }
+
+  private static void readCheckpoint(ZbMap<?, ?> map, byte[] snapshot, byte[] checkpoint)
+      throws IOException {
+    final ZbMapSerializer serializer = new ZbMapSerializer();
+    serializer.wrap(map);
+
+    serializer.readFromStream(new ByteArrayInputStream(snapshot));
+    serializer.readDeltaFromStream(new ByteArrayInputStream(checkpoint));
+  }
+}
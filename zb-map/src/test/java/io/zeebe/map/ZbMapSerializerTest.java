@@ -236,6 +236,132 @@ public class ZbMapSerializerTest {
     readMap(map, inputStream);
   }
 
+  @Test
+  public void shouldRestoreMapFromDelta() throws IOException {
+    // given
+    fillMap(map);
+    final byte[] snapshot = writeMapToBytes(map);
+
+    for (int i = 0; i < 10; i++) {
+      map.put(i, i + 1);
+    }
+    map.remove(200, NO_SUCH_KEY);
+    map.put(DATASET_SIZE, DATASET_SIZE);
+
+    final byte[] delta = writeDeltaToBytes(map);
+
+    // when
+    final Long2LongZbMap recoveredMap = new Long2LongZbMap();
+    readMapWithDelta(recoveredMap, snapshot, delta);
+
+    // then
+    assertThat(delta.length).isLessThan(snapshot.length / 4);
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(recoveredMap.get(i, NO_SUCH_KEY)).isEqualTo(i + 1);
+    }
+    assertThat(recoveredMap.get(200, NO_SUCH_KEY)).isEqualTo(NO_SUCH_KEY);
+    for (int i = 201; i <= DATASET_SIZE; i++) {
+      assertThat(recoveredMap.get(i, NO_SUCH_KEY)).isEqualTo(i);
+    }
+
+    recoveredMap.close();
+  }
+
+  @Test
+  public void shouldWriteEmptyDeltaIfNothingChanged() throws IOException {
+    // given
+    fillMap(map);
+    writeMapToBytes(map);
+
+    // when
+    final byte[] delta = writeDeltaToBytes(map);
+
+    // then
+    assertThat(map.getBucketBufferArray().getDirtyBucketBufferCount()).isEqualTo(0);
+    assertThat(delta.length)
+        .isEqualTo(
+            SIZE_OF_INT
+                + map.getHashTable().serializationSize()
+                + BucketBufferArrayDescriptor.MAIN_BUCKET_BUFFER_HEADER_LEN
+                + SIZE_OF_INT);
+  }
+
+  @Test
+  public void shouldContainAllChangesSinceLastSnapshotInDelta() throws IOException {
+    // given
+    fillMap(map);
+    final byte[] snapshot = writeMapToBytes(map);
+
+    map.put(1, 2);
+    writeDeltaToBytes(map);
+    map.put(DATASET_SIZE - 1, 3);
+
+    // when
+    final byte[] delta = writeDeltaToBytes(map);
+
+    // then
+    final Long2LongZbMap recoveredMap = new Long2LongZbMap();
+    readMapWithDelta(recoveredMap, snapshot, delta);
+
+    assertThat(recoveredMap.get(1, NO_SUCH_KEY)).isEqualTo(2);
+    assertThat(recoveredMap.get(DATASET_SIZE - 1, NO_SUCH_KEY)).isEqualTo(3);
+
+    recoveredMap.close();
+  }
+
+  @Test
+  public void shouldRestoreShrunkMapFromDelta() throws IOException {
+    // given
+    fillMap(map);
+    final byte[] snapshot = writeMapToBytes(map);
+
+    for (int i = 10; i < DATASET_SIZE; i++) {
+      map.remove(i, NO_SUCH_KEY);
+    }
+
+    final byte[] delta = writeDeltaToBytes(map);
+
+    // when
+    final Long2LongZbMap recoveredMap = new Long2LongZbMap();
+    readMapWithDelta(recoveredMap, snapshot, delta);
+
+    // then
+    assertThat(recoveredMap.getBucketBufferArray().getBucketBufferCount())
+        .isEqualTo(map.getBucketBufferArray().getBucketBufferCount());
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(recoveredMap.get(i, NO_SUCH_KEY)).isEqualTo(i);
+    }
+    for (int i = 10; i < DATASET_SIZE; i++) {
+      assertThat(recoveredMap.get(i, NO_SUCH_KEY)).isEqualTo(NO_SUCH_KEY);
+    }
+
+    recoveredMap.close();
+  }
+
+  @Test
+  public void shouldRestoreGrownMapFromDelta() throws IOException {
+    // given
+    map.put(0, 0);
+    final byte[] snapshot = writeMapToBytes(map);
+
+    fillMap(map);
+
+    final byte[] delta = writeDeltaToBytes(map);
+
+    // when
+    final Long2LongZbMap recoveredMap = new Long2LongZbMap();
+    readMapWithDelta(recoveredMap, snapshot, delta);
+
+    // then
+    for (int i = 0; i < DATASET_SIZE; i++) {
+      assertThat(recoveredMap.get(i, NO_SUCH_KEY)).isEqualTo(i);
+    }
+
+    recoveredMap.close();
+  }
+
   private static void fillMap(final Long2LongZbMap map) {
     for (int i = 0; i < DATASET_SIZE; i++) {
       map.put(i, i);
@@ -263,6 +389,34 @@ public class ZbMapSerializerTest {
     return new ByteArrayInputStream(out.toByteArray());
   }
 
+  private byte[] writeMapToBytes(final ZbMap map) throws IOException {
+    mapSerializer.wrap(map);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    mapSerializer.writeToStream(out);
+
+    return out.toByteArray();
+  }
+
+  private byte[] writeDeltaToBytes(final ZbMap map) throws IOException {
+    mapSerializer.wrap(map);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    mapSerializer.writeDeltaToStream(out);
+    assertThat((long) out.toByteArray().length).isEqualTo(mapSerializer.deltaSerializationSize());
+
+    return out.toByteArray();
+  }
+
+  private void readMapWithDelta(final ZbMap map, final byte[] snapshot, final byte[] delta)
+      throws IOException {
+    final ZbMapSerializer serializer = new ZbMapSerializer();
+    serializer.wrap(map);
+
+    serializer.readFromStream(new ByteArrayInputStream(snapshot));
+    serializer.readDeltaFromStream(new ByteArrayInputStream(delta));
+  }
+
   private void readMap(final ZbMap map, final InputStream inputStream) throws IOException {
     mapSerializer.wrap(map);
     mapSerializer.readFromStream(inputStream);